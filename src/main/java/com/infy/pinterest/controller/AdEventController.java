@@ -0,0 +1,51 @@
+package com.infy.pinterest.controller;
+
+import com.infy.pinterest.dto.AdEventStatsDTO;
+import com.infy.pinterest.dto.ApiResponse;
+import com.infy.pinterest.service.AdEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/business")
+@Tag(name = "Ad Events", description = "Sponsored pin impression, click and save tracking")
+@Slf4j
+public class AdEventController {
+
+    private final AdEventService adEventService;
+
+    @Autowired
+    public AdEventController(AdEventService adEventService) {
+        this.adEventService = adEventService;
+    }
+
+    // Beacons are not logged per request; see /business/ad-events/stats
+    @PostMapping("/sponsored-pins/{sponsoredId}/events")
+    @Operation(summary = "Record an impression, click or save beacon")
+    public ResponseEntity<Void> recordEvent(@PathVariable String sponsoredId,
+                                            @RequestParam AdEventService.EventType type,
+                                            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        adEventService.record(sponsoredId, type, userId);
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/sponsored-pins/{sponsoredId}/click")
+    @Operation(summary = "Count a click and redirect to the promoted pin's link")
+    public ResponseEntity<Void> click(@PathVariable String sponsoredId) {
+        String destination = adEventService.recordClick(sponsoredId);
+        return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(destination)).build();
+    }
+
+    @GetMapping("/ad-events/stats")
+    @Operation(summary = "Get ad event ring depth, drops and flush stats")
+    public ResponseEntity<ApiResponse<AdEventStatsDTO>> getStats() {
+        return ResponseEntity.ok(ApiResponse.success("Ad event stats retrieved successfully", adEventService.getStats()));
+    }
+}
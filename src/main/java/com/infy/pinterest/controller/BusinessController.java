@@ -2,16 +2,20 @@ package com.infy.pinterest.controller;
 
  import com.infy.pinterest.dto.*;
  import com.infy.pinterest.service.BusinessService;
+ import com.infy.pinterest.service.CampaignStatsService;
  import io.swagger.v3.oas.annotations.Operation;
  import io.swagger.v3.oas.annotations.security.SecurityRequirement;
  import io.swagger.v3.oas.annotations.tags.Tag;
  import jakarta.validation.Valid;
  import lombok.extern.slf4j.Slf4j;
  import org.springframework.beans.factory.annotation.Autowired;
+ import org.springframework.format.annotation.DateTimeFormat;
  import org.springframework.http.HttpStatus;
  import org.springframework.http.ResponseEntity;
  import org.springframework.web.bind.annotation.*;
 
+ import java.time.LocalDate;
+
 
  @RestController
  @RequestMapping("/business")
@@ -105,9 +109,13 @@ package com.infy.pinterest.controller;
      }    // ========== ANALYTICS ==========
     @GetMapping("/analytics/{campaignId}")
     @Operation(summary = "Get campaign analytics")
-    public ResponseEntity<ApiResponse<CampaignAnalyticsDTO>> getCampaignAnalytics(@PathVariable String campaignId) {
+    public ResponseEntity<ApiResponse<CampaignAnalyticsDTO>> getCampaignAnalytics(
+             @PathVariable String campaignId,
+             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+             @RequestParam(defaultValue = "DAY") CampaignStatsService.Granularity granularity) {
          log.info("GET /business/analytics/{} - Fetching campaign analytics", campaignId);
-         CampaignAnalyticsDTO analytics = businessService.getCampaignAnalytics(campaignId);
+         CampaignAnalyticsDTO analytics = businessService.getCampaignAnalytics(campaignId, from, to, granularity);
          return ResponseEntity.ok(ApiResponse.success("Analytics retrieved successfully", analytics));
      }
 
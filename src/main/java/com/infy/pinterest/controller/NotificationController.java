@@ -1,6 +1,7 @@
 package com.infy.pinterest.controller;
 
 import com.infy.pinterest.dto.ApiResponse;
+import com.infy.pinterest.dto.NotificationOutboxStatsDTO;
 import com.infy.pinterest.dto.NotificationResponseDTO;
 import com.infy.pinterest.dto.PaginatedResponse;
 import com.infy.pinterest.service.NotificationService;
@@ -9,8 +10,10 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/notifications")
@@ -37,6 +40,14 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success("Notifications retrieved successfully", response));
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream new notifications and unread-count changes (server-sent events)")
+    public SseEmitter streamNotifications(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return notificationService.subscribe(userId, lastEventId);
+    }
+
     @GetMapping("/unread-count")
     @Operation(summary = "Get unread notification count")
     public ResponseEntity<ApiResponse<Long>> getUnreadCount(@RequestHeader("X-User-Id") String userId) {
@@ -44,6 +55,13 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success("Unread count retrieved successfully", count));
     }
 
+    @GetMapping("/outbox/stats")
+    @Operation(summary = "Get notification writer queue depth and lag")
+    public ResponseEntity<ApiResponse<NotificationOutboxStatsDTO>> getOutboxStats() {
+        NotificationOutboxStatsDTO stats = notificationService.getOutboxStats();
+        return ResponseEntity.ok(ApiResponse.success("Outbox stats retrieved successfully", stats));
+    }
+
     @PutMapping("/{notificationId}/read")
     @Operation(summary = "Mark notification as read")
     public ResponseEntity<ApiResponse<Object>> markAsRead(
@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -38,9 +39,11 @@ public class SearchController {
     @GetMapping("/pins")
     @Operation(summary = "Search pins")
     public ResponseEntity<ApiResponse<SearchResultDTO<PinSearchResultDTO>>> searchPins(
+            @RequestHeader(value = "X-User-Id", required = false) String currentUserId,
             @RequestParam String q,
             @RequestParam(required = false) String category,
             @RequestParam(required = false, defaultValue = "relevance") String sort,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         log.info("GET /search/pins - Query: {}", q);
@@ -49,8 +52,10 @@ public class SearchController {
         searchRequest.setQuery(q);
         searchRequest.setCategory(category);
         searchRequest.setSortBy(sort);
+        searchRequest.setFuzzy(fuzzy);
         searchRequest.setPage(page);
         searchRequest.setSize(size);
+        searchRequest.setViewerId(currentUserId);
 
         SearchResultDTO<PinSearchResultDTO> results = searchService.searchPins(searchRequest);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", results));
@@ -59,6 +64,7 @@ public class SearchController {
     @GetMapping("/boards")
     @Operation(summary = "Search boards")
     public ResponseEntity<ApiResponse<SearchResultDTO<BoardSearchResultDTO>>> searchBoards(
+            @RequestHeader(value = "X-User-Id", required = false) String currentUserId,
             @RequestParam String q,
             @RequestParam(required = false) String category,
             @RequestParam(defaultValue = "0") int page,
@@ -70,6 +76,7 @@ public class SearchController {
         searchRequest.setCategory(category);
         searchRequest.setPage(page);
         searchRequest.setSize(size);
+        searchRequest.setViewerId(currentUserId);
 
         SearchResultDTO<BoardSearchResultDTO> results =
                 searchService.searchBoards(searchRequest);
@@ -78,6 +85,7 @@ public class SearchController {
     @GetMapping("/users")
     @Operation(summary = "Search users")
     public ResponseEntity<ApiResponse<SearchResultDTO<UserSearchResultDTO>>> searchUsers(
+            @RequestHeader(value = "X-User-Id", required = false) String currentUserId,
             @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
@@ -87,6 +95,7 @@ public class SearchController {
         searchRequest.setQuery(q);
         searchRequest.setPage(page);
         searchRequest.setSize(size);
+        searchRequest.setViewerId(currentUserId);
 
         SearchResultDTO<UserSearchResultDTO> results = searchService.searchUsers(searchRequest);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", results));
@@ -107,12 +116,14 @@ public class SearchController {
     @GetMapping("/popular")
     @Operation(summary = "Get popular/trending pins")
     public ResponseEntity<ApiResponse<PaginatedResponse<PinSearchResultDTO>>> getPopularPins(
+            @RequestHeader(value = "X-User-Id", required = false) String currentUserId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String category) {
         log.info("GET /search/popular - Fetching popular pins");
 
-        PaginatedResponse<PinSearchResultDTO> results = searchService.getPopularPins(page,
-                size);
+        PaginatedResponse<PinSearchResultDTO> results =
+                searchService.getPopularPins(currentUserId, category, page, size);
         return ResponseEntity.ok(ApiResponse.success("Popular pins retrieved successfully",
                 results));
     }
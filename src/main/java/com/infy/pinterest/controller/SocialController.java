@@ -2,6 +2,8 @@ package com.infy.pinterest.controller;
 
 
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.infy.pinterest.dto.ApiResponse;
+import com.infy.pinterest.dto.CursorPaginatedResponse;
 import com.infy.pinterest.dto.FollowStatsDTO;
 import com.infy.pinterest.dto.FollowerResponseDTO;
 import com.infy.pinterest.dto.FollowingResponseDTO;
@@ -23,7 +26,9 @@ import com.infy.pinterest.dto.InvitationResponseActionDTO;
 import com.infy.pinterest.dto.InvitationResponseDTO;
 import com.infy.pinterest.dto.InvitationSendDTO;
 import com.infy.pinterest.dto.PaginatedResponse;
+import com.infy.pinterest.dto.UserRecommendationDTO;
 import com.infy.pinterest.dto.UserReportDTO;
+import com.infy.pinterest.service.RecommendationService;
 import com.infy.pinterest.service.SocialService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,10 +47,12 @@ import lombok.extern.slf4j.Slf4j;
 public class SocialController {
 
     private final SocialService socialService;
+    private final RecommendationService recommendationService;
 
     @Autowired
-    public SocialController(SocialService socialService) {
+    public SocialController(SocialService socialService, RecommendationService recommendationService) {
         this.socialService = socialService;
+        this.recommendationService = recommendationService;
     }
 
     @PostMapping("/follow/{userId}")
@@ -77,6 +84,18 @@ public class SocialController {
         return ResponseEntity.ok(ApiResponse.success("Followers retrieved successfully", response));
     }
 
+    @GetMapping("/followers/{userId}/scroll")
+    @Operation(summary = "Get user's followers with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<FollowerResponseDTO>>> getFollowersByCursor(
+            @RequestHeader("X-User-Id") String currentUserId,
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPaginatedResponse<FollowerResponseDTO> response =
+                socialService.getFollowersByCursor(userId, currentUserId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Followers retrieved successfully", response));
+    }
+
     @GetMapping("/following/{userId}")
     @Operation(summary = "Get user's following")
     public ResponseEntity<ApiResponse<PaginatedResponse<FollowingResponseDTO>>> getFollowing(
@@ -88,6 +107,27 @@ public class SocialController {
         return ResponseEntity.ok(ApiResponse.success("Following retrieved successfully", response));
     }
 
+    @GetMapping("/following/{userId}/scroll")
+    @Operation(summary = "Get user's following with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<FollowingResponseDTO>>> getFollowingByCursor(
+            @RequestHeader("X-User-Id") String currentUserId,
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPaginatedResponse<FollowingResponseDTO> response =
+                socialService.getFollowingByCursor(userId, currentUserId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Following retrieved successfully", response));
+    }
+
+    @GetMapping("/recommendations")
+    @Operation(summary = "Get people you may know")
+    public ResponseEntity<ApiResponse<List<UserRecommendationDTO>>> getRecommendations(
+            @RequestHeader("X-User-Id") String currentUserId,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<UserRecommendationDTO> response = recommendationService.getRecommendations(currentUserId, limit);
+        return ResponseEntity.ok(ApiResponse.success("Recommendations retrieved successfully", response));
+    }
+
     @GetMapping("/stats/{userId}")
     @Operation(summary = "Get follow statistics")
     public ResponseEntity<ApiResponse<FollowStatsDTO>> getFollowStats(@PathVariable String userId) {
@@ -115,6 +155,18 @@ public class SocialController {
         return ResponseEntity.ok(ApiResponse.success("Invitations retrieved successfully", response));
     }
 
+    @GetMapping("/invitations/scroll")
+    @Operation(summary = "Get user's received invitations with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPaginatedResponse<InvitationResponseDTO>>> getInvitationsByCursor(
+            @RequestHeader("X-User-Id") String currentUserId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPaginatedResponse<InvitationResponseDTO> response =
+                socialService.getInvitationsByCursor(currentUserId, status, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Invitations retrieved successfully", response));
+    }
+
     @GetMapping("/invitations/sent")
     @Operation(summary = "Get user's sent invitations")
     public ResponseEntity<ApiResponse<PaginatedResponse<InvitationResponseDTO>>> getSentInvitations(
@@ -0,0 +1,20 @@
+package com.infy.pinterest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdEventStatsDTO {
+    private Integer ringDepth;
+    private Integer capacity;
+    private Long accepted;
+    private Long dropped;
+    private Long rejected;
+    private Long flushed;
+    private Long flushes;
+    private Long failedFlushes;
+    private Long lastFlushMillis;
+}
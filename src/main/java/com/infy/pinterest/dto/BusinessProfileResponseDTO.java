@@ -18,6 +18,8 @@ public class BusinessProfileResponseDTO {
     private String logoUrl;
     private String contactEmail;
     private Integer followerCount;
+    // Newest boards only; totalBoards counts all of them
     private List<BoardSummaryDTO> boards;
+    private Long totalBoards;
     private LocalDateTime createdAt;
 }
@@ -16,4 +16,7 @@ public class CampaignAnalyticsDTO {
     private DemographicsDTO demographics;
     private SpendingDTO spending;
     private List<TimelineDataDTO> timeline;
+    // Estimated unique viewers over the timeline range, and timeline impressions per viewer
+    private Long reach;
+    private Double frequency;
 }
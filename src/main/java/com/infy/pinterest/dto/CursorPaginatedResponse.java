@@ -0,0 +1,17 @@
+package com.infy.pinterest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPaginatedResponse<T> {
+    private List<T> data;
+    private String nextCursor;
+    private Boolean hasNext;
+    private Integer pageSize;
+}
@@ -0,0 +1,20 @@
+package com.infy.pinterest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutboxStatsDTO {
+    private Integer queueDepth;
+    private Integer capacity;
+    private Long oldestQueuedMillis;
+    private Long lastBatchLagMillis;
+    private Long written;
+    private Long batches;
+    private Long coalesced;
+    private Long callerWrites;
+    private Long failed;
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -19,4 +20,6 @@ public class NotificationResponseDTO {
     private LocalDateTime createdAt;
     private LocalDateTime readAt;
     private UserSummaryDTO sender;
+    private Integer actorCount;
+    private List<String> recentSenderIds;
 }
@@ -20,6 +20,8 @@ public class PinResponseDTO {
     private String visibility;
     private Boolean isDraft;
     private Boolean isSponsored;
+    // Set on pins placed in a feed as ads; beacons are sent for this campaign
+    private String sponsoredId;
     private Integer saveCount;
     private Integer likeCount;
     private Boolean isLiked;
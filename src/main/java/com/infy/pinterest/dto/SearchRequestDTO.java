@@ -13,7 +13,11 @@ public class SearchRequestDTO {
 
     private String category;
     private String sortBy; // relevance, recent, popular
+    private Boolean fuzzy = false; // tolerate typos in query terms
     private Integer page = 0;
     private Integer size = 20;
 
+    // Set by the controller from X-User-Id; results from users blocked either way are dropped
+    private String viewerId;
+
 }
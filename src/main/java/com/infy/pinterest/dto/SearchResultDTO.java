@@ -14,4 +14,5 @@ public class SearchResultDTO<T>{
     private List<String> suggestions;
     private PaginationDTO pagination;
     private Long totalResults;
+    private List<FacetCountDTO> facets; // per-category counts over all matches
 }
@@ -9,6 +9,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class TimelineDataDTO {
     private LocalDate date;
+    // Hour of day for hourly timelines, null for daily ones
+    private Integer hour;
     private Integer impressions;
     private Integer clicks;
     private Integer saves;
@@ -0,0 +1,17 @@
+package com.infy.pinterest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Unread badge update pushed to clients: either an absolute count or a
+ * change to apply to the count they hold.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountDTO {
+    private Long count;
+    private Integer delta;
+}
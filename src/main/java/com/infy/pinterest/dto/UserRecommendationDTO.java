@@ -0,0 +1,18 @@
+package com.infy.pinterest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRecommendationDTO {
+    private String userId;
+    private String username;
+    private String fullName;
+    private String profilePictureUrl;
+    private Integer mutualFollows;
+    private Integer sharedBoards;
+    private Double score;
+}
@@ -38,6 +38,13 @@ public class Notification {
     @Column(name = "entity_type")
     private String entityType;
 
+    // Actors merged into this row by the notification writer, and the latest few of them newest first
+    @Column(name = "actor_count")
+    private Integer actorCount = 1;
+
+    @Column(name = "recent_sender_ids", length = 400)
+    private String recentSenderIds;
+
     @Column(name = "is_read")
     private Boolean isRead = false;
 
@@ -49,7 +56,10 @@ public class Notification {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Queued notifications carry the time of the interaction
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 
     public enum NotificationType {
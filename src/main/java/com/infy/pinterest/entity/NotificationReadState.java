@@ -0,0 +1,24 @@
+package com.infy.pinterest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_read_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReadState {
+
+    @Id
+    @Column(name = "user_id", length = 36)
+    private String userId;
+
+    // Every notification created at or before this instant counts as read
+    @Column(name = "last_read_at", nullable = false)
+    private LocalDateTime lastReadAt;
+}
@@ -32,20 +32,22 @@ public class SponsoredPin {
     @Column(name = "budget", precision = 10, scale = 2)
     private BigDecimal budget = BigDecimal.ZERO;
 
-    @Column(name = "spent", precision = 10, scale = 2)
+    // Spend and event counters are only added to in SQL (CampaignSpendService, AdEventService);
+    // saving a loaded entity must not write back a stale value
+    @Column(name = "spent", precision = 10, scale = 2, updatable = false)
     private BigDecimal spent = BigDecimal.ZERO;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private Status status = Status.PENDING;
 
-    @Column(name = "impressions")
+    @Column(name = "impressions", updatable = false)
     private Integer impressions = 0;
 
-    @Column(name = "clicks")
+    @Column(name = "clicks", updatable = false)
     private Integer clicks = 0;
 
-    @Column(name = "saves")
+    @Column(name = "saves", updatable = false)
     private Integer saves = 0;
 
     @Column(name = "start_date", nullable = false)
@@ -0,0 +1,36 @@
+package com.infy.pinterest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "trending_scores",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"scope", "pin_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "score_id", length = 36)
+    private String scoreId;
+
+    // "global" or "category:<name>"
+    @Column(name = "scope", nullable = false, length = 120)
+    private String scope;
+
+    @Column(name = "pin_id", nullable = false, length = 36)
+    private String pinId;
+
+    // Decayed score as of snapshotAt
+    @Column(name = "score", nullable = false)
+    private Double score;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+}
@@ -5,8 +5,12 @@ import com.infy.pinterest.entity.BlockedUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,5 +22,20 @@ public interface BlockedUserRepository extends JpaRepository<BlockedUser, String
 
     Page<BlockedUser> findByBlockerId(String blockerId, Pageable pageable);
 
+    // Users this user blocked, and users who blocked this user
+    @Query("SELECT b.blockedId FROM BlockedUser b WHERE b.blockerId = :userId")
+    List<String> findBlockedIdsByBlockerId(@Param("userId") String userId);
+
+    @Query("SELECT b.blockerId FROM BlockedUser b WHERE b.blockedId = :userId")
+    List<String> findBlockerIdsByBlockedId(@Param("userId") String userId);
+
+    // Keyset scan over all blocks, used to build the in-process block filter
+    @Query("SELECT b FROM BlockedUser b WHERE b.blockId > :afterBlockId ORDER BY b.blockId")
+    List<BlockedUser> findBlocksAfter(@Param("afterBlockId") String afterBlockId, Pageable pageable);
+
+    // Blocks written since a point in time, used to catch up with other nodes (idx_blocked_at)
+    @Query("SELECT b FROM BlockedUser b WHERE b.blockedAt >= :since")
+    List<BlockedUser> findBlockedSince(@Param("since") LocalDateTime since);
+
     void deleteByBlockerIdAndBlockedId(String blockerId, String blockedId);
 }
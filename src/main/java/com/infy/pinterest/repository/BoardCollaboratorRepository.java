@@ -6,6 +6,7 @@ import com.infy.pinterest.entity.BoardCollaborator;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +20,6 @@ public interface BoardCollaboratorRepository extends JpaRepository<BoardCollabor
     List<BoardCollaborator> findByBoardId(String boardId);
 
     List<BoardCollaborator> findByUserId(String userId);
+
+    List<BoardCollaborator> findByBoardIdIn(Collection<String> boardIds);
 }
@@ -1,5 +1,6 @@
 package com.infy.pinterest.repository;
 
+import com.infy.pinterest.dto.BoardSummaryDTO;
 import com.infy.pinterest.entity.Board;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +17,22 @@ public interface BoardRepository extends JpaRepository<Board,String> {
     Page<Board> findByUserId(String userId, Pageable pageable);
 
     List<Board> findByUserId(String userId);
+
+    // Newest boards of a user, without loading the entities
+    @Query("SELECT new com.infy.pinterest.dto.BoardSummaryDTO(b.boardId, b.name) FROM Board b " +
+            "WHERE b.userId = :userId ORDER BY b.createdAt DESC, b.boardId")
+    List<BoardSummaryDTO> findSummariesByUserId(@Param("userId") String userId, Pageable pageable);
+
+    // Newest boards of each user, at most :limit per user, as (userId, boardId, name, userBoardCount) rows
+    @Query(value = "SELECT ranked.user_id, ranked.board_id, ranked.name, ranked.total FROM (" +
+            "SELECT b.user_id, b.board_id, b.name, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.user_id ORDER BY b.created_at DESC, b.board_id) AS position, " +
+            "COUNT(*) OVER (PARTITION BY b.user_id) AS total " +
+            "FROM boards b WHERE b.user_id IN (:userIds)) ranked " +
+            "WHERE ranked.position <= :limit ORDER BY ranked.user_id, ranked.position",
+            nativeQuery = true)
+    List<Object[]> findTopSummariesByUserIds(@Param("userIds") Collection<String> userIds,
+                                             @Param("limit") int limit);
     
     Page<Board> findByVisibility(Board.Visibility visibility, Pageable pageable);
 
@@ -42,5 +60,16 @@ public interface BoardRepository extends JpaRepository<Board,String> {
             "LOWER(b.name) LIKE LOWER(CONCAT(:keyword, '%')) " +"AND b.visibility = 'PUBLIC'")
     List<String> findBoardNameSuggestions(@Param("keyword") String keyword, Pageable pageable);
 
-
+    // MySQL FULLTEXT search in boolean mode over public boards
+    @Query(value = "SELECT b.board_id FROM boards b " +
+            "WHERE b.visibility = 'public' AND (:category IS NULL OR b.category = :category) " +
+            "AND MATCH(b.name, b.description) AGAINST (:query IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(b.name, b.description) AGAINST (:query IN BOOLEAN MODE) DESC, b.created_at DESC",
+            countQuery = "SELECT COUNT(*) FROM boards b " +
+                    "WHERE b.visibility = 'public' AND (:category IS NULL OR b.category = :category) " +
+                    "AND MATCH(b.name, b.description) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<String> fullTextSearchBoardIds(@Param("query") String query,
+                                        @Param("category") String category,
+                                        Pageable pageable);
 }
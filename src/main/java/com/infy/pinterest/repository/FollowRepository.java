@@ -5,8 +5,13 @@ import com.infy.pinterest.entity.Follow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,9 +25,46 @@ public interface FollowRepository extends JpaRepository<Follow, String> {
 
     Page<Follow> findByFollowerId(String followerId, Pageable pageable);
 
+    // Keyset pagination, newest first: first page, then rows strictly after the cursor
+    List<Follow> findByFollowingIdOrderByFollowedAtDescFollowIdDesc(String followingId, Pageable pageable);
+
+    @Query("SELECT f FROM Follow f WHERE f.followingId = :userId AND (f.followedAt < :followedAt " +
+            "OR (f.followedAt = :followedAt AND f.followId < :followId)) ORDER BY f.followedAt DESC, f.followId DESC")
+    List<Follow> findFollowersBefore(@Param("userId") String userId, @Param("followedAt") LocalDateTime followedAt,
+                                     @Param("followId") String followId, Pageable pageable);
+
+    List<Follow> findByFollowerIdOrderByFollowedAtDescFollowIdDesc(String followerId, Pageable pageable);
+
+    @Query("SELECT f FROM Follow f WHERE f.followerId = :userId AND (f.followedAt < :followedAt " +
+            "OR (f.followedAt = :followedAt AND f.followId < :followId)) ORDER BY f.followedAt DESC, f.followId DESC")
+    List<Follow> findFollowingBefore(@Param("userId") String userId, @Param("followedAt") LocalDateTime followedAt,
+                                     @Param("followId") String followId, Pageable pageable);
+
+    // Which of these users does followerId follow
+    @Query("SELECT f.followingId FROM Follow f WHERE f.followerId = :followerId AND f.followingId IN :userIds")
+    List<String> findFollowingIdsAmong(@Param("followerId") String followerId,
+                                       @Param("userIds") Collection<String> userIds);
+
+    // Which of these users follow followingId
+    @Query("SELECT f.followerId FROM Follow f WHERE f.followingId = :followingId AND f.followerId IN :userIds")
+    List<String> findFollowerIdsAmong(@Param("followingId") String followingId,
+                                      @Param("userIds") Collection<String> userIds);
+
     Long countByFollowingId(String followingId);
 
     Long countByFollowerId(String followerId);
 
+    // Follower counts for a page of users, as (userId, count) rows; users without followers are absent
+    @Query("SELECT f.followingId, COUNT(f) FROM Follow f WHERE f.followingId IN :userIds GROUP BY f.followingId")
+    List<Object[]> countFollowersByUserIds(@Param("userIds") Collection<String> userIds);
+
+    // Following counts for a page of users, as (userId, count) rows
+    @Query("SELECT f.followerId, COUNT(f) FROM Follow f WHERE f.followerId IN :userIds GROUP BY f.followerId")
+    List<Object[]> countFollowingByUserIds(@Param("userIds") Collection<String> userIds);
+
+    // Keyset scan over all follows, used to load the in-process follow graph
+    @Query("SELECT f FROM Follow f WHERE f.followId > :afterFollowId ORDER BY f.followId")
+    List<Follow> findFollowsAfter(@Param("afterFollowId") String afterFollowId, Pageable pageable);
+
     void deleteByFollowerIdAndFollowingId(String followerId, String followingId);
 }
@@ -6,8 +6,12 @@ import com.infy.pinterest.entity.Invitation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,6 +23,27 @@ public interface InvitationRepository extends JpaRepository<Invitation, String>
                                              Invitation.Status status,
                                              Pageable pageable);
 
+    // Keyset pages for the inbox, newest first; served by idx_to_user_created (by status: idx_to_user_status_created)
+    List<Invitation> findByToUserIdOrderByCreatedAtDescInvitationIdDesc(String toUserId, Pageable pageable);
+
+    @Query("SELECT i FROM Invitation i WHERE i.toUserId = :userId AND (i.createdAt < :createdAt " +
+            "OR (i.createdAt = :createdAt AND i.invitationId < :invitationId)) " +
+            "ORDER BY i.createdAt DESC, i.invitationId DESC")
+    List<Invitation> findReceivedBefore(@Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("invitationId") String invitationId, Pageable pageable);
+
+    List<Invitation> findByToUserIdAndStatusOrderByCreatedAtDescInvitationIdDesc(String toUserId,
+                                                                                 Invitation.Status status,
+                                                                                 Pageable pageable);
+
+    @Query("SELECT i FROM Invitation i WHERE i.toUserId = :userId AND i.status = :status " +
+            "AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.invitationId < :invitationId)) " +
+            "ORDER BY i.createdAt DESC, i.invitationId DESC")
+    List<Invitation> findReceivedWithStatusBefore(@Param("userId") String userId,
+                                                  @Param("status") Invitation.Status status,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("invitationId") String invitationId, Pageable pageable);
+
     Page<Invitation> findByFromUserId(String fromUserId, Pageable pageable);
 
     Page<Invitation> findByFromUserIdAndStatus(String fromUserId,
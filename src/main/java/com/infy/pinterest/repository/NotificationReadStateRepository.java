@@ -0,0 +1,23 @@
+package com.infy.pinterest.repository;
+
+import com.infy.pinterest.entity.NotificationReadState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationReadStateRepository extends JpaRepository<NotificationReadState, String> {
+
+    // Single-row upsert; the watermark never moves backwards
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO notification_read_state (user_id, last_read_at) VALUES (:userId, :readAt) " +
+            "ON DUPLICATE KEY UPDATE last_read_at = GREATEST(last_read_at, VALUES(last_read_at))",
+            nativeQuery = true)
+    int advanceLastReadAt(@Param("userId") String userId, @Param("readAt") LocalDateTime readAt);
+}
@@ -6,22 +6,58 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, String> {
 
     Page<Notification> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
 
-    Page<Notification> findByUserIdAndIsReadOrderByCreatedAtDesc(String userId, Boolean isRead, Pageable pageable);
+    // Unread: newer than the user's read watermark and not opened on its own
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.createdAt > :watermark " +
+            "AND n.isRead = false ORDER BY n.createdAt DESC")
+    Page<Notification> findUnreadSince(@Param("userId") String userId, @Param("watermark") LocalDateTime watermark,
+                                       Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+            "AND (n.createdAt <= :watermark OR n.isRead = true) ORDER BY n.createdAt DESC")
+    Page<Notification> findReadBy(@Param("userId") String userId, @Param("watermark") LocalDateTime watermark,
+                                  Pageable pageable);
 
-    Long countByUserIdAndIsRead(String userId, Boolean isRead);
+    // Range scan over (user_id, created_at, is_read): only rows newer than the watermark
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.createdAt > :watermark " +
+            "AND n.isRead = false")
+    long countUnreadSince(@Param("userId") String userId, @Param("watermark") LocalDateTime watermark);
 
+    // Fold more actors into a coalesced row and surface it again as unread
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.userId = :userId AND n.isRead = false")
-    void markAllAsRead(String userId);
+    @Transactional
+    @Query("UPDATE Notification n SET n.actorCount = :actorCount, n.recentSenderIds = :recentSenderIds, " +
+            "n.senderId = :senderId, n.message = :message, n.createdAt = :createdAt, n.isRead = false, " +
+            "n.readAt = null WHERE n.notificationId = :notificationId")
+    int updateCoalesced(@Param("notificationId") String notificationId, @Param("actorCount") Integer actorCount,
+                        @Param("recentSenderIds") String recentSenderIds, @Param("senderId") String senderId,
+                        @Param("message") String message, @Param("createdAt") LocalDateTime createdAt);
 
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.entityId = :entityId AND n.type = :type")
     void deleteByEntityIdAndType(String entityId, Notification.NotificationType type);
+
+    // Retention purge: walks the table in primary-key order, one bounded range at a time
+    @Query("SELECT n.notificationId FROM Notification n WHERE n.notificationId > :after ORDER BY n.notificationId")
+    List<String> findIdsAfter(@Param("after") String after, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Notification n WHERE n.notificationId > :after AND n.notificationId <= :upTo " +
+            "AND n.type IN :types AND n.createdAt < :cutoff")
+    int deleteExpiredInRange(@Param("after") String after, @Param("upTo") String upTo,
+                             @Param("types") Collection<Notification.NotificationType> types,
+                             @Param("cutoff") LocalDateTime cutoff);
 }
@@ -1,5 +1,6 @@
 package com.infy.pinterest.repository;
 
+import com.infy.pinterest.dto.PinSummaryDTO;
 import com.infy.pinterest.entity.Pin;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,6 +8,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +25,15 @@ public interface PinRepository extends JpaRepository<Pin, String>  {
 
     Long countByUserId(String userId);
 
+    // Pin counts for a page of users, as (userId, count) rows; users without pins are absent
+    @Query("SELECT p.userId, COUNT(p) FROM Pin p WHERE p.userId IN :userIds GROUP BY p.userId")
+    List<Object[]> countByUserIds(@Param("userIds") Collection<String> userIds);
+
+    // Summaries for a batch of pins, without loading the entities; missing pins are absent
+    @Query("SELECT new com.infy.pinterest.dto.PinSummaryDTO(p.pinId, p.title, p.imageUrl) FROM Pin p " +
+            "WHERE p.pinId IN :pinIds")
+    List<PinSummaryDTO> findSummariesByPinIds(@Param("pinIds") Collection<String> pinIds);
+
     Long countByBoardId(String boardId);
 
     @Query("SELECT p FROM Pin p WHERE p.visibility = 'PUBLIC' AND p.isDraft = false")
@@ -64,4 +76,43 @@ public interface PinRepository extends JpaRepository<Pin, String>  {
                                          @Param("collaborativeBoardIds") List<String> collaborativeBoardIds,
                                          Pageable pageable);
 
+    // Keyset scan over public pins, used to (re)build the in-process search index
+    @Query("SELECT p FROM Pin p WHERE p.visibility = 'PUBLIC' AND p.isDraft = false " +
+            "AND p.pinId > :afterPinId ORDER BY p.pinId")
+    List<Pin> findPublicPinsAfter(@Param("afterPinId") String afterPinId, Pageable pageable);
+
+    // Keyset scan over pins changed since a point in time, used to catch a search index snapshot up
+    @Query("SELECT p FROM Pin p WHERE p.updatedAt >= :since AND p.pinId > :afterPinId ORDER BY p.pinId")
+    List<Pin> findPinsUpdatedSince(@Param("since") LocalDateTime since,
+                                   @Param("afterPinId") String afterPinId, Pageable pageable);
+
+    // Which of these pins still exist, used to sweep deleted pins out of the search index
+    @Query("SELECT p.pinId FROM Pin p WHERE p.pinId IN :pinIds")
+    List<String> findExistingPinIds(@Param("pinIds") Collection<String> pinIds);
+
+    // MySQL FULLTEXT search in boolean mode over public pins, optionally within a board category
+    @Query(value = "SELECT p.pin_id FROM pins p JOIN boards b ON p.board_id = b.board_id " +
+            "WHERE p.visibility = 'public' AND p.is_draft = false " +
+            "AND (:category IS NULL OR b.category = :category) " +
+            "AND MATCH(p.title, p.description) AGAINST (:query IN BOOLEAN MODE) " +
+            "ORDER BY CASE WHEN :sortBy = 'recent' THEN p.created_at END DESC, " +
+            "CASE WHEN :sortBy = 'popular' THEN p.save_count + p.like_count END DESC, " +
+            "MATCH(p.title, p.description) AGAINST (:query IN BOOLEAN MODE) DESC, p.created_at DESC",
+            countQuery = "SELECT COUNT(*) FROM pins p JOIN boards b ON p.board_id = b.board_id " +
+                    "WHERE p.visibility = 'public' AND p.is_draft = false " +
+                    "AND (:category IS NULL OR b.category = :category) " +
+                    "AND MATCH(p.title, p.description) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<String> fullTextSearchPinIds(@Param("query") String query,
+                                      @Param("category") String category,
+                                      @Param("sortBy") String sortBy,
+                                      Pageable pageable);
+
+    // Matching public pins per board category, for search facets
+    @Query(value = "SELECT b.category, COUNT(*) FROM pins p JOIN boards b ON p.board_id = b.board_id " +
+            "WHERE p.visibility = 'public' AND p.is_draft = false AND b.category IS NOT NULL " +
+            "AND MATCH(p.title, p.description) AGAINST (:query IN BOOLEAN MODE) " +
+            "GROUP BY b.category",
+            nativeQuery = true)
+    List<Object[]> countFullTextMatchesByCategory(@Param("query") String query);
 }
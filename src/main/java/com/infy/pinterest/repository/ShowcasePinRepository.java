@@ -3,6 +3,7 @@ package com.infy.pinterest.repository;
 import com.infy.pinterest.entity.ShowcasePin;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +12,8 @@ public interface ShowcasePinRepository extends JpaRepository<ShowcasePin, String
 
     List<ShowcasePin> findByShowcaseIdOrderByDisplayOrderAsc(String showcaseId);
 
+    List<ShowcasePin> findByShowcaseIdInOrderByDisplayOrderAsc(Collection<String> showcaseIds);
+
     Boolean existsByShowcaseIdAndPinId(String showcaseId, String pinId);
 
     Optional<ShowcasePin> findByShowcaseIdAndPinId(String showcaseId, String pinId);
@@ -23,4 +23,8 @@ public interface SponsoredPinRepository extends JpaRepository<SponsoredPin, Stri
                                                Pageable pageable);
 
     List<SponsoredPin> findByStatus(SponsoredPin.Status status);
+
+    List<SponsoredPin> findByStatusAndStartDateLessThanEqual(SponsoredPin.Status status, LocalDate date);
+
+    List<SponsoredPin> findByStatusNotAndEndDateLessThan(SponsoredPin.Status status, LocalDate date);
 }
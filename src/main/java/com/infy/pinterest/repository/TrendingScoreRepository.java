@@ -0,0 +1,9 @@
+package com.infy.pinterest.repository;
+
+import com.infy.pinterest.entity.TrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, String> {
+}
@@ -35,4 +35,14 @@ public interface UserRepository extends JpaRepository<User, String> {
             "AND u.isActive = true")
     List<String> findUsernameSuggestions(@Param("keyword") String keyword, Pageable pageable);
 
+    // MySQL FULLTEXT search in boolean mode over active users
+    @Query(value = "SELECT u.user_id FROM users u " +
+            "WHERE u.is_active = true " +
+            "AND MATCH(u.username, u.full_name) AGAINST (:query IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(u.username, u.full_name) AGAINST (:query IN BOOLEAN MODE) DESC, u.username",
+            countQuery = "SELECT COUNT(*) FROM users u " +
+                    "WHERE u.is_active = true " +
+                    "AND MATCH(u.username, u.full_name) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<String> fullTextSearchUserIds(@Param("query") String query, Pageable pageable);
 }
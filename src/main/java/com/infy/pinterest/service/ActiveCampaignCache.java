@@ -0,0 +1,133 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.Board;
+import com.infy.pinterest.entity.Pin;
+import com.infy.pinterest.entity.SponsoredPin;
+import com.infy.pinterest.entity.User;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.repository.SponsoredPinRepository;
+import com.infy.pinterest.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Campaigns eligible to serve, with their pin, creator and board already
+ * loaded, so ad serving reads memory only.
+ *
+ * The whole set is rebuilt every refresh interval with one query per table
+ * and swapped in as an immutable list. Campaigns that stop between refreshes
+ * (budget exhausted, paused by spend reconciliation) are filtered at serving
+ * time by {@link CampaignSpendService#canServe}.
+ */
+@Service
+@Slf4j
+public class ActiveCampaignCache {
+
+    /**
+     * A servable campaign; creator and board may be null if they were deleted.
+     */
+    public record AdCandidate(SponsoredPin campaign, Pin pin, User creator, Board board) {
+    }
+
+    private final SponsoredPinRepository sponsoredPinRepository;
+    private final PinRepository pinRepository;
+    private final UserRepository userRepository;
+    private final BoardRepository boardRepository;
+    private final CampaignSpendService campaignSpendService;
+
+    private volatile List<AdCandidate> candidates = List.of();
+    // Bumped on every refresh so ad rotation changes with the set
+    private volatile long generation;
+
+    @Autowired
+    public ActiveCampaignCache(SponsoredPinRepository sponsoredPinRepository, PinRepository pinRepository,
+                               UserRepository userRepository, BoardRepository boardRepository,
+                               CampaignSpendService campaignSpendService) {
+        this.sponsoredPinRepository = sponsoredPinRepository;
+        this.pinRepository = pinRepository;
+        this.userRepository = userRepository;
+        this.boardRepository = boardRepository;
+        this.campaignSpendService = campaignSpendService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduledRefresh();
+    }
+
+    @Scheduled(fixedDelayString = "${ads.serving.refresh-ms:30000}",
+            initialDelayString = "${ads.serving.refresh-ms:30000}")
+    public void scheduledRefresh() {
+        try {
+            refresh(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh active campaigns, serving the previous set", e);
+        }
+    }
+
+    /**
+     * Active campaigns in sponsored ID order.
+     */
+    public List<AdCandidate> getCandidates() {
+        return candidates;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Reload campaigns running on {@code today} whose pin is public.
+     */
+    public synchronized void refresh(LocalDate today) {
+        long start = System.currentTimeMillis();
+        List<SponsoredPin> running = sponsoredPinRepository.findByStatus(SponsoredPin.Status.ACTIVE).stream()
+                .filter(sponsored -> !today.isBefore(sponsored.getStartDate())
+                        && !today.isAfter(sponsored.getEndDate()))
+                .toList();
+        Map<String, Pin> pins = byId(pinRepository.findAllById(
+                running.stream().map(SponsoredPin::getPinId).distinct().toList()), Pin::getPinId);
+        Map<String, User> users = byId(userRepository.findAllById(
+                pins.values().stream().map(Pin::getUserId).distinct().toList()), User::getUserId);
+        Map<String, Board> boards = byId(boardRepository.findAllById(
+                pins.values().stream().map(Pin::getBoardId).distinct().toList()), Board::getBoardId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AdCandidate> loaded = new ArrayList<>();
+        for (SponsoredPin sponsored : running) {
+            Pin pin = pins.get(sponsored.getPinId());
+            if (pin == null || pin.getVisibility() != Pin.Visibility.PUBLIC || Boolean.TRUE.equals(pin.getIsDraft())) {
+                continue;
+            }
+            // Loads the spend account now, so serving never has to
+            campaignSpendService.canServe(sponsored.getSponsoredId(), now);
+            loaded.add(new AdCandidate(sponsored, pin, users.get(pin.getUserId()), boards.get(pin.getBoardId())));
+        }
+        loaded.sort(Comparator.comparing(candidate -> candidate.campaign().getSponsoredId()));
+        candidates = List.copyOf(loaded);
+        generation++;
+        log.info("Loaded {} active campaigns in {} ms", loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    // Helper methods
+
+    private static <T> Map<String, T> byId(Iterable<T> rows, Function<T, String> id) {
+        Map<String, T> map = new HashMap<>();
+        rows.forEach(row -> map.put(id.apply(row), row));
+        return map;
+    }
+}
@@ -0,0 +1,331 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.dto.AdEventStatsDTO;
+import com.infy.pinterest.entity.Pin;
+import com.infy.pinterest.exception.ResourceNotFoundException;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.repository.SponsoredPinRepository;
+import com.infy.pinterest.utility.AdEventRing;
+import com.infy.pinterest.utility.HyperLogLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Impression, click and save counters for sponsored pins.
+ *
+ * Beacons only validate the campaign (from a cache) and put the event on a
+ * lock-free ring, so a request never waits for the database. One aggregator
+ * thread drains the ring into per-campaign primitive counters and every
+ * flush interval adds them to {@code sponsored_pins} with one batched
+ * UPDATE per campaign, in a single transaction and in key order so nodes
+ * flushing the same campaigns cannot deadlock. The same transaction adds
+ * them to the campaign's hourly bucket ({@link CampaignStatsService}); the
+ * counters are flushed whenever the hour turns. A failed flush keeps its
+ * counts for the next one, which books them to the hour they started in.
+ *
+ * Accepted impressions and clicks are charged to the campaign's budget
+ * ({@link CampaignSpendService}) on the request thread. Impressions from a
+ * known viewer also go into a per-campaign HyperLogLog sketch that is handed
+ * to {@link CampaignReachService} at each flush.
+ *
+ * Counts are best effort: events are dropped (and counted) when the ring is
+ * full, and whatever is in memory is lost if the process dies.
+ */
+@Service
+@Slf4j
+public class AdEventService {
+
+    public enum EventType {
+        IMPRESSION, CLICK, SAVE
+    }
+
+    private static final int DRAIN_BATCH = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String FLUSH_SQL = "UPDATE sponsored_pins SET impressions = impressions + ?, "
+            + "clicks = clicks + ?, saves = saves + ? WHERE sponsored_id = ?";
+
+    private final SponsoredPinRepository sponsoredPinRepository;
+    private final PinRepository pinRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CampaignStatsService campaignStatsService;
+    private final CampaignSpendService campaignSpendService;
+    private final CampaignReachService campaignReachService;
+
+    @Value("${ads.events.ring-capacity:65536}")
+    private int ringCapacity = 65536;
+
+    @Value("${ads.events.flush-ms:2000}")
+    private long flushMillis = 2000;
+
+    @Value("${ads.campaign-cache.ttl-minutes:10}")
+    private long campaignTtlMinutes = 10;
+
+    @Value("${ads.campaign-cache.max-entries:100000}")
+    private int maxCampaigns = 100000;
+
+    private AdEventRing ring;
+    // Owned by whoever holds this object's monitor: the aggregator thread, or a caller of drainAndFlush
+    private final Map<String, long[]> pending = new HashMap<>();
+    // Viewers of pendingHour's impressions; handed over, not cleared, at each flush
+    private Map<String, HyperLogLog> pendingReach = new HashMap<>();
+    private LocalDateTime pendingHour;
+    // Access-ordered, dropping the least recently used campaign past maxCampaigns
+    private final Map<String, Campaign> campaigns = Collections.synchronizedMap(
+            new LinkedHashMap<String, Campaign>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Campaign> eldest) {
+                    return size() > maxCampaigns;
+                }
+            });
+    private volatile boolean running;
+    private volatile Thread aggregatorThread;
+
+    // Bumped on every request thread, so striped rather than one contended word
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile long lastFlushMillis;
+
+    // destinationUrl is null when the pin has no usable link
+    private record Campaign(boolean exists, String destinationUrl, long loadedAtMillis) {
+    }
+
+    @Autowired
+    public AdEventService(SponsoredPinRepository sponsoredPinRepository, PinRepository pinRepository,
+                          JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                          CampaignStatsService campaignStatsService, CampaignSpendService campaignSpendService,
+                          CampaignReachService campaignReachService) {
+        this.sponsoredPinRepository = sponsoredPinRepository;
+        this.pinRepository = pinRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.campaignStatsService = campaignStatsService;
+        this.campaignSpendService = campaignSpendService;
+        this.campaignReachService = campaignReachService;
+    }
+
+    @PostConstruct
+    public void init() {
+        ring = new AdEventRing(ringCapacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        running = true;
+        Thread thread = new Thread(this::runAggregator, "ad-event-aggregator");
+        thread.setDaemon(true);
+        aggregatorThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Count an impression, click or save for the campaign.
+     */
+    public void record(String campaignId, EventType type) {
+        record(campaignId, type, null);
+    }
+
+    /**
+     * Count an event; impressions with a {@code viewerId} also count toward
+     * the campaign's unique reach.
+     */
+    public void record(String campaignId, EventType type, String viewerId) {
+        if (!campaign(campaignId).exists()) {
+            rejected.increment();
+            throw new ResourceNotFoundException("Campaign not found");
+        }
+        long viewer = type == EventType.IMPRESSION && viewerId != null && !viewerId.isBlank()
+                ? HyperLogLog.hash(viewerId) : 0;
+        if (ring.offer(campaignId, type.ordinal(), viewer)) {
+            accepted.increment();
+            campaignSpendService.charge(campaignId, type);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Count a click and return where to send the user: the promoted pin's link.
+     */
+    public String recordClick(String campaignId) {
+        Campaign campaign = campaign(campaignId);
+        if (campaign.exists() && campaign.destinationUrl() == null) {
+            throw new ResourceNotFoundException("Campaign has no destination link");
+        }
+        record(campaignId, EventType.CLICK);
+        return campaign.destinationUrl();
+    }
+
+    /**
+     * Drain everything on the ring and write the counts now.
+     *
+     * @return number of events drained
+     */
+    public synchronized int drainAndFlush() {
+        startHour();
+        int drained = 0;
+        int batch;
+        while ((batch = ring.drain(this::aggregate, DRAIN_BATCH)) > 0) {
+            drained += batch;
+        }
+        flush();
+        return drained;
+    }
+
+    public AdEventStatsDTO getStats() {
+        return new AdEventStatsDTO(ring.size(), ring.capacity(), accepted.sum(), dropped.sum(), rejected.sum(),
+                flushed.get(), flushes.get(), failedFlushes.get(), lastFlushMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = aggregatorThread;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = drainAndFlush();
+        if (remaining > 0) {
+            log.info("Flushed {} ad events on shutdown", remaining);
+        }
+    }
+
+    // Helper methods
+
+    private void runAggregator() {
+        long flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        long nextFlush = System.nanoTime() + flushNanos;
+        while (running) {
+            int drained;
+            synchronized (this) {
+                startHour();
+                drained = ring.drain(this::aggregate, DRAIN_BATCH);
+                if (System.nanoTime() - nextFlush >= 0) {
+                    flush();
+                    nextFlush = System.nanoTime() + flushNanos;
+                }
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    // Events drained from here on belong to the current hour; counts of an earlier one are flushed first
+    private void startHour() {
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        if (hour.equals(pendingHour)) {
+            return;
+        }
+        if (!pending.isEmpty()) {
+            flush();
+        }
+        if (pending.isEmpty()) {
+            pendingHour = hour;
+        }
+    }
+
+    private void aggregate(String campaignId, int type, long viewer) {
+        pending.computeIfAbsent(campaignId, id -> new long[EventType.values().length])[type]++;
+        if (viewer != 0) {
+            pendingReach.computeIfAbsent(campaignId, id -> new HyperLogLog()).add(viewer);
+        }
+    }
+
+    private void flush() {
+        if (!pendingReach.isEmpty()) {
+            campaignReachService.add(pendingHour.toLocalDate(), pendingReach);
+            pendingReach = new HashMap<>();
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        long events = 0;
+        for (Map.Entry<String, long[]> entry : new TreeMap<>(pending).entrySet()) {
+            long[] counts = entry.getValue();
+            rows.add(new Object[]{counts[EventType.IMPRESSION.ordinal()], counts[EventType.CLICK.ordinal()],
+                    counts[EventType.SAVE.ordinal()], entry.getKey()});
+            events += counts[0] + counts[1] + counts[2];
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, rows);
+                campaignStatsService.addHourly(pendingHour, rows);
+            });
+        } catch (DataAccessException e) {
+            failedFlushes.incrementAndGet();
+            log.warn("Failed to flush ad events for {} campaigns, retrying next interval: {}",
+                    rows.size(), e.getMessage());
+            return;
+        }
+        pending.clear();
+        flushed.addAndGet(events);
+        flushes.incrementAndGet();
+        lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private Campaign campaign(String campaignId) {
+        long now = System.currentTimeMillis();
+        Campaign cached = campaigns.get(campaignId);
+        if (cached != null && now - cached.loadedAtMillis() < TimeUnit.MINUTES.toMillis(campaignTtlMinutes)) {
+            return cached;
+        }
+        Campaign loaded = sponsoredPinRepository.findById(campaignId)
+                .map(sponsored -> new Campaign(true, pinRepository.findById(sponsored.getPinId())
+                        .map(Pin::getSourceUrl)
+                        .map(String::trim)
+                        .filter(AdEventService::isRedirectable)
+                        .orElse(null), now))
+                .orElseGet(() -> new Campaign(false, null, now));
+        campaigns.put(campaignId, loaded);
+        return loaded;
+    }
+
+    // Only absolute http(s) links: never javascript: or relative targets
+    private static boolean isRedirectable(String url) {
+        if (url.isEmpty()) {
+            return false;
+        }
+        try {
+            URI uri = URI.create(url);
+            return ("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))
+                    && uri.getHost() != null;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.SponsoredPin;
+import com.infy.pinterest.service.ActiveCampaignCache.AdCandidate;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Chooses sponsored pins for the slots of a feed page.
+ *
+ * Slots are fixed 1-based positions in the blended page. Candidates come
+ * from {@link ActiveCampaignCache}; each is weighted by its smoothed
+ * engagement rate times its pacing headroom, so campaigns that engage well
+ * and are behind their even spend get shown more, and ones that cannot
+ * spend now are skipped. Picks are a weighted sample without replacement
+ * seeded by viewer, page and cache generation: a page shows the same ads
+ * when reloaded and rotates when the campaign set is refreshed.
+ */
+@Service
+public class AdSlotter {
+
+    // Prior for the engagement rate: campaigns start as if one engagement per this many impressions
+    private static final double PRIOR_IMPRESSIONS = 100;
+
+    private final ActiveCampaignCache activeCampaignCache;
+    private final CampaignSpendService campaignSpendService;
+
+    @Value("${ads.feed.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ads.feed.positions:3,11,19}")
+    private String positions = "3,11,19";
+
+    private int[] slots = new int[0];
+
+    /**
+     * Insert {@code candidate} at {@code index} of the blended page.
+     */
+    public record Placement(int index, AdCandidate candidate) {
+    }
+
+    @Autowired
+    public AdSlotter(ActiveCampaignCache activeCampaignCache, CampaignSpendService campaignSpendService) {
+        this.activeCampaignCache = activeCampaignCache;
+        this.campaignSpendService = campaignSpendService;
+    }
+
+    @PostConstruct
+    public void init() {
+        slots = Arrays.stream(positions.split(","))
+                .map(String::trim)
+                .filter(position -> !position.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .filter(position -> position > 0)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Ads for one page, in increasing index order. A slot is only filled if
+     * at least one organic pin follows it, so short pages are not ad-heavy.
+     *
+     * @param pagePinIds     pins already on the page, never repeated as ads
+     * @param creatorVisible false for creators the viewer must not see
+     */
+    public List<Placement> place(Collection<String> pagePinIds, int organicCount, String viewerId, int page,
+                                 Predicate<String> creatorVisible) {
+        List<AdCandidate> candidates = activeCampaignCache.getCandidates();
+        if (!enabled || slots.length == 0 || organicCount == 0 || candidates.isEmpty()) {
+            return List.of();
+        }
+        int fillable = 0;
+        while (fillable < slots.length && slots[fillable] - 1 < organicCount + fillable) {
+            fillable++;
+        }
+        if (fillable == 0) {
+            return List.of();
+        }
+
+        // Efraimidis-Spirakis: the k smallest -ln(u)/weight keys are a weighted sample without replacement
+        LocalDateTime now = LocalDateTime.now();
+        Random random = new Random(Objects.hash(viewerId, page, activeCampaignCache.getGeneration()));
+        Set<String> onPage = new HashSet<>(pagePinIds);
+        PriorityQueue<Keyed> picked = new PriorityQueue<>((a, b) -> Double.compare(b.key(), a.key()));
+        for (AdCandidate candidate : candidates) {
+            double u = random.nextDouble();
+            if (onPage.contains(candidate.pin().getPinId()) || !creatorVisible.test(candidate.pin().getUserId())) {
+                continue;
+            }
+            double weight = weight(candidate.campaign(), now);
+            if (weight <= 0) {
+                continue;
+            }
+            double key = -Math.log(1 - u) / weight;
+            if (picked.size() < fillable) {
+                picked.add(new Keyed(key, candidate));
+            } else if (key < picked.peek().key()) {
+                picked.poll();
+                picked.add(new Keyed(key, candidate));
+            }
+        }
+
+        List<Keyed> ranked = new ArrayList<>(picked);
+        ranked.sort((a, b) -> Double.compare(a.key(), b.key()));
+        List<Placement> placements = new ArrayList<>(ranked.size());
+        Set<String> placedPins = new HashSet<>();
+        for (Keyed keyed : ranked) {
+            // Two campaigns can promote the same pin
+            if (placedPins.add(keyed.candidate().pin().getPinId())) {
+                placements.add(new Placement(slots[placements.size()] - 1, keyed.candidate()));
+            }
+        }
+        return placements;
+    }
+
+    // Helper methods
+
+    private record Keyed(double key, AdCandidate candidate) {
+    }
+
+    private double weight(SponsoredPin campaign, LocalDateTime now) {
+        double headroom = campaignSpendService.pacingHeadroom(campaign.getSponsoredId(), now);
+        if (headroom <= 0) {
+            return 0;
+        }
+        double engagements = value(campaign.getClicks()) + value(campaign.getSaves());
+        return (engagements + 1) / (value(campaign.getImpressions()) + PRIOR_IMPRESSIONS) * headroom;
+    }
+
+    private static double value(Integer count) {
+        return count == null ? 0 : count;
+    }
+}
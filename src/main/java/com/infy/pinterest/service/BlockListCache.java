@@ -0,0 +1,345 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.BlockedUser;
+import com.infy.pinterest.repository.BlockedUserRepository;
+import com.infy.pinterest.utility.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * In-memory view of the blocked_users table for block checks and for
+ * filtering feed and search results.
+ *
+ * A Bloom filter holds every user ID on either side of any block. Most
+ * users have never blocked anyone and never been blocked, so for them the
+ * filter answers "no blocks" without touching a set or the database. For
+ * users the filter does match, the exact block set (both directions) is
+ * loaded on first use and kept up to date by {@link #onBlock} and
+ * {@link #onUnblock} once the writing transaction commits.
+ *
+ * The filter is built from the table on startup. Until then pairwise checks
+ * go to the database and result filtering uses the exact sets. Blocks made
+ * on other nodes are picked up by a catch-up scan of recent rows every few
+ * seconds, which adds them to the filter and to cached sets. Unblocks on
+ * other nodes are seen when the set expires (the TTL), so until then the
+ * block is enforced a little longer, never shorter. Sets are kept for the
+ * most recently used users up to the size limit. Unblocked users stay in
+ * the filter until the next restart; that only costs an exact-set lookup.
+ */
+@Service
+@Slf4j
+public class BlockListCache {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final Predicate<String> NO_BLOCKS = userId -> true;
+    // Rows are stamped when persisted and committed a little later; rescanning a window costs nothing
+    private static final long CATCH_UP_OVERLAP_SECONDS = 60;
+
+    private final BlockedUserRepository blockedUserRepository;
+
+    @Value("${social.block-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${social.block-cache.expected-users:1000000}")
+    private int expectedUsers = 1000000;
+
+    @Value("${social.block-cache.max-cached-users:100000}")
+    private int maxCachedUsers = 100000;
+
+    @Value("${social.block-cache.ttl-minutes:5}")
+    private long ttlMinutes = 5;
+
+    private volatile BloomFilter involvedUsers;
+    // Blocks stamped from here on are not yet applied; set when the filter is built
+    private volatile LocalDateTime caughtUpTo;
+    // Access-ordered, dropping the least recently used user past maxCachedUsers
+    private final Map<String, CachedBlockSet> blockSets = Collections.synchronizedMap(
+            new LinkedHashMap<String, CachedBlockSet>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedBlockSet> eldest) {
+                    return size() > maxCachedUsers;
+                }
+            });
+
+    // Users blocked or unblocked before the filter was built, added once it is
+    private final Object filterLock = new Object();
+    private final List<String> pendingUsers = new ArrayList<>();
+
+    /**
+     * Both directions for one user. The sets are concurrent because readers
+     * test them while blocks are being applied.
+     */
+    private record BlockSet(Set<String> blocked, Set<String> blockedBy) {
+
+        boolean isEmpty() {
+            return blocked.isEmpty() && blockedBy.isEmpty();
+        }
+
+        boolean containsEitherWay(String userId) {
+            return blocked.contains(userId) || blockedBy.contains(userId);
+        }
+    }
+
+    private record CachedBlockSet(BlockSet blocks, long loadedAtMillis) {
+    }
+
+    @Autowired
+    public BlockListCache(BlockedUserRepository blockedUserRepository) {
+        this.blockedUserRepository = blockedUserRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Block list cache disabled");
+            return;
+        }
+        Thread loadThread = new Thread(this::load, "block-list-load");
+        loadThread.setDaemon(true);
+        loadThread.start();
+    }
+
+    /**
+     * Build the Bloom filter with a keyset scan over every block.
+     */
+    public void load() {
+        long start = System.currentTimeMillis();
+        LocalDateTime scanStart = LocalDateTime.now();
+        // Room for the table to grow before the false-positive rate degrades
+        long existing = blockedUserRepository.count();
+        BloomFilter filter = new BloomFilter((int) Math.min(Integer.MAX_VALUE,
+                Math.max(expectedUsers, existing * 4)), FALSE_POSITIVE_RATE);
+
+        long blocks = 0;
+        String afterBlockId = "";
+        while (true) {
+            List<BlockedUser> batch = blockedUserRepository.findBlocksAfter(afterBlockId,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (BlockedUser block : batch) {
+                filter.add(block.getBlockerId());
+                filter.add(block.getBlockedId());
+            }
+            blocks += batch.size();
+            afterBlockId = batch.get(batch.size() - 1).getBlockId();
+        }
+
+        synchronized (filterLock) {
+            pendingUsers.forEach(filter::add);
+            pendingUsers.clear();
+            involvedUsers = filter;
+            caughtUpTo = scanStart;
+        }
+        log.info("Block list filter loaded: {} blocks, {} bits in {} ms",
+                blocks, filter.bitCount(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return involvedUsers != null;
+    }
+
+    /**
+     * @return true if {@code blockerId} has blocked {@code blockedId}
+     */
+    public boolean hasBlocked(String blockerId, String blockedId) {
+        if (blockerId == null || blockedId == null) {
+            return false;
+        }
+        BloomFilter filter = involvedUsers;
+        if (filter == null) {
+            return Boolean.TRUE.equals(blockedUserRepository.existsByBlockerIdAndBlockedId(blockerId, blockedId));
+        }
+        if (!filter.mightContain(blockerId) || !filter.mightContain(blockedId)) {
+            return false;
+        }
+        return blockSet(blockerId).blocked().contains(blockedId);
+    }
+
+    /**
+     * @return true if either user has blocked the other
+     */
+    public boolean isBlockedEitherWay(String userId1, String userId2) {
+        BloomFilter filter = involvedUsers;
+        if (filter == null || userId1 == null || userId2 == null) {
+            return hasBlocked(userId1, userId2) || hasBlocked(userId2, userId1);
+        }
+        if (!filter.mightContain(userId1) || !filter.mightContain(userId2)) {
+            return false;
+        }
+        return blockSet(userId1).containsEitherWay(userId2);
+    }
+
+    /**
+     * Filter for content creators the viewer should see: false for users the
+     * viewer blocked or who blocked the viewer. The block set is resolved
+     * once here, so each test is at most one hash lookup.
+     */
+    public Predicate<String> visibleTo(String viewerId) {
+        if (viewerId == null || viewerId.isEmpty()) {
+            return NO_BLOCKS;
+        }
+        BloomFilter filter = involvedUsers;
+        if (filter != null && !filter.mightContain(viewerId)) {
+            return NO_BLOCKS;
+        }
+        BlockSet blocks = blockSet(viewerId);
+        if (blocks.isEmpty()) {
+            return NO_BLOCKS;
+        }
+        return creatorId -> !blocks.containsEitherWay(creatorId);
+    }
+
+    /**
+     * A block was written; applied once the surrounding transaction commits.
+     */
+    public void onBlock(String blockerId, String blockedId) {
+        afterCommit(() -> applyBlock(blockerId, blockedId));
+    }
+
+    /**
+     * A block was removed; applied once the surrounding transaction commits.
+     */
+    public void onUnblock(String blockerId, String blockedId) {
+        afterCommit(() -> {
+            BlockSet blocker = cachedBlockSet(blockerId);
+            if (blocker != null) {
+                blocker.blocked().remove(blockedId);
+            }
+            BlockSet blocked = cachedBlockSet(blockedId);
+            if (blocked != null) {
+                blocked.blockedBy().remove(blockerId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${social.block-cache.catch-up-ms:5000}")
+    public void scheduledCatchUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Block list catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply blocks written since the last scan, including ones from other
+     * nodes. Blocks already applied are applied again, which changes nothing.
+     *
+     * @return number of blocks scanned
+     */
+    public int catchUp() {
+        LocalDateTime from = caughtUpTo;
+        if (from == null) {
+            return 0;
+        }
+        LocalDateTime scanStart = LocalDateTime.now();
+        List<BlockedUser> recent = blockedUserRepository.findBlockedSince(
+                from.minusSeconds(CATCH_UP_OVERLAP_SECONDS));
+        recent.forEach(block -> applyBlock(block.getBlockerId(), block.getBlockedId()));
+        caughtUpTo = scanStart;
+        return recent.size();
+    }
+
+    // Helper methods
+
+    private void applyBlock(String blockerId, String blockedId) {
+        addToFilter(blockerId, blockedId);
+        BlockSet blocker = cachedBlockSet(blockerId);
+        if (blocker != null) {
+            blocker.blocked().add(blockedId);
+        }
+        BlockSet blocked = cachedBlockSet(blockedId);
+        if (blocked != null) {
+            blocked.blockedBy().add(blockerId);
+        }
+    }
+
+    private void addToFilter(String blockerId, String blockedId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (filterLock) {
+            BloomFilter filter = involvedUsers;
+            if (filter != null) {
+                filter.add(blockerId);
+                filter.add(blockedId);
+            } else {
+                pendingUsers.add(blockerId);
+                pendingUsers.add(blockedId);
+            }
+        }
+    }
+
+    /**
+     * Sets are loaded outside the map's lock. A block committed while a set
+     * is loading can be missed by that read; the next catch-up applies it.
+     */
+    private BlockSet blockSet(String userId) {
+        CachedBlockSet cached = blockSets.get(userId);
+        if (cached != null
+                && System.currentTimeMillis() - cached.loadedAtMillis() < TimeUnit.MINUTES.toMillis(ttlMinutes)) {
+            return cached.blocks();
+        }
+        BlockSet loaded = loadBlockSet(userId);
+        if (cached != null) {
+            blockSets.remove(userId, cached);
+        }
+        CachedBlockSet raced = blockSets.putIfAbsent(userId, new CachedBlockSet(loaded, System.currentTimeMillis()));
+        return raced != null ? raced.blocks() : loaded;
+    }
+
+    // The set to update in place, expired or not; null if the user is not cached
+    private BlockSet cachedBlockSet(String userId) {
+        CachedBlockSet cached = blockSets.get(userId);
+        return cached != null ? cached.blocks() : null;
+    }
+
+    private BlockSet loadBlockSet(String userId) {
+        Set<String> blocked = ConcurrentHashMap.newKeySet();
+        blocked.addAll(blockedUserRepository.findBlockedIdsByBlockerId(userId));
+        Set<String> blockedBy = ConcurrentHashMap.newKeySet();
+        blockedBy.addAll(blockedUserRepository.findBlockerIdsByBlockedId(userId));
+        return new BlockSet(blocked, blockedBy);
+    }
+
+    /**
+     * Run once the surrounding transaction commits, or now if there is none.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -26,6 +26,7 @@ public class BlockedUserService {
 
     private final BlockedUserRepository blockedUserRepository;
     private final UserRepository userRepository;
+    private final BlockListCache blockListCache;
 
     /**
      * Check if user A has blocked user B
@@ -37,7 +38,7 @@ public class BlockedUserService {
         if (blockerId == null || blockedId == null) {
             return false;
         }
-        return blockedUserRepository.existsByBlockerIdAndBlockedId(blockerId, blockedId);
+        return blockListCache.hasBlocked(blockerId, blockedId);
     }
 
     /**
@@ -47,7 +48,7 @@ public class BlockedUserService {
      * @return true if either user has blocked the other
      */
     public boolean isBlockedInEitherDirection(String userId1, String userId2) {
-        return isUserBlocked(userId1, userId2) || isUserBlocked(userId2, userId1);
+        return blockListCache.isBlockedEitherWay(userId1, userId2);
     }
 
     /**
@@ -64,7 +65,8 @@ public class BlockedUserService {
             throw new SelfBlockException("Cannot block yourself");
         }
 
-        if (isUserBlocked(blockerId, blockedId)) {
+        // Checked against the table: the cache may not have seen a block made on another node yet
+        if (Boolean.TRUE.equals(blockedUserRepository.existsByBlockerIdAndBlockedId(blockerId, blockedId))) {
             throw new UserBlockedException("User is already blocked");
         }
 
@@ -73,6 +75,7 @@ public class BlockedUserService {
         blockedUser.setBlockedId(blockedId);
         
         blockedUserRepository.save(blockedUser);
+        blockListCache.onBlock(blockerId, blockedId);
         log.info("User {} successfully blocked user {}", blockerId, blockedId);
     }
 
@@ -86,11 +89,12 @@ public class BlockedUserService {
     public void unblockUser(String blockerId, String blockedId) {
         log.info("User {} attempting to unblock user {}", blockerId, blockedId);
 
-        if (!isUserBlocked(blockerId, blockedId)) {
+        if (!Boolean.TRUE.equals(blockedUserRepository.existsByBlockerIdAndBlockedId(blockerId, blockedId))) {
             throw new UserBlockedException("User is not blocked");
         }
 
         blockedUserRepository.deleteByBlockerIdAndBlockedId(blockerId, blockedId);
+        blockListCache.onUnblock(blockerId, blockedId);
         log.info("User {} successfully unblocked user {}", blockerId, blockedId);
     }
 
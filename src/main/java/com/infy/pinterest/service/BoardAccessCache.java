@@ -0,0 +1,188 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.Board;
+import com.infy.pinterest.entity.BoardCollaborator;
+import com.infy.pinterest.entity.Invitation;
+import com.infy.pinterest.repository.BoardCollaboratorRepository;
+import com.infy.pinterest.repository.BoardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached access-control data for boards: per board the owner, visibility,
+ * category and collaborator permissions, and per user the collaborative
+ * boards they belong to. Permission checks on the pin write paths and the
+ * feed's board list are answered from memory once an entry is loaded.
+ *
+ * Entries are immutable snapshots loaded on first use. Writers evict them
+ * instead of patching them: right away, and again after the surrounding
+ * transaction commits, so a reader that reloads while the transaction is
+ * still open does not keep serving pre-commit data. Entries expire after
+ * the TTL, so changes handled on other nodes are seen within it, and each
+ * map keeps the most recently used entries up to its size limit.
+ */
+@Service
+@Slf4j
+public class BoardAccessCache {
+
+    private final BoardRepository boardRepository;
+    private final BoardCollaboratorRepository collaboratorRepository;
+
+    @Value("${board.access-cache.max-entries:100000}")
+    private int maxEntries = 100000;
+
+    @Value("${board.access-cache.ttl-minutes:5}")
+    private long ttlMinutes = 5;
+
+    private final Map<String, Cached<BoardAccess>> boards = lru();
+    private final Map<String, Cached<List<String>>> collaborativeBoardIds = lru();
+
+    private record Cached<T>(T value, long loadedAtMillis) {
+    }
+
+    public record BoardAccess(String ownerId, Board.Visibility visibility, String category,
+                              Map<String, Invitation.Permission> collaborators) {
+
+        public boolean canEdit(String userId) {
+            return ownerId.equals(userId) || collaborators.get(userId) == Invitation.Permission.EDIT;
+        }
+
+        public boolean canView(String userId) {
+            return visibility == Board.Visibility.PUBLIC || ownerId.equals(userId)
+                    || collaborators.containsKey(userId);
+        }
+    }
+
+    @Autowired
+    public BoardAccessCache(BoardRepository boardRepository, BoardCollaboratorRepository collaboratorRepository) {
+        this.boardRepository = boardRepository;
+        this.collaboratorRepository = collaboratorRepository;
+    }
+
+    /**
+     * @return the board's access data, or null if the board does not exist
+     */
+    public BoardAccess getBoardAccess(String boardId) {
+        Cached<BoardAccess> cached = boards.get(boardId);
+        if (isFresh(cached)) {
+            return cached.value();
+        }
+        BoardAccess loaded = loadBoardAccess(boardId);
+        if (cached != null) {
+            boards.remove(boardId, cached);
+        }
+        if (loaded != null) {
+            boards.putIfAbsent(boardId, new Cached<>(loaded, System.currentTimeMillis()));
+        }
+        return loaded;
+    }
+
+    /**
+     * @return true if the user owns the board or collaborates on it with EDIT permission
+     */
+    public boolean canEdit(String userId, String boardId) {
+        BoardAccess access = getBoardAccess(boardId);
+        return access != null && access.canEdit(userId);
+    }
+
+    /**
+     * @return IDs of the boards the user collaborates on (not the ones they own)
+     */
+    public List<String> getCollaborativeBoardIds(String userId) {
+        Cached<List<String>> cached = collaborativeBoardIds.get(userId);
+        if (isFresh(cached)) {
+            return cached.value();
+        }
+        List<String> loaded = collaboratorRepository.findByUserId(userId).stream()
+                .map(BoardCollaborator::getBoardId)
+                .toList();
+        if (cached != null) {
+            collaborativeBoardIds.remove(userId, cached);
+        }
+        collaborativeBoardIds.putIfAbsent(userId, new Cached<>(loaded, System.currentTimeMillis()));
+        return loaded;
+    }
+
+    /**
+     * A collaborator was added to or removed from a board.
+     */
+    public void onCollaboratorChanged(String boardId, String userId) {
+        evict(() -> {
+            boards.remove(boardId);
+            collaborativeBoardIds.remove(userId);
+        });
+    }
+
+    /**
+     * The board's owner-editable settings (visibility) changed.
+     */
+    public void onBoardUpdated(String boardId) {
+        evict(() -> boards.remove(boardId));
+    }
+
+    /**
+     * Call before deleting the board, while its collaborators can still be read.
+     */
+    public void onBoardDeleted(String boardId) {
+        BoardAccess access = getBoardAccess(boardId);
+        Collection<String> members = access != null ? List.copyOf(access.collaborators().keySet()) : List.of();
+        evict(() -> {
+            boards.remove(boardId);
+            members.forEach(collaborativeBoardIds::remove);
+        });
+    }
+
+    // Helper methods
+
+    private boolean isFresh(Cached<?> cached) {
+        return cached != null
+                && System.currentTimeMillis() - cached.loadedAtMillis() < TimeUnit.MINUTES.toMillis(ttlMinutes);
+    }
+
+    // Access-ordered, dropping the least recently used entry past maxEntries
+    private <V> Map<String, V> lru() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private BoardAccess loadBoardAccess(String boardId) {
+        Board board = boardRepository.findById(boardId).orElse(null);
+        if (board == null) {
+            return null;
+        }
+        Map<String, Invitation.Permission> collaborators = new HashMap<>();
+        for (BoardCollaborator collaborator : collaboratorRepository.findByBoardId(boardId)) {
+            collaborators.put(collaborator.getUserId(), collaborator.getPermission());
+        }
+        return new BoardAccess(board.getUserId(), board.getVisibility(), board.getCategory(),
+                Collections.unmodifiableMap(collaborators));
+    }
+
+    private void evict(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
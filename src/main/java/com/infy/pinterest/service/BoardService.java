@@ -47,12 +47,14 @@ public class BoardService {
     private final SavedPinRepository savedPinRepository;
     private final FileUploadService fileUploadService;
     private final ModelMapper modelMapper;
+    private final BoardAccessCache boardAccessCache;
 
     @Autowired
     public BoardService(BoardRepository boardRepository, PinRepository pinRepository,
                        UserRepository userRepository, BoardCollaboratorRepository collaboratorRepository,
                        PinLikeRepository pinLikeRepository, SavedPinRepository savedPinRepository,
-                       FileUploadService fileUploadService, ModelMapper modelMapper) {
+                       FileUploadService fileUploadService, ModelMapper modelMapper,
+                       BoardAccessCache boardAccessCache) {
         this.boardRepository = boardRepository;
         this.pinRepository = pinRepository;
         this.userRepository = userRepository;
@@ -61,6 +63,7 @@ public class BoardService {
         this.savedPinRepository = savedPinRepository;
         this.fileUploadService = fileUploadService;
         this.modelMapper = modelMapper;
+        this.boardAccessCache = boardAccessCache;
     }
 
     /**
@@ -114,6 +117,7 @@ public class BoardService {
          if (updateDTO.getVisibility() != null) {
          board.setVisibility(Board.Visibility.valueOf(updateDTO.getVisibility()));        }
          Board updatedBoard = boardRepository.save(board);
+         boardAccessCache.onBoardUpdated(boardId);
          log.info("Board updated successfully: {}", boardId);
          return modelMapper.map(updatedBoard, BoardResponseDTO.class);
      }
@@ -122,6 +126,7 @@ public class BoardService {
          log.info("Deleting board {} for user: {}", boardId, userId);
          Board board = boardRepository.findByBoardIdAndUserId(boardId, userId)
          .orElseThrow(() -> new BoardNotFoundException("Board not found or you don't have permission to delete it"));
+         boardAccessCache.onBoardDeleted(boardId);
          boardRepository.delete(board);
          log.info("Board deleted successfully: {}", boardId);
     }
@@ -9,6 +9,7 @@ import com.infy.pinterest.exception.ResourceNotFoundException;
 import com.infy.pinterest.repository.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,12 +19,21 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 @Service
 @Slf4j
 public class BusinessService {
 
+    private static final int DEFAULT_TIMELINE_DAYS = 30;
+
     private final BusinessProfileRepository businessProfileRepository;
     private final BusinessShowcaseRepository showcaseRepository;
     private final ShowcasePinRepository showcasePinRepository;
@@ -31,6 +41,14 @@ public class BusinessService {
     private final UserRepository userRepository;
     private final PinRepository pinRepository;
     private final BoardRepository boardRepository;
+    private final CampaignStatsService campaignStatsService;
+    private final ActiveCampaignCache activeCampaignCache;
+    private final CampaignLifecycleService campaignLifecycleService;
+    private final CampaignReachService campaignReachService;
+
+    // Boards listed per business profile, newest first
+    @Value("${business.profile.board-summary-limit:12}")
+    private int boardSummaryLimit = 12;
 
     @Autowired
     public BusinessService(BusinessProfileRepository businessProfileRepository,
@@ -39,7 +57,11 @@ public class BusinessService {
                           SponsoredPinRepository sponsoredPinRepository,
                           UserRepository userRepository,
                           PinRepository pinRepository,
-                          BoardRepository boardRepository) {
+                          BoardRepository boardRepository,
+                          CampaignStatsService campaignStatsService,
+                          ActiveCampaignCache activeCampaignCache,
+                          CampaignLifecycleService campaignLifecycleService,
+                          CampaignReachService campaignReachService) {
         this.businessProfileRepository = businessProfileRepository;
         this.showcaseRepository = showcaseRepository;
         this.showcasePinRepository = showcasePinRepository;
@@ -47,6 +69,10 @@ public class BusinessService {
         this.userRepository = userRepository;
         this.pinRepository = pinRepository;
         this.boardRepository = boardRepository;
+        this.campaignStatsService = campaignStatsService;
+        this.activeCampaignCache = activeCampaignCache;
+        this.campaignLifecycleService = campaignLifecycleService;
+        this.campaignReachService = campaignReachService;
     }
 
     @Transactional
@@ -85,8 +111,25 @@ public class BusinessService {
         Pageable pageable = PageRequest.of(page, size, sort);
         Page<BusinessProfile> businessPage = businessProfileRepository.findAll(pageable);
 
+        // One windowed query for the newest boards of every business on the page
+        List<String> userIds = businessPage.getContent().stream()
+                .map(BusinessProfile::getUserId)
+                .distinct()
+                .toList();
+        Map<String, List<BoardSummaryDTO>> boardsByUser = new HashMap<>();
+        Map<String, Long> totalsByUser = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (Object[] row : boardRepository.findTopSummariesByUserIds(userIds, boardSummaryLimit)) {
+                String userId = (String) row[0];
+                boardsByUser.computeIfAbsent(userId, id -> new ArrayList<>())
+                        .add(new BoardSummaryDTO((String) row[1], (String) row[2]));
+                totalsByUser.put(userId, ((Number) row[3]).longValue());
+            }
+        }
         List<BusinessProfileResponseDTO> businesses = businessPage.getContent().stream()
-                .map(this::buildBusinessProfileResponse)
+                .map(profile -> buildBusinessProfileResponse(profile,
+                        boardsByUser.getOrDefault(profile.getUserId(), List.of()),
+                        totalsByUser.getOrDefault(profile.getUserId(), 0L)))
                 .toList();
 
         PaginationDTO pagination = new PaginationDTO(
@@ -132,13 +175,17 @@ public class BusinessService {
                 "createdAt"));
         Page<BusinessShowcase> showcasePage = showcaseRepository.findByIsActive(true, pageable);
 
-        List<BusinessShowcaseResponseDTO> showcases = showcasePage.getContent().stream()
-                .map(showcase -> {
-                    BusinessProfile profile =
-                            businessProfileRepository.findById(showcase.getBusinessId()).orElse(null);
-                    return buildShowcaseResponse(showcase, profile);
-                })
+        Map<String, BusinessProfile> profiles = new HashMap<>();
+        List<String> businessIds = showcasePage.getContent().stream()
+                .map(BusinessShowcase::getBusinessId)
+                .distinct()
                 .toList();
+        if (!businessIds.isEmpty()) {
+            businessProfileRepository.findAllById(businessIds)
+                    .forEach(profile -> profiles.put(profile.getBusinessId(), profile));
+        }
+        List<BusinessShowcaseResponseDTO> showcases =
+                buildShowcaseResponses(showcasePage.getContent(), profiles);
 
         PaginationDTO pagination = new PaginationDTO(
                 showcasePage.getNumber(),
@@ -168,11 +215,14 @@ public class BusinessService {
         sponsored.setCampaignName(sponsoredDTO.getCampaignName());
         sponsored.setBudget(sponsoredDTO.getBudget());
         sponsored.setSpent(BigDecimal.ZERO);
-        sponsored.setStatus(SponsoredPin.Status.ACTIVE);
+        // Future campaigns wait for CampaignLifecycleService to start them
+        sponsored.setStatus(sponsoredDTO.getStartDate().isAfter(LocalDate.now())
+                ? SponsoredPin.Status.PENDING : SponsoredPin.Status.ACTIVE);
         sponsored.setStartDate(sponsoredDTO.getStartDate());
         sponsored.setEndDate(sponsoredDTO.getEndDate());
 
         SponsoredPin savedSponsored = sponsoredPinRepository.save(sponsored);
+        campaignLifecycleService.track(savedSponsored);
 
         // Mark pin as sponsored
         pin.setIsSponsored(true);
@@ -188,11 +238,11 @@ public class BusinessService {
         Page<SponsoredPin> sponsoredPage = sponsoredPinRepository.findByBusinessId(businessId,
                 pageable);
 
+        Map<String, PinSummaryDTO> pins = findPinSummaries(sponsoredPage.getContent().stream()
+                .map(SponsoredPin::getPinId)
+                .toList());
         List<SponsoredPinResponseDTO> sponsored = sponsoredPage.getContent().stream()
-                .map(sp -> {
-                    Pin pin = pinRepository.findById(sp.getPinId()).orElse(null);
-                    return buildSponsoredPinResponse(sp, pin);
-                })
+                .map(sp -> buildSponsoredPinResponse(sp, pins.get(sp.getPinId())))
                 .toList();
 
         PaginationDTO pagination = new PaginationDTO(
@@ -209,30 +259,40 @@ public class BusinessService {
 
     public PaginatedResponse<SponsoredPinResponseDTO> getActiveSponsoredFeed(int page, int size)
     {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<SponsoredPin> sponsoredPage =
-                sponsoredPinRepository.findActiveSponsoredPins(LocalDate.now(), pageable);
-
-        List<SponsoredPinResponseDTO> sponsored = sponsoredPage.getContent().stream()
-                .map(sp -> {
-                    Pin pin = pinRepository.findById(sp.getPinId()).orElse(null);
-                    return buildSponsoredPinResponse(sp, pin);
-                })
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Page index must not be negative and size must be at least one");
+        }
+        // Served from the active campaign cache: campaigns and their pins are loaded once per refresh
+        List<ActiveCampaignCache.AdCandidate> active = activeCampaignCache.getCandidates();
+        int from = (int) Math.min((long) page * size, active.size());
+        int to = (int) Math.min((long) from + size, active.size());
+        List<SponsoredPinResponseDTO> sponsored = active.subList(from, to).stream()
+                .map(candidate -> buildSponsoredPinResponse(candidate.campaign(), candidate.pin()))
                 .toList();
 
+        int totalPages = (active.size() + size - 1) / size;
         PaginationDTO pagination = new PaginationDTO(
-                sponsoredPage.getNumber(),
-                sponsoredPage.getTotalPages(),
-                sponsoredPage.getTotalElements(),
-                sponsoredPage.getSize(),
-                sponsoredPage.hasNext(),
-                sponsoredPage.hasPrevious()
+                page,
+                totalPages,
+                (long) active.size(),
+                size,
+                page + 1 < totalPages,
+                page > 0
         );
 
         return new PaginatedResponse<>(sponsored, pagination);
     }
 
     public CampaignAnalyticsDTO getCampaignAnalytics(String campaignId) {
+        return getCampaignAnalytics(campaignId, null, null, null);
+    }
+
+    /**
+     * Campaign totals plus a timeline of {@code granularity} buckets between
+     * {@code from} and {@code to}; defaults to the last 30 days by day.
+     */
+    public CampaignAnalyticsDTO getCampaignAnalytics(String campaignId, LocalDate from, LocalDate to,
+                                                     CampaignStatsService.Granularity granularity) {
         SponsoredPin sponsored = sponsoredPinRepository.findById(campaignId)
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
 
@@ -274,12 +334,18 @@ public class BusinessService {
         spending.setCostPerClick(calculateCPC(sponsored.getSpent(), sponsored.getClicks())); spending.setCostPerSave(calculateCPS(sponsored.getSpent(), sponsored.getSaves()));
         analytics.setSpending(spending);
 
-        // Timeline (mock data)
-        analytics.setTimeline(Arrays.asList(
-                new TimelineDataDTO(LocalDate.now().minusDays(2), 5000, 250, 68),
-                new TimelineDataDTO(LocalDate.now().minusDays(1), 4500, 230, 62),
-                new TimelineDataDTO(LocalDate.now(), 4000, 200, 55)
-        ));
+        // Timeline
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_TIMELINE_DAYS - 1);
+        List<TimelineDataDTO> timeline = campaignStatsService.getTimeline(campaignId, start, end,
+                granularity != null ? granularity : CampaignStatsService.Granularity.DAY);
+        analytics.setTimeline(timeline);
+
+        // Reach over the timeline range, from the union of its daily viewer sketches
+        long reach = campaignReachService.getReach(campaignId, start, end);
+        long impressions = timeline.stream().mapToLong(TimelineDataDTO::getImpressions).sum();
+        analytics.setReach(reach);
+        analytics.setFrequency(reach == 0 ? 0.0 : (double) impressions / reach);
 
         return analytics;
     }
@@ -287,6 +353,16 @@ public class BusinessService {
     // Helper methods
 
     private BusinessProfileResponseDTO buildBusinessProfileResponse(BusinessProfile profile) {
+        List<BoardSummaryDTO> boards = boardRepository.findSummariesByUserId(profile.getUserId(),
+                PageRequest.of(0, boardSummaryLimit));
+        // Only count when the limit may have cut the list short
+        long total = boards.size() < boardSummaryLimit
+                ? boards.size() : boardRepository.countByUserId(profile.getUserId());
+        return buildBusinessProfileResponse(profile, boards, total);
+    }
+
+    private BusinessProfileResponseDTO buildBusinessProfileResponse(BusinessProfile profile,
+                                                                    List<BoardSummaryDTO> boards, long totalBoards) {
         BusinessProfileResponseDTO dto = new BusinessProfileResponseDTO();
         dto.setBusinessId(profile.getBusinessId());
         dto.setUserId(profile.getUserId());
@@ -299,52 +375,78 @@ public class BusinessService {
         dto.setFollowerCount(profile.getFollowerCount());
         dto.setCreatedAt(profile.getCreatedAt());
 
-        // Get boards
-        List<Board> boards = boardRepository.findByUserId(profile.getUserId());
-        List<BoardSummaryDTO> boardSummaries = boards.stream()
-                .map(b -> new BoardSummaryDTO(b.getBoardId(), b.getName()))
-                .toList();
-        dto.setBoards(boardSummaries);
+        dto.setBoards(boards);
+        dto.setTotalBoards(totalBoards);
 
         return dto;
     }
 
     private BusinessShowcaseResponseDTO buildShowcaseResponse(BusinessShowcase showcase,
                                                               BusinessProfile profile) {
-        BusinessShowcaseResponseDTO dto = new BusinessShowcaseResponseDTO();
-        dto.setShowcaseId(showcase.getShowcaseId());
-        dto.setBusinessId(showcase.getBusinessId());
-        dto.setTitle(showcase.getTitle());
-        dto.setDescription(showcase.getDescription());
-        dto.setTheme(showcase.getTheme());
-        dto.setIsActive(showcase.getIsActive());
-
-        if (profile != null) {
-            dto.setBusinessName(profile.getBusinessName());
-            dto.setLogoUrl(profile.getLogoUrl());
-            dto.setFollowerCount(profile.getFollowerCount());
-        }
+        Map<String, BusinessProfile> profiles = profile == null ? Map.of()
+                : Map.of(showcase.getBusinessId(), profile);
+        return buildShowcaseResponses(List.of(showcase), profiles).get(0);
+    }
 
-        // Get showcase pins
-        List<ShowcasePin> showcasePins =
-                showcasePinRepository.findByShowcaseIdOrderByDisplayOrderAsc(showcase.getShowcaseId());
-        List<PinSummaryDTO> pins = showcasePins.stream()
-                .map(sp -> {
-                    Pin pin = pinRepository.findById(sp.getPinId()).orElse(null);
-                    if (pin != null) {
-                        return new PinSummaryDTO(pin.getPinId(), pin.getTitle(),
-                                pin.getImageUrl());
+    // Two queries for the whole page: the showcases' pin links, then the linked pins' summaries
+    private List<BusinessShowcaseResponseDTO> buildShowcaseResponses(List<BusinessShowcase> showcases,
+                                                                     Map<String, BusinessProfile> profiles) {
+        if (showcases.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<ShowcasePin>> showcasePins = showcasePinRepository
+                .findByShowcaseIdInOrderByDisplayOrderAsc(showcases.stream()
+                        .map(BusinessShowcase::getShowcaseId)
+                        .toList())
+                .stream()
+                .collect(Collectors.groupingBy(ShowcasePin::getShowcaseId));
+        Map<String, PinSummaryDTO> pins = findPinSummaries(showcasePins.values().stream()
+                .flatMap(List::stream)
+                .map(ShowcasePin::getPinId)
+                .toList());
+
+        return showcases.stream()
+                .map(showcase -> {
+                    BusinessShowcaseResponseDTO dto = new BusinessShowcaseResponseDTO();
+                    dto.setShowcaseId(showcase.getShowcaseId());
+                    dto.setBusinessId(showcase.getBusinessId());
+                    dto.setTitle(showcase.getTitle());
+                    dto.setDescription(showcase.getDescription());
+                    dto.setTheme(showcase.getTheme());
+                    dto.setIsActive(showcase.getIsActive());
+
+                    BusinessProfile profile = profiles.get(showcase.getBusinessId());
+                    if (profile != null) {
+                        dto.setBusinessName(profile.getBusinessName());
+                        dto.setLogoUrl(profile.getLogoUrl());
+                        dto.setFollowerCount(profile.getFollowerCount());
                     }
-                    return null;
+
+                    // Deleted pins are skipped
+                    dto.setPins(showcasePins.getOrDefault(showcase.getShowcaseId(), List.of()).stream()
+                            .map(sp -> pins.get(sp.getPinId()))
+                            .filter(Objects::nonNull)
+                            .toList());
+                    return dto;
                 })
-                .filter(p -> p != null)
                 .toList();
-        dto.setPins(pins);
+    }
 
-        return dto;
+    private Map<String, PinSummaryDTO> findPinSummaries(Collection<String> pinIds) {
+        Map<String, PinSummaryDTO> summaries = new HashMap<>();
+        if (!pinIds.isEmpty()) {
+            pinRepository.findSummariesByPinIds(new HashSet<>(pinIds))
+                    .forEach(summary -> summaries.put(summary.getPinId(), summary));
+        }
+        return summaries;
     }
 
     private SponsoredPinResponseDTO buildSponsoredPinResponse(SponsoredPin sponsored, Pin pin) {
+        return buildSponsoredPinResponse(sponsored,
+                pin == null ? null : new PinSummaryDTO(pin.getPinId(), pin.getTitle(), pin.getImageUrl()));
+    }
+
+    private SponsoredPinResponseDTO buildSponsoredPinResponse(SponsoredPin sponsored, PinSummaryDTO pin) {
         SponsoredPinResponseDTO dto = new SponsoredPinResponseDTO();
         dto.setSponsoredId(sponsored.getSponsoredId());
         dto.setCampaignName(sponsored.getCampaignName());
@@ -358,9 +460,7 @@ public class BusinessService {
         dto.setEndDate(sponsored.getEndDate());
         dto.setCreatedAt(sponsored.getCreatedAt());
 
-        if (pin != null) {
-            dto.setPin(new PinSummaryDTO(pin.getPinId(), pin.getTitle(), pin.getImageUrl()));
-        }
+        dto.setPin(pin);
 
         return dto;
     }
@@ -542,6 +642,7 @@ public class BusinessService {
         }
 
         SponsoredPin updated = sponsoredPinRepository.save(sponsored);
+        campaignLifecycleService.track(updated);
         Pin pin = pinRepository.findById(updated.getPinId()).orElse(null);
         return buildSponsoredPinResponse(updated, pin);
     }
@@ -0,0 +1,228 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.SponsoredPin;
+import com.infy.pinterest.repository.SponsoredPinRepository;
+import com.infy.pinterest.utility.TimerWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts and completes sponsored pins on their flight dates.
+ *
+ * A campaign starts at midnight of {@code startDate} (PENDING to ACTIVE)
+ * and completes at midnight after {@code endDate} (to COMPLETED from any
+ * other status). The node holding the {@value #LEASE} lease loads every
+ * transition due before the next reload into a {@link TimerWheel}, and
+ * each tick applies the due ones in batches. A pin stops being marked
+ * sponsored once its last unfinished campaign completes.
+ *
+ * Updates re-check status and dates in SQL, so stale wheel entries (a
+ * campaign edited or deleted meanwhile) do nothing. Campaigns created or
+ * edited on this node are tracked immediately; ones from other nodes are
+ * picked up by the next reload. After a change the active campaign cache
+ * is refreshed here; other nodes see it on their next cache refresh, and
+ * spend accounts on their next reconcile.
+ */
+@Service
+@Slf4j
+public class CampaignLifecycleService {
+
+    static final String LEASE = "campaign-lifecycle";
+
+    private static final int WHEEL_SLOTS = 4096;
+
+    private final SponsoredPinRepository sponsoredPinRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLease schedulerLease;
+    private final ActiveCampaignCache activeCampaignCache;
+
+    @Value("${ads.lifecycle.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${ads.lifecycle.tick-ms:1000}")
+    private long tickMillis = 1000;
+
+    @Value("${ads.lifecycle.lease-seconds:30}")
+    private long leaseSeconds = 30;
+
+    @Value("${ads.lifecycle.reload-minutes:5}")
+    private long reloadMinutes = 5;
+
+    @Value("${ads.lifecycle.batch-size:500}")
+    private int batchSize = 500;
+
+    private enum Kind { START, END }
+
+    private record Transition(String sponsoredId, Kind kind) {
+    }
+
+    private TimerWheel<Transition> wheel;
+    // Null while this node does not hold the lease
+    private LocalDateTime nextReload;
+
+    @Autowired
+    public CampaignLifecycleService(SponsoredPinRepository sponsoredPinRepository, JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate, SchedulerLease schedulerLease,
+                                    ActiveCampaignCache activeCampaignCache) {
+        this.sponsoredPinRepository = sponsoredPinRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.schedulerLease = schedulerLease;
+        this.activeCampaignCache = activeCampaignCache;
+    }
+
+    @Scheduled(fixedDelayString = "${ads.lifecycle.tick-ms:1000}")
+    public void scheduledTick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            tick(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Campaign lifecycle tick failed", e);
+        }
+    }
+
+    /**
+     * Apply the transitions due at {@code now} if this node holds the lease.
+     *
+     * @return number of campaigns whose status changed
+     */
+    public synchronized int tick(LocalDateTime now) {
+        if (!schedulerLease.tryAcquire(LEASE, Duration.ofSeconds(leaseSeconds))) {
+            if (nextReload != null) {
+                wheel.clear();
+                nextReload = null;
+            }
+            return 0;
+        }
+        if (nextReload == null || !now.isBefore(nextReload)) {
+            load(now);
+        }
+        List<Transition> due = wheel.advance(millis(now));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        int changed = 0;
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Transition> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                changed += apply(batch, now.toLocalDate());
+            } catch (DataAccessException e) {
+                // Reload on the next tick; everything still due is due again
+                log.warn("Failed to apply {} campaign transitions, reloading: {}", batch.size(), e.getMessage());
+                nextReload = now;
+                break;
+            }
+        }
+        if (changed > 0) {
+            log.info("Started or completed {} campaigns", changed);
+            activeCampaignCache.refresh(now.toLocalDate());
+        }
+        return changed;
+    }
+
+    /**
+     * Schedule the next transition of a campaign created or edited on this
+     * node, if this node runs the lifecycle.
+     */
+    public synchronized void track(SponsoredPin sponsored) {
+        if (nextReload == null) {
+            return;
+        }
+        LocalDate horizon = nextReload.toLocalDate();
+        if (sponsored.getStatus() == SponsoredPin.Status.PENDING && !sponsored.getStartDate().isAfter(horizon)) {
+            schedule(sponsored, Kind.START);
+        }
+        if (sponsored.getStatus() != SponsoredPin.Status.COMPLETED && sponsored.getEndDate().isBefore(horizon)) {
+            schedule(sponsored, Kind.END);
+        }
+    }
+
+    // Helper methods
+
+    private void load(LocalDateTime now) {
+        if (wheel == null) {
+            wheel = new TimerWheel<>(tickMillis, WHEEL_SLOTS, millis(now));
+        }
+        wheel.clear();
+        nextReload = now.plusMinutes(reloadMinutes);
+        LocalDate horizon = nextReload.toLocalDate();
+        sponsoredPinRepository.findByStatusAndStartDateLessThanEqual(SponsoredPin.Status.PENDING, horizon)
+                .forEach(sponsored -> schedule(sponsored, Kind.START));
+        sponsoredPinRepository.findByStatusNotAndEndDateLessThan(SponsoredPin.Status.COMPLETED, horizon)
+                .forEach(sponsored -> schedule(sponsored, Kind.END));
+        log.debug("Loaded {} campaign transitions due before {}", wheel.size(), nextReload);
+    }
+
+    private void schedule(SponsoredPin sponsored, Kind kind) {
+        LocalDateTime at = kind == Kind.START
+                ? sponsored.getStartDate().atStartOfDay()
+                : sponsored.getEndDate().plusDays(1).atStartOfDay();
+        wheel.schedule(new Transition(sponsored.getSponsoredId(), kind), millis(at));
+    }
+
+    private int apply(List<Transition> batch, LocalDate today) {
+        List<Object[]> starts = new ArrayList<>();
+        List<Object[]> ends = new ArrayList<>();
+        for (Transition transition : batch) {
+            if (transition.kind() == Kind.START) {
+                starts.add(new Object[]{transition.sponsoredId(), today, today});
+            } else {
+                ends.add(new Object[]{transition.sponsoredId(), today});
+            }
+        }
+        int[] changed = new int[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!starts.isEmpty()) {
+                changed[0] += updated(jdbcTemplate.batchUpdate("UPDATE sponsored_pins SET status = 'ACTIVE' "
+                        + "WHERE sponsored_id = ? AND status = 'PENDING' AND start_date <= ? AND end_date >= ?",
+                        starts), starts).size();
+            }
+            if (!ends.isEmpty()) {
+                List<Object[]> completed = updated(jdbcTemplate.batchUpdate("UPDATE sponsored_pins "
+                        + "SET status = 'COMPLETED' WHERE sponsored_id = ? AND status <> 'COMPLETED' AND end_date < ?",
+                        ends), ends);
+                if (!completed.isEmpty()) {
+                    List<Object[]> pins = completed.stream().map(row -> new Object[]{row[0]}).toList();
+                    jdbcTemplate.batchUpdate("UPDATE pins SET is_sponsored = FALSE "
+                            + "WHERE pin_id = (SELECT pin_id FROM sponsored_pins WHERE sponsored_id = ?) "
+                            + "AND NOT EXISTS (SELECT 1 FROM sponsored_pins s "
+                            + "WHERE s.pin_id = pins.pin_id AND s.status <> 'COMPLETED')", pins);
+                }
+                changed[0] += completed.size();
+            }
+        });
+        return changed[0];
+    }
+
+    // Rows the batch changed; drivers that cannot tell report SUCCESS_NO_INFO, counted as changed
+    private static List<Object[]> updated(int[] counts, List<Object[]> rows) {
+        List<Object[]> updated = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                updated.add(rows.get(i));
+            }
+        }
+        return updated;
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,162 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.utility.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Unique reach per campaign, from one HyperLogLog sketch of viewer IDs per
+ * campaign and day in {@code campaign_reach_daily}.
+ *
+ * {@link AdEventService} hands over the viewers of each flush as sketches;
+ * they are merged here in memory and written every flush interval. A write
+ * creates missing rows, locks the day's rows, merges into them and stores
+ * the result, so nodes writing the same rows never lose each other's
+ * viewers. Reach over a range is the estimate of the union of its daily
+ * sketches plus this node's unwritten ones; no raw events are kept.
+ */
+@Service
+@Slf4j
+public class CampaignReachService {
+
+    private static final int LOCK_BATCH = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Viewers not yet written, by day then campaign; guarded by this object's monitor
+    private final Map<LocalDate, Map<String, HyperLogLog>> unsaved = new TreeMap<>();
+
+    @Autowired
+    public CampaignReachService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Merge the viewers seen on {@code day} into the sketches to be written.
+     * Takes ownership of the sketches.
+     */
+    public synchronized void add(LocalDate day, Map<String, HyperLogLog> viewers) {
+        Map<String, HyperLogLog> sketches = unsaved.computeIfAbsent(day, d -> new HashMap<>());
+        viewers.forEach((campaignId, sketch) -> sketches.merge(campaignId, sketch, (current, added) -> {
+            current.merge(added);
+            return current;
+        }));
+    }
+
+    /**
+     * Estimated distinct viewers of the campaign from {@code from} to
+     * {@code to}, inclusive.
+     */
+    public long getReach(String campaignId, LocalDate from, LocalDate to) {
+        HyperLogLog union = new HyperLogLog();
+        jdbcTemplate.query("SELECT sketch FROM campaign_reach_daily "
+                        + "WHERE sponsored_id = ? AND bucket_date BETWEEN ? AND ?",
+                rs -> {
+                    union.merge(HyperLogLog.fromBytes(rs.getBytes(1)));
+                }, campaignId, Date.valueOf(from), Date.valueOf(to));
+        synchronized (this) {
+            unsaved.forEach((day, sketches) -> {
+                HyperLogLog sketch = sketches.get(campaignId);
+                if (sketch != null && !day.isBefore(from) && !day.isAfter(to)) {
+                    union.merge(sketch);
+                }
+            });
+        }
+        return union.estimate();
+    }
+
+    @Scheduled(fixedDelayString = "${ads.reach.flush-ms:60000}",
+            initialDelayString = "${ads.reach.flush-ms:60000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Merge the unwritten sketches into the stored ones. Sketches of a
+     * failed write are kept for the next one.
+     */
+    public void flush() {
+        Map<LocalDate, Map<String, HyperLogLog>> batch;
+        synchronized (this) {
+            if (unsaved.isEmpty()) {
+                return;
+            }
+            batch = new TreeMap<>(unsaved);
+            unsaved.clear();
+        }
+        long start = System.currentTimeMillis();
+        int written = 0;
+        for (Map.Entry<LocalDate, Map<String, HyperLogLog>> day : batch.entrySet()) {
+            // Key order, so nodes locking the same rows lock them in the same order
+            List<String> campaignIds = new ArrayList<>(new TreeMap<>(day.getValue()).keySet());
+            for (int from = 0; from < campaignIds.size(); from += LOCK_BATCH) {
+                List<String> ids = campaignIds.subList(from, Math.min(from + LOCK_BATCH, campaignIds.size()));
+                try {
+                    write(day.getKey(), ids, day.getValue());
+                    written += ids.size();
+                } catch (DataAccessException e) {
+                    log.warn("Failed to write reach sketches for {} campaigns, retrying next interval: {}",
+                            ids.size(), e.getMessage());
+                    Map<String, HyperLogLog> failed = new HashMap<>();
+                    ids.forEach(id -> failed.put(id, day.getValue().get(id)));
+                    add(day.getKey(), failed);
+                }
+            }
+        }
+        log.debug("Wrote {} reach sketches in {} ms", written, System.currentTimeMillis() - start);
+    }
+
+    // Helper methods
+
+    private void write(LocalDate day, List<String> campaignIds, Map<String, HyperLogLog> sketches) {
+        Date bucket = Date.valueOf(day);
+        byte[] empty = new HyperLogLog().toBytes();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> created = new ArrayList<>(campaignIds.size());
+            campaignIds.forEach(id -> created.add(new Object[]{id, bucket, empty}));
+            // Deleted campaigns fail the foreign key and are skipped
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO campaign_reach_daily (sponsored_id, bucket_date, sketch) "
+                    + "VALUES (?, ?, ?)", created);
+
+            Map<String, HyperLogLog> stored = new HashMap<>();
+            List<Object> args = new ArrayList<>(campaignIds);
+            args.add(bucket);
+            jdbcTemplate.query("SELECT sponsored_id, sketch FROM campaign_reach_daily WHERE sponsored_id IN ("
+                            + String.join(", ", Collections.nCopies(campaignIds.size(), "?"))
+                            + ") AND bucket_date = ? ORDER BY sponsored_id FOR UPDATE",
+                    rs -> {
+                        stored.put(rs.getString(1), HyperLogLog.fromBytes(rs.getBytes(2)));
+                    }, args.toArray());
+
+            List<Object[]> merged = new ArrayList<>(stored.size());
+            stored.forEach((id, sketch) -> {
+                sketch.merge(sketches.get(id));
+                merged.add(new Object[]{sketch.toBytes(), id, bucket});
+            });
+            jdbcTemplate.batchUpdate("UPDATE campaign_reach_daily SET sketch = ? "
+                    + "WHERE sponsored_id = ? AND bucket_date = ?", merged);
+        });
+    }
+}
@@ -0,0 +1,346 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.SponsoredPin;
+import com.infy.pinterest.repository.SponsoredPinRepository;
+import com.infy.pinterest.service.AdEventService.EventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Charges sponsored pins for impressions and clicks and stops them when the
+ * budget runs out.
+ *
+ * Each campaign has an in-memory account in micro-units (millionths of the
+ * currency). A charge is one CAS on the account's spent total and is refused
+ * if it would pass the budget, so a node never spends more than the budget
+ * it last read. {@link #canServe} paces delivery: a campaign may only have
+ * spent its budget's share of the flight elapsed so far (plus a little
+ * head start), which spreads spend evenly from {@code startDate} to
+ * {@code endDate}.
+ *
+ * Reconciliation adds each account's new spend to {@code sponsored_pins} in
+ * whole cents, flips exhausted campaigns to PAUSED (or COMPLETED on their
+ * last day) and reloads budget, dates, status and the shared spent total,
+ * which picks up budget changes and other nodes' spend. Between
+ * reconciliations each node enforces the budget on its own, so with several
+ * nodes a campaign can overspend by what the others charge in one interval.
+ *
+ * Accounts of campaigns that have ended (COMPLETED, or stopped and past
+ * their end date) are dropped once their spend is written, so memory and
+ * reconcile cost follow the running campaigns, not every one ever charged.
+ * Ended and missing campaigns are remembered instead, for the ended-cache
+ * TTL, so late beacons and ad slotting on old ads do not re-read the row.
+ */
+@Service
+@Slf4j
+public class CampaignSpendService {
+
+    public static final long MICROS_PER_UNIT = 1_000_000L;
+    private static final long MICROS_PER_CENT = MICROS_PER_UNIT / 100;
+
+    private final SponsoredPinRepository sponsoredPinRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 0.25 per click
+    @Value("${ads.spend.cpc-micros:250000}")
+    private long costPerClickMicros = 250000;
+
+    // 2.00 per thousand impressions
+    @Value("${ads.spend.cpm-micros:2000000}")
+    private long costPerThousandImpressionsMicros = 2000000;
+
+    // How far ahead of an even spread a campaign may spend
+    @Value("${ads.spend.pacing-ahead-minutes:60}")
+    private long pacingAheadMinutes = 60;
+
+    @Value("${ads.spend.ended-cache.ttl-minutes:10}")
+    private long endedTtlMinutes = 10;
+
+    @Value("${ads.spend.ended-cache.max-entries:100000}")
+    private int maxEndedEntries = 100000;
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    // Campaigns found ended or missing, to when that was checked; access-ordered,
+    // dropping the least recently used past maxEndedEntries
+    private final Map<String, Long> endedCheckedAt = Collections.synchronizedMap(
+            new LinkedHashMap<String, Long>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > maxEndedEntries;
+                }
+            });
+    private final LongAdder charged = new LongAdder();
+    private final LongAdder unbilled = new LongAdder();
+
+    private static final class Account {
+        final AtomicLong spentMicros;
+        // Spend already in the database; only touched by reconcile
+        long reconciledMicros;
+        volatile long budgetMicros;
+        volatile LocalDate startDate;
+        volatile LocalDate endDate;
+        volatile boolean active;
+        volatile boolean exhausted;
+
+        Account(long spentMicros) {
+            this.spentMicros = new AtomicLong(spentMicros);
+            this.reconciledMicros = spentMicros;
+        }
+    }
+
+    @Autowired
+    public CampaignSpendService(SponsoredPinRepository sponsoredPinRepository, JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate) {
+        this.sponsoredPinRepository = sponsoredPinRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Charge the campaign for one event.
+     *
+     * @return false if the campaign is not running or cannot pay for it;
+     *         the event is then delivered for free
+     */
+    public boolean charge(String campaignId, EventType type) {
+        long cost = costMicros(type);
+        if (cost == 0) {
+            return true;
+        }
+        Account account = account(campaignId);
+        if (account == null || !account.active) {
+            unbilled.increment();
+            return false;
+        }
+        long budget = account.budgetMicros;
+        long spent;
+        do {
+            spent = account.spentMicros.get();
+            if (spent + cost > budget) {
+                account.exhausted = true;
+                unbilled.increment();
+                return false;
+            }
+        } while (!account.spentMicros.compareAndSet(spent, spent + cost));
+        if (budget - (spent + cost) < cheapestChargeMicros()) {
+            account.exhausted = true;
+        }
+        charged.increment();
+        return true;
+    }
+
+    /**
+     * Whether the campaign is running, has budget left and is not ahead of
+     * an even spread over its flight.
+     */
+    public boolean canServe(String campaignId, LocalDateTime now) {
+        return pacingHeadroom(campaignId, now) > 0;
+    }
+
+    /**
+     * Share of the paced allowance still unspent: 1 for a campaign that has
+     * spent nothing yet, 0 for one that cannot serve now.
+     */
+    public double pacingHeadroom(String campaignId, LocalDateTime now) {
+        Account account = account(campaignId);
+        if (account == null || !account.active || account.exhausted) {
+            return 0;
+        }
+        long allowance = pacedAllowanceMicros(account, now);
+        long spent = account.spentMicros.get();
+        return spent >= allowance ? 0 : 1 - (double) spent / allowance;
+    }
+
+    public long getSpentMicros(String campaignId) {
+        Account account = accounts.get(campaignId);
+        return account == null ? 0 : account.spentMicros.get();
+    }
+
+    public long getChargedEvents() {
+        return charged.sum();
+    }
+
+    public long getUnbilledEvents() {
+        return unbilled.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${ads.spend.reconcile-ms:10000}",
+            initialDelayString = "${ads.spend.reconcile-ms:10000}")
+    public void scheduledReconcile() {
+        reconcile(LocalDate.now());
+    }
+
+    /**
+     * Write new spend and exhausted statuses to the database, then reload
+     * every account from it.
+     */
+    public synchronized void reconcile(LocalDate today) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+        // Key order, so nodes reconciling the same campaigns lock rows in the same order
+        Map<String, Account> snapshot = new TreeMap<>(accounts);
+        List<Object[]> spendRows = new ArrayList<>();
+        List<Object[]> statusRows = new ArrayList<>();
+        Map<String, Long> written = new HashMap<>();
+        for (Map.Entry<String, Account> entry : snapshot.entrySet()) {
+            Account account = entry.getValue();
+            // Sub-cent remainders stay in memory until they add up to a cent
+            long cents = (account.spentMicros.get() - account.reconciledMicros) / MICROS_PER_CENT;
+            if (cents > 0) {
+                spendRows.add(new Object[]{BigDecimal.valueOf(cents, 2), entry.getKey()});
+                written.put(entry.getKey(), cents * MICROS_PER_CENT);
+            }
+            if (account.active && account.exhausted) {
+                SponsoredPin.Status status = today.isBefore(account.endDate)
+                        ? SponsoredPin.Status.PAUSED : SponsoredPin.Status.COMPLETED;
+                statusRows.add(new Object[]{status.name(), entry.getKey()});
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!spendRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate("UPDATE sponsored_pins SET spent = spent + ? WHERE sponsored_id = ?",
+                            spendRows);
+                }
+                if (!statusRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate("UPDATE sponsored_pins SET status = ? "
+                            + "WHERE sponsored_id = ? AND status = 'ACTIVE'", statusRows);
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Failed to reconcile spend for {} campaigns, retrying next interval: {}",
+                    spendRows.size(), e.getMessage());
+            return;
+        }
+        written.forEach((id, micros) -> snapshot.get(id).reconciledMicros += micros);
+        if (!statusRows.isEmpty()) {
+            log.info("Stopped {} campaigns that ran out of budget", statusRows.size());
+        }
+
+        Map<String, SponsoredPin> current = new HashMap<>();
+        sponsoredPinRepository.findAllById(snapshot.keySet())
+                .forEach(sponsored -> current.put(sponsored.getSponsoredId(), sponsored));
+        int dropped = 0;
+        for (Map.Entry<String, Account> entry : snapshot.entrySet()) {
+            String id = entry.getKey();
+            Account account = entry.getValue();
+            SponsoredPin sponsored = current.get(id);
+            if (sponsored == null) {
+                accounts.remove(id);
+                endedCheckedAt.put(id, System.currentTimeMillis());
+                continue;
+            }
+            // Move to the shared total without losing charges made meanwhile
+            long stored = toMicros(sponsored.getSpent());
+            account.spentMicros.addAndGet(stored - account.reconciledMicros);
+            account.reconciledMicros = stored;
+            refresh(account, sponsored);
+            if (hasEnded(sponsored, today) && accounts.remove(id, account)) {
+                // A charge that passed the active check before the refresh keeps it until written
+                if (account.spentMicros.get() - account.reconciledMicros >= MICROS_PER_CENT) {
+                    accounts.putIfAbsent(id, account);
+                } else {
+                    endedCheckedAt.put(id, System.currentTimeMillis());
+                    dropped++;
+                }
+            }
+        }
+        if (dropped > 0) {
+            log.debug("Dropped {} accounts of ended campaigns", dropped);
+        }
+    }
+
+    public static long toMicros(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(6).longValue();
+    }
+
+    // Helper methods
+
+    private Account account(String campaignId) {
+        Account account = accounts.get(campaignId);
+        if (account != null) {
+            return account;
+        }
+        Long checkedAt = endedCheckedAt.get(campaignId);
+        if (checkedAt != null) {
+            if (System.currentTimeMillis() - checkedAt < TimeUnit.MINUTES.toMillis(endedTtlMinutes)) {
+                return null;
+            }
+            endedCheckedAt.remove(campaignId, checkedAt);
+        }
+        SponsoredPin sponsored = sponsoredPinRepository.findById(campaignId).orElse(null);
+        if (sponsored == null || hasEnded(sponsored, LocalDate.now())) {
+            // Cannot be charged; only the marker is kept, so late events on old ads do not pile up accounts
+            endedCheckedAt.put(campaignId, System.currentTimeMillis());
+            return null;
+        }
+        Account loaded = new Account(toMicros(sponsored.getSpent()));
+        refresh(loaded, sponsored);
+        Account raced = accounts.putIfAbsent(campaignId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private void refresh(Account account, SponsoredPin sponsored) {
+        account.budgetMicros = toMicros(sponsored.getBudget());
+        account.startDate = sponsored.getStartDate();
+        account.endDate = sponsored.getEndDate();
+        account.active = sponsored.getStatus() == SponsoredPin.Status.ACTIVE;
+        account.exhausted = account.budgetMicros - account.spentMicros.get() < cheapestChargeMicros();
+    }
+
+    private static boolean hasEnded(SponsoredPin sponsored, LocalDate today) {
+        return sponsored.getStatus() == SponsoredPin.Status.COMPLETED
+                || (sponsored.getStatus() != SponsoredPin.Status.ACTIVE && sponsored.getEndDate().isBefore(today));
+    }
+
+    private long pacedAllowanceMicros(Account account, LocalDateTime now) {
+        LocalDateTime flightStart = account.startDate.atStartOfDay();
+        LocalDateTime flightEnd = account.endDate.plusDays(1).atStartOfDay();
+        long flight = Duration.between(flightStart, flightEnd).toMillis();
+        long elapsed = Duration.between(flightStart, now.plusMinutes(pacingAheadMinutes)).toMillis();
+        if (elapsed <= 0 || flight <= 0) {
+            return 0;
+        }
+        if (elapsed >= flight) {
+            return account.budgetMicros;
+        }
+        // In double: budget micros times flight millis overflows a long
+        return (long) (account.budgetMicros * ((double) elapsed / flight));
+    }
+
+    private long costMicros(EventType type) {
+        return switch (type) {
+            case IMPRESSION -> costPerThousandImpressionsMicros / 1000;
+            case CLICK -> costPerClickMicros;
+            case SAVE -> 0;
+        };
+    }
+
+    private long cheapestChargeMicros() {
+        return Math.max(1, Math.min(costMicros(EventType.IMPRESSION), costMicros(EventType.CLICK)));
+    }
+}
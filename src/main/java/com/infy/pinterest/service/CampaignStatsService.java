@@ -0,0 +1,188 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.dto.TimelineDataDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-campaign time series of impressions, clicks and saves.
+ *
+ * Ad event flushes add into one {@code campaign_stats_hourly} row per
+ * campaign and hour. A background rollup recomputes
+ * {@code campaign_stats_daily} from the hourly rows and drops hourly rows
+ * past their retention, so a daily timeline reads one row per day and only
+ * today's hours are summed on the fly.
+ *
+ * The rollup sets daily totals rather than adding to them, so it can be
+ * re-run (or run on every node) and picks up late flushes into a past hour.
+ */
+@Service
+@Slf4j
+public class CampaignStatsService {
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+
+    private static final String HOURLY_UPSERT = "INSERT INTO campaign_stats_hourly "
+            + "(sponsored_id, bucket_start, impressions, clicks, saves) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE impressions = impressions + VALUES(impressions), "
+            + "clicks = clicks + VALUES(clicks), saves = saves + VALUES(saves)";
+    private static final String DAILY_ROLLUP = "INSERT INTO campaign_stats_daily "
+            + "(sponsored_id, bucket_date, impressions, clicks, saves) "
+            + "SELECT sponsored_id, DATE(bucket_start), SUM(impressions), SUM(clicks), SUM(saves) "
+            + "FROM campaign_stats_hourly WHERE bucket_start >= ? AND bucket_start < ? "
+            + "GROUP BY sponsored_id, DATE(bucket_start) "
+            + "ON DUPLICATE KEY UPDATE impressions = VALUES(impressions), clicks = VALUES(clicks), "
+            + "saves = VALUES(saves)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Hourly rows older than this are deleted once rolled up; HOUR timelines only reach this far back
+    @Value("${ads.stats.hourly-retention-days:7}")
+    private int hourlyRetentionDays = 7;
+
+    @Value("${ads.stats.max-days:366}")
+    private int maxDays = 366;
+
+    // Start of the earliest day the next rollup must recompute; null until the first run
+    private volatile LocalDateTime rolledUpFrom;
+
+    @Autowired
+    public CampaignStatsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add counts to one hour's buckets. Runs inside the caller's transaction.
+     *
+     * @param rows {impressions, clicks, saves, sponsoredId} per campaign
+     */
+    public void addHourly(LocalDateTime hour, List<Object[]> rows) {
+        Timestamp bucket = Timestamp.valueOf(hour.truncatedTo(ChronoUnit.HOURS));
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            args.add(new Object[]{row[3], bucket, row[0], row[1], row[2]});
+        }
+        jdbcTemplate.batchUpdate(HOURLY_UPSERT, args);
+    }
+
+    /**
+     * Buckets between {@code from} and {@code to} (both days inclusive),
+     * oldest first, with zero buckets where nothing was recorded.
+     */
+    public List<TimelineDataDTO> getTimeline(String campaignId, LocalDate from, LocalDate to,
+                                             Granularity granularity) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new IllegalArgumentException("Timeline range is limited to " + maxDays + " days");
+        }
+        if (granularity == Granularity.HOUR && days > hourlyRetentionDays + 1) {
+            throw new IllegalArgumentException("Hourly timelines are limited to " + (hourlyRetentionDays + 1) + " days");
+        }
+        return granularity == Granularity.HOUR
+                ? hourlyTimeline(campaignId, from, to)
+                : dailyTimeline(campaignId, from, to, LocalDate.now());
+    }
+
+    @Scheduled(cron = "${ads.stats.rollup-cron:0 1 * * * *}")
+    public void runRollup() {
+        try {
+            rollup(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Failed to roll up campaign stats", e);
+        }
+    }
+
+    /**
+     * Recompute daily rows from the complete hours before {@code now}, then
+     * delete hourly rows past their retention.
+     */
+    public void rollup(LocalDateTime now) {
+        LocalDateTime upTo = now.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime from = rolledUpFrom;
+        if (from == null) {
+            // After a restart, cover every hourly row so nothing is deleted before it is rolled up
+            Timestamp oldest = jdbcTemplate.queryForObject(
+                    "SELECT MIN(bucket_start) FROM campaign_stats_hourly", Timestamp.class);
+            if (oldest == null) {
+                rolledUpFrom = upTo.truncatedTo(ChronoUnit.DAYS);
+                return;
+            }
+            from = oldest.toLocalDateTime().truncatedTo(ChronoUnit.DAYS);
+        }
+        long start = System.currentTimeMillis();
+        int days = jdbcTemplate.update(DAILY_ROLLUP, Timestamp.valueOf(from), Timestamp.valueOf(upTo));
+        int deleted = jdbcTemplate.update("DELETE FROM campaign_stats_hourly WHERE bucket_start < ?",
+                Timestamp.valueOf(upTo.truncatedTo(ChronoUnit.DAYS).minusDays(hourlyRetentionDays)));
+        // Yesterday is recomputed once more in case a delayed flush still lands in it
+        rolledUpFrom = upTo.truncatedTo(ChronoUnit.DAYS).minusDays(1);
+        log.info("Rolled up campaign stats from {}: {} daily rows written, {} hourly rows expired, {} ms",
+                from, days, deleted, System.currentTimeMillis() - start);
+    }
+
+    // Helper methods
+
+    private List<TimelineDataDTO> hourlyTimeline(String campaignId, LocalDate from, LocalDate to) {
+        Map<LocalDateTime, int[]> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT bucket_start, impressions, clicks, saves FROM campaign_stats_hourly "
+                        + "WHERE sponsored_id = ? AND bucket_start >= ? AND bucket_start < ?",
+                rs -> {
+                    counts.put(rs.getTimestamp(1).toLocalDateTime(),
+                            new int[]{rs.getInt(2), rs.getInt(3), rs.getInt(4)});
+                },
+                campaignId, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+
+        List<TimelineDataDTO> timeline = new ArrayList<>();
+        for (LocalDateTime hour = from.atStartOfDay(); hour.isBefore(to.plusDays(1).atStartOfDay());
+             hour = hour.plusHours(1)) {
+            int[] bucket = counts.getOrDefault(hour, new int[3]);
+            timeline.add(new TimelineDataDTO(hour.toLocalDate(), hour.getHour(), bucket[0], bucket[1], bucket[2]));
+        }
+        return timeline;
+    }
+
+    private List<TimelineDataDTO> dailyTimeline(String campaignId, LocalDate from, LocalDate to, LocalDate today) {
+        Map<LocalDate, int[]> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT bucket_date, impressions, clicks, saves FROM campaign_stats_daily "
+                        + "WHERE sponsored_id = ? AND bucket_date BETWEEN ? AND ?",
+                rs -> {
+                    counts.put(rs.getDate(1).toLocalDate(), new int[]{rs.getInt(2), rs.getInt(3), rs.getInt(4)});
+                },
+                campaignId, from, to);
+        // Today's daily row trails by up to an hour, so today is summed from its hourly rows instead
+        if (!today.isBefore(from) && !today.isAfter(to)) {
+            counts.remove(today);
+            jdbcTemplate.query("SELECT SUM(impressions), SUM(clicks), SUM(saves) FROM campaign_stats_hourly "
+                            + "WHERE sponsored_id = ? AND bucket_start >= ? AND bucket_start < ? HAVING COUNT(*) > 0",
+                    rs -> {
+                        counts.put(today, new int[]{rs.getInt(1), rs.getInt(2), rs.getInt(3)});
+                    },
+                    campaignId, Timestamp.valueOf(today.atStartOfDay()),
+                    Timestamp.valueOf(today.plusDays(1).atStartOfDay()));
+        }
+
+        List<TimelineDataDTO> timeline = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            int[] bucket = counts.getOrDefault(day, new int[3]);
+            timeline.add(new TimelineDataDTO(day, null, bucket[0], bucket[1], bucket[2]));
+        }
+        return timeline;
+    }
+}
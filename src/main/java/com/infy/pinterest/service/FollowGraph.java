@@ -0,0 +1,342 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.Follow;
+import com.infy.pinterest.repository.FollowRepository;
+import com.infy.pinterest.utility.CompactDigraph;
+import com.infy.pinterest.utility.IntList;
+import com.infy.pinterest.utility.TwoHopCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-process copy of the follows table for relationship checks.
+ *
+ * User IDs are interned to dense ints and edges kept in a
+ * {@link CompactDigraph}, so {@link #isFollowing} is a hash lookup plus a
+ * binary search over a sorted int row. The graph is loaded from the follows
+ * table on startup and kept in sync by {@link SocialService}, whose changes
+ * are applied once their transaction commits; until it is loaded, lookups go
+ * to the database. Follows made on other nodes are picked up by a periodic
+ * reload, so reads may lag them by up to {@code social.graph.reload-ms}.
+ * Write paths check the follows table rather than the graph.
+ *
+ * Interned IDs are never released; a deleted user keeps its slot, with no edges.
+ */
+@Service
+@Slf4j
+public class FollowGraph {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int MIN_COMPACT_DELTA = 1024;
+
+    private final FollowRepository followRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${social.graph.enabled:true}")
+    private boolean enabled = true;
+
+    private volatile boolean ready;
+
+    private final Map<String, Integer> nodeIds = new HashMap<>();
+    private final List<String> nodeNames = new ArrayList<>();
+    private CompactDigraph graph = CompactDigraph.empty();
+
+    // Writes made while loading, re-applied on top of the loaded graph
+    private boolean loading;
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+
+    @Autowired
+    public FollowGraph(FollowRepository followRepository) {
+        this.followRepository = followRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Follow graph disabled");
+            return;
+        }
+        Thread loadThread = new Thread(this::load, "follow-graph-load");
+        loadThread.setDaemon(true);
+        loadThread.start();
+    }
+
+    /**
+     * Load every follow edge with a keyset scan and switch to the new graph.
+     */
+    public void load() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            pendingChanges.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Interning happens under the write lock so IDs stay consistent with live writes
+        IntList sources = new IntList(1024);
+        IntList targets = new IntList(1024);
+        String afterFollowId = "";
+        while (true) {
+            List<Follow> batch = followRepository.findFollowsAfter(afterFollowId,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            lock.writeLock().lock();
+            try {
+                for (Follow follow : batch) {
+                    sources.add(intern(follow.getFollowerId()));
+                    targets.add(intern(follow.getFollowingId()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            afterFollowId = batch.get(batch.size() - 1).getFollowId();
+        }
+
+        int nodeCount;
+        lock.readLock().lock();
+        try {
+            nodeCount = nodeNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+        CompactDigraph loaded = CompactDigraph.build(nodeCount, sources, targets);
+
+        lock.writeLock().lock();
+        try {
+            graph = loaded;
+            pendingChanges.forEach(Runnable::run);
+            loading = false;
+            pendingChanges.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Follow graph loaded: {} users, {} edges in {} ms",
+                nodeCount, sources.size(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(initialDelayString = "${social.graph.reload-ms:300000}",
+            fixedDelayString = "${social.graph.reload-ms:300000}")
+    public void scheduledReload() {
+        // The startup load runs on its own thread; wait for it before reloading
+        if (!isReady()) {
+            return;
+        }
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.warn("Follow graph reload failed: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                pendingChanges.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public boolean isFollowing(String followerId, String followingId) {
+        if (!isReady()) {
+            return Boolean.TRUE.equals(followRepository.existsByFollowerIdAndFollowingId(followerId, followingId));
+        }
+        lock.readLock().lock();
+        try {
+            return isFollowingInMemory(followerId, followingId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the subset of {@code userIds} that {@code followerId} follows
+     */
+    public Set<String> followedBy(String followerId, Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        if (!isReady()) {
+            return new HashSet<>(followRepository.findFollowingIdsAmong(followerId, userIds));
+        }
+        return filter(userIds, userId -> isFollowingInMemory(followerId, userId));
+    }
+
+    /**
+     * @return the subset of {@code userIds} that follow {@code followingId}
+     */
+    public Set<String> followersAmong(String followingId, Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        if (!isReady()) {
+            return new HashSet<>(followRepository.findFollowerIdsAmong(followingId, userIds));
+        }
+        return filter(userIds, userId -> isFollowingInMemory(userId, followingId));
+    }
+
+    /**
+     * @return the user IDs this user follows, or an empty list if the graph is not loaded
+     */
+    public List<String> getFollowing(String userId) {
+        return neighbors(userId, true);
+    }
+
+    /**
+     * @return the user IDs following this user, or an empty list if the graph is not loaded
+     */
+    public List<String> getFollowers(String userId) {
+        return neighbors(userId, false);
+    }
+
+    /**
+     * Friends-of-friends counts: for each user followed by someone this user
+     * follows, how many such paths lead there. Excludes the user and accounts
+     * they already follow.
+     *
+     * @param pool the caller's pool to split the traversal across
+     * @return candidate user ID to path count, or an empty map if the graph is not loaded
+     */
+    public Map<String, Integer> secondDegreeCounts(String userId, int fanOut, ForkJoinPool pool) {
+        if (!isReady()) {
+            return Map.of();
+        }
+        lock.readLock().lock();
+        try {
+            Integer node = nodeIds.get(userId);
+            if (node == null) {
+                return Map.of();
+            }
+            Map<Integer, Integer> counts = TwoHopCounter.count(graph, node, fanOut, pool);
+            Map<String, Integer> result = new HashMap<>(counts.size() * 2);
+            counts.forEach((candidate, count) -> result.put(nodeNames.get(candidate), count));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addFollow(String followerId, String followingId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> applyChange(() -> graph.addEdge(intern(followerId), intern(followingId))));
+    }
+
+    public void removeFollow(String followerId, String followingId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> applyChange(() -> {
+            Integer from = nodeIds.get(followerId);
+            Integer to = nodeIds.get(followingId);
+            if (from != null && to != null) {
+                graph.removeEdge(from, to);
+            }
+        }));
+    }
+
+    // Helper methods
+
+    private boolean isFollowingInMemory(String followerId, String followingId) {
+        Integer from = nodeIds.get(followerId);
+        Integer to = nodeIds.get(followingId);
+        return from != null && to != null && graph.hasEdge(from, to);
+    }
+
+    private Set<String> filter(Collection<String> userIds, Predicate<String> predicate) {
+        lock.readLock().lock();
+        try {
+            Set<String> result = new HashSet<>();
+            for (String userId : userIds) {
+                if (predicate.test(userId)) {
+                    result.add(userId);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<String> neighbors(String userId, boolean outgoing) {
+        if (!isReady()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Integer node = nodeIds.get(userId);
+            if (node == null) {
+                return List.of();
+            }
+            int[] ids = outgoing ? graph.outNeighbors(node) : graph.inNeighbors(node);
+            List<String> result = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                result.add(nodeNames.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyChange(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (loading) {
+                pendingChanges.add(change);
+            } else if (graph.deltaSize() > Math.max(MIN_COMPACT_DELTA, graph.edgeCount() / 8)) {
+                graph = graph.compact(nodeNames.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int intern(String userId) {
+        return nodeIds.computeIfAbsent(userId, id -> {
+            nodeNames.add(id);
+            return nodeNames.size() - 1;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.dto.FacetCountDTO;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Search engine backed by MySQL FULLTEXT indexes, for nodes that do not hold
+ * an in-process index. Every query term is required and prefix-matched
+ * ({@code +term*} in boolean mode). Typo tolerance is not available, so the
+ * fuzzy flag is ignored.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "search.engine", havingValue = "fulltext")
+public class FullTextSearchEngine implements SearchEngine {
+
+    private final PinRepository pinRepository;
+    private final BoardRepository boardRepository;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public FullTextSearchEngine(PinRepository pinRepository, BoardRepository boardRepository,
+                                UserRepository userRepository) {
+        this.pinRepository = pinRepository;
+        this.boardRepository = boardRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Optional<SearchHits> searchPins(String query, String category, boolean fuzzy,
+                                           String sortBy, int page, int size) {
+        String booleanQuery = toBooleanQuery(query);
+        if (booleanQuery.isEmpty()) {
+            return Optional.empty();
+        }
+        String sort = sortBy == null ? "relevance" : sortBy.toLowerCase(Locale.ROOT);
+
+        Page<String> ids = pinRepository.fullTextSearchPinIds(booleanQuery, emptyToNull(category), sort,
+                PageRequest.of(page, size));
+        List<FacetCountDTO> facets = pinRepository.countFullTextMatchesByCategory(booleanQuery).stream()
+                .map(row -> new FacetCountDTO((String) row[0], ((Number) row[1]).longValue()))
+                .sorted(Comparator.comparingLong(FacetCountDTO::getCount).reversed()
+                        .thenComparing(FacetCountDTO::getValue))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        return Optional.of(new SearchHits(ids.getContent(), ids.getTotalElements(), facets));
+    }
+
+    @Override
+    public Optional<SearchHits> searchBoards(String query, String category, int page, int size) {
+        String booleanQuery = toBooleanQuery(query);
+        if (booleanQuery.isEmpty()) {
+            return Optional.empty();
+        }
+        Page<String> ids = boardRepository.fullTextSearchBoardIds(booleanQuery, emptyToNull(category),
+                PageRequest.of(page, size));
+        return Optional.of(new SearchHits(ids.getContent(), ids.getTotalElements()));
+    }
+
+    @Override
+    public Optional<SearchHits> searchUsers(String query, int page, int size) {
+        String booleanQuery = toBooleanQuery(query);
+        if (booleanQuery.isEmpty()) {
+            return Optional.empty();
+        }
+        Page<String> ids = userRepository.fullTextSearchUserIds(booleanQuery, PageRequest.of(page, size));
+        return Optional.of(new SearchHits(ids.getContent(), ids.getTotalElements()));
+    }
+
+    /**
+     * Turn free text into a boolean-mode query. Tokenizing drops boolean
+     * operators, so user input cannot change the query structure.
+     */
+    static String toBooleanQuery(String text) {
+        return PinSearchIndex.tokenize(text).stream()
+                .map(token -> "+" + token + "*")
+                .collect(Collectors.joining(" "));
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
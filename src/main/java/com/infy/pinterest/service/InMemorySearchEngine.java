@@ -0,0 +1,44 @@
+package com.infy.pinterest.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Search engine backed by the in-process {@link PinSearchIndex}.
+ * Boards and users are not indexed and use the SQL fallback.
+ */
+@Service
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemorySearchEngine implements SearchEngine {
+
+    private final PinSearchIndex pinSearchIndex;
+
+    @Autowired
+    public InMemorySearchEngine(PinSearchIndex pinSearchIndex) {
+        this.pinSearchIndex = pinSearchIndex;
+    }
+
+    @Override
+    public Optional<SearchHits> searchPins(String query, String category, boolean fuzzy,
+                                           String sortBy, int page, int size) {
+        return pinSearchIndex.search(query, category, fuzzy, sortBy, page, size);
+    }
+
+    @Override
+    public Optional<SearchHits> searchBoards(String query, String category, int page, int size) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<SearchHits> searchUsers(String query, int page, int size) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void evictPin(String pinId) {
+        pinSearchIndex.removePin(pinId);
+    }
+}
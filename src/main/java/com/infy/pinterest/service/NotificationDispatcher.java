@@ -0,0 +1,327 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.dto.NotificationResponseDTO;
+import com.infy.pinterest.dto.UnreadCountDTO;
+import com.infy.pinterest.entity.Notification;
+import com.infy.pinterest.entity.User;
+import com.infy.pinterest.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Server-sent event streams for notifications and unread-count changes.
+ *
+ * Each user with an open stream on this node has a channel: their
+ * connections and the last few events sent to them. Event IDs are
+ * {@code <node start>-<sequence>}. A client reconnecting with Last-Event-ID
+ * gets the buffered events after that ID, or a {@code resync} event telling
+ * it to reload over REST when the buffer cannot cover the gap (another node,
+ * an earlier run, or events already evicted). Channels outlive their last
+ * connection by the resume window so short disconnects lose nothing.
+ *
+ * Idle connections hold no thread (async servlet). Each connection drains
+ * its own send queue on a virtual thread, so events arrive in order and one
+ * slow client never blocks the notification writer or the heartbeat.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+    public static final String RESYNC_EVENT = "resync";
+
+    private static final int MAX_PENDING_SENDS = 1000;
+
+    private final UserRepository userRepository;
+    private final UnreadCountCache unreadCountCache;
+
+    @Value("${notification.push.timeout-ms:1800000}")
+    private long timeoutMillis = 1800000;
+
+    @Value("${notification.push.max-connections:100000}")
+    private int maxConnections = 100000;
+
+    @Value("${notification.push.max-connections-per-user:5}")
+    private int maxConnectionsPerUser = 5;
+
+    @Value("${notification.push.replay-buffer:50}")
+    private int replayBuffer = 50;
+
+    @Value("${notification.push.resume-window-ms:300000}")
+    private long resumeWindowMillis = 300000;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    private Executor sender = virtualThreads;
+
+    private record PushEvent(long sequence, String name, Object data) {
+    }
+
+    /**
+     * One user's connections and recent events. Publishing and replay
+     * synchronize on the channel so a reconnecting client sees every event
+     * exactly once.
+     */
+    private static final class Channel {
+
+        private final List<Connection> connections = new CopyOnWriteArrayList<>();
+        private final Deque<PushEvent> recent = new ArrayDeque<>();
+        // Clients that saw nothing after this sequence cannot be replayed to
+        private long replayableAfter;
+        private volatile long lastActiveMillis = System.currentTimeMillis();
+
+        Channel(long createdAtSequence) {
+            this.replayableAfter = createdAtSequence;
+        }
+    }
+
+    private final class Connection {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(SseEmitter.SseEventBuilder event) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_SENDS) {
+                // Too far behind; it reconnects and resyncs
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        emitter.completeWithError(e);
+                        pending.clear();
+                        break;
+                    }
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+
+    @Autowired
+    public NotificationDispatcher(UserRepository userRepository, UnreadCountCache unreadCountCache) {
+        this.userRepository = userRepository;
+        this.unreadCountCache = unreadCountCache;
+    }
+
+    /**
+     * Open a stream for the user, replaying what they missed since
+     * {@code lastEventId} (null on first connect).
+     */
+    public SseEmitter subscribe(String userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(userId, lastEventId, emitter);
+        return emitter;
+    }
+
+    public void register(String userId, String lastEventId, SseEmitter emitter) {
+        if (connectionCount.get() >= maxConnections) {
+            throw new IllegalStateException("Too many open notification streams");
+        }
+        Connection connection = new Connection(emitter);
+        // Attached inside compute so the heartbeat sweep cannot drop the channel in between
+        Channel channel = channels.compute(userId, (id, existing) -> {
+            Channel target = existing != null ? existing : new Channel(sequence.get());
+            attach(target, connection, lastEventId);
+            return target;
+        });
+
+        Runnable remove = () -> {
+            remove(channel, connection);
+            channel.lastActiveMillis = System.currentTimeMillis();
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+    }
+
+    /**
+     * Push newly written or re-surfaced notification rows to their
+     * recipients, followed by each recipient's unread count (a re-surfaced
+     * row may or may not have counted as unread before, so no delta).
+     * Recipients without a channel on this node cost a map lookup.
+     */
+    public void publishNotifications(Collection<Notification> inserted, Collection<Notification> updated) {
+        List<Notification> rows = Stream.concat(inserted.stream(), updated.stream())
+                .filter(row -> channels.containsKey(row.getUserId()))
+                .toList();
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<String> senderIds = rows.stream().map(Notification::getSenderId)
+                .filter(Objects::nonNull).distinct().toList();
+        Map<String, User> senders = senderIds.isEmpty() ? Map.of()
+                : userRepository.findAllById(senderIds).stream()
+                        .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        for (Notification row : rows) {
+            NotificationResponseDTO dto = NotificationService.toResponse(row,
+                    row.getSenderId() != null ? senders.get(row.getSenderId()) : null);
+            publish(row.getUserId(), NOTIFICATION_EVENT, dto);
+        }
+
+        rows.stream().map(Notification::getUserId).distinct()
+                .forEach(userId -> publishUnreadCount(userId, unreadCountCache.getUnreadCount(userId)));
+    }
+
+    public void publishUnreadDelta(String userId, int delta) {
+        publish(userId, UNREAD_COUNT_EVENT, new UnreadCountDTO(null, delta));
+    }
+
+    public void publishUnreadCount(String userId, long count) {
+        publish(userId, UNREAD_COUNT_EVENT, new UnreadCountDTO(count, null));
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Keep idle connections open through proxies, and drop channels whose
+     * last connection closed longer ago than the resume window.
+     */
+    @Scheduled(fixedRateString = "${notification.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long staleBefore = System.currentTimeMillis() - resumeWindowMillis;
+        for (String userId : channels.keySet()) {
+            channels.computeIfPresent(userId, (id, channel) ->
+                    channel.connections.isEmpty() && channel.lastActiveMillis < staleBefore ? null : channel);
+        }
+        for (Channel channel : channels.values()) {
+            channel.connections.forEach(connection -> connection.send(SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.connections.forEach(connection -> connection.emitter.complete()));
+        virtualThreads.shutdown();
+    }
+
+    // Helper methods
+
+    private void publish(String userId, String name, Object data) {
+        Channel channel = channels.get(userId);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            PushEvent event = new PushEvent(sequence.incrementAndGet(), name, data);
+            channel.recent.addLast(event);
+            while (channel.recent.size() > replayBuffer) {
+                channel.replayableAfter = channel.recent.removeFirst().sequence();
+            }
+            SseEmitter.SseEventBuilder sse = toSse(event);
+            channel.connections.forEach(connection -> connection.send(sse));
+        }
+    }
+
+    /**
+     * Add the connection and replay under the channel's monitor, so no event
+     * is published to it before the replay or sent twice.
+     */
+    private void attach(Channel channel, Connection connection, String lastEventId) {
+        synchronized (channel) {
+            if (channel.connections.size() >= maxConnectionsPerUser) {
+                // Usually a tab that went away without closing its stream
+                Connection oldest = channel.connections.get(0);
+                oldest.emitter.complete();
+                remove(channel, oldest);
+            }
+            channel.connections.add(connection);
+            connectionCount.incrementAndGet();
+            channel.lastActiveMillis = System.currentTimeMillis();
+
+            if (lastEventId != null) {
+                List<PushEvent> missed = missedSince(channel, lastEventId);
+                if (missed == null) {
+                    connection.send(toSse(new PushEvent(sequence.incrementAndGet(), RESYNC_EVENT, Map.of())));
+                } else {
+                    missed.forEach(event -> connection.send(toSse(event)));
+                }
+            }
+        }
+    }
+
+    private void remove(Channel channel, Connection connection) {
+        if (channel.connections.remove(connection)) {
+            connectionCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the buffered events after {@code lastEventId}, or null if the
+     *         buffer cannot tell what the client missed
+     */
+    private List<PushEvent> missedSince(Channel channel, String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return null;
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (lastSequence < channel.replayableAfter) {
+            return null;
+        }
+        return channel.recent.stream().filter(event -> event.sequence() > lastSequence).toList();
+    }
+
+    private SseEmitter.SseEventBuilder toSse(PushEvent event) {
+        return SseEmitter.event()
+                .id(epoch + "-" + event.sequence())
+                .name(event.name())
+                .data(event.data());
+    }
+}
@@ -0,0 +1,424 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.dto.NotificationOutboxStatsDTO;
+import com.infy.pinterest.entity.Notification;
+import com.infy.pinterest.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queue between user interactions and the notifications table.
+ *
+ * Interactions hand over a compact event once their transaction has
+ * committed and return; a background writer drains the queue and inserts
+ * the notifications in batches (one multi-row statement per batch with the
+ * JDBC batching settings in application.properties).
+ *
+ * The queue is bounded. When it is full the caller waits briefly for room
+ * and then writes its own event, so a burst slows interactions down rather
+ * than dropping notifications or growing the heap without limit. Queued
+ * events are flushed on shutdown; a crash loses at most what is queued.
+ *
+ * Likes and saves are coalesced: events for the same recipient, type and
+ * entity within the window go into one row that counts the actors and
+ * keeps the latest few sender IDs ("alice and 23 others liked your pin").
+ * The first event inserts the row; later ones update it once per batch.
+ * The window is per process and starts over after a restart.
+ *
+ * Every insert and update runs in a transaction of its own. Caller writes
+ * happen inside the interaction's after-commit callback, where the
+ * committed transaction is still bound to the thread; joining it would
+ * write nothing. Rows are counted and pushed only after their own commit.
+ *
+ * Written rows are handed to {@link NotificationDispatcher} for push.
+ */
+@Service
+@Slf4j
+public class NotificationOutbox {
+
+    private static final int RECENT_SENDERS = 3;
+    private static final int MAX_TRACKED_ACTORS = 1000;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final UnreadCountCache unreadCountCache;
+    private final TransactionTemplate writeTransaction;
+
+    @Value("${notification.outbox.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${notification.outbox.capacity:10000}")
+    private int capacity = 10000;
+
+    @Value("${notification.outbox.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${notification.outbox.poll-ms:200}")
+    private long pollMillis = 200;
+
+    @Value("${notification.outbox.offer-timeout-ms:50}")
+    private long offerTimeoutMillis = 50;
+
+    @Value("${notification.coalesce.types:PIN_LIKED,PIN_SAVED}")
+    private Set<Notification.NotificationType> coalescedTypes =
+            EnumSet.of(Notification.NotificationType.PIN_LIKED, Notification.NotificationType.PIN_SAVED);
+
+    @Value("${notification.coalesce.window-minutes:60}")
+    private long coalesceWindowMinutes = 60;
+
+    @Value("${notification.coalesce.max-open-groups:100000}")
+    private int maxOpenGroups = 100000;
+
+    private BlockingQueue<NotificationEvent> queue;
+    private volatile Thread writerThread;
+    private volatile boolean running;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong callerWrites = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long lastBatchLagMillis;
+
+    // Coalescing window, guarded by writeLock
+    private final Object writeLock = new Object();
+    private final Map<CoalesceKey, OpenGroup> openGroups = new HashMap<>();
+    private long lastSweepNanos;
+
+    /**
+     * One notification to write. {@code createdAt} is when the interaction
+     * happened, not when the row is inserted.
+     */
+    public record NotificationEvent(String userId, String senderId, Notification.NotificationType type,
+                                    String message, String entityId, String entityType,
+                                    LocalDateTime createdAt, long enqueuedNanos) {
+
+        public static NotificationEvent of(String userId, String senderId, Notification.NotificationType type,
+                                           String message, String entityId, String entityType) {
+            return new NotificationEvent(userId, senderId, type, message, entityId, entityType,
+                    LocalDateTime.now(), System.nanoTime());
+        }
+    }
+
+    private record CoalesceKey(String userId, Notification.NotificationType type, String entityId) {
+    }
+
+    /**
+     * One notification row: a single event, or for coalesced types every
+     * event for the same key since {@code windowStart}. Distinct actors are
+     * tracked up to MAX_TRACKED_ACTORS; past that every event counts.
+     */
+    private static final class OpenGroup {
+
+        private final CoalesceKey key;
+        private final NotificationEvent first;
+        private final LocalDateTime windowStart;
+        private final Set<String> actors = new HashSet<>();
+        private final Deque<String> recentSenders = new ArrayDeque<>();
+        private NotificationEvent latest;
+        private int actorCount;
+        private String notificationId;
+
+        OpenGroup(CoalesceKey key, NotificationEvent event) {
+            this.key = key;
+            this.first = event;
+            this.windowStart = event.createdAt();
+            add(event);
+        }
+
+        void add(NotificationEvent event) {
+            latest = event;
+            String senderId = event.senderId();
+            if (senderId == null) {
+                actorCount++;
+                return;
+            }
+            if (actors.size() >= MAX_TRACKED_ACTORS || actors.add(senderId)) {
+                actorCount++;
+            }
+            recentSenders.remove(senderId);
+            recentSenders.addFirst(senderId);
+            if (recentSenders.size() > RECENT_SENDERS) {
+                recentSenders.removeLast();
+            }
+        }
+
+        Notification toNotification() {
+            Notification notification = NotificationOutbox.toNotification(first);
+            notification.setSenderId(latest.senderId());
+            notification.setMessage(latest.message());
+            notification.setCreatedAt(latest.createdAt());
+            notification.setActorCount(actorCount);
+            notification.setRecentSenderIds(recentSenders.isEmpty() ? null : String.join(",", recentSenders));
+            return notification;
+        }
+    }
+
+    @Autowired
+    public NotificationOutbox(NotificationRepository notificationRepository,
+                              NotificationDispatcher notificationDispatcher, UnreadCountCache unreadCountCache,
+                              PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.unreadCountCache = unreadCountCache;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Notification outbox disabled, notifications are written inline");
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "notification-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Queue an event for the writer, or write it on the calling thread if
+     * the outbox is disabled or stays full past the offer timeout.
+     */
+    public void enqueue(NotificationEvent event) {
+        if (enabled) {
+            try {
+                if (queue.offer(event, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            callerWrites.incrementAndGet();
+        }
+        write(List.of(event));
+    }
+
+    /**
+     * Write everything queued right now on the calling thread.
+     *
+     * @return number of events taken from the queue
+     */
+    public int flush() {
+        int drained = 0;
+        List<NotificationEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            drained += batch.size();
+            write(batch);
+            batch.clear();
+        }
+        return drained;
+    }
+
+    public NotificationOutboxStatsDTO getStats() {
+        NotificationEvent oldest = queue.peek();
+        long oldestAgeMillis = oldest == null ? 0
+                : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedNanos());
+        return new NotificationOutboxStatsDTO(queue.size(), capacity, oldestAgeMillis, lastBatchLagMillis,
+                written.get(), batches.get(), coalesced.get(), callerWrites.get(), failed.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            // The writer notices within one poll interval; interrupting could abort a batch mid-insert
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = flush();
+        if (remaining > 0) {
+            log.info("Flushed {} queued notifications on shutdown", remaining);
+        }
+    }
+
+    // Helper methods
+
+    private void runWriter() {
+        List<NotificationEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                NotificationEvent first = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Notification writer failed on a batch of {}", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Coalesce a batch into rows, insert the new rows and update the
+     * coalesced rows that gained actors. Writes are serialized so the
+     * writer thread and overflow writes from callers share one window;
+     * pushing the rows to clients happens after the lock is released.
+     */
+    private void write(List<NotificationEvent> events) {
+        List<Notification> inserted;
+        List<Notification> updated = new ArrayList<>();
+        synchronized (writeLock) {
+            Set<OpenGroup> created = new LinkedHashSet<>();
+            Set<OpenGroup> grown = new LinkedHashSet<>();
+            for (NotificationEvent event : events) {
+                if (!coalescedTypes.contains(event.type()) || event.entityId() == null) {
+                    created.add(new OpenGroup(null, event));
+                    continue;
+                }
+                CoalesceKey key = new CoalesceKey(event.userId(), event.type(), event.entityId());
+                OpenGroup group = openGroups.get(key);
+                if (group != null && event.createdAt().isBefore(group.windowStart.plus(window()))) {
+                    group.add(event);
+                    coalesced.incrementAndGet();
+                    if (!created.contains(group)) {
+                        grown.add(group);
+                    }
+                    continue;
+                }
+                group = new OpenGroup(key, event);
+                if (openGroups.size() < maxOpenGroups || openGroups.containsKey(key)) {
+                    openGroups.put(key, group);
+                }
+                created.add(group);
+            }
+
+            inserted = new ArrayList<>(insert(List.copyOf(created)));
+            for (OpenGroup group : grown) {
+                update(group, inserted, updated);
+            }
+            unreadCountCache.onWritten(inserted, updated);
+            written.addAndGet(events.size());
+            batches.incrementAndGet();
+            lastBatchLagMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - events.get(0).enqueuedNanos());
+            sweepExpiredGroups();
+        }
+        try {
+            notificationDispatcher.publishNotifications(inserted, updated);
+        } catch (RuntimeException e) {
+            log.warn("Failed to push {} written notifications: {}", inserted.size() + updated.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Insert in one batch; if that fails (for example one recipient was
+     * deleted meanwhile), retry row by row so only the bad rows are lost.
+     */
+    private List<Notification> insert(List<OpenGroup> groups) {
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+        List<Notification> rows = groups.stream().map(OpenGroup::toNotification).toList();
+        try {
+            writeTransaction.executeWithoutResult(status -> notificationRepository.saveAll(rows));
+        } catch (RuntimeException batchFailure) {
+            if (groups.size() == 1) {
+                dropGroup(groups.get(0), batchFailure);
+                return List.of();
+            }
+            log.warn("Notification batch of {} failed, retrying individually: {}",
+                    groups.size(), batchFailure.getMessage());
+            return groups.stream().flatMap(group -> insert(List.of(group)).stream()).toList();
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            groups.get(i).notificationId = rows.get(i).getNotificationId();
+        }
+        return rows;
+    }
+
+    private void update(OpenGroup group, List<Notification> inserted, List<Notification> updated) {
+        try {
+            int rows = writeTransaction.execute(status -> notificationRepository.updateCoalesced(
+                    group.notificationId, group.actorCount, String.join(",", group.recentSenders),
+                    group.latest.senderId(), group.latest.message(), group.latest.createdAt()));
+            if (rows == 0) {
+                // The recipient deleted the row; carry on in a new one
+                inserted.addAll(insert(List.of(group)));
+            } else {
+                Notification row = group.toNotification();
+                row.setNotificationId(group.notificationId);
+                updated.add(row);
+            }
+        } catch (RuntimeException e) {
+            dropGroup(group, e);
+        }
+    }
+
+    private void dropGroup(OpenGroup group, RuntimeException cause) {
+        failed.incrementAndGet();
+        if (group.key != null) {
+            openGroups.remove(group.key, group);
+        }
+        log.error("Dropping notification for user {}: {}", group.first.userId(), cause.getMessage());
+    }
+
+    private void sweepExpiredGroups() {
+        long now = System.nanoTime();
+        if (now - lastSweepNanos < TimeUnit.SECONDS.toNanos(1)) {
+            return;
+        }
+        lastSweepNanos = now;
+        LocalDateTime cutoff = LocalDateTime.now().minus(window());
+        openGroups.values().removeIf(group -> group.windowStart.isBefore(cutoff));
+    }
+
+    private Duration window() {
+        return Duration.ofMinutes(coalesceWindowMinutes);
+    }
+
+    private static Notification toNotification(NotificationEvent event) {
+        Notification notification = new Notification();
+        notification.setUserId(event.userId());
+        notification.setSenderId(event.senderId());
+        notification.setType(event.type());
+        notification.setMessage(event.message());
+        notification.setEntityId(event.entityId());
+        notification.setEntityType(event.entityType());
+        notification.setCreatedAt(event.createdAt());
+        return notification;
+    }
+}
@@ -0,0 +1,241 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.Notification;
+import com.infy.pinterest.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Expires notifications after a per-type time to live.
+ *
+ * The purge walks the table in primary-key order: each step reads the next
+ * chunk of IDs and deletes the expired rows inside that key range, so every
+ * DELETE locks a small, bounded range and commits on its own. Types sharing
+ * a TTL are deleted by one statement per range.
+ *
+ * Deployments that partition {@code notifications} by month
+ * (db/migration/notification_partitioning.sql) also rotate partitions: the
+ * coming months are created ahead of time and months older than the longest
+ * TTL are dropped whole instead of row by row.
+ *
+ * Only the node holding the {@value #LEASE} lease runs the purge and the
+ * partition DDL; it renews the lease between chunks and stops if it loses it.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionService {
+
+    static final String LEASE = "notification-retention";
+
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLease schedulerLease;
+
+    @Value("${notification.retention.enabled:true}")
+    private boolean enabled = true;
+
+    // Days to keep types not listed in ttl-days; 0 or less keeps them forever
+    @Value("${notification.retention.default-ttl-days:365}")
+    private int defaultTtlDays = 365;
+
+    // TYPE:days pairs, e.g. PIN_LIKED:90,INVITATION_DECLINED:30
+    @Value("${notification.retention.ttl-days:}")
+    private String ttlDays = "";
+
+    @Value("${notification.retention.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${notification.retention.pause-ms:50}")
+    private long pauseMillis = 50;
+
+    @Value("${notification.retention.partitioned:false}")
+    private boolean partitioned = false;
+
+    @Value("${notification.retention.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${notification.retention.lease-seconds:300}")
+    private long leaseSeconds = 300;
+
+    private Map<Notification.NotificationType, Integer> ttlByType = new EnumMap<>(Notification.NotificationType.class);
+
+    @Autowired
+    public NotificationRetentionService(NotificationRepository notificationRepository, JdbcTemplate jdbcTemplate,
+                                        SchedulerLease schedulerLease) {
+        this.notificationRepository = notificationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.schedulerLease = schedulerLease;
+    }
+
+    @PostConstruct
+    public void init() {
+        Map<Notification.NotificationType, Integer> ttls = new EnumMap<>(Notification.NotificationType.class);
+        for (Notification.NotificationType type : Notification.NotificationType.values()) {
+            ttls.put(type, defaultTtlDays);
+        }
+        for (String entry : ttlDays.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid notification.retention.ttl-days entry: " + entry);
+            }
+            ttls.put(Notification.NotificationType.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        ttlByType = ttls;
+    }
+
+    public Map<Notification.NotificationType, Integer> getTtlByType() {
+        return Map.copyOf(ttlByType);
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 4 * * *}")
+    public void runRetention() {
+        if (!enabled || !holdsLease()) {
+            return;
+        }
+        if (partitioned) {
+            try {
+                rotatePartitions(LocalDate.now());
+            } catch (RuntimeException e) {
+                log.warn("Failed to rotate notification partitions", e);
+            }
+        }
+        purgeExpired(LocalDateTime.now());
+    }
+
+    /**
+     * Delete notifications older than their type's TTL.
+     *
+     * @return number of rows deleted
+     */
+    public long purgeExpired(LocalDateTime now) {
+        Map<Integer, List<Notification.NotificationType>> typesByTtl = new TreeMap<>();
+        ttlByType.forEach((type, days) -> {
+            if (days > 0) {
+                typesByTtl.computeIfAbsent(days, d -> new ArrayList<>()).add(type);
+            }
+        });
+        if (typesByTtl.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        long deleted = 0;
+        int chunks = 0;
+        String after = "";
+        while (true) {
+            List<String> ids = notificationRepository.findIdsAfter(after, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            String upTo = ids.get(ids.size() - 1);
+            for (Map.Entry<Integer, List<Notification.NotificationType>> group : typesByTtl.entrySet()) {
+                deleted += notificationRepository.deleteExpiredInRange(after, upTo, group.getValue(),
+                        now.minusDays(group.getKey()));
+            }
+            chunks++;
+            if (ids.size() < chunkSize || !pause()) {
+                break;
+            }
+            if (!holdsLease()) {
+                log.warn("Lost lease {}, stopping the purge after {} chunks", LEASE, chunks);
+                break;
+            }
+            after = upTo;
+        }
+        log.info("Purged {} expired notifications in {} chunks, {} ms",
+                deleted, chunks, System.currentTimeMillis() - start);
+        return deleted;
+    }
+
+    /**
+     * Create monthly partitions up to {@code monthsAhead} months from now and
+     * drop the ones whose rows all passed the longest TTL.
+     */
+    public void rotatePartitions(LocalDate today) {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'notifications' "
+                + "AND PARTITION_NAME IS NOT NULL", String.class)) {
+            if (!name.equals(MAX_PARTITION)) {
+                months.add(YearMonth.parse(name.substring(1), PARTITION_MONTH));
+            }
+        }
+
+        // New months split off pmax, so they can only be added after the latest one
+        YearMonth current = YearMonth.from(today);
+        YearMonth next = months.isEmpty() ? current : months.last().plusMonths(1);
+        for (YearMonth month = next; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("ALTER TABLE notifications REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                    + "PARTITION " + partitionName(month) + " VALUES LESS THAN (UNIX_TIMESTAMP('"
+                    + month.plusMonths(1).atDay(1) + " 00:00:00')), "
+                    + "PARTITION " + MAX_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            log.info("Added notification partition {}", partitionName(month));
+        }
+
+        // Some type is kept forever, so no month can go as a whole
+        if (ttlByType.values().stream().anyMatch(days -> days <= 0)) {
+            return;
+        }
+        int longestTtl = ttlByType.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        LocalDate expiredBefore = today.minusDays(longestTtl);
+        for (YearMonth month : months) {
+            if (month.plusMonths(1).atDay(1).isAfter(expiredBefore)) {
+                break;
+            }
+            jdbcTemplate.execute("ALTER TABLE notifications DROP PARTITION " + partitionName(month));
+            log.info("Dropped notification partition {}", partitionName(month));
+        }
+    }
+
+    // Helper methods
+
+    private boolean holdsLease() {
+        return schedulerLease.tryAcquire(LEASE, Duration.ofSeconds(leaseSeconds));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_MONTH);
+    }
+
+    /**
+     * Give other writers a turn between chunks.
+     *
+     * @return false if the thread was interrupted and the purge should stop
+     */
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
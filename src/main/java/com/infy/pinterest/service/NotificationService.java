@@ -1,10 +1,12 @@
 package com.infy.pinterest.service;
 
+import com.infy.pinterest.dto.NotificationOutboxStatsDTO;
 import com.infy.pinterest.dto.NotificationResponseDTO;
 import com.infy.pinterest.dto.PaginatedResponse;
 import com.infy.pinterest.dto.PaginationDTO;
 import com.infy.pinterest.dto.UserSummaryDTO;
 import com.infy.pinterest.entity.Notification;
+import com.infy.pinterest.entity.User;
 import com.infy.pinterest.exception.ResourceNotFoundException;
 import com.infy.pinterest.exception.UnauthorizedAccessException;
 import com.infy.pinterest.repository.NotificationRepository;
@@ -16,7 +18,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -25,30 +31,49 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final NotificationDispatcher notificationDispatcher;
+    private final UnreadCountCache unreadCountCache;
 
     @Autowired
-    public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository) {
+    public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository,
+                               NotificationOutbox notificationOutbox, NotificationDispatcher notificationDispatcher,
+                               UnreadCountCache unreadCountCache) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
+        this.notificationOutbox = notificationOutbox;
+        this.notificationDispatcher = notificationDispatcher;
+        this.unreadCountCache = unreadCountCache;
     }
 
     /**
-     * Create a notification
+     * Create a notification. It is queued for the batch writer once the
+     * caller's transaction commits, so a rolled-back interaction notifies
+     * nobody and the interaction does not wait for the insert.
      */
-    @Transactional
     public void createNotification(String userId, String senderId, Notification.NotificationType type, 
                                    String message, String entityId, String entityType) {
-        log.info("Creating notification for user {} of type {}", userId, type);
+        log.debug("Queueing notification for user {} of type {}", userId, type);
 
-        Notification notification = new Notification();
-        notification.setUserId(userId);
-        notification.setSenderId(senderId);
-        notification.setType(type);
-        notification.setMessage(message);
-        notification.setEntityId(entityId);
-        notification.setEntityType(entityType);
+        NotificationOutbox.NotificationEvent event =
+                NotificationOutbox.NotificationEvent.of(userId, senderId, type, message, entityId, entityType);
+        afterCommit(() -> notificationOutbox.enqueue(event));
+    }
 
-        notificationRepository.save(notification);
+    /**
+     * Open the user's push stream. New connections start with the current
+     * unread count; resumed ones get what they missed instead.
+     */
+    public SseEmitter subscribe(String userId, String lastEventId) {
+        SseEmitter emitter = notificationDispatcher.subscribe(userId, lastEventId);
+        if (lastEventId == null) {
+            notificationDispatcher.publishUnreadCount(userId, getUnreadCount(userId));
+        }
+        return emitter;
+    }
+
+    public NotificationOutboxStatsDTO getOutboxStats() {
+        return notificationOutbox.getStats();
     }
 
     /**
@@ -58,16 +83,19 @@ public class NotificationService {
         log.info("Getting notifications for user {}, isRead: {}", userId, isRead);
 
         Pageable pageable = PageRequest.of(page, size);
+        LocalDateTime watermark = unreadCountCache.getWatermark(userId);
         Page<Notification> notificationPage;
 
-        if (isRead != null) {
-            notificationPage = notificationRepository.findByUserIdAndIsReadOrderByCreatedAtDesc(userId, isRead, pageable);
+        if (Boolean.TRUE.equals(isRead)) {
+            notificationPage = notificationRepository.findReadBy(userId, watermark, pageable);
+        } else if (isRead != null) {
+            notificationPage = notificationRepository.findUnreadSince(userId, watermark, pageable);
         } else {
             notificationPage = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
         }
 
         List<NotificationResponseDTO> notifications = notificationPage.getContent().stream()
-                .map(this::buildNotificationResponse)
+                .map(notification -> buildNotificationResponse(notification, watermark))
                 .toList();
 
         PaginationDTO pagination = new PaginationDTO(
@@ -86,7 +114,7 @@ public class NotificationService {
      * Get unread notification count
      */
     public Long getUnreadCount(String userId) {
-        return notificationRepository.countByUserIdAndIsRead(userId, false);
+        return unreadCountCache.getUnreadCount(userId);
     }
 
     /**
@@ -103,18 +131,29 @@ public class NotificationService {
             throw new UnauthorizedAccessException("Unauthorized access to notification");
         }
 
+        // Rows behind the watermark are already read; only newer ones need the flag
+        if (!UnreadCountCache.isUnread(notification, unreadCountCache.getWatermark(userId))) {
+            return;
+        }
         notification.setIsRead(true);
-        notification.setReadAt(java.time.LocalDateTime.now());
+        notification.setReadAt(LocalDateTime.now());
         notificationRepository.save(notification);
+        afterCommit(() -> onUnreadRemoved(userId));
     }
 
     /**
-     * Mark all notifications as read
+     * Mark all notifications as read by moving the user's read watermark
      */
     @Transactional
     public void markAllAsRead(String userId) {
         log.info("Marking all notifications as read for user {}", userId);
-        notificationRepository.markAllAsRead(userId);
+        // Whole seconds, matching the precision of created_at
+        LocalDateTime readAt = LocalDateTime.now().withNano(0);
+        unreadCountCache.markAllRead(userId, readAt);
+        afterCommit(() -> {
+            unreadCountCache.onAllRead(userId, readAt);
+            notificationDispatcher.publishUnreadCount(userId, 0);
+        });
     }
 
     /**
@@ -131,7 +170,11 @@ public class NotificationService {
             throw new UnauthorizedAccessException("Unauthorized access to notification");
         }
 
+        boolean wasUnread = UnreadCountCache.isUnread(notification, unreadCountCache.getWatermark(userId));
         notificationRepository.delete(notification);
+        if (wasUnread) {
+            afterCommit(() -> onUnreadRemoved(userId));
+        }
     }
 
     /**
@@ -146,7 +189,21 @@ public class NotificationService {
     /**
      * Build notification response
      */
-    private NotificationResponseDTO buildNotificationResponse(Notification notification) {
+    private NotificationResponseDTO buildNotificationResponse(Notification notification, LocalDateTime watermark) {
+        User sender = notification.getSenderId() != null
+                ? userRepository.findById(notification.getSenderId()).orElse(null)
+                : null;
+        NotificationResponseDTO dto = toResponse(notification, sender);
+        dto.setIsRead(!UnreadCountCache.isUnread(notification, watermark));
+        return dto;
+    }
+
+    private void onUnreadRemoved(String userId) {
+        unreadCountCache.onUnreadRemoved(userId);
+        notificationDispatcher.publishUnreadDelta(userId, -1);
+    }
+
+    static NotificationResponseDTO toResponse(Notification notification, User sender) {
         NotificationResponseDTO dto = new NotificationResponseDTO();
         dto.setNotificationId(notification.getNotificationId());
         dto.setType(notification.getType().name());
@@ -156,17 +213,35 @@ public class NotificationService {
         dto.setIsRead(notification.getIsRead());
         dto.setCreatedAt(notification.getCreatedAt());
         dto.setReadAt(notification.getReadAt());
-
-        if (notification.getSenderId() != null) {
-            userRepository.findById(notification.getSenderId()).ifPresent(user -> {
-                UserSummaryDTO userSummary = new UserSummaryDTO();
-                userSummary.setUserId(user.getUserId());
-                userSummary.setUsername(user.getUsername());
-                userSummary.setProfilePictureUrl(user.getProfilePictureUrl());
-                dto.setSender(userSummary);
-            });
+        dto.setActorCount(notification.getActorCount() != null ? notification.getActorCount() : 1);
+        dto.setRecentSenderIds(notification.getRecentSenderIds() != null
+                ? List.of(notification.getRecentSenderIds().split(","))
+                : List.of());
+
+        if (sender != null) {
+            UserSummaryDTO userSummary = new UserSummaryDTO();
+            userSummary.setUserId(sender.getUserId());
+            userSummary.setUsername(sender.getUsername());
+            userSummary.setProfilePictureUrl(sender.getProfilePictureUrl());
+            dto.setSender(userSummary);
         }
 
         return dto;
     }
+
+    /**
+     * Run once the surrounding transaction commits, or now if there is none.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
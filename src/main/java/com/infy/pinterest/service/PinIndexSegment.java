@@ -0,0 +1,383 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.utility.IntList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable on-disk snapshot of the pin search index, read through a
+ * {@link MappedByteBuffer} so postings and doc values stay off-heap.
+ *
+ * Layout (big-endian), each section starting at an offset recorded in the header:
+ * <pre>
+ *   header      magic, version, snapshot time, counts, section offsets
+ *   categories  count-prefixed UTF-8 strings
+ *   doc values  int category[docs], long createdAt[docs], int saves[docs], int likes[docs]
+ *   pin ids     int offsets[docs + 1], UTF-8 bytes
+ *   pin order   int doc[docs], sorted by pin ID for binary search
+ *   terms       int offsets[terms + 1], UTF-8 bytes, in String order
+ *   postings    int docFreq[terms], int offsets[terms + 1], delta-encoded varint doc IDs
+ * </pre>
+ * Segments are limited to 2 GB, the maximum size of a single mapping.
+ */
+public final class PinIndexSegment {
+
+    private static final int MAGIC = 0x50494E53; // "PINS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 * 3 + 8 * 6;
+
+    private final ByteBuffer buffer;
+    private final long snapshotAtMillis;
+    private final int docCount;
+    private final int termCount;
+    private final List<String> categories;
+    private final int docValuesOffset;
+    private final int pinIdsOffset;
+    private final int pinOrderOffset;
+    private final int termsOffset;
+    private final int postingsOffset;
+
+    private PinIndexSegment(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a pin index segment (version " + VERSION + ")");
+        }
+        this.snapshotAtMillis = buffer.getLong(8);
+        this.docCount = buffer.getInt(16);
+        this.termCount = buffer.getInt(20);
+        int categoryCount = buffer.getInt(24);
+        int categoriesOffset = (int) buffer.getLong(28);
+        this.docValuesOffset = (int) buffer.getLong(36);
+        this.pinIdsOffset = (int) buffer.getLong(44);
+        this.pinOrderOffset = (int) buffer.getLong(52);
+        this.termsOffset = (int) buffer.getLong(60);
+        this.postingsOffset = (int) buffer.getLong(68);
+
+        // Category names are few and looked up constantly, so keep them on-heap
+        this.categories = new ArrayList<>(categoryCount);
+        int position = categoriesOffset;
+        for (int i = 0; i < categoryCount; i++) {
+            int length = buffer.getInt(position);
+            categories.add(readUtf8(position + 4, length));
+            position += 4 + length;
+        }
+    }
+
+    public static PinIndexSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segment larger than 2 GB: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new PinIndexSegment(mapped);
+        }
+    }
+
+    public long getSnapshotAtMillis() {
+        return snapshotAtMillis;
+    }
+
+    public int docCount() {
+        return docCount;
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    public List<String> categories() {
+        return categories;
+    }
+
+    // Doc values
+
+    /**
+     * @return the segment-local category ordinal, or -1 for none
+     */
+    public int docCategory(int doc) {
+        return buffer.getInt(docValuesOffset + doc * 4);
+    }
+
+    public long docCreatedAt(int doc) {
+        return buffer.getLong(docValuesOffset + docCount * 4 + doc * 8);
+    }
+
+    public int docSaves(int doc) {
+        return buffer.getInt(docValuesOffset + docCount * 12 + doc * 4);
+    }
+
+    public int docLikes(int doc) {
+        return buffer.getInt(docValuesOffset + docCount * 16 + doc * 4);
+    }
+
+    public String docPinId(int doc) {
+        int start = buffer.getInt(pinIdsOffset + doc * 4);
+        int end = buffer.getInt(pinIdsOffset + (doc + 1) * 4);
+        return readUtf8(pinIdsOffset + (docCount + 1) * 4 + start, end - start);
+    }
+
+    /**
+     * @return the doc holding this pin, or -1
+     */
+    public int findDoc(String pinId) {
+        int low = 0;
+        int high = docCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int doc = buffer.getInt(pinOrderOffset + mid * 4);
+            int cmp = docPinId(doc).compareTo(pinId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return doc;
+            }
+        }
+        return -1;
+    }
+
+    // Terms and postings
+
+    public String term(int ordinal) {
+        int start = buffer.getInt(termsOffset + ordinal * 4);
+        int end = buffer.getInt(termsOffset + (ordinal + 1) * 4);
+        return readUtf8(termsOffset + (termCount + 1) * 4 + start, end - start);
+    }
+
+    public int docFreq(int ordinal) {
+        return buffer.getInt(postingsOffset + ordinal * 4);
+    }
+
+    public void addPostings(int ordinal, BitSet target) {
+        forEachPosting(ordinal, target::set);
+    }
+
+    public void forEachPosting(int ordinal, IntConsumer consumer) {
+        int offsetsStart = postingsOffset + termCount * 4;
+        int dataStart = offsetsStart + (termCount + 1) * 4;
+        int position = dataStart + buffer.getInt(offsetsStart + ordinal * 4);
+        int count = docFreq(ordinal);
+
+        int doc = 0;
+        for (int i = 0; i < count; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += delta;
+            consumer.accept(doc);
+        }
+    }
+
+    private String readUtf8(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Accumulates docs (in doc ID order) and terms (in String order), then
+     * writes a segment file. Doc values are buffered as primitive columns and
+     * postings are encoded as they are added.
+     */
+    public static final class Writer {
+
+        private final List<String> categories;
+
+        private int docCount;
+        private int[] docCategories = new int[1024];
+        private long[] docCreatedAt = new long[1024];
+        private int[] docSaves = new int[1024];
+        private int[] docLikes = new int[1024];
+        private final List<String> pinIds = new ArrayList<>();
+
+        private final List<byte[]> terms = new ArrayList<>();
+        private final IntList docFreqs = new IntList();
+        private final IntList postingOffsets = new IntList();
+        private byte[] postings = new byte[4096];
+        private int postingsSize;
+        private String lastTerm;
+
+        public Writer(List<String> categories) {
+            this.categories = new ArrayList<>(categories);
+        }
+
+        public void addDoc(String pinId, int category, long createdAt, int saves, int likes) {
+            if (docCount == docCategories.length) {
+                int newLength = docCount * 2;
+                docCategories = Arrays.copyOf(docCategories, newLength);
+                docCreatedAt = Arrays.copyOf(docCreatedAt, newLength);
+                docSaves = Arrays.copyOf(docSaves, newLength);
+                docLikes = Arrays.copyOf(docLikes, newLength);
+            }
+            docCategories[docCount] = category;
+            docCreatedAt[docCount] = createdAt;
+            docSaves[docCount] = saves;
+            docLikes[docCount] = likes;
+            pinIds.add(pinId);
+            docCount++;
+        }
+
+        /**
+         * @param docs strictly increasing doc IDs
+         */
+        public void addTerm(String term, IntList docs) {
+            if (lastTerm != null && lastTerm.compareTo(term) >= 0) {
+                throw new IllegalArgumentException("Terms must be added in sorted order: " + term);
+            }
+            lastTerm = term;
+            terms.add(term.getBytes(StandardCharsets.UTF_8));
+            docFreqs.add(docs.size());
+            postingOffsets.add(postingsSize);
+
+            int previous = 0;
+            for (int i = 0; i < docs.size(); i++) {
+                int delta = docs.get(i) - previous;
+                previous = docs.get(i);
+                while ((delta & ~0x7F) != 0) {
+                    appendPostingByte((byte) ((delta & 0x7F) | 0x80));
+                    delta >>>= 7;
+                }
+                appendPostingByte((byte) delta);
+            }
+        }
+
+        public int docCount() {
+            return docCount;
+        }
+
+        public void write(Path path, long snapshotAtMillis) throws IOException {
+            List<byte[]> categoryBytes = new ArrayList<>();
+            for (String category : categories) {
+                categoryBytes.add(category.getBytes(StandardCharsets.UTF_8));
+            }
+            List<byte[]> pinIdBytes = new ArrayList<>(docCount);
+            for (String pinId : pinIds) {
+                pinIdBytes.add(pinId.getBytes(StandardCharsets.UTF_8));
+            }
+            Integer[] pinOrder = new Integer[docCount];
+            for (int i = 0; i < docCount; i++) {
+                pinOrder[i] = i;
+            }
+            Arrays.sort(pinOrder, (a, b) -> pinIds.get(a).compareTo(pinIds.get(b)));
+
+            long categoriesOffset = HEADER_SIZE;
+            long docValuesOffset = categoriesOffset + blobSize(categoryBytes, false);
+            long pinIdsOffset = docValuesOffset + (long) docCount * 20;
+            long pinOrderOffset = pinIdsOffset + blobSize(pinIdBytes, true);
+            long termsOffset = pinOrderOffset + (long) docCount * 4;
+            long postingsOffset = termsOffset + blobSize(terms, true);
+            long totalSize = postingsOffset + (long) terms.size() * 4 + (terms.size() + 1L) * 4 + postingsSize;
+            if (totalSize > Integer.MAX_VALUE) {
+                throw new IOException("Segment would exceed 2 GB");
+            }
+
+            ByteBuffer out = ByteBuffer.allocate((int) totalSize);
+            out.putInt(MAGIC).putInt(VERSION).putLong(snapshotAtMillis)
+                    .putInt(docCount).putInt(terms.size()).putInt(categories.size())
+                    .putLong(categoriesOffset).putLong(docValuesOffset).putLong(pinIdsOffset)
+                    .putLong(pinOrderOffset).putLong(termsOffset).putLong(postingsOffset);
+
+            for (byte[] bytes : categoryBytes) {
+                out.putInt(bytes.length).put(bytes);
+            }
+            for (int i = 0; i < docCount; i++) {
+                out.putInt(docCategories[i]);
+            }
+            for (int i = 0; i < docCount; i++) {
+                out.putLong(docCreatedAt[i]);
+            }
+            for (int i = 0; i < docCount; i++) {
+                out.putInt(docSaves[i]);
+            }
+            for (int i = 0; i < docCount; i++) {
+                out.putInt(docLikes[i]);
+            }
+            putBlob(out, pinIdBytes);
+            for (Integer doc : pinOrder) {
+                out.putInt(doc);
+            }
+            putBlob(out, terms);
+            for (int i = 0; i < docFreqs.size(); i++) {
+                out.putInt(docFreqs.get(i));
+            }
+            for (int i = 0; i < postingOffsets.size(); i++) {
+                out.putInt(postingOffsets.get(i));
+            }
+            out.putInt(postingsSize);
+            out.put(postings, 0, postingsSize);
+
+            out.flip();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+        }
+
+        private void appendPostingByte(byte b) {
+            if (postingsSize == postings.length) {
+                postings = Arrays.copyOf(postings, postings.length * 2);
+            }
+            postings[postingsSize++] = b;
+        }
+
+        private static long blobSize(List<byte[]> values, boolean withOffsets) {
+            long size = withOffsets ? (values.size() + 1L) * 4 : values.size() * 4L;
+            for (byte[] value : values) {
+                size += value.length;
+            }
+            return size;
+        }
+
+        private static void putBlob(ByteBuffer out, List<byte[]> values) {
+            int offset = 0;
+            for (byte[] value : values) {
+                out.putInt(offset);
+                offset += value.length;
+            }
+            out.putInt(offset);
+            for (byte[] value : values) {
+                out.put(value);
+            }
+        }
+    }
+
+    /**
+     * Finds the newest segment file in a directory.
+     */
+    static Path latest(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try (var files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().matches("pins-\\d+\\.seg"))
+                    .max((a, b) -> Long.compare(generation(a), generation(b)))
+                    .orElse(null);
+        }
+    }
+
+    static long generation(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(5, name.length() - 4));
+    }
+}
@@ -29,12 +29,16 @@ public class PinInteractionService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final ModelMapper modelMapper;
+    private final PinSearchIndex pinSearchIndex;
+    private final TrendingService trendingService;
+    private final BoardAccessCache boardAccessCache;
 
     @Autowired
     public PinInteractionService(PinLikeRepository pinLikeRepository, SavedPinRepository savedPinRepository,
                                 PinRepository pinRepository, BoardRepository boardRepository,
                                 UserRepository userRepository, NotificationService notificationService,
-                                ModelMapper modelMapper) {
+                                ModelMapper modelMapper, PinSearchIndex pinSearchIndex,
+                                TrendingService trendingService, BoardAccessCache boardAccessCache) {
         this.pinLikeRepository = pinLikeRepository;
         this.savedPinRepository = savedPinRepository;
         this.pinRepository = pinRepository;
@@ -42,6 +46,9 @@ public class PinInteractionService {
         this.userRepository = userRepository;
         this.notificationService = notificationService;
         this.modelMapper = modelMapper;
+        this.pinSearchIndex = pinSearchIndex;
+        this.trendingService = trendingService;
+        this.boardAccessCache = boardAccessCache;
     }
 
     // ==================== LIKE OPERATIONS ====================
@@ -69,6 +76,8 @@ public class PinInteractionService {
         // Update like count
         pin.setLikeCount(pin.getLikeCount() + 1);
         pinRepository.save(pin);
+        pinSearchIndex.updateCounters(pinId, pin.getSaveCount(), pin.getLikeCount());
+        trendingService.recordLike(pin, categoryOf(pin));
 
         // Create notification for pin owner (if not liking own pin)
         if (!userId.equals(pin.getUserId())) {
@@ -110,6 +119,8 @@ public class PinInteractionService {
         // Update like count
         pin.setLikeCount(Math.max(0, pin.getLikeCount() - 1));
         pinRepository.save(pin);
+        pinSearchIndex.updateCounters(pinId, pin.getSaveCount(), pin.getLikeCount());
+        trendingService.recordUnlike(pin, categoryOf(pin));
 
         log.info("Pin {} unliked successfully by user {}", pinId, userId);
     }
@@ -214,6 +225,7 @@ public class PinInteractionService {
         newPin.setLikeCount(0);
         
         Pin savedNewPin = pinRepository.save(newPin);
+        pinSearchIndex.indexPin(savedNewPin, board.getCategory());
 
         // Create save record linking original pin to the new pin
         SavedPin savedPin = new SavedPin();
@@ -226,6 +238,8 @@ public class PinInteractionService {
         // Update save count on ORIGINAL pin
         originalPin.setSaveCount(originalPin.getSaveCount() + 1);
         pinRepository.save(originalPin);
+        pinSearchIndex.updateCounters(pinId, originalPin.getSaveCount(), originalPin.getLikeCount());
+        trendingService.recordSave(originalPin, categoryOf(originalPin));
 
         // Create notification for original pin owner (if not saving own pin)
         if (!userId.equals(originalPin.getUserId())) {
@@ -266,6 +280,7 @@ public class PinInteractionService {
         if (savedPin.getCopiedPinId() != null) {
             pinRepository.findById(savedPin.getCopiedPinId()).ifPresent(copiedPin -> {
                 pinRepository.delete(copiedPin);
+                pinSearchIndex.removePin(copiedPin.getPinId());
                 log.info("Deleted copied pin {}", savedPin.getCopiedPinId());
             });
         }
@@ -275,6 +290,8 @@ public class PinInteractionService {
         // Update save count on original pin
         pin.setSaveCount(Math.max(0, pin.getSaveCount() - 1));
         pinRepository.save(pin);
+        pinSearchIndex.updateCounters(pinId, pin.getSaveCount(), pin.getLikeCount());
+        trendingService.recordUnsave(pin, categoryOf(pin));
 
         log.info("Pin {} unsaved successfully by user {}", pinId, userId);
     }
@@ -339,4 +356,14 @@ public class PinInteractionService {
 
         return new PaginatedResponse<>(pins, pagination);
     }
+
+    // Helper methods
+
+    private String categoryOf(Pin pin) {
+        if (pin.getBoardId() == null) {
+            return null;
+        }
+        BoardAccessCache.BoardAccess access = boardAccessCache.getBoardAccess(pin.getBoardId());
+        return access == null ? null : access.category();
+    }
 }
@@ -0,0 +1,916 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.dto.FacetCountDTO;
+import com.infy.pinterest.entity.Board;
+import com.infy.pinterest.entity.Pin;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.utility.IntList;
+import com.infy.pinterest.utility.LevenshteinAutomaton;
+import com.infy.pinterest.utility.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index over public, published pins.
+ *
+ * Pin titles and descriptions are tokenized into a term dictionary with one
+ * posting list of doc IDs per term. Doc IDs are dense ints assigned in insert
+ * order, so posting lists stay sorted by construction. Typo-tolerant lookups go
+ * through a {@link TrigramIndex} over the dictionary.
+ *
+ * The index is a memory-mapped base {@link PinIndexSegment} plus an on-heap
+ * delta. Docs below {@code baseDocs} live in the segment, with postings and
+ * doc values off-heap. Docs added since the snapshot get IDs after them.
+ * Snapshots are written periodically; writing one drops deleted docs and folds
+ * the delta into a fresh segment. On startup the newest segment is mapped and
+ * only pins updated since it was written are replayed. A full rebuild from the
+ * pins table is needed only when there is no usable snapshot.
+ *
+ * Changes made inside a transaction are applied once it commits, so a
+ * rolled-back write never leaves the index (or a snapshot taken from it)
+ * out of step with the pins table.
+ *
+ * Changes committed on other nodes are picked up by replaying pins updated
+ * since the last replay every {@code search.index.replay-ms}. Deletes leave
+ * nothing to replay, so a periodic sweep checks indexed pins against the pins
+ * table and drops the ones that are gone. Until then a deleted pin is also
+ * dropped when a search returns it and {@link SearchService} finds it missing.
+ */
+@Service
+@Slf4j
+public class PinSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    // Replay also covers writes committed shortly before the snapshot was taken
+    private static final long REPLAY_MARGIN_MILLIS = 60_000;
+
+    private final PinRepository pinRepository;
+    private final BoardRepository boardRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled = true;
+
+    // Only nodes using the in-memory engine hold the index
+    @Value("${search.engine:memory}")
+    private String engine = "memory";
+
+    @Value("${search.index.snapshot.enabled:true}")
+    private boolean snapshotEnabled = true;
+
+    @Value("${search.index.snapshot.dir:./data/search-index}")
+    private String snapshotDir = "./data/search-index";
+
+    private volatile boolean ready;
+
+    // Start of the last replay (or rebuild); the next replay reads updates from here
+    private volatile long replayedToMillis;
+
+    // Base segment, mapped off-heap
+    private PinIndexSegment segment;
+    private int baseDocs;
+    private int baseTerms;
+    private final Map<Integer, int[]> baseCounters = new HashMap<>();
+
+    // Term dictionary. Base terms keep their segment ordinal; delta postings are null until used.
+    private NavigableMap<String, Integer> termIds = new TreeMap<>();
+    private List<IntList> postings = new ArrayList<>();
+    private TrigramIndex trigramIndex = new TrigramIndex();
+
+    // Board categories, stored per doc as a small ordinal
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final List<String> categories = new ArrayList<>();
+
+    // Delta doc table, indexed by doc - baseDocs
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private String[] docPinIds = new String[1024];
+    private int[] docCategories = new int[1024];
+    private long[] docCreatedAt = new long[1024];
+    private int[] docSaves = new int[1024];
+    private int[] docLikes = new int[1024];
+    private final BitSet live = new BitSet();
+    private int maxDoc;
+
+    // Writes made while a snapshot is being written, re-applied once it is installed
+    private boolean snapshotting;
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    private long changesSinceSnapshot;
+
+    @Autowired
+    public PinSearchIndex(PinRepository pinRepository, BoardRepository boardRepository) {
+        this.pinRepository = pinRepository;
+        this.boardRepository = boardRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!isEnabled()) {
+            log.info("Pin search index disabled");
+            return;
+        }
+        Thread loadThread = new Thread(this::load, "pin-search-index-load");
+        loadThread.setDaemon(true);
+        loadThread.start();
+    }
+
+    /**
+     * Open the newest snapshot and replay changes since it was written,
+     * falling back to a full rebuild.
+     */
+    public void load() {
+        if (snapshotEnabled) {
+            try {
+                Path latest = PinIndexSegment.latest(Paths.get(snapshotDir));
+                if (latest != null) {
+                    long start = System.currentTimeMillis();
+                    PinIndexSegment loaded = PinIndexSegment.open(latest);
+                    Dictionary dictionary = readDictionary(loaded);
+                    lock.writeLock().lock();
+                    try {
+                        install(loaded, dictionary);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    replayedToMillis = System.currentTimeMillis();
+                    int replayed = replayChangesSince(loaded.getSnapshotAtMillis() - REPLAY_MARGIN_MILLIS);
+                    ready = true;
+                    log.info("Pin search index loaded from {}: {} pins, {} changes replayed in {} ms",
+                            latest.getFileName(), loaded.docCount(), replayed,
+                            System.currentTimeMillis() - start);
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not load search index snapshot, rebuilding from database", e);
+            }
+        }
+        rebuild();
+        if (snapshotEnabled) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Rebuild the index from the pins table using a keyset scan.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        replayedToMillis = start;
+
+        String afterPinId = "";
+        int indexed = 0;
+        while (true) {
+            List<Pin> batch = pinRepository.findPublicPinsAfter(afterPinId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            applyBatch(batch);
+            indexed += batch.size();
+            afterPinId = batch.get(batch.size() - 1).getPinId();
+        }
+
+        ready = true;
+        log.info("Pin search index rebuilt: {} pins, {} terms in {} ms",
+                indexed, termIds.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return isEnabled() && ready;
+    }
+
+    /**
+     * Index or re-index a pin. Private pins and drafts are removed from the index.
+     */
+    public void indexPin(Pin pin, String category) {
+        if (!isEnabled() || pin == null || pin.getPinId() == null) {
+            return;
+        }
+        apply(() -> {
+            removeDoc(pin.getPinId());
+            if (isSearchable(pin)) {
+                addDoc(pin, category);
+            }
+        });
+    }
+
+    public void removePin(String pinId) {
+        if (!isEnabled()) {
+            return;
+        }
+        apply(() -> removeDoc(pinId));
+    }
+
+    /**
+     * Refresh the engagement counters used for popularity sorting.
+     */
+    public void updateCounters(String pinId, Integer saveCount, Integer likeCount) {
+        if (!isEnabled()) {
+            return;
+        }
+        int saves = saveCount != null ? saveCount : 0;
+        int likes = likeCount != null ? likeCount : 0;
+        apply(() -> setCounters(pinId, saves, likes));
+    }
+
+    /**
+     * @return the board category of an indexed pin, or null if unknown
+     */
+    public String categoryOf(String pinId) {
+        lock.readLock().lock();
+        try {
+            Integer docId = findDoc(pinId);
+            if (docId == null || categoryOfDoc(docId) < 0) {
+                return null;
+            }
+            return categories.get(categoryOfDoc(docId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index. Every query token must match, either exactly or as a
+     * prefix of a term; with fuzzy enabled a token also matches dictionary
+     * terms within its edit budget.
+     *
+     * Category facets are counted over all matches before the category
+     * filter is applied, in the same pass that applies it.
+     *
+     * @return the requested page of pin IDs, or empty if the index is not ready
+     *         or the query has no tokens long enough to be indexed
+     */
+    public Optional<SearchHits> search(String query, String category, boolean fuzzy,
+                                       String sortBy, int page, int size) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            // Nothing here can match; the database search still can
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Per token, one bitset per edit distance so relevance can prefer closer matches
+            List<BitSet[]> tokenLevels = new ArrayList<>(tokens.size());
+            BitSet matched = null;
+            for (String token : tokens) {
+                BitSet[] levels = matchToken(token, fuzzy);
+                BitSet union = new BitSet(maxDoc);
+                for (BitSet level : levels) {
+                    union.or(level);
+                }
+                if (matched == null) {
+                    matched = union;
+                } else {
+                    matched.and(union);
+                }
+                tokenLevels.add(levels);
+            }
+            matched.and(live);
+
+            boolean filtered = category != null && !category.isEmpty();
+            int categoryId = filtered ? categoryIds.getOrDefault(category, -2) : -1;
+            int[] facetCounts = new int[categories.size()];
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                int ordinal = categoryOfDoc(doc);
+                if (ordinal >= 0) {
+                    facetCounts[ordinal]++;
+                }
+                if (filtered && ordinal != categoryId) {
+                    matched.clear(doc);
+                }
+            }
+            List<FacetCountDTO> facets = toFacets(facetCounts);
+
+            int total = matched.cardinality();
+            int limit = (int) Math.min((long) (page + 1) * size, total);
+            int from = page * size;
+            if (from >= limit) {
+                return Optional.of(new SearchHits(List.of(), total, facets));
+            }
+
+            Comparator<Integer> ranking = ranking(sortBy, tokenLevels);
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit, ranking.reversed());
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                top.offer(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            Integer[] ranked = top.toArray(new Integer[0]);
+            Arrays.sort(ranked, ranking);
+            List<String> pinIds = new ArrayList<>(limit - from);
+            for (int i = from; i < ranked.length; i++) {
+                pinIds.add(pinIdOf(ranked[i]));
+            }
+            return Optional.of(new SearchHits(pinIds, total, facets));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replay pins updated since the last replay, so writes committed on other
+     * nodes reach this node's index.
+     */
+    @Scheduled(fixedDelayString = "${search.index.replay-ms:10000}",
+            initialDelayString = "${search.index.replay-ms:10000}")
+    public void scheduledReplay() {
+        if (!isReady()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int replayed = replayChangesSince(replayedToMillis - REPLAY_MARGIN_MILLIS);
+            replayedToMillis = start;
+            log.debug("Replayed {} pin changes into the search index", replayed);
+        } catch (RuntimeException e) {
+            log.warn("Search index replay failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.sweep-ms:3600000}",
+            initialDelayString = "${search.index.sweep-ms:3600000}")
+    public void scheduledSweep() {
+        if (!isReady()) {
+            return;
+        }
+        try {
+            sweepDeletedPins();
+        } catch (RuntimeException e) {
+            log.warn("Search index sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop indexed pins that no longer exist in the pins table, so pins
+     * deleted on other nodes or while this one was down stop counting
+     * towards totals and facets.
+     *
+     * @return the number of pins dropped
+     */
+    public int sweepDeletedPins() {
+        long start = System.currentTimeMillis();
+        List<String> indexed = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                indexed.add(pinIdOf(doc));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int removed = 0;
+        for (int from = 0; from < indexed.size(); from += REBUILD_BATCH_SIZE) {
+            List<String> batch = indexed.subList(from, Math.min(from + REBUILD_BATCH_SIZE, indexed.size()));
+            Set<String> existing = new HashSet<>(pinRepository.findExistingPinIds(batch));
+            for (String pinId : batch) {
+                if (!existing.contains(pinId)) {
+                    apply(() -> removeDoc(pinId));
+                    removed++;
+                }
+            }
+        }
+        log.info("Search index sweep checked {} pins, dropped {} deleted in {} ms",
+                indexed.size(), removed, System.currentTimeMillis() - start);
+        return removed;
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.snapshot.interval-ms:1800000}",
+            initialDelayString = "${search.index.snapshot.interval-ms:1800000}")
+    public void scheduledSnapshot() {
+        if (isReady() && snapshotEnabled && changesSinceSnapshot > 0) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Write the live index to a new segment file and switch to it. Writes
+     * arriving meanwhile are applied to the current index and re-applied on
+     * top of the new segment.
+     */
+    public synchronized void writeSnapshot() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            snapshotting = true;
+            pendingChanges.clear();
+            changesSinceSnapshot = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long snapshotAt;
+            PinIndexSegment.Writer writer;
+            lock.readLock().lock();
+            try {
+                snapshotAt = System.currentTimeMillis();
+                writer = collectLiveDocs();
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            Path directory = Paths.get(snapshotDir);
+            Files.createDirectories(directory);
+            Path file = directory.resolve("pins-" + snapshotAt + ".seg");
+            Path temp = directory.resolve(file.getFileName() + ".tmp");
+            writer.write(temp, snapshotAt);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            PinIndexSegment written = PinIndexSegment.open(file);
+            Dictionary dictionary = readDictionary(written);
+            int reapplied;
+            lock.writeLock().lock();
+            try {
+                install(written, dictionary);
+                reapplied = pendingChanges.size();
+                pendingChanges.forEach(Runnable::run);
+            } finally {
+                snapshotting = false;
+                pendingChanges.clear();
+                lock.writeLock().unlock();
+            }
+
+            deleteOlderSegments(directory, file);
+            log.info("Wrote search index snapshot {}: {} pins, {} changes re-applied in {} ms",
+                    file.getFileName(), writer.docCount(), reapplied, System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                snapshotting = false;
+                pendingChanges.clear();
+                changesSinceSnapshot++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Failed to write search index snapshot", e);
+        }
+    }
+
+    /**
+     * Split text into lower-case alphanumeric tokens.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private boolean isEnabled() {
+        return enabled && "memory".equalsIgnoreCase(engine);
+    }
+
+    /**
+     * Apply a change under the write lock once the surrounding transaction
+     * commits, or now if there is none. Rolled-back changes are dropped.
+     */
+    private void apply(Runnable change) {
+        Runnable locked = () -> {
+            lock.writeLock().lock();
+            try {
+                change.run();
+                recordChange(change);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    locked.run();
+                }
+            });
+        } else {
+            locked.run();
+        }
+    }
+
+    // Helper methods (callers hold the appropriate lock)
+
+    /**
+     * Level 0 holds exact matches. Without fuzzy, level 1 holds prefix
+     * matches; with fuzzy, level d holds matches at edit distance d and
+     * prefix matches share the last level.
+     */
+    private BitSet[] matchToken(String token, boolean fuzzy) {
+        int maxEdits = fuzzy ? LevenshteinAutomaton.defaultMaxEdits(token.length()) : 0;
+        BitSet[] levels = new BitSet[Math.max(maxEdits, 1) + 1];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = new BitSet(maxDoc);
+        }
+
+        BitSet prefixLevel = levels[levels.length - 1];
+        for (int termId : termIds.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            forEachPosting(termId, prefixLevel::set);
+        }
+
+        if (maxEdits > 0) {
+            for (TrigramIndex.Match match : trigramIndex.fuzzyMatches(token, maxEdits)) {
+                forEachPosting(match.termId(), levels[match.distance()]::set);
+            }
+        }
+
+        Integer exact = termIds.get(token);
+        if (exact != null) {
+            forEachPosting(exact, levels[0]::set);
+        }
+        return levels;
+    }
+
+    private List<FacetCountDTO> toFacets(int[] counts) {
+        List<FacetCountDTO> facets = new ArrayList<>();
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                facets.add(new FacetCountDTO(categories.get(ordinal), (long) counts[ordinal]));
+            }
+        }
+        facets.sort(Comparator.comparingLong(FacetCountDTO::getCount).reversed()
+                .thenComparing(FacetCountDTO::getValue));
+        return facets;
+    }
+
+    /**
+     * Visits base postings (off-heap) and then delta postings, so doc IDs arrive in order.
+     */
+    private void forEachPosting(int termId, IntConsumer consumer) {
+        if (termId < baseTerms) {
+            segment.forEachPosting(termId, consumer);
+        }
+        IntList posting = postings.get(termId);
+        if (posting != null) {
+            for (int i = 0; i < posting.size(); i++) {
+                consumer.accept(posting.get(i));
+            }
+        }
+    }
+
+    private Comparator<Integer> ranking(String sortBy, List<BitSet[]> tokenLevels) {
+        Comparator<Integer> byRecent = Comparator.comparingLong(this::createdAtOf).reversed();
+        if ("recent".equalsIgnoreCase(sortBy)) {
+            return byRecent.thenComparing(Comparator.reverseOrder());
+        }
+        if ("popular".equalsIgnoreCase(sortBy)) {
+            return Comparator.comparingLong((Integer doc) -> (long) savesOf(doc) + likesOf(doc))
+                    .reversed()
+                    .thenComparing(byRecent)
+                    .thenComparing(Comparator.reverseOrder());
+        }
+        Function<Integer, Integer> relevance = doc -> {
+            int score = 0;
+            for (BitSet[] levels : tokenLevels) {
+                for (int distance = 0; distance < levels.length; distance++) {
+                    if (levels[distance].get(doc)) {
+                        score += levels.length - distance;
+                        break;
+                    }
+                }
+            }
+            return score;
+        };
+        return Comparator.comparing(relevance).reversed()
+                .thenComparing(byRecent)
+                .thenComparing(Comparator.reverseOrder());
+    }
+
+    // Doc table accessors, routing base docs to the segment
+
+    private Integer findDoc(String pinId) {
+        Integer docId = docIds.get(pinId);
+        if (docId == null && segment != null) {
+            int baseDoc = segment.findDoc(pinId);
+            if (baseDoc >= 0 && live.get(baseDoc)) {
+                docId = baseDoc;
+            }
+        }
+        return docId;
+    }
+
+    private String pinIdOf(int doc) {
+        return doc < baseDocs ? segment.docPinId(doc) : docPinIds[doc - baseDocs];
+    }
+
+    private int categoryOfDoc(int doc) {
+        return doc < baseDocs ? segment.docCategory(doc) : docCategories[doc - baseDocs];
+    }
+
+    private long createdAtOf(int doc) {
+        return doc < baseDocs ? segment.docCreatedAt(doc) : docCreatedAt[doc - baseDocs];
+    }
+
+    private int savesOf(int doc) {
+        if (doc >= baseDocs) {
+            return docSaves[doc - baseDocs];
+        }
+        int[] counters = baseCounters.get(doc);
+        return counters != null ? counters[0] : segment.docSaves(doc);
+    }
+
+    private int likesOf(int doc) {
+        if (doc >= baseDocs) {
+            return docLikes[doc - baseDocs];
+        }
+        int[] counters = baseCounters.get(doc);
+        return counters != null ? counters[1] : segment.docLikes(doc);
+    }
+
+    private void setCounters(String pinId, int saves, int likes) {
+        Integer docId = findDoc(pinId);
+        if (docId == null) {
+            return;
+        }
+        if (docId < baseDocs) {
+            baseCounters.put(docId, new int[]{saves, likes});
+        } else {
+            docSaves[docId - baseDocs] = saves;
+            docLikes[docId - baseDocs] = likes;
+        }
+    }
+
+    private void addDoc(Pin pin, String category) {
+        int docId = maxDoc++;
+        int slot = docId - baseDocs;
+        ensureDocCapacity(slot + 1);
+
+        docIds.put(pin.getPinId(), docId);
+        docPinIds[slot] = pin.getPinId();
+        docCategories[slot] = categoryOrdinal(category);
+        docCreatedAt[slot] = pin.getCreatedAt() != null
+                ? pin.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : 0L;
+        docSaves[slot] = pin.getSaveCount() != null ? pin.getSaveCount() : 0;
+        docLikes[slot] = pin.getLikeCount() != null ? pin.getLikeCount() : 0;
+        live.set(docId);
+
+        Set<String> docTerms = new LinkedHashSet<>(tokenize(pin.getTitle()));
+        docTerms.addAll(tokenize(pin.getDescription()));
+        for (String term : docTerms) {
+            Integer termId = termIds.get(term);
+            if (termId == null) {
+                termId = postings.size();
+                termIds.put(term, termId);
+                postings.add(null);
+                trigramIndex.add(termId, term);
+            }
+            IntList posting = postings.get(termId);
+            if (posting == null) {
+                posting = new IntList(2);
+                postings.set(termId, posting);
+            }
+            posting.add(docId);
+        }
+    }
+
+    private void removeDoc(String pinId) {
+        Integer docId = findDoc(pinId);
+        if (docId == null) {
+            return;
+        }
+        live.clear(docId);
+        if (docId < baseDocs) {
+            baseCounters.remove(docId);
+        } else {
+            docIds.remove(pinId);
+            docPinIds[docId - baseDocs] = null;
+        }
+    }
+
+    private void recordChange(Runnable change) {
+        changesSinceSnapshot++;
+        if (snapshotting) {
+            pendingChanges.add(change);
+        }
+    }
+
+    /**
+     * Copy live docs into a segment writer, renumbering them densely.
+     * The renumbering keeps relative order, so postings stay sorted.
+     */
+    private PinIndexSegment.Writer collectLiveDocs() {
+        PinIndexSegment.Writer writer = new PinIndexSegment.Writer(categories);
+        int[] remap = new int[maxDoc];
+        int next = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (live.get(doc)) {
+                remap[doc] = next++;
+                writer.addDoc(pinIdOf(doc), categoryOfDoc(doc), createdAtOf(doc), savesOf(doc), likesOf(doc));
+            } else {
+                remap[doc] = -1;
+            }
+        }
+
+        IntList docs = new IntList();
+        for (Map.Entry<String, Integer> entry : termIds.entrySet()) {
+            docs.clear();
+            forEachPosting(entry.getValue(), doc -> {
+                if (remap[doc] >= 0) {
+                    docs.add(remap[doc]);
+                }
+            });
+            if (!docs.isEmpty()) {
+                writer.addTerm(entry.getKey(), docs);
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * Term dictionary and trigram index for a segment, built outside the lock.
+     */
+    private record Dictionary(NavigableMap<String, Integer> termIds, TrigramIndex trigramIndex) {
+    }
+
+    private static Dictionary readDictionary(PinIndexSegment segment) {
+        NavigableMap<String, Integer> terms = new TreeMap<>();
+        TrigramIndex trigrams = new TrigramIndex();
+        for (int ordinal = 0; ordinal < segment.termCount(); ordinal++) {
+            String term = segment.term(ordinal);
+            terms.put(term, ordinal);
+            trigrams.add(ordinal, term);
+        }
+        return new Dictionary(terms, trigrams);
+    }
+
+    private void install(PinIndexSegment newSegment, Dictionary dictionary) {
+        segment = newSegment;
+        baseDocs = newSegment.docCount();
+        baseTerms = newSegment.termCount();
+        baseCounters.clear();
+
+        termIds = dictionary.termIds();
+        trigramIndex = dictionary.trigramIndex();
+        postings = new ArrayList<>(Collections.nCopies(baseTerms, (IntList) null));
+
+        // Segment category ordinals become the index ordinals
+        categoryIds.clear();
+        categories.clear();
+        for (String category : newSegment.categories()) {
+            categoryOrdinal(category);
+        }
+
+        docIds.clear();
+        Arrays.fill(docPinIds, null);
+        live.clear();
+        live.set(0, baseDocs);
+        maxDoc = baseDocs;
+    }
+
+    private int replayChangesSince(long sinceMillis) {
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(sinceMillis), ZoneId.systemDefault());
+        String afterPinId = "";
+        int replayed = 0;
+        while (true) {
+            List<Pin> batch = pinRepository.findPinsUpdatedSince(since, afterPinId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            applyBatch(batch);
+            replayed += batch.size();
+            afterPinId = batch.get(batch.size() - 1).getPinId();
+        }
+        return replayed;
+    }
+
+    private void applyBatch(List<Pin> batch) {
+        Map<String, String> boardCategories = loadBoardCategories(batch);
+        lock.writeLock().lock();
+        try {
+            for (Pin pin : batch) {
+                String category = boardCategories.get(pin.getBoardId());
+                Runnable change = () -> {
+                    removeDoc(pin.getPinId());
+                    if (isSearchable(pin)) {
+                        addDoc(pin, category);
+                    }
+                };
+                change.run();
+                recordChange(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clear() {
+        segment = null;
+        baseDocs = 0;
+        baseTerms = 0;
+        baseCounters.clear();
+        termIds = new TreeMap<>();
+        postings = new ArrayList<>();
+        trigramIndex = new TrigramIndex();
+        categoryIds.clear();
+        categories.clear();
+        docIds.clear();
+        Arrays.fill(docPinIds, null);
+        live.clear();
+        maxDoc = 0;
+    }
+
+    private int categoryOrdinal(String category) {
+        if (category == null) {
+            return -1;
+        }
+        return categoryIds.computeIfAbsent(category, c -> {
+            categories.add(c);
+            return categories.size() - 1;
+        });
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity <= docPinIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, docPinIds.length * 2);
+        docPinIds = Arrays.copyOf(docPinIds, newLength);
+        docCategories = Arrays.copyOf(docCategories, newLength);
+        docCreatedAt = Arrays.copyOf(docCreatedAt, newLength);
+        docSaves = Arrays.copyOf(docSaves, newLength);
+        docLikes = Arrays.copyOf(docLikes, newLength);
+    }
+
+    private Map<String, String> loadBoardCategories(List<Pin> pins) {
+        Set<String> boardIds = pins.stream().map(Pin::getBoardId).collect(Collectors.toSet());
+        Map<String, String> result = new HashMap<>();
+        for (Board board : boardRepository.findAllById(boardIds)) {
+            result.put(board.getBoardId(), board.getCategory());
+        }
+        return result;
+    }
+
+    private static void deleteOlderSegments(Path directory, Path current) {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (!file.equals(current) && name.startsWith("pins-") && name.endsWith(".seg")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not remove old search index segments", e);
+        }
+    }
+
+    private static boolean isSearchable(Pin pin) {
+        return pin.getVisibility() == Pin.Visibility.PUBLIC && !Boolean.TRUE.equals(pin.getIsDraft());
+    }
+}
@@ -1,6 +1,8 @@
 package com.infy.pinterest.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,15 +22,12 @@ import com.infy.pinterest.dto.PinResponseDTO;
 import com.infy.pinterest.dto.PinUpdateDTO;
 import com.infy.pinterest.dto.UserSummaryDTO;
 import com.infy.pinterest.entity.Board;
-import com.infy.pinterest.entity.BoardCollaborator;
-import com.infy.pinterest.entity.Invitation;
 import com.infy.pinterest.entity.Pin;
 import com.infy.pinterest.entity.User;
 import com.infy.pinterest.exception.BoardNotFoundException;
 import com.infy.pinterest.exception.PinNotFoundException;
 import com.infy.pinterest.exception.ResourceNotFoundException;
 import com.infy.pinterest.exception.UnauthorizedAccessException;
-import com.infy.pinterest.repository.BoardCollaboratorRepository;
 import com.infy.pinterest.repository.BoardRepository;
 import com.infy.pinterest.repository.PinLikeRepository;
 import com.infy.pinterest.repository.PinRepository;
@@ -45,25 +44,33 @@ public class PinService {
     private final PinRepository pinRepository;
     private final BoardRepository boardRepository;
     private final UserRepository userRepository;
-    private final BoardCollaboratorRepository collaboratorRepository;
     private final PinLikeRepository pinLikeRepository;
     private final SavedPinRepository savedPinRepository;
     private final FileUploadService fileUploadService;
     private final ModelMapper modelMapper;
+    private final PinSearchIndex pinSearchIndex;
+    private final BlockListCache blockListCache;
+    private final BoardAccessCache boardAccessCache;
+    private final AdSlotter adSlotter;
 
     @Autowired
     public PinService(PinRepository pinRepository, BoardRepository boardRepository,
-                     UserRepository userRepository, BoardCollaboratorRepository collaboratorRepository,
-                     PinLikeRepository pinLikeRepository, SavedPinRepository savedPinRepository,
-                     FileUploadService fileUploadService, ModelMapper modelMapper) {
+                     UserRepository userRepository, PinLikeRepository pinLikeRepository,
+                     SavedPinRepository savedPinRepository, FileUploadService fileUploadService,
+                     ModelMapper modelMapper, PinSearchIndex pinSearchIndex,
+                     BlockListCache blockListCache, BoardAccessCache boardAccessCache,
+                     AdSlotter adSlotter) {
         this.pinRepository = pinRepository;
         this.boardRepository = boardRepository;
         this.userRepository = userRepository;
-        this.collaboratorRepository = collaboratorRepository;
         this.pinLikeRepository = pinLikeRepository;
         this.savedPinRepository = savedPinRepository;
         this.fileUploadService = fileUploadService;
         this.modelMapper = modelMapper;
+        this.pinSearchIndex = pinSearchIndex;
+        this.blockListCache = blockListCache;
+        this.boardAccessCache = boardAccessCache;
+        this.adSlotter = adSlotter;
     }
 
     /**
@@ -82,19 +89,7 @@ public class PinService {
 
         // Check if user is board owner OR collaborator with EDIT permission
         boolean isOwner = board.getUserId().equals(userId);
-        boolean hasEditPermission = false;
-        
-        if (!isOwner) {
-            BoardCollaborator collaborator = collaboratorRepository
-                    .findByBoardIdAndUserId(pinDTO.getBoardId(), userId)
-                    .orElse(null);
-            
-            if (collaborator != null && collaborator.getPermission() == Invitation.Permission.EDIT) {
-                hasEditPermission = true;
-            }
-        }
-        
-        if (!isOwner && !hasEditPermission) {
+        if (!isOwner && !boardAccessCache.canEdit(userId, board.getBoardId())) {
             throw new UnauthorizedAccessException("You don't have permission to add pins to this board");
         }
 
@@ -125,6 +120,7 @@ public class PinService {
 
         Pin savedPin = pinRepository.save(pin);
         log.info("Pin created successfully with ID: {}", savedPin.getPinId());
+        pinSearchIndex.indexPin(savedPin, board.getCategory());
 
         return buildPinResponse(savedPin, user, board);
     }
@@ -191,6 +187,7 @@ public class PinService {
 
         User user = userRepository.findById(userId).orElse(null);
         Board board = boardRepository.findById(updatedPin.getBoardId()).orElse(null);
+        pinSearchIndex.indexPin(updatedPin, board != null ? board.getCategory() : null);
 
         return buildPinResponse(updatedPin, user, board);
     }
@@ -210,6 +207,7 @@ public class PinService {
         }
 
         pinRepository.delete(pin);
+        pinSearchIndex.removePin(pinId);
         log.info("Pin deleted successfully: {}", pinId);
     }
         /**
@@ -354,14 +352,11 @@ public class PinService {
         
         if (requestingUserId != null && !requestingUserId.isEmpty()) {
             // Get boards where user is a collaborator (accepted invitations only)
-            List<BoardCollaborator> collaborations = collaboratorRepository.findByUserId(requestingUserId);
-            List<String> collaborativeBoardIds = collaborations.stream()
-                    .map(BoardCollaborator::getBoardId)
-                    .toList();
+            List<String> collaborativeBoardIds = boardAccessCache.getCollaborativeBoardIds(requestingUserId);
             
-            // If no collaborative boards, add empty string to avoid SQL error
+            // If no collaborative boards, use an empty string to avoid SQL error
             if (collaborativeBoardIds.isEmpty()) {
-                collaborativeBoardIds.add("");
+                collaborativeBoardIds = List.of("");
             }
             
             // Fetch pins: public pins + user's own pins + collaborative board pins
@@ -374,7 +369,10 @@ public class PinService {
             log.info("Fetched {} public pins (no user context)", pinPage.getTotalElements());
         }
 
+        // Creators blocked in either direction are dropped before their pins are hydrated
+        Predicate<String> visible = blockListCache.visibleTo(requestingUserId);
         List<PinResponseDTO> pins = pinPage.getContent().stream()
+                .filter(pin -> visible.test(pin.getUserId()))
                 .map(pin -> {
                     User user = userRepository.findById(pin.getUserId()).orElse(null);
                     Board board = boardRepository.findById(pin.getBoardId()).orElse(null);
@@ -382,6 +380,22 @@ public class PinService {
                 })
                 .toList();
 
+        // Sponsored pins come hydrated from the active campaign cache; pagination counts organic pins only
+        List<AdSlotter.Placement> placements = adSlotter.place(
+                pinPage.getContent().stream().map(Pin::getPinId).toList(), pins.size(), requestingUserId, page,
+                visible);
+        if (!placements.isEmpty()) {
+            List<PinResponseDTO> blended = new ArrayList<>(pins);
+            for (AdSlotter.Placement placement : placements) {
+                ActiveCampaignCache.AdCandidate ad = placement.candidate();
+                PinResponseDTO sponsored = buildPinResponse(ad.pin(), ad.creator(), ad.board());
+                sponsored.setIsSponsored(true);
+                sponsored.setSponsoredId(ad.campaign().getSponsoredId());
+                blended.add(placement.index(), sponsored);
+            }
+            pins = blended;
+        }
+
         PaginationDTO pagination = new PaginationDTO(
                 pinPage.getNumber(),
                 pinPage.getTotalPages(),
@@ -399,20 +413,8 @@ public class PinService {
      * Helper method to check if user can edit pins in a board
      */
     private boolean canEditBoard(String userId, String boardId) {
-        Board board = boardRepository.findById(boardId).orElse(null);
-        if (board == null) return false;
-        
-        // Check if user is board owner
-        if (board.getUserId().equals(userId)) {
-            return true;
-        }
-        
-        // Check if user is collaborator with EDIT permission
-        BoardCollaborator collaborator = collaboratorRepository
-                .findByBoardIdAndUserId(boardId, userId)
-                .orElse(null);
-        
-        return collaborator != null && collaborator.getPermission() == Invitation.Permission.EDIT;
+        // Owner or collaborator with EDIT permission, from the access cache
+        return boardAccessCache.canEdit(userId, boardId);
     }
 
     /**
@@ -0,0 +1,266 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.dto.UserRecommendationDTO;
+import com.infy.pinterest.entity.Board;
+import com.infy.pinterest.entity.BoardCollaborator;
+import com.infy.pinterest.entity.User;
+import com.infy.pinterest.repository.BoardCollaboratorRepository;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * "People you may know" follow suggestions.
+ *
+ * Candidates are scored by friends-of-friends paths over the in-memory
+ * {@link FollowGraph} (fan-out bounded) plus the number of collaborative
+ * boards shared with the user. Users already followed and users blocked in
+ * either direction are excluded. Traversals run on this service's own pool
+ * of {@code recommendation.parallelism} threads, never the common pool.
+ *
+ * Ranked candidates are cached per user with a TTL. Users who asked for
+ * suggestions recently (the most recent ones, up to a limit) are recomputed
+ * in a nightly batch on the same pool so their next request is served from
+ * the cache. Follows and blocks are re-checked when serving from the cache.
+ */
+@Service
+@Slf4j
+public class RecommendationService {
+
+    // Candidates kept per cached entry, before the read-time filters
+    private static final int CACHED_CANDIDATES = 100;
+
+    private final FollowGraph followGraph;
+    private final BoardCollaboratorRepository collaboratorRepository;
+    private final BoardRepository boardRepository;
+    private final BlockListCache blockListCache;
+    private final UserRepository userRepository;
+
+    @Value("${recommendation.fan-out:200}")
+    private int fanOut = 200;
+
+    @Value("${recommendation.weight.mutual-follow:1.0}")
+    private double mutualFollowWeight = 1.0;
+
+    @Value("${recommendation.weight.shared-board:3.0}")
+    private double sharedBoardWeight = 3.0;
+
+    @Value("${recommendation.cache-ttl-minutes:360}")
+    private long cacheTtlMinutes = 360;
+
+    @Value("${recommendation.cache-max-users:100000}")
+    private int cacheMaxUsers = 100000;
+
+    @Value("${recommendation.active-days:7}")
+    private long activeDays = 7;
+
+    @Value("${recommendation.active-max-users:100000}")
+    private int activeMaxUsers = 100000;
+
+    @Value("${recommendation.parallelism:4}")
+    private int parallelism = 4;
+
+    private ForkJoinPool pool;
+
+    private final Map<String, CachedRecommendations> cache = new ConcurrentHashMap<>();
+    // Access-ordered, dropping the least recently requesting user past activeMaxUsers
+    private final Map<String, Instant> lastRequested = Collections.synchronizedMap(
+            new LinkedHashMap<String, Instant>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Instant> eldest) {
+                    return size() > activeMaxUsers;
+                }
+            });
+
+    private record CachedRecommendations(List<UserRecommendationDTO> candidates, Instant computedAt) {
+    }
+
+    @Autowired
+    public RecommendationService(FollowGraph followGraph, BoardCollaboratorRepository collaboratorRepository,
+                                 BoardRepository boardRepository, BlockListCache blockListCache,
+                                 UserRepository userRepository) {
+        this.followGraph = followGraph;
+        this.collaboratorRepository = collaboratorRepository;
+        this.boardRepository = boardRepository;
+        this.blockListCache = blockListCache;
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public List<UserRecommendationDTO> getRecommendations(String userId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, CACHED_CANDIDATES));
+        Instant now = Instant.now();
+        lastRequested.put(userId, now);
+
+        CachedRecommendations cached = cache.get(userId);
+        if (cached == null || isExpired(cached, now)) {
+            cached = compute(userId, now);
+        }
+
+        // Follows and blocks made since the entry was computed
+        Set<String> candidateIds = cached.candidates().stream()
+                .map(UserRecommendationDTO::getUserId)
+                .collect(Collectors.toSet());
+        Set<String> followed = followGraph.followedBy(userId, candidateIds);
+        Predicate<String> visible = blockListCache.visibleTo(userId);
+
+        return cached.candidates().stream()
+                .filter(candidate -> !followed.contains(candidate.getUserId()))
+                .filter(candidate -> visible.test(candidate.getUserId()))
+                .limit(pageSize)
+                .toList();
+    }
+
+    /**
+     * Recompute suggestions for users who requested them within the active
+     * window and drop everyone else from the cache. Users are spread over
+     * the pool; the scheduler thread only waits for the batch.
+     */
+    @Scheduled(cron = "${recommendation.precompute-cron:0 0 3 * * *}")
+    public void precomputeForActiveUsers() {
+        Instant now = Instant.now();
+        Instant activeSince = now.minus(Duration.ofDays(activeDays));
+        lastRequested.values().removeIf(requested -> requested.isBefore(activeSince));
+        cache.keySet().retainAll(lastRequested.keySet());
+
+        long start = System.currentTimeMillis();
+        List<String> userIds = List.copyOf(lastRequested.keySet());
+        long computed = pool.submit(() -> userIds.parallelStream()
+                .filter(userId -> precompute(userId, now))
+                .count()).join();
+        log.info("Precomputed recommendations for {} active users in {} ms",
+                computed, System.currentTimeMillis() - start);
+    }
+
+    // Helper methods
+
+    private boolean precompute(String userId, Instant now) {
+        try {
+            compute(userId, now);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to precompute recommendations for user {}", userId, e);
+            return false;
+        }
+    }
+
+    private CachedRecommendations compute(String userId, Instant now) {
+        long start = System.nanoTime();
+
+        Map<String, Integer> mutualFollows = followGraph.secondDegreeCounts(userId, fanOut, pool);
+        Map<String, Integer> sharedBoards = sharedBoardCounts(userId);
+
+        Set<String> candidateIds = new HashSet<>(mutualFollows.keySet());
+        candidateIds.addAll(sharedBoards.keySet());
+        candidateIds.remove(userId);
+        candidateIds.removeAll(followGraph.followedBy(userId, candidateIds));
+        candidateIds.removeIf(blockListCache.visibleTo(userId).negate());
+
+        List<String> ranked = candidateIds.stream()
+                .sorted(Comparator.comparingDouble((String id) -> -score(mutualFollows.getOrDefault(id, 0),
+                                sharedBoards.getOrDefault(id, 0)))
+                        .thenComparing(Function.identity()))
+                .limit(CACHED_CANDIDATES)
+                .toList();
+
+        Map<String, User> users = userRepository.findAllById(ranked).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        List<UserRecommendationDTO> candidates = new ArrayList<>(ranked.size());
+        for (String candidateId : ranked) {
+            User user = users.get(candidateId);
+            if (user == null) {
+                continue;
+            }
+            int mutual = mutualFollows.getOrDefault(candidateId, 0);
+            int shared = sharedBoards.getOrDefault(candidateId, 0);
+            candidates.add(new UserRecommendationDTO(user.getUserId(), user.getUsername(), user.getFullName(),
+                    user.getProfilePictureUrl(), mutual, shared, score(mutual, shared)));
+        }
+
+        CachedRecommendations result = new CachedRecommendations(candidates, now);
+        if (cache.size() < cacheMaxUsers || cache.containsKey(userId)) {
+            cache.put(userId, result);
+        }
+        log.debug("Computed {} recommendations for user {} in {} ms", candidates.size(), userId,
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * For each other member of a collaborative board the user owns or
+     * collaborates on, the number of such boards they share.
+     */
+    private Map<String, Integer> sharedBoardCounts(String userId) {
+        Set<String> boardIds = new HashSet<>();
+        for (BoardCollaborator collaborator : collaboratorRepository.findByUserId(userId)) {
+            boardIds.add(collaborator.getBoardId());
+        }
+        for (Board board : boardRepository.findByUserId(userId)) {
+            if (Boolean.TRUE.equals(board.getIsCollaborative())) {
+                boardIds.add(board.getBoardId());
+            }
+        }
+        if (boardIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Set<String>> membersByBoard = new HashMap<>();
+        for (BoardCollaborator collaborator : collaboratorRepository.findByBoardIdIn(boardIds)) {
+            membersByBoard.computeIfAbsent(collaborator.getBoardId(), id -> new HashSet<>())
+                    .add(collaborator.getUserId());
+        }
+        for (Board board : boardRepository.findAllById(boardIds)) {
+            membersByBoard.computeIfAbsent(board.getBoardId(), id -> new HashSet<>()).add(board.getUserId());
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (Set<String> members : membersByBoard.values()) {
+            for (String member : members) {
+                if (!member.equals(userId)) {
+                    counts.merge(member, 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    private double score(int mutualFollows, int sharedBoards) {
+        return mutualFollows * mutualFollowWeight + sharedBoards * sharedBoardWeight;
+    }
+
+    private boolean isExpired(CachedRecommendations cached, Instant now) {
+        return cached.computedAt().plus(Duration.ofMinutes(cacheTtlMinutes)).isBefore(now);
+    }
+}
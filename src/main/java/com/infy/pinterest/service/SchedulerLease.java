@@ -0,0 +1,97 @@
+package com.infy.pinterest.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named leases in {@code scheduler_leases}, so a job runs on one node at a
+ * time.
+ *
+ * A node holds a lease while its row names it as owner and has not expired;
+ * any node may take an expired lease. Expiry uses the database clock, so
+ * nodes do not need synchronized clocks. The holder renews once half the
+ * lease has passed and considers it lost at its own local expiry, which is
+ * never later than the row's.
+ */
+@Service
+@Slf4j
+public class SchedulerLease {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner = UUID.randomUUID().toString();
+    // Local time, in millis, each held lease expires at
+    private final Map<String, Long> heldUntil = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SchedulerLease(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Acquire or renew the lease.
+     *
+     * @return whether this node holds it for at least the next half of {@code ttl}
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        long now = System.currentTimeMillis();
+        Long until = heldUntil.get(name);
+        if (until != null && now < until - ttl.toMillis() / 2) {
+            return true;
+        }
+        try {
+            // A missing row is created already expired, then taken like any expired lease
+            jdbcTemplate.update("INSERT IGNORE INTO scheduler_leases (name, owner, expires_at) VALUES (?, ?, NOW())",
+                    name, owner);
+            int updated = jdbcTemplate.update("UPDATE scheduler_leases "
+                            + "SET owner = ?, expires_at = NOW() + INTERVAL ? SECOND "
+                            + "WHERE name = ? AND (owner = ? OR expires_at <= NOW())",
+                    owner, ttl.toSeconds(), name, owner);
+            if (updated == 1) {
+                if (until == null) {
+                    log.info("Acquired lease {} as {}", name, owner);
+                }
+                heldUntil.put(name, now + ttl.toMillis());
+                return true;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to acquire lease {}: {}", name, e.getMessage());
+        }
+        if (heldUntil.remove(name) != null) {
+            log.info("Lost lease {}", name);
+        }
+        return false;
+    }
+
+    /**
+     * Give up the lease so another node can take it without waiting for expiry.
+     */
+    public void release(String name) {
+        if (heldUntil.remove(name) == null) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("UPDATE scheduler_leases SET expires_at = NOW() WHERE name = ? AND owner = ?",
+                    name, owner);
+        } catch (DataAccessException e) {
+            log.warn("Failed to release lease {}: {}", name, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        heldUntil.keySet().forEach(this::release);
+    }
+}
@@ -0,0 +1,37 @@
+package com.infy.pinterest.service;
+
+import java.util.Optional;
+
+/**
+ * Backend that answers keyword searches with ranked entity IDs.
+ *
+ * The implementation is chosen with the {@code search.engine} property.
+ * A method returns empty when the engine cannot answer the query (not
+ * ready, no searchable tokens in the query, or that entity type is
+ * unsupported), and {@link SearchService} then falls back to the
+ * repository LIKE queries.
+ */
+public interface SearchEngine {
+
+    /**
+     * @return one page of public pin IDs in rank order, with category facets
+     */
+    Optional<SearchHits> searchPins(String query, String category, boolean fuzzy,
+                                    String sortBy, int page, int size);
+
+    /**
+     * @return one page of public board IDs in rank order
+     */
+    Optional<SearchHits> searchBoards(String query, String category, int page, int size);
+
+    /**
+     * @return one page of active user IDs in rank order
+     */
+    Optional<SearchHits> searchUsers(String query, int page, int size);
+
+    /**
+     * Called when a returned pin no longer exists or is no longer public.
+     */
+    default void evictPin(String pinId) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.dto.FacetCountDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of entity IDs answered by a search engine, in rank order,
+ * together with the total number of matches and category facets.
+ */
+@Data
+@AllArgsConstructor
+public class SearchHits {
+    private List<String> ids;
+    private long totalHits;
+    private List<FacetCountDTO> facets;
+
+    public SearchHits(List<String> ids, long totalHits) {
+        this(ids, totalHits, List.of());
+    }
+}
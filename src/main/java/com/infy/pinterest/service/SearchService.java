@@ -5,6 +5,7 @@ import com.infy.pinterest.entity.Board;
 import com.infy.pinterest.entity.Pin;
 import com.infy.pinterest.entity.User;
 import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.FollowRepository;
 import com.infy.pinterest.repository.PinRepository;
 import com.infy.pinterest.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +18,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -27,15 +37,25 @@ public class SearchService {
     private final PinRepository pinRepository;
     private final BoardRepository boardRepository;
     private final UserRepository userRepository;
+    private final FollowRepository followRepository;
     private final ModelMapper modelMapper;
+    private final SearchEngine searchEngine;
+    private final TrendingService trendingService;
+    private final BlockListCache blockListCache;
 
     @Autowired
     public SearchService(PinRepository pinRepository, BoardRepository boardRepository,
-                        UserRepository userRepository, ModelMapper modelMapper) {
+                        UserRepository userRepository, FollowRepository followRepository,
+                        ModelMapper modelMapper, SearchEngine searchEngine,
+                        TrendingService trendingService, BlockListCache blockListCache) {
         this.pinRepository = pinRepository;
         this.boardRepository = boardRepository;
         this.userRepository = userRepository;
+        this.followRepository = followRepository;
         this.modelMapper = modelMapper;
+        this.searchEngine = searchEngine;
+        this.trendingService = trendingService;
+        this.blockListCache = blockListCache;
     }
 
     /**
@@ -45,6 +65,16 @@ public class SearchService {
         log.info("Searching pins with query: {}", searchRequest.getQuery());
 
         String keyword = searchRequest.getQuery().trim();
+
+        // Served by the configured search engine when it can answer, including facets
+        boolean fuzzy = Boolean.TRUE.equals(searchRequest.getFuzzy());
+        Optional<SearchHits> hits = searchEngine.searchPins(keyword, searchRequest.getCategory(),
+                fuzzy, searchRequest.getSortBy(), searchRequest.getPage(), searchRequest.getSize());
+        if (hits.isPresent()) {
+            return buildIndexedPinResult(keyword, searchRequest, hits.get());
+        }
+        log.info("Search engine cannot answer, falling back to keyword search");
+
         Pageable pageable = createPageable(searchRequest);
 
         Page<Pin> pinPage;
@@ -58,7 +88,9 @@ public class SearchService {
         }
 
         // Convert to DTOs using streams
+        Predicate<String> visible = visibleTo(searchRequest);
         List<PinSearchResultDTO> results = pinPage.getContent().stream()
+                .filter(pin -> visible.test(pin.getUserId()))
                 .map(this::convertToPinSearchResult)
                 .toList();
 
@@ -81,6 +113,7 @@ public class SearchService {
         response.setSuggestions(suggestions);
         response.setPagination(pagination);
         response.setTotalResults(pinPage.getTotalElements());
+        response.setFacets(List.of()); // facet counts need the index; not computed on the SQL path
 
         log.info("Found {} pins for query: {}", pinPage.getTotalElements(), keyword);
         return response;
@@ -90,6 +123,17 @@ public class SearchService {
             log.info("Searching boards with query: {}", searchRequest.getQuery());
 
             String keyword = searchRequest.getQuery().trim();
+
+            Optional<SearchHits> hits = searchEngine.searchBoards(keyword, searchRequest.getCategory(),
+                    searchRequest.getPage(), searchRequest.getSize());
+            if (hits.isPresent()) {
+                List<BoardSearchResultDTO> results = convertToBoardSearchResults(visibleOnly(loadInOrder(
+                        hits.get().getIds(), boardRepository.findAllById(hits.get().getIds()), Board::getBoardId),
+                        Board::getUserId, searchRequest));
+                return buildEngineResult(keyword, results, getBoardSuggestions(keyword),
+                        searchRequest, hits.get());
+            }
+
             Pageable pageable = createPageable(searchRequest);
 
             Page<Board> boardPage;
@@ -103,9 +147,8 @@ public class SearchService {
             }
 
             // Convert to DTOs using streams
-            List<BoardSearchResultDTO> results = boardPage.getContent().stream()
-                    .map(this::convertToBoardSearchResult)
-                    .toList();
+            List<BoardSearchResultDTO> results = convertToBoardSearchResults(
+                    visibleOnly(boardPage.getContent(), Board::getUserId, searchRequest));
 
 
             // Get board name suggestions
@@ -140,6 +183,17 @@ public class SearchService {
         log.info("Searching users with query: {}", searchRequest.getQuery());
 
         String keyword = searchRequest.getQuery().trim();
+
+        Optional<SearchHits> hits = searchEngine.searchUsers(keyword, searchRequest.getPage(),
+                searchRequest.getSize());
+        if (hits.isPresent()) {
+            List<UserSearchResultDTO> results = convertToUserSearchResults(visibleOnly(loadInOrder(
+                    hits.get().getIds(), userRepository.findAllById(hits.get().getIds()), User::getUserId),
+                    User::getUserId, searchRequest));
+            return buildEngineResult(keyword, results, getUsernameSuggestions(keyword),
+                    searchRequest, hits.get());
+        }
+
         Pageable pageable = PageRequest.of(
                 searchRequest.getPage(),
                 searchRequest.getSize(),
@@ -149,9 +203,8 @@ public class SearchService {
         Page<User> userPage = userRepository.searchUsers(keyword, pageable);
 
         // Convert to DTOs using streams
-        List<UserSearchResultDTO> results = userPage.getContent().stream()
-                .map(this::convertToUserSearchResult)
-                .toList();
+        List<UserSearchResultDTO> results = convertToUserSearchResults(
+                visibleOnly(userPage.getContent(), User::getUserId, searchRequest));
 
         // Get username suggestions
         List<String> suggestions = getUsernameSuggestions(keyword);
@@ -232,12 +285,43 @@ public class SearchService {
      * Get popular pins (trending)
      */
     public PaginatedResponse<PinSearchResultDTO> getPopularPins(int page, int size) {
-        log.info("Fetching popular pins");
+        return getPopularPins(null, null, page, size);
+    }
+
+    /**
+     * Get trending pins, optionally restricted to a board category
+     */
+    public PaginatedResponse<PinSearchResultDTO> getPopularPins(String category, int page, int size) {
+        return getPopularPins(null, category, page, size);
+    }
+
+    /**
+     * Get trending pins as seen by the viewer: pins by creators the viewer
+     * blocked or is blocked by are left out. A null viewer sees everything.
+     */
+    public PaginatedResponse<PinSearchResultDTO> getPopularPins(String viewerId, String category, int page, int size) {
+        log.info("Fetching popular pins, category: {}", category);
+        Predicate<String> visible = visibleTo(viewerId);
+
+        // Served from the in-memory trending leaderboard when it has data
+        Optional<SearchHits> trending = trendingService.getTrendingPins(category, page, size);
+        if (trending.isPresent()) {
+            List<PinSearchResultDTO> results = loadPinsInOrder(trending.get().getIds(),
+                    trendingService::removePin).stream()
+                    .filter(pin -> visible.test(pin.getUserId()))
+                    .map(this::convertToPinSearchResult)
+                    .toList();
+            return new PaginatedResponse<>(results, createPagination(page, size, trending.get().getTotalHits()));
+        }
+        if (category != null) {
+            return new PaginatedResponse<>(List.of(), createPagination(page, size, 0));
+        }
 
         Pageable pageable = PageRequest.of(page, size);
         Page<Pin> pinPage = pinRepository.findPopularPins(pageable);
 
         List<PinSearchResultDTO> results = pinPage.getContent().stream()
+                .filter(pin -> visible.test(pin.getUserId()))
                 .map(this::convertToPinSearchResult)
                 .toList();
 
@@ -255,6 +339,90 @@ public class SearchService {
 
     // Helper methods
 
+    private SearchResultDTO<PinSearchResultDTO> buildIndexedPinResult(String keyword,
+                                                                      SearchRequestDTO searchRequest,
+                                                                      SearchHits hits) {
+        Predicate<String> visible = visibleTo(searchRequest);
+        List<PinSearchResultDTO> results = loadPinsInOrder(hits.getIds(), searchEngine::evictPin).stream()
+                .filter(pin -> visible.test(pin.getUserId()))
+                .map(this::convertToPinSearchResult)
+                .toList();
+        return buildEngineResult(keyword, results, getSearchSuggestions(keyword), searchRequest, hits);
+    }
+
+    private <T> SearchResultDTO<T> buildEngineResult(String keyword, List<T> results, List<String> suggestions,
+                                                     SearchRequestDTO searchRequest, SearchHits hits) {
+        SearchResultDTO<T> response = new SearchResultDTO<>();
+        response.setQuery(keyword);
+        response.setResults(results);
+        response.setSuggestions(suggestions);
+        response.setPagination(createPagination(searchRequest.getPage(), searchRequest.getSize(),
+                hits.getTotalHits()));
+        response.setTotalResults(hits.getTotalHits());
+        response.setFacets(hits.getFacets());
+
+        log.info("Found {} results for query: {} (search engine)", hits.getTotalHits(), keyword);
+        return response;
+    }
+
+    /**
+     * Creators the searching user may see. Anonymous searches skip the block
+     * cache entirely.
+     */
+    private Predicate<String> visibleTo(SearchRequestDTO searchRequest) {
+        return visibleTo(searchRequest.getViewerId());
+    }
+
+    private Predicate<String> visibleTo(String viewerId) {
+        return viewerId == null ? userId -> true : blockListCache.visibleTo(viewerId);
+    }
+
+    private <T> List<T> visibleOnly(List<T> items, Function<T, String> ownerOf, SearchRequestDTO searchRequest) {
+        Predicate<String> visible = visibleTo(searchRequest);
+        return items.stream().filter(item -> visible.test(ownerOf.apply(item))).toList();
+    }
+
+    /**
+     * Order loaded entities by the ranked IDs, skipping IDs that no longer exist.
+     */
+    private static <T> List<T> loadInOrder(List<String> ids, List<T> loaded, Function<T, String> idOf) {
+        Map<String, T> byId = loaded.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Load pins for ranked IDs, keeping rank order. Pins that were deleted or
+     * are no longer public are skipped and reported to {@code onStale}.
+     */
+    private List<Pin> loadPinsInOrder(List<String> pinIds, Consumer<String> onStale) {
+        Map<String, Pin> pinsById = pinRepository.findAllById(pinIds).stream()
+                .collect(Collectors.toMap(Pin::getPinId, Function.identity()));
+
+        List<Pin> ordered = new ArrayList<>(pinIds.size());
+        for (String pinId : pinIds) {
+            Pin pin = pinsById.get(pinId);
+            if (pin != null && pin.getVisibility() == Pin.Visibility.PUBLIC
+                    && !Boolean.TRUE.equals(pin.getIsDraft())) {
+                ordered.add(pin);
+            } else {
+                onStale.accept(pinId);
+            }
+        }
+        return ordered;
+    }
+
+    private PaginationDTO createPagination(int page, int size, long totalElements) {
+        int totalPages = (int) ((totalElements + size - 1) / size);
+        return new PaginationDTO(
+                page,
+                totalPages,
+                totalElements,
+                size,
+                page + 1 < totalPages,
+                page > 0
+        );
+    }
+
     private Pageable createPageable(SearchRequestDTO searchRequest) {String sortBy = searchRequest.getSortBy();
         Sort sort;
 
@@ -293,43 +461,83 @@ public class SearchService {
         return dto;
     }
 
-    private BoardSearchResultDTO convertToBoardSearchResult(Board board) {
+    /**
+     * Convert a page of boards with one query for the owners and one for their
+     * follower counts. Boards have no followers of their own; following a user
+     * follows their boards, so a board reports its owner's followers.
+     */
+    private List<BoardSearchResultDTO> convertToBoardSearchResults(List<Board> boards) {
+        if (boards.isEmpty()) {
+            return List.of();
+        }
+        List<String> ownerIds = boards.stream().map(Board::getUserId).distinct().toList();
+        Map<String, User> owners = userRepository.findAllById(ownerIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        Map<String, Long> followers = toCountMap(followRepository.countFollowersByUserIds(ownerIds));
+
+        return boards.stream()
+                .map(board -> convertToBoardSearchResult(board, owners.get(board.getUserId()),
+                        followers.getOrDefault(board.getUserId(), 0L)))
+                .toList();
+    }
+
+    private BoardSearchResultDTO convertToBoardSearchResult(Board board, User owner, long followers) {
         BoardSearchResultDTO dto = new BoardSearchResultDTO();
         dto.setBoardId(board.getBoardId());
         dto.setName(board.getName());
         dto.setDescription(board.getDescription());
         dto.setCoverImageUrl(board.getCoverImageUrl());
         dto.setPinCount(board.getPinCount());
-        dto.setFollowers(0); 
+        dto.setFollowers((int) followers);
 
-        // Get creator info
-        userRepository.findById(board.getUserId()).ifPresent(user -> {
-            UserSummaryDTO userSummary = new UserSummaryDTO();userSummary.setUserId(user.getUserId());
-            userSummary.setUsername(user.getUsername());
-            userSummary.setProfilePictureUrl(user.getProfilePictureUrl());
+        // Creator info
+        if (owner != null) {
+            UserSummaryDTO userSummary = new UserSummaryDTO();
+            userSummary.setUserId(owner.getUserId());
+            userSummary.setUsername(owner.getUsername());
+            userSummary.setProfilePictureUrl(owner.getProfilePictureUrl());
             dto.setCreatedBy(userSummary);
-        });
+        }
 
         return dto;
     }
 
-    private UserSearchResultDTO convertToUserSearchResult(User user) {
-        UserSearchResultDTO dto = new UserSearchResultDTO();
-        dto.setUserId(user.getUserId());
-        dto.setUsername(user.getUsername());
-        dto.setFullName(user.getFullName());
-        dto.setProfilePictureUrl(user.getProfilePictureUrl());
-        dto.setBio(user.getBio());
-
-        
-        dto.setFollowers(0);
-        dto.setFollowing(0);
-
-        // Get pin count
-        Long pinCount = pinRepository.countByUserId(user.getUserId());
-        dto.setPinCount(pinCount.intValue());
+    /**
+     * Convert a page of users with three grouped count queries (pins,
+     * followers, following) instead of queries per user.
+     */
+    private List<UserSearchResultDTO> convertToUserSearchResults(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        List<String> userIds = users.stream().map(User::getUserId).toList();
+        Map<String, Long> pinCounts = toCountMap(pinRepository.countByUserIds(userIds));
+        Map<String, Long> followers = toCountMap(followRepository.countFollowersByUserIds(userIds));
+        Map<String, Long> following = toCountMap(followRepository.countFollowingByUserIds(userIds));
+
+        return users.stream().map(user -> {
+            UserSearchResultDTO dto = new UserSearchResultDTO();
+            dto.setUserId(user.getUserId());
+            dto.setUsername(user.getUsername());
+            dto.setFullName(user.getFullName());
+            dto.setProfilePictureUrl(user.getProfilePictureUrl());
+            dto.setBio(user.getBio());
+            dto.setFollowers(followers.getOrDefault(user.getUserId(), 0L).intValue());
+            dto.setFollowing(following.getOrDefault(user.getUserId(), 0L).intValue());
+            dto.setPinCount(pinCounts.getOrDefault(user.getUserId(), 0L).intValue());
+            return dto;
+        }).toList();
+    }
 
-        return dto;
+    /**
+     * Turn (id, count) rows from a grouped count query into a map.
+     */
+    private static Map<String, Long> toCountMap(Collection<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
     }
 
     private Double calculateRelevanceScore(Pin pin) {
@@ -4,6 +4,11 @@ package com.infy.pinterest.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page; 
@@ -14,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.infy.pinterest.dto.BoardSummaryDTO;
+import com.infy.pinterest.dto.CursorPaginatedResponse;
 import com.infy.pinterest.dto.FollowStatsDTO;
 import com.infy.pinterest.dto.FollowerResponseDTO;
 import com.infy.pinterest.dto.FollowingResponseDTO;
@@ -46,6 +52,7 @@ import com.infy.pinterest.repository.FollowRepository;
 import com.infy.pinterest.repository.InvitationRepository;
 import com.infy.pinterest.repository.UserReportRepository;
 import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.utility.KeysetCursor;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -53,6 +60,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SocialService {
 
+    // Largest page a scroll endpoint returns, whatever size the client asks for
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
     private final InvitationRepository invitationRepository;
@@ -61,13 +71,17 @@ public class SocialService {
     private final BlockedUserRepository blockedUserRepository;
     private final UserReportRepository userReportRepository;
     private final NotificationService notificationService;
+    private final FollowGraph followGraph;
+    private final BlockListCache blockListCache;
+    private final BoardAccessCache boardAccessCache;
 
     @Autowired
     public SocialService(FollowRepository followRepository, UserRepository userRepository,
                         InvitationRepository invitationRepository, BoardRepository boardRepository,
                         BoardCollaboratorRepository collaboratorRepository,
                         BlockedUserRepository blockedUserRepository, UserReportRepository userReportRepository,
-                        NotificationService notificationService) {
+                        NotificationService notificationService, FollowGraph followGraph,
+                        BlockListCache blockListCache, BoardAccessCache boardAccessCache) {
         this.followRepository = followRepository;
         this.userRepository = userRepository;
         this.invitationRepository = invitationRepository;
@@ -76,6 +90,9 @@ public class SocialService {
         this.blockedUserRepository = blockedUserRepository;
         this.userReportRepository = userReportRepository;
         this.notificationService = notificationService;
+        this.followGraph = followGraph;
+        this.blockListCache = blockListCache;
+        this.boardAccessCache = boardAccessCache;
     }
 
     @Transactional
@@ -99,6 +116,7 @@ public class SocialService {
         follow.setFollowerId(followerId);
         follow.setFollowingId(followingId);
         followRepository.save(follow);
+        followGraph.addFollow(followerId, followingId);
         
         // Create notification for the followed user
         User follower = userRepository.findById(followerId).orElse(null);
@@ -127,6 +145,7 @@ public class SocialService {
         }
 
         followRepository.deleteByFollowerIdAndFollowingId(followerId, followingId);
+        followGraph.removeFollow(followerId, followingId);
         log.info("User {} unfollowed user {}", followerId, followingId);
     }
 
@@ -138,24 +157,7 @@ public class SocialService {
 
         Page<Follow> followPage = followRepository.findByFollowingId(userId, pageable);
 
-        List<FollowerResponseDTO> followers = followPage.getContent().stream()
-                .map(follow -> {
-                    User follower = userRepository.findById(follow.getFollowerId()).orElse(null);
-                    if (follower == null) return null;
-
-                    FollowerResponseDTO dto = new FollowerResponseDTO();
-                    dto.setUserId(follower.getUserId());
-                    dto.setUsername(follower.getUsername());
-                    dto.setFullName(follower.getFullName());
-                    dto.setProfilePictureUrl(follower.getProfilePictureUrl());
-                    dto.setBio(follower.getBio());
-                    dto.setFollowedAt(follow.getFollowedAt());
-                    dto.setIsFollowing(followRepository.existsByFollowerIdAndFollowingId(currentUserId, follower.getUserId()));
-
-                    return dto;
-                })
-                .filter(dto -> dto != null)
-                .toList();
+        List<FollowerResponseDTO> followers = toFollowerResponses(followPage.getContent(), currentUserId);
 
         PaginationDTO pagination = new PaginationDTO(
                 followPage.getNumber(),
@@ -169,6 +171,28 @@ public class SocialService {
         return new PaginatedResponse<>(followers, pagination);
     }
 
+    /**
+     * Followers newest first, continuing after {@code cursor}. Seeks on
+     * (followed_at, follow_id) instead of an offset, so deep pages cost the
+     * same as the first one.
+     */
+    public CursorPaginatedResponse<FollowerResponseDTO> getFollowersByCursor(String userId, String currentUserId,
+                                                                             String cursor, int size) {
+        log.info("Fetching followers for user: {} after cursor", userId);
+
+        size = cursorPageSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<Follow> follows = position == null
+                ? followRepository.findByFollowingIdOrderByFollowedAtDescFollowIdDesc(userId, pageable)
+                : followRepository.findFollowersBefore(userId, position.at(), position.id(), pageable);
+
+        boolean hasNext = follows.size() > size;
+        List<Follow> pageRows = hasNext ? follows.subList(0, size) : follows;
+        return new CursorPaginatedResponse<>(toFollowerResponses(pageRows, currentUserId),
+                nextCursor(pageRows, hasNext, Follow::getFollowedAt, Follow::getFollowId), hasNext, size);
+    }
+
     public PaginatedResponse<FollowingResponseDTO> getFollowing(String userId, String currentUserId, int page, int size) {
         log.info("Fetching following for user: {}", userId);
 
@@ -177,24 +201,7 @@ public class SocialService {
 
         Page<Follow> followPage = followRepository.findByFollowerId(userId, pageable);
 
-        List<FollowingResponseDTO> following = followPage.getContent().stream()
-                .map(follow -> {
-                    User user = userRepository.findById(follow.getFollowingId()).orElse(null);
-                    if (user == null) return null;
-
-                    FollowingResponseDTO dto = new FollowingResponseDTO();
-                    dto.setUserId(user.getUserId());
-                    dto.setUsername(user.getUsername());
-                    dto.setFullName(user.getFullName());
-                    dto.setProfilePictureUrl(user.getProfilePictureUrl());
-                    dto.setBio(user.getBio());
-                    dto.setFollowedAt(follow.getFollowedAt());
-                    dto.setIsFollower(followRepository.existsByFollowerIdAndFollowingId(user.getUserId(), currentUserId));
-
-                    return dto;
-                })
-                .filter(dto -> dto != null)
-                .toList();
+        List<FollowingResponseDTO> following = toFollowingResponses(followPage.getContent(), currentUserId);
 
         PaginationDTO pagination = new PaginationDTO(
                 followPage.getNumber(),
@@ -208,6 +215,26 @@ public class SocialService {
         return new PaginatedResponse<>(following, pagination);
     }
 
+    /**
+     * Followed users newest first, continuing after {@code cursor}.
+     */
+    public CursorPaginatedResponse<FollowingResponseDTO> getFollowingByCursor(String userId, String currentUserId,
+                                                                              String cursor, int size) {
+        log.info("Fetching following for user: {} after cursor", userId);
+
+        size = cursorPageSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<Follow> follows = position == null
+                ? followRepository.findByFollowerIdOrderByFollowedAtDescFollowIdDesc(userId, pageable)
+                : followRepository.findFollowingBefore(userId, position.at(), position.id(), pageable);
+
+        boolean hasNext = follows.size() > size;
+        List<Follow> pageRows = hasNext ? follows.subList(0, size) : follows;
+        return new CursorPaginatedResponse<>(toFollowingResponses(pageRows, currentUserId),
+                nextCursor(pageRows, hasNext, Follow::getFollowedAt, Follow::getFollowId), hasNext, size);
+    }
+
     public FollowStatsDTO getFollowStats(String userId) {
         Long followers = followRepository.countByFollowingId(userId);
         Long following = followRepository.countByFollowerId(userId);
@@ -278,9 +305,7 @@ public class SocialService {
             invitationPage = invitationRepository.findByToUserId(userId, pageable);
         }
 
-        List<InvitationResponseDTO> invitations = invitationPage.getContent().stream()
-                .map(this::buildInvitationResponse)
-                .toList();
+        List<InvitationResponseDTO> invitations = toInvitationResponses(invitationPage.getContent());
 
         PaginationDTO pagination = new PaginationDTO(
                 invitationPage.getNumber(),
@@ -294,6 +319,35 @@ public class SocialService {
         return new PaginatedResponse<>(invitations, pagination);
     }
 
+    /**
+     * Received invitations newest first, continuing after {@code cursor}.
+     */
+    public CursorPaginatedResponse<InvitationResponseDTO> getInvitationsByCursor(String userId, String status,
+                                                                              String cursor, int size) {
+        size = cursorPageSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<Invitation> rows;
+
+        if (status != null && !status.isEmpty()) {
+            Invitation.Status statusEnum = Invitation.Status.valueOf(status.toUpperCase());
+            rows = position == null
+                    ? invitationRepository.findByToUserIdAndStatusOrderByCreatedAtDescInvitationIdDesc(
+                            userId, statusEnum, pageable)
+                    : invitationRepository.findReceivedWithStatusBefore(userId, statusEnum,
+                            position.at(), position.id(), pageable);
+        } else {
+            rows = position == null
+                    ? invitationRepository.findByToUserIdOrderByCreatedAtDescInvitationIdDesc(userId, pageable)
+                    : invitationRepository.findReceivedBefore(userId, position.at(), position.id(), pageable);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<Invitation> pageRows = hasNext ? rows.subList(0, size) : rows;
+        return new CursorPaginatedResponse<>(toInvitationResponses(pageRows),
+                nextCursor(pageRows, hasNext, Invitation::getCreatedAt, Invitation::getInvitationId), hasNext, size);
+    }
+
     public PaginatedResponse<InvitationResponseDTO> getSentInvitations(String userId, String status, int page, int size) {
         Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -307,9 +361,7 @@ public class SocialService {
             invitationPage = invitationRepository.findByFromUserId(userId, pageable);
         }
 
-        List<InvitationResponseDTO> invitations = invitationPage.getContent().stream()
-                .map(this::buildInvitationResponse)
-                .toList();
+        List<InvitationResponseDTO> invitations = toInvitationResponses(invitationPage.getContent());
 
         PaginationDTO pagination = new PaginationDTO(
                 invitationPage.getNumber(),
@@ -341,6 +393,7 @@ public class SocialService {
             collaborator.setUserId(userId);
             collaborator.setPermission(invitation.getPermission());
             collaboratorRepository.save(collaborator);
+            boardAccessCache.onCollaboratorChanged(invitation.getBoardId(), userId);
 
             boardRepository.findById(invitation.getBoardId()).ifPresent(board -> {
                 board.setIsCollaborative(true);
@@ -434,12 +487,15 @@ public class SocialService {
         blockedUser.setBlockerId(blockerId);
         blockedUser.setBlockedId(blockedId);
         blockedUserRepository.save(blockedUser);
+        blockListCache.onBlock(blockerId, blockedId);
 
         if (followRepository.existsByFollowerIdAndFollowingId(blockerId, blockedId)) {
             followRepository.deleteByFollowerIdAndFollowingId(blockerId, blockedId);
+            followGraph.removeFollow(blockerId, blockedId);
         }
         if (followRepository.existsByFollowerIdAndFollowingId(blockedId, blockerId)) {
             followRepository.deleteByFollowerIdAndFollowingId(blockedId, blockerId);
+            followGraph.removeFollow(blockedId, blockerId);
         }
     }
 
@@ -449,6 +505,7 @@ public class SocialService {
             throw new NotFollowingException("User is not blocked");
         }
         blockedUserRepository.deleteByBlockerIdAndBlockedId(blockerId, blockedId);
+        blockListCache.onUnblock(blockerId, blockedId);
     }
 
     @Transactional
@@ -468,14 +525,114 @@ public class SocialService {
     }
 
     public Boolean isFollowing(String followerId, String followingId) {
-        return followRepository.existsByFollowerIdAndFollowingId(followerId, followingId);
+        return followGraph.isFollowing(followerId, followingId);
     }
 
     public Boolean isBlocked(String blockerId, String blockedId) {
-        return blockedUserRepository.existsByBlockerIdAndBlockedId(blockerId, blockedId);
+        return blockListCache.hasBlocked(blockerId, blockedId);
+    }
+
+    /**
+     * Resolve a page of follows with one query for the users and one
+     * batched check for whether the viewer follows them back.
+     */
+    private List<FollowerResponseDTO> toFollowerResponses(List<Follow> follows, String currentUserId) {
+        List<String> followerIds = follows.stream().map(Follow::getFollowerId).toList();
+        Map<String, User> users = findUsersById(followerIds);
+        Set<String> followedByViewer = followGraph.followedBy(currentUserId, users.keySet());
+
+        return follows.stream()
+                .filter(follow -> users.containsKey(follow.getFollowerId()))
+                .map(follow -> {
+                    User follower = users.get(follow.getFollowerId());
+                    FollowerResponseDTO dto = new FollowerResponseDTO();
+                    dto.setUserId(follower.getUserId());
+                    dto.setUsername(follower.getUsername());
+                    dto.setFullName(follower.getFullName());
+                    dto.setProfilePictureUrl(follower.getProfilePictureUrl());
+                    dto.setBio(follower.getBio());
+                    dto.setFollowedAt(follow.getFollowedAt());
+                    dto.setIsFollowing(followedByViewer.contains(follower.getUserId()));
+                    return dto;
+                })
+                .toList();
+    }
+
+    private List<FollowingResponseDTO> toFollowingResponses(List<Follow> follows, String currentUserId) {
+        List<String> followingIds = follows.stream().map(Follow::getFollowingId).toList();
+        Map<String, User> users = findUsersById(followingIds);
+        Set<String> followersOfViewer = followGraph.followersAmong(currentUserId, users.keySet());
+
+        return follows.stream()
+                .filter(follow -> users.containsKey(follow.getFollowingId()))
+                .map(follow -> {
+                    User user = users.get(follow.getFollowingId());
+                    FollowingResponseDTO dto = new FollowingResponseDTO();
+                    dto.setUserId(user.getUserId());
+                    dto.setUsername(user.getUsername());
+                    dto.setFullName(user.getFullName());
+                    dto.setProfilePictureUrl(user.getProfilePictureUrl());
+                    dto.setBio(user.getBio());
+                    dto.setFollowedAt(follow.getFollowedAt());
+                    dto.setIsFollower(followersOfViewer.contains(user.getUserId()));
+                    return dto;
+                })
+                .toList();
+    }
+
+    private Map<String, User> findUsersById(List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+    }
+
+    private static int cursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    private static <T> String nextCursor(List<T> pageRows, boolean hasNext,
+                                         Function<T, LocalDateTime> at, Function<T, String> id) {
+        if (!hasNext || pageRows.isEmpty()) {
+            return null;
+        }
+        T last = pageRows.get(pageRows.size() - 1);
+        return new KeysetCursor(at.apply(last), id.apply(last)).encode();
     }
 
     private InvitationResponseDTO buildInvitationResponse(Invitation invitation) {
+        return buildInvitationResponse(invitation,
+                userRepository.findById(invitation.getFromUserId()).orElse(null),
+                userRepository.findById(invitation.getToUserId()).orElse(null),
+                boardRepository.findById(invitation.getBoardId()).orElse(null));
+    }
+
+    /**
+     * Hydrate a page of invitations with one user lookup and one board lookup.
+     */
+    private List<InvitationResponseDTO> toInvitationResponses(List<Invitation> invitations) {
+        if (invitations.isEmpty()) {
+            return List.of();
+        }
+        List<String> userIds = invitations.stream()
+                .flatMap(invitation -> Stream.of(invitation.getFromUserId(), invitation.getToUserId()))
+                .distinct()
+                .toList();
+        List<String> boardIds = invitations.stream().map(Invitation::getBoardId).distinct().toList();
+        Map<String, User> users = findUsersById(userIds);
+        Map<String, Board> boards = boardRepository.findAllById(boardIds).stream()
+                .collect(Collectors.toMap(Board::getBoardId, Function.identity()));
+
+        return invitations.stream()
+                .map(invitation -> buildInvitationResponse(invitation,
+                        users.get(invitation.getFromUserId()),
+                        users.get(invitation.getToUserId()),
+                        boards.get(invitation.getBoardId())))
+                .toList();
+    }
+
+    private InvitationResponseDTO buildInvitationResponse(Invitation invitation, User from, User to, Board board) {
         InvitationResponseDTO dto = new InvitationResponseDTO();
         dto.setInvitationId(invitation.getInvitationId());
         dto.setType("board_collaboration");
@@ -484,29 +641,26 @@ public class SocialService {
         dto.setStatus(invitation.getStatus().name());
         dto.setSentAt(invitation.getCreatedAt());
 
-        userRepository.findById(invitation.getFromUserId()).ifPresent(user -> {
-            UserSummaryDTO userSummary = new UserSummaryDTO();
-            userSummary.setUserId(user.getUserId());
-            userSummary.setUsername(user.getUsername());
-            userSummary.setProfilePictureUrl(user.getProfilePictureUrl());
-            dto.setFrom(userSummary);
-        });
-
-        userRepository.findById(invitation.getToUserId()).ifPresent(user -> {
-            UserSummaryDTO userSummary = new UserSummaryDTO();
-            userSummary.setUserId(user.getUserId());
-            userSummary.setUsername(user.getUsername());
-            userSummary.setProfilePictureUrl(user.getProfilePictureUrl());
-            dto.setTo(userSummary);
-        });
-
-        boardRepository.findById(invitation.getBoardId()).ifPresent(board -> {
+        if (from != null) {
+            dto.setFrom(toUserSummary(from));
+        }
+        if (to != null) {
+            dto.setTo(toUserSummary(to));
+        }
+        if (board != null) {
             BoardSummaryDTO boardSummary = new BoardSummaryDTO();
             boardSummary.setBoardId(board.getBoardId());
             boardSummary.setBoardName(board.getName());
             dto.setBoard(boardSummary);
-        });
-
+        }
         return dto;
     }
+
+    private static UserSummaryDTO toUserSummary(User user) {
+        UserSummaryDTO userSummary = new UserSummaryDTO();
+        userSummary.setUserId(user.getUserId());
+        userSummary.setUsername(user.getUsername());
+        userSummary.setProfilePictureUrl(user.getProfilePictureUrl());
+        return userSummary;
+    }
 }
@@ -0,0 +1,324 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.Board;
+import com.infy.pinterest.entity.Pin;
+import com.infy.pinterest.entity.TrendingScore;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.repository.TrendingScoreRepository;
+import com.infy.pinterest.utility.DecayedTopN;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Trending pins ranked by time-decayed engagement.
+ *
+ * Like and save events add to an exponentially decayed score kept in bounded
+ * in-memory leaderboards, one global and one per board category. Reading a
+ * page costs O(offset + size) with no database sort. Events are applied once
+ * the surrounding transaction commits, with the board category passed in by
+ * the caller.
+ *
+ * Leaderboards are snapshotted to the trending_scores table periodically and
+ * restored on startup, decayed by the time elapsed since the snapshot. A row
+ * decays the same way whether it is rewritten or not, so a snapshot only
+ * upserts pins that had events or entered a leaderboard since the last one,
+ * and deletes those that left.
+ */
+@Service
+@Slf4j
+public class TrendingService {
+
+    static final String GLOBAL_SCOPE = "global";
+    private static final String CATEGORY_SCOPE_PREFIX = "category:";
+    private static final String UPSERT_SQL = "INSERT INTO trending_scores "
+            + "(score_id, scope, pin_id, score, snapshot_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE score = VALUES(score), snapshot_at = VALUES(snapshot_at)";
+    private static final String DELETE_SQL = "DELETE FROM trending_scores WHERE scope = ? AND pin_id = ?";
+
+    private final PinRepository pinRepository;
+    private final BoardRepository boardRepository;
+    private final TrendingScoreRepository trendingScoreRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${trending.half-life-hours:24}")
+    private double halfLifeHours = 24;
+
+    @Value("${trending.capacity:10000}")
+    private int capacity = 10000;
+
+    @Value("${trending.category-capacity:1000}")
+    private int categoryCapacity = 1000;
+
+    @Value("${trending.weight.like:1.0}")
+    private double likeWeight = 1.0;
+
+    @Value("${trending.weight.save:2.0}")
+    private double saveWeight = 2.0;
+
+    private DecayedTopN global;
+    private final Map<String, DecayedTopN> byCategory = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Pins with events since the last snapshot
+    private final Set<String> changedPins = ConcurrentHashMap.newKeySet();
+    // Pin IDs per scope in trending_scores as of the last snapshot; only touched by snapshot and startup
+    private Map<String, Set<String>> persisted = new HashMap<>();
+
+    @Autowired
+    public TrendingService(PinRepository pinRepository, BoardRepository boardRepository,
+                           TrendingScoreRepository trendingScoreRepository, JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate) {
+        this.pinRepository = pinRepository;
+        this.boardRepository = boardRepository;
+        this.trendingScoreRepository = trendingScoreRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        global = newLeaderboard(capacity);
+    }
+
+    /**
+     * Restore leaderboards from the last snapshot. With no snapshot, seed the
+     * global board once from all-time engagement so it is not empty on first run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            List<TrendingScore> snapshot = trendingScoreRepository.findAll();
+            if (snapshot.isEmpty()) {
+                seedFromEngagement();
+            } else {
+                restore(snapshot);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to load trending snapshot, starting empty", e);
+        }
+        ready = true;
+    }
+
+    /**
+     * @param category the pin's board category, or null if unknown
+     */
+    public void recordLike(Pin pin, String category) {
+        record(pin, category, likeWeight);
+    }
+
+    public void recordUnlike(Pin pin, String category) {
+        record(pin, category, -likeWeight);
+    }
+
+    public void recordSave(Pin pin, String category) {
+        record(pin, category, saveWeight);
+    }
+
+    public void recordUnsave(Pin pin, String category) {
+        record(pin, category, -saveWeight);
+    }
+
+    public void removePin(String pinId) {
+        global.remove(pinId);
+        byCategory.values().forEach(board -> board.remove(pinId));
+    }
+
+    /**
+     * @param category board category, or null for the global leaderboard
+     * @return one page of trending pin IDs, or empty if nothing is trending yet
+     */
+    public Optional<SearchHits> getTrendingPins(String category, int page, int size) {
+        if (!ready || global.size() == 0) {
+            return Optional.empty();
+        }
+        DecayedTopN leaderboard = category == null ? global : byCategory.get(category);
+        if (leaderboard == null) {
+            return Optional.of(new SearchHits(List.of(), 0));
+        }
+        List<String> pinIds = leaderboard.top(page * size, size, nowSeconds()).stream()
+                .map(DecayedTopN.Scored::key)
+                .toList();
+        return Optional.of(new SearchHits(pinIds, leaderboard.size()));
+    }
+
+    /**
+     * Bring the trending_scores table up to date with the leaderboards.
+     */
+    @Scheduled(fixedDelayString = "${trending.snapshot.interval-ms:300000}",
+            initialDelayString = "${trending.snapshot.interval-ms:300000}")
+    public synchronized void snapshot() {
+        if (!ready) {
+            return;
+        }
+        long now = nowSeconds();
+        Timestamp snapshotAt = Timestamp.valueOf(LocalDateTime.ofEpochSecond(now, 0, ZoneOffset.UTC));
+        Set<String> changed = new HashSet<>(changedPins);
+        changedPins.removeAll(changed);
+
+        Map<String, DecayedTopN> leaderboards = new HashMap<>();
+        leaderboards.put(GLOBAL_SCOPE, global);
+        byCategory.forEach((category, leaderboard) -> leaderboards.put(CATEGORY_SCOPE_PREFIX + category, leaderboard));
+
+        Map<String, Set<String>> kept = new HashMap<>();
+        List<Object[]> upserts = new ArrayList<>();
+        leaderboards.forEach((scope, leaderboard) -> {
+            Set<String> before = persisted.getOrDefault(scope, Set.of());
+            Set<String> pinIds = new HashSet<>();
+            int limit = GLOBAL_SCOPE.equals(scope) ? capacity : categoryCapacity;
+            for (DecayedTopN.Scored scored : leaderboard.top(0, limit, now)) {
+                pinIds.add(scored.key());
+                if (changed.contains(scored.key()) || !before.contains(scored.key())) {
+                    upserts.add(new Object[]{UUID.randomUUID().toString(), scope, scored.key(), scored.score(),
+                            snapshotAt});
+                }
+            }
+            kept.put(scope, pinIds);
+        });
+        List<Object[]> deletes = new ArrayList<>();
+        persisted.forEach((scope, pinIds) -> {
+            Set<String> current = kept.getOrDefault(scope, Set.of());
+            for (String pinId : pinIds) {
+                if (!current.contains(pinId)) {
+                    deletes.add(new Object[]{scope, pinId});
+                }
+            }
+        });
+
+        if (!upserts.isEmpty() || !deletes.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!deletes.isEmpty()) {
+                        jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+                    }
+                    if (!upserts.isEmpty()) {
+                        jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+                    }
+                });
+            } catch (DataAccessException e) {
+                changedPins.addAll(changed);
+                log.warn("Failed to save trending snapshot, retrying next interval: {}", e.getMessage());
+                return;
+            }
+        }
+        persisted = kept;
+        log.info("Saved trending snapshot: {} rows written, {} removed", upserts.size(), deletes.size());
+    }
+
+    // Helper methods
+
+    private void record(Pin pin, String category, double weight) {
+        if (pin == null || pin.getPinId() == null || !isPublic(pin)) {
+            return;
+        }
+        String pinId = pin.getPinId();
+        afterCommit(() -> {
+            long now = nowSeconds();
+            global.add(pinId, weight, now);
+            if (category != null) {
+                byCategory.computeIfAbsent(category, c -> newLeaderboard(categoryCapacity))
+                        .add(pinId, weight, now);
+            }
+            changedPins.add(pinId);
+        });
+    }
+
+    private void restore(List<TrendingScore> snapshot) {
+        long now = nowSeconds();
+        double halfLifeSeconds = halfLifeHours * 3600;
+        for (TrendingScore row : snapshot) {
+            long age = Math.max(0, now - row.getSnapshotAt().toEpochSecond(ZoneOffset.UTC));
+            double score = row.getScore() * Math.pow(0.5, age / halfLifeSeconds);
+            if (GLOBAL_SCOPE.equals(row.getScope())) {
+                global.add(row.getPinId(), score, now);
+            } else if (row.getScope().startsWith(CATEGORY_SCOPE_PREFIX)) {
+                String category = row.getScope().substring(CATEGORY_SCOPE_PREFIX.length());
+                byCategory.computeIfAbsent(category, c -> newLeaderboard(categoryCapacity))
+                        .add(row.getPinId(), score, now);
+            }
+            persisted.computeIfAbsent(row.getScope(), scope -> new HashSet<>()).add(row.getPinId());
+        }
+        log.info("Restored trending snapshot: {} rows", snapshot.size());
+    }
+
+    private void seedFromEngagement() {
+        List<Pin> pins = pinRepository.findPopularPins(PageRequest.of(0, capacity)).getContent();
+        Set<String> boardIds = pins.stream().map(Pin::getBoardId).collect(Collectors.toSet());
+        Map<String, String> boardCategories = new HashMap<>();
+        for (Board board : boardRepository.findAllById(boardIds)) {
+            boardCategories.put(board.getBoardId(), board.getCategory());
+        }
+
+        long now = nowSeconds();
+        for (Pin pin : pins) {
+            double score = count(pin.getLikeCount()) * likeWeight + count(pin.getSaveCount()) * saveWeight;
+            if (score <= 0) {
+                continue;
+            }
+            global.add(pin.getPinId(), score, now);
+            String category = boardCategories.get(pin.getBoardId());
+            if (category != null) {
+                byCategory.computeIfAbsent(category, c -> newLeaderboard(categoryCapacity))
+                        .add(pin.getPinId(), score, now);
+            }
+        }
+        log.info("Seeded trending leaderboard from engagement counts: {} pins", global.size());
+    }
+
+    private DecayedTopN newLeaderboard(int size) {
+        return new DecayedTopN(size, halfLifeHours * 3600, nowSeconds());
+    }
+
+    private static boolean isPublic(Pin pin) {
+        return pin.getVisibility() == Pin.Visibility.PUBLIC && !Boolean.TRUE.equals(pin.getIsDraft());
+    }
+
+    private static int count(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static long nowSeconds() {
+        return Instant.now().getEpochSecond();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.infy.pinterest.service;
+
+import com.infy.pinterest.entity.Notification;
+import com.infy.pinterest.entity.NotificationReadState;
+import com.infy.pinterest.repository.NotificationReadStateRepository;
+import com.infy.pinterest.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user read watermark and unread count.
+ *
+ * A notification is unread when it was created after the user's watermark
+ * and has not been opened on its own ({@code is_read} is kept only for those
+ * out-of-order reads). Mark-all-read moves the watermark: one row per user,
+ * however many notifications they have.
+ *
+ * The count is loaded on first use with a range count bounded by the
+ * watermark, then kept up to date as rows are written and read on this node.
+ * Where the change is not known exactly (a coalesced row surfacing again,
+ * writes from other nodes, bulk deletes) the entry is dropped or simply
+ * expires after the TTL and is counted again. The map keeps the most
+ * recently used users up to its size limit.
+ */
+@Service
+@Slf4j
+public class UnreadCountCache {
+
+    // Watermark for users who never marked everything read
+    public static final LocalDateTime NEVER_READ = LocalDateTime.of(1970, 1, 2, 0, 0);
+
+    private static final long NOT_LOADED = -1;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationReadStateRepository readStateRepository;
+
+    @Value("${notification.unread-cache.ttl-minutes:10}")
+    private long ttlMinutes = 10;
+
+    @Value("${notification.unread-cache.max-entries:100000}")
+    private int maxEntries = 100000;
+
+    // Access-ordered, dropping the least recently used user past maxEntries
+    private final Map<String, ReadState> states = Collections.synchronizedMap(
+            new LinkedHashMap<String, ReadState>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ReadState> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    private static final class ReadState {
+
+        private final LocalDateTime watermark;
+        private final AtomicLong unread;
+        private final long loadedAtMillis = System.currentTimeMillis();
+
+        ReadState(LocalDateTime watermark, long unread) {
+            this.watermark = watermark;
+            this.unread = new AtomicLong(unread);
+        }
+    }
+
+    @Autowired
+    public UnreadCountCache(NotificationRepository notificationRepository,
+                            NotificationReadStateRepository readStateRepository) {
+        this.notificationRepository = notificationRepository;
+        this.readStateRepository = readStateRepository;
+    }
+
+    public LocalDateTime getWatermark(String userId) {
+        return state(userId).watermark;
+    }
+
+    public long getUnreadCount(String userId) {
+        ReadState state = state(userId);
+        long unread = state.unread.get();
+        if (unread != NOT_LOADED) {
+            return unread;
+        }
+        long counted = notificationRepository.countUnreadSince(userId, state.watermark);
+        return state.unread.compareAndSet(NOT_LOADED, counted) ? counted : state.unread.get();
+    }
+
+    /**
+     * @return true if the notification is unread under the given watermark
+     */
+    public static boolean isUnread(Notification notification, LocalDateTime watermark) {
+        return !Boolean.TRUE.equals(notification.getIsRead())
+                && (notification.getCreatedAt() == null || notification.getCreatedAt().isAfter(watermark));
+    }
+
+    /**
+     * Move the user's watermark to {@code readAt}: a single-row write.
+     * Call {@link #onAllRead} once the transaction commits.
+     */
+    public void markAllRead(String userId, LocalDateTime readAt) {
+        readStateRepository.advanceLastReadAt(userId, readAt);
+    }
+
+    public void onAllRead(String userId, LocalDateTime readAt) {
+        ReadState previous = states.get(userId);
+        LocalDateTime watermark = previous != null && previous.watermark.isAfter(readAt) ? previous.watermark : readAt;
+        states.put(userId, new ReadState(watermark, 0));
+    }
+
+    /**
+     * A notification that counted as unread was read or deleted.
+     */
+    public void onUnreadRemoved(String userId) {
+        ReadState state = states.get(userId);
+        if (state != null) {
+            state.unread.updateAndGet(unread -> unread > 0 ? unread - 1 : unread);
+        }
+    }
+
+    /**
+     * Notification rows were written: new rows add to their recipient's
+     * count, re-surfaced (coalesced) rows may or may not have counted
+     * before, so those recipients are counted again.
+     */
+    public void onWritten(Collection<Notification> inserted, Collection<Notification> updated) {
+        for (Notification row : inserted) {
+            ReadState state = states.get(row.getUserId());
+            if (state != null && isUnread(row, state.watermark)) {
+                state.unread.updateAndGet(unread -> unread == NOT_LOADED ? unread : unread + 1);
+            }
+        }
+        for (Notification row : updated) {
+            states.remove(row.getUserId());
+        }
+    }
+
+    // Helper methods
+
+    private ReadState state(String userId) {
+        ReadState cached = states.get(userId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAtMillis < TimeUnit.MINUTES.toMillis(ttlMinutes)) {
+            return cached;
+        }
+        LocalDateTime watermark = readStateRepository.findById(userId)
+                .map(NotificationReadState::getLastReadAt)
+                .orElse(NEVER_READ);
+        ReadState loaded = new ReadState(watermark, NOT_LOADED);
+        if (cached != null) {
+            states.remove(userId, cached);
+        }
+        ReadState raced = states.putIfAbsent(userId, loaded);
+        return raced != null ? raced : loaded;
+    }
+}
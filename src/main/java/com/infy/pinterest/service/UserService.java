@@ -35,6 +35,7 @@ public class UserService {
     private final BlockedUserRepository blockedUserRepository;
     private final BusinessProfileRepository businessProfileRepository;
     private final FileUploadService fileUploadService;
+    private final FollowGraph followGraph;
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     private final Random random = new Random();
 
@@ -43,7 +44,7 @@ public class UserService {
                       PinRepository pinRepository, BoardRepository boardRepository,
                       FollowRepository followRepository, BlockedUserRepository blockedUserRepository,
                       BusinessProfileRepository businessProfileRepository,
-                      FileUploadService fileUploadService) {
+                      FileUploadService fileUploadService, FollowGraph followGraph) {
         this.userRepository = userRepository;
         this.modelMapper = modelMapper;
         this.jwtUtil = jwtUtil;
@@ -53,6 +54,7 @@ public class UserService {
         this.blockedUserRepository = blockedUserRepository;
         this.businessProfileRepository = businessProfileRepository;
         this.fileUploadService = fileUploadService;
+        this.followGraph = followGraph;
     }
 
     private static final int MAX_FAILED_ATTEMPTS = 3;
@@ -73,10 +75,8 @@ public class UserService {
 
         // If viewing another user's profile, get social relationship info
         if (viewerId != null && !userId.equals(viewerId)) {
-            profile.setIsFollowing(followRepository.existsByFollowerIdAndFollowingId(viewerId,
-                    userId));
-            profile.setIsFollower(followRepository.existsByFollowerIdAndFollowingId(userId,
-                    viewerId));
+            profile.setIsFollowing(followGraph.isFollowing(viewerId, userId));
+            profile.setIsFollower(followGraph.isFollowing(userId, viewerId));
             profile.setIsBlocked(blockedUserRepository.existsByBlockerIdAndBlockedId(viewerId,
                     userId));
         }
@@ -0,0 +1,106 @@
+package com.infy.pinterest.utility;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free multi-producer single-consumer ring of (key, type,
+ * viewer) events.
+ *
+ * Each slot carries a sequence number (Vyukov's bounded queue): a producer
+ * claims the next position with one CAS on the tail, fills the slot and
+ * publishes it by advancing the slot's sequence; the consumer reads slots in
+ * order while their sequence shows them published. Offers never block: when
+ * the ring is full they fail and the caller decides what to do.
+ */
+public final class AdEventRing {
+
+    @FunctionalInterface
+    public interface EventSink {
+        void accept(String key, int type, long viewer);
+    }
+
+    private final int mask;
+    private final String[] keys;
+    private final byte[] types;
+    private final long[] viewers;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Written only by the consumer; volatile so size() can read it
+    private volatile long head;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public AdEventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.keys = new String[size];
+        this.types = new byte[size];
+        this.viewers = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @param viewer hash of the viewer, 0 if unknown
+     * @return false if the ring is full
+     */
+    public boolean offer(String key, int type, long viewer) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    keys[index] = key;
+                    types[index] = (byte) type;
+                    viewers[index] = viewer;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // Another producer claimed this position; try the next one
+        }
+    }
+
+    /**
+     * Hand up to {@code max} published events to the sink, oldest first.
+     * Single consumer only.
+     *
+     * @return number of events drained
+     */
+    public int drain(EventSink sink, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            String key = keys[index];
+            int type = types[index];
+            long viewer = viewers[index];
+            keys[index] = null;
+            sequences.set(index, head + mask + 1);
+            head++;
+            sink.accept(key, type, viewer);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Events claimed but not yet drained (approximate while producers are active).
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
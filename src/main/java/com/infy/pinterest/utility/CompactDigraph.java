@@ -0,0 +1,214 @@
+package com.infy.pinterest.utility;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Directed graph over dense int node IDs, stored as two compressed sparse
+ * row (CSR) arrays: out-edges sorted per source and in-edges sorted per
+ * target. Edge lookups are a binary search within one row.
+ *
+ * Writes after construction go to a small delta (added edges and removed
+ * base edges) that is merged on read. {@link #compact(int)} folds the delta
+ * into fresh CSR arrays.
+ *
+ * Memory: the CSR part costs 8 bytes per edge (one int in each direction)
+ * plus 8 bytes per node for the two offset arrays. Delta edges cost roughly
+ * 100 bytes each (boxed set entries plus per-node lists), which is why the
+ * delta is kept small and compacted.
+ *
+ * Not thread-safe; callers guard access.
+ */
+public final class CompactDigraph {
+
+    private final int baseNodes;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+
+    private final Set<Long> added = new HashSet<>();
+    private final Set<Long> removed = new HashSet<>();
+    private final Map<Integer, IntList> addedOut = new HashMap<>();
+    private final Map<Integer, IntList> addedIn = new HashMap<>();
+
+    private CompactDigraph(int baseNodes, int[] outOffsets, int[] outTargets, int[] inOffsets, int[] inSources) {
+        this.baseNodes = baseNodes;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+    }
+
+    public static CompactDigraph empty() {
+        return new CompactDigraph(0, new int[1], new int[0], new int[1], new int[0]);
+    }
+
+    /**
+     * Build from parallel edge lists. Duplicate edges must not be present.
+     */
+    public static CompactDigraph build(int nodeCount, IntList sources, IntList targets) {
+        int edges = sources.size();
+        int[] outOffsets = new int[nodeCount + 1];
+        int[] inOffsets = new int[nodeCount + 1];
+        for (int i = 0; i < edges; i++) {
+            outOffsets[sources.get(i) + 1]++;
+            inOffsets[targets.get(i) + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            outOffsets[node + 1] += outOffsets[node];
+            inOffsets[node + 1] += inOffsets[node];
+        }
+
+        int[] outTargets = new int[edges];
+        int[] inSources = new int[edges];
+        int[] outFill = Arrays.copyOf(outOffsets, nodeCount);
+        int[] inFill = Arrays.copyOf(inOffsets, nodeCount);
+        for (int i = 0; i < edges; i++) {
+            outTargets[outFill[sources.get(i)]++] = targets.get(i);
+            inSources[inFill[targets.get(i)]++] = sources.get(i);
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            Arrays.sort(outTargets, outOffsets[node], outOffsets[node + 1]);
+            Arrays.sort(inSources, inOffsets[node], inOffsets[node + 1]);
+        }
+        return new CompactDigraph(nodeCount, outOffsets, outTargets, inOffsets, inSources);
+    }
+
+    public boolean hasEdge(int from, int to) {
+        long edge = edgeKey(from, to);
+        if (added.contains(edge)) {
+            return true;
+        }
+        return inBase(from, to) && !removed.contains(edge);
+    }
+
+    /**
+     * @return true if the edge was not present
+     */
+    public boolean addEdge(int from, int to) {
+        long edge = edgeKey(from, to);
+        if (inBase(from, to)) {
+            return removed.remove(edge);
+        }
+        if (!added.add(edge)) {
+            return false;
+        }
+        addedOut.computeIfAbsent(from, n -> new IntList(2)).add(to);
+        addedIn.computeIfAbsent(to, n -> new IntList(2)).add(from);
+        return true;
+    }
+
+    /**
+     * @return true if the edge was present
+     */
+    public boolean removeEdge(int from, int to) {
+        long edge = edgeKey(from, to);
+        if (added.remove(edge)) {
+            removeFromDelta(addedOut, from, to);
+            removeFromDelta(addedIn, to, from);
+            return true;
+        }
+        return inBase(from, to) && removed.add(edge);
+    }
+
+    /**
+     * @return the nodes this node has edges to, base edges first
+     */
+    public int[] outNeighbors(int node) {
+        return neighbors(node, outOffsets, outTargets, addedOut.get(node), true);
+    }
+
+    /**
+     * @return the nodes with edges to this node, base edges first
+     */
+    public int[] inNeighbors(int node) {
+        return neighbors(node, inOffsets, inSources, addedIn.get(node), false);
+    }
+
+    public int outDegree(int node) {
+        return outNeighbors(node).length;
+    }
+
+    public int inDegree(int node) {
+        return inNeighbors(node).length;
+    }
+
+    public long edgeCount() {
+        return (long) outTargets.length - removed.size() + added.size();
+    }
+
+    /**
+     * @return the number of edge changes not yet folded into the CSR arrays
+     */
+    public int deltaSize() {
+        return added.size() + removed.size();
+    }
+
+    /**
+     * @return approximate heap used by the graph, using the per-edge costs above
+     */
+    public long estimatedBytes() {
+        long csr = 4L * (outOffsets.length + outTargets.length + inOffsets.length + inSources.length);
+        return csr + 100L * deltaSize();
+    }
+
+    /**
+     * Merge base and delta into a new graph with no delta.
+     */
+    public CompactDigraph compact(int nodeCount) {
+        IntList sources = new IntList((int) Math.max(1, edgeCount()));
+        IntList targets = new IntList((int) Math.max(1, edgeCount()));
+        for (int node = 0; node < nodeCount; node++) {
+            for (int target : outNeighbors(node)) {
+                sources.add(node);
+                targets.add(target);
+            }
+        }
+        return build(nodeCount, sources, targets);
+    }
+
+    // Helper methods
+
+    private boolean inBase(int from, int to) {
+        if (from >= baseNodes) {
+            return false;
+        }
+        return Arrays.binarySearch(outTargets, outOffsets[from], outOffsets[from + 1], to) >= 0;
+    }
+
+    private int[] neighbors(int node, int[] offsets, int[] values, IntList delta, boolean outgoing) {
+        int start = node < baseNodes ? offsets[node] : 0;
+        int end = node < baseNodes ? offsets[node + 1] : 0;
+        IntList result = new IntList(end - start + (delta != null ? delta.size() : 0));
+        for (int i = start; i < end; i++) {
+            int other = values[i];
+            if (removed.isEmpty() || !removed.contains(outgoing ? edgeKey(node, other) : edgeKey(other, node))) {
+                result.add(other);
+            }
+        }
+        if (delta != null) {
+            for (int i = 0; i < delta.size(); i++) {
+                result.add(delta.get(i));
+            }
+        }
+        return result.toArray();
+    }
+
+    private static void removeFromDelta(Map<Integer, IntList> delta, int node, int other) {
+        IntList list = delta.get(node);
+        if (list != null) {
+            list.removeValue(other);
+            if (list.isEmpty()) {
+                delta.remove(node);
+            }
+        }
+    }
+
+    private static long edgeKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,142 @@
+package com.infy.pinterest.utility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Bounded top-N of keys by exponentially time-decayed score.
+ *
+ * Uses forward decay: an event of weight w at time t is stored as
+ * {@code w * e^(lambda * (t - landmark))}, so older scores never have to be
+ * touched when time advances and the ranking only changes on writes. When the
+ * exponent grows large the landmark is moved forward and all scores rescaled.
+ *
+ * Capacity is enforced space-saving style: when full, a new key evicts the
+ * lowest-scored key and inherits its score. Scores near the bottom are
+ * therefore upper bounds, while the head of the ranking stays accurate.
+ */
+public final class DecayedTopN {
+
+    private static final double MAX_EXPONENT = 50.0;
+    // Residue left by cancelling events is treated as zero
+    private static final double EPSILON = 1e-9;
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble((Entry e) -> e.score)
+            .thenComparing(e -> e.key);
+
+    private final int capacity;
+    private final double lambda;
+    private long landmark;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+
+    /**
+     * @param capacity        maximum number of keys tracked
+     * @param halfLifeSeconds time for a score to halve
+     * @param nowSeconds      initial landmark, in epoch seconds
+     */
+    public DecayedTopN(int capacity, double halfLifeSeconds, long nowSeconds) {
+        this.capacity = capacity;
+        this.lambda = Math.log(2) / halfLifeSeconds;
+        this.landmark = nowSeconds;
+    }
+
+    /**
+     * Adds a (possibly negative) weight to the key. Keys whose score drops to
+     * zero or below are removed.
+     */
+    public synchronized void add(String key, double weight, long nowSeconds) {
+        rescaleIfNeeded(nowSeconds);
+        double forward = weight * Math.exp(lambda * (nowSeconds - landmark));
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            ordered.remove(entry);
+            entry.score += forward;
+            if (entry.score <= EPSILON * Math.abs(forward)) {
+                entries.remove(key);
+            } else {
+                ordered.add(entry);
+            }
+            return;
+        }
+        if (forward <= 0) {
+            return;
+        }
+
+        if (entries.size() >= capacity) {
+            Entry evicted = ordered.pollFirst();
+            entries.remove(evicted.key);
+            forward += evicted.score;
+        }
+        entry = new Entry(key, forward);
+        entries.put(key, entry);
+        ordered.add(entry);
+    }
+
+    public synchronized void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            ordered.remove(entry);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns keys in descending score order, skipping the first {@code offset}.
+     */
+    public synchronized List<Scored> top(int offset, int limit, long nowSeconds) {
+        List<Scored> result = new ArrayList<>(Math.max(0, Math.min(limit, entries.size() - offset)));
+        double decay = Math.exp(-lambda * (nowSeconds - landmark));
+        Iterator<Entry> it = ordered.descendingIterator();
+        for (int skipped = 0; skipped < offset && it.hasNext(); skipped++) {
+            it.next();
+        }
+        while (result.size() < limit && it.hasNext()) {
+            Entry entry = it.next();
+            result.add(new Scored(entry.key, entry.score * decay));
+        }
+        return result;
+    }
+
+    private void rescaleIfNeeded(long nowSeconds) {
+        double exponent = lambda * (nowSeconds - landmark);
+        if (exponent < MAX_EXPONENT) {
+            return;
+        }
+        double factor = Math.exp(-exponent);
+        TreeSet<Entry> rescaled = new TreeSet<>(ORDER);
+        for (Entry entry : entries.values()) {
+            entry.score *= factor;
+            rescaled.add(entry);
+        }
+        ordered = rescaled;
+        landmark = nowSeconds;
+    }
+
+    /**
+     * A key with its score decayed to the time of the read.
+     */
+    public record Scored(String key, double score) {
+    }
+
+    private static final class Entry {
+        private final String key;
+        private double score;
+
+        private Entry(String key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+    }
+}
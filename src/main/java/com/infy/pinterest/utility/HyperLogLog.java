@@ -0,0 +1,127 @@
+package com.infy.pinterest.utility;
+
+/**
+ * HyperLogLog distinct-count sketch over 64-bit hashes.
+ *
+ * 2^14 registers give about 0.8% standard error at any cardinality. Each
+ * register keeps the longest run of leading zeros seen among the hashes
+ * routed to it; sketches of the same precision merge by taking the
+ * register-wise maximum, so the union of two sketches estimates the
+ * distinct count of the union of their inputs. Serialized, the registers
+ * are packed into 6 bits each: 12KB plus a one-byte header.
+ *
+ * Not thread-safe; callers serialize access.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 14;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final int BITS_PER_REGISTER = 6;
+    public static final int SERIALIZED_BYTES = 1 + REGISTERS * BITS_PER_REGISTER / 8;
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * Add one element by its hash; see {@link #hash(String)}.
+     */
+    public void add(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // The guard bit caps the run at the 64 - PRECISION bits left after the index
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimated number of distinct elements added.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        // Small cardinalities: linear counting over the empty registers is more accurate
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[SERIALIZED_BYTES];
+        bytes[0] = PRECISION;
+        long buffer = 0;
+        int buffered = 0;
+        int out = 1;
+        for (byte register : registers) {
+            buffer = (buffer << BITS_PER_REGISTER) | register;
+            buffered += BITS_PER_REGISTER;
+            while (buffered >= 8) {
+                buffered -= 8;
+                bytes[out++] = (byte) (buffer >>> buffered);
+            }
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != SERIALIZED_BYTES || bytes[0] != PRECISION) {
+            throw new IllegalArgumentException("Not a serialized HyperLogLog of precision " + PRECISION);
+        }
+        HyperLogLog sketch = new HyperLogLog();
+        long buffer = 0;
+        int buffered = 0;
+        int register = 0;
+        for (int in = 1; in < bytes.length; in++) {
+            buffer = (buffer << 8) | (bytes[in] & 0xFF);
+            buffered += 8;
+            while (buffered >= BITS_PER_REGISTER) {
+                buffered -= BITS_PER_REGISTER;
+                sketch.registers[register++] = (byte) ((buffer >>> buffered) & ((1 << BITS_PER_REGISTER) - 1));
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * 64-bit hash of a string: FNV-1a over its chars, then the MurmurHash3
+     * finalizer so every output bit depends on every input bit.
+     */
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,79 @@
+package com.infy.pinterest.utility;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints. Used for posting lists and adjacency
+ * buffers where boxing every element would dominate memory.
+ */
+public final class IntList {
+
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(4);
+    }
+
+    public IntList(int initialCapacity) {
+        this.values = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Removes the first occurrence of the value, preserving order.
+     */
+    public boolean removeValue(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keeps only the first {@code newSize} elements.
+     */
+    public void truncate(int newSize) {
+        size = Math.min(size, newSize);
+    }
+
+    public void set(int index, int value) {
+        values[index] = value;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public void trimToSize() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, Math.max(1, size));
+        }
+    }
+}
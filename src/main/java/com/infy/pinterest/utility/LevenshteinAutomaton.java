@@ -0,0 +1,73 @@
+package com.infy.pinterest.utility;
+
+/**
+ * Bounded edit-distance matcher for a fixed query term.
+ *
+ * The DP row is the automaton state: each input character advances it by one
+ * row, and the run is abandoned as soon as every cell exceeds the edit budget,
+ * so rejecting a far-away candidate usually costs only a few characters.
+ */
+public final class LevenshteinAutomaton {
+
+    private final char[] pattern;
+    private final int maxEdits;
+
+    public LevenshteinAutomaton(String pattern, int maxEdits) {
+        this.pattern = pattern.toCharArray();
+        this.maxEdits = maxEdits;
+    }
+
+    public int getMaxEdits() {
+        return maxEdits;
+    }
+
+    /**
+     * @return the edit distance to the candidate, or -1 if it exceeds maxEdits
+     */
+    public int distance(CharSequence candidate) {
+        int n = pattern.length;
+        if (Math.abs(candidate.length() - n) > maxEdits) {
+            return -1;
+        }
+
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= candidate.length(); i++) {
+            char c = candidate.charAt(i - 1);
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= n; j++) {
+                int cost = pattern[j - 1] == c ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                        previous[j - 1] + cost);
+                current[j] = value;
+                if (value < rowMin) {
+                    rowMin = value;
+                }
+            }
+            if (rowMin > maxEdits) {
+                return -1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[n] <= maxEdits ? previous[n] : -1;
+    }
+
+    /**
+     * Edit budget used for a query term of the given length: exact match for
+     * very short terms, one edit for medium terms, two edits for long terms.
+     */
+    public static int defaultMaxEdits(int termLength) {
+        if (termLength <= 3) {
+            return 0;
+        }
+        return termLength <= 7 ? 1 : 2;
+    }
+}
@@ -0,0 +1,82 @@
+package com.infy.pinterest.utility;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel: each deadline goes into the slot of its tick, modulo
+ * the number of slots, so scheduling is O(1) and advancing only visits the
+ * slots passed since the last advance. Entries more than one turn away
+ * share a slot with nearer ones and stay until their own tick is reached.
+ *
+ * Not thread-safe; callers serialize access.
+ */
+public class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final List<List<Entry<T>>> slots;
+    // First tick not yet processed
+    private long nextTick;
+    private int size;
+
+    private record Entry<T>(T item, long tick) {
+    }
+
+    public TimerWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis < 1 || slotCount < 1) {
+            throw new IllegalArgumentException("Tick and slot count must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.nextTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedule {@code item} to be returned by the first advance at or past
+     * {@code deadlineMillis}; past deadlines fire on the next advance.
+     */
+    public void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), nextTick);
+        slots.get((int) Math.floorMod(tick, slots.size())).add(new Entry<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Remove and return every item due at {@code nowMillis}, in tick order.
+     */
+    public List<T> advance(long nowMillis) {
+        long lastTick = Math.floorDiv(nowMillis, tickMillis);
+        if (lastTick < nextTick) {
+            return List.of();
+        }
+        List<T> due = new ArrayList<>();
+        // Past a full turn every slot is visited once
+        long steps = Math.min(lastTick - nextTick + 1, slots.size());
+        for (long tick = nextTick; tick < nextTick + steps; tick++) {
+            Iterator<Entry<T>> entries = slots.get((int) Math.floorMod(tick, slots.size())).iterator();
+            while (entries.hasNext()) {
+                Entry<T> entry = entries.next();
+                if (entry.tick() <= lastTick) {
+                    due.add(entry.item());
+                    entries.remove();
+                    size--;
+                }
+            }
+        }
+        nextTick = lastTick + 1;
+        return due;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        slots.forEach(List::clear);
+        size = 0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.infy.pinterest.utility;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Character-trigram index over a term dictionary, used to generate fuzzy
+ * candidates without scanning the whole vocabulary.
+ *
+ * Terms are padded with a boundary marker, so a term of length L has L
+ * trigrams. A single edit touches at most three trigrams, which means any term
+ * within k edits of the query shares at least {@code grams(query) - 3k} of them.
+ * Only terms reaching that count are verified with a {@link LevenshteinAutomaton}.
+ *
+ * Not thread-safe; callers guard it with their own lock.
+ */
+public final class TrigramIndex {
+
+    private static final char BOUNDARY = '\u0001';
+
+    private final Map<String, IntList> grams = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+
+    /**
+     * Registers a term under the given ordinal. Ordinals must be assigned
+     * densely and in increasing order.
+     */
+    public void add(int termId, String term) {
+        while (terms.size() <= termId) {
+            terms.add(null);
+        }
+        terms.set(termId, term);
+        for (String gram : trigrams(term)) {
+            grams.computeIfAbsent(gram, g -> new IntList()).add(termId);
+        }
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Finds dictionary terms within {@code maxEdits} of the query.
+     */
+    public List<Match> fuzzyMatches(String query, int maxEdits) {
+        List<Match> matches = new ArrayList<>();
+        if (maxEdits <= 0) {
+            return matches;
+        }
+
+        Set<String> queryGrams = trigrams(query);
+        int threshold = queryGrams.size() - 3 * maxEdits;
+        if (threshold < 1) {
+            threshold = 1;
+        }
+
+        Map<Integer, int[]> hits = new HashMap<>();
+        for (String gram : queryGrams) {
+            IntList posting = grams.get(gram);
+            if (posting == null) {
+                continue;
+            }
+            for (int i = 0; i < posting.size(); i++) {
+                hits.computeIfAbsent(posting.get(i), id -> new int[1])[0]++;
+            }
+        }
+
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton(query, maxEdits);
+        for (Map.Entry<Integer, int[]> entry : hits.entrySet()) {
+            if (entry.getValue()[0] < threshold) {
+                continue;
+            }
+            String candidate = terms.get(entry.getKey());
+            int distance = automaton.distance(candidate);
+            if (distance >= 0) {
+                matches.add(new Match(entry.getKey(), distance));
+            }
+        }
+        matches.sort((a, b) -> Integer.compare(a.distance(), b.distance()));
+        return matches;
+    }
+
+    static Set<String> trigrams(String term) {
+        String padded = BOUNDARY + term + BOUNDARY;
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * A dictionary term matched by a fuzzy lookup.
+     */
+    public record Match(int termId, int distance) {
+    }
+}
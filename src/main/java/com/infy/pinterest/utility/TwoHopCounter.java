@@ -0,0 +1,96 @@
+package com.infy.pinterest.utility;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts, for every node two out-hops from a source, how many of the
+ * source's out-neighbours lead to it ("followed by N people you follow").
+ *
+ * The first hop is split across a {@link ForkJoinPool}; each leaf task
+ * counts its slice of second hops into a local map and the maps are merged
+ * on join. Both hops are capped at {@code fanOut} edges by even sampling, so
+ * the cost per call is bounded by fanOut squared regardless of how many
+ * accounts a celebrity follows.
+ *
+ * The graph must not change during a call; callers hold a read lock.
+ */
+public final class TwoHopCounter {
+
+    private static final int LEAF_SIZE = 16;
+
+    private TwoHopCounter() {
+    }
+
+    /**
+     * @return second-hop node to path count, excluding the source and its direct neighbours
+     */
+    public static Map<Integer, Integer> count(CompactDigraph graph, int source, int fanOut, ForkJoinPool pool) {
+        int[] firstHop = graph.outNeighbors(source);
+        int[] sampled = sample(firstHop, fanOut);
+        Map<Integer, Integer> counts = pool.invoke(new SliceTask(graph, sampled, 0, sampled.length, fanOut));
+
+        counts.remove(source);
+        for (int neighbour : firstHop) {
+            counts.remove(neighbour);
+        }
+        return counts;
+    }
+
+    /**
+     * @return at most {@code limit} evenly spaced elements of {@code values}
+     */
+    static int[] sample(int[] values, int limit) {
+        if (values.length <= limit) {
+            return values;
+        }
+        int[] sampled = new int[limit];
+        double stride = (double) values.length / limit;
+        for (int i = 0; i < limit; i++) {
+            sampled[i] = values[(int) (i * stride)];
+        }
+        return sampled;
+    }
+
+    private static final class SliceTask extends RecursiveTask<Map<Integer, Integer>> {
+
+        private final CompactDigraph graph;
+        private final int[] firstHop;
+        private final int from;
+        private final int to;
+        private final int fanOut;
+
+        SliceTask(CompactDigraph graph, int[] firstHop, int from, int to, int fanOut) {
+            this.graph = graph;
+            this.firstHop = firstHop;
+            this.from = from;
+            this.to = to;
+            this.fanOut = fanOut;
+        }
+
+        @Override
+        protected Map<Integer, Integer> compute() {
+            if (to - from <= LEAF_SIZE) {
+                Map<Integer, Integer> counts = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    for (int candidate : sample(graph.outNeighbors(firstHop[i]), fanOut)) {
+                        counts.merge(candidate, 1, Integer::sum);
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            SliceTask left = new SliceTask(graph, firstHop, from, middle, fanOut);
+            left.fork();
+            Map<Integer, Integer> right = new SliceTask(graph, firstHop, middle, to, fanOut).compute();
+            Map<Integer, Integer> leftCounts = left.join();
+            // Merge the smaller map into the larger one
+            Map<Integer, Integer> larger = leftCounts.size() >= right.size() ? leftCounts : right;
+            Map<Integer, Integer> smaller = larger == leftCounts ? right : leftCounts;
+            smaller.forEach((node, count) -> larger.merge(node, count, Integer::sum));
+            return larger;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- Index used by the block list cache to pick up blocks written on other nodes.
+-- tablescript.sql already creates it; run this on databases created before it was added.
+USE pintrest_db;
+
+ALTER TABLE blocked_users ADD INDEX idx_blocked_at (blocked_at);
@@ -0,0 +1,5 @@
+-- Index used to list each business's newest boards without sorting all of them.
+-- tablescript.sql already creates it; run this on databases created before it was added.
+USE pintrest_db;
+
+ALTER TABLE boards ADD INDEX idx_user_created (user_id, created_at);
@@ -0,0 +1,13 @@
+-- Daily per-campaign sketches of distinct viewers behind campaign reach.
+-- tablescript.sql already creates these; run this on databases created before they were added.
+USE pintrest_db;
+
+CREATE TABLE campaign_reach_daily (
+    sponsored_id VARCHAR(36) NOT NULL,
+    bucket_date DATE NOT NULL,
+    -- HyperLogLog of viewer IDs, see HyperLogLog.toBytes
+    sketch BLOB NOT NULL,
+
+    PRIMARY KEY (sponsored_id, bucket_date),
+    FOREIGN KEY (sponsored_id) REFERENCES sponsored_pins(sponsored_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
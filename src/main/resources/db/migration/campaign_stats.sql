@@ -0,0 +1,26 @@
+-- Hourly and daily per-campaign event counts behind the analytics timeline.
+-- tablescript.sql already creates these; run this on databases created before they were added.
+USE pintrest_db;
+
+CREATE TABLE campaign_stats_hourly (
+    sponsored_id VARCHAR(36) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    impressions INT NOT NULL DEFAULT 0,
+    clicks INT NOT NULL DEFAULT 0,
+    saves INT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (sponsored_id, bucket_start),
+    FOREIGN KEY (sponsored_id) REFERENCES sponsored_pins(sponsored_id) ON DELETE CASCADE,
+    INDEX idx_bucket_start (bucket_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE campaign_stats_daily (
+    sponsored_id VARCHAR(36) NOT NULL,
+    bucket_date DATE NOT NULL,
+    impressions INT NOT NULL DEFAULT 0,
+    clicks INT NOT NULL DEFAULT 0,
+    saves INT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (sponsored_id, bucket_date),
+    FOREIGN KEY (sponsored_id) REFERENCES sponsored_pins(sponsored_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
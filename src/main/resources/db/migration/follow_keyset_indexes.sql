@@ -0,0 +1,10 @@
+-- Composite indexes for keyset pagination of follower and following lists.
+-- tablescript.sql already creates these; run this on databases created before they were added.
+-- They lead with the same columns as the single-column indexes they replace.
+USE pintrest_db;
+
+ALTER TABLE follows
+    ADD INDEX idx_follower_followed_at (follower_id, followed_at, follow_id),
+    ADD INDEX idx_following_followed_at (following_id, followed_at, follow_id),
+    DROP INDEX idx_follower_id,
+    DROP INDEX idx_following_id;
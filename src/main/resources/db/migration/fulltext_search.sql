@@ -0,0 +1,6 @@
+-- FULLTEXT indexes used by search.engine=fulltext.
+-- tablescript.sql already creates these; run this on databases created before they were added.
+USE pintrest_db;
+
+ALTER TABLE boards ADD FULLTEXT idx_name_description (name, description);
+ALTER TABLE users ADD FULLTEXT idx_username_full_name (username, full_name);
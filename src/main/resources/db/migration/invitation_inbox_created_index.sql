@@ -0,0 +1,5 @@
+-- Index for the unfiltered invitation inbox: by recipient, newest first, ties broken by ID.
+-- tablescript.sql already creates it; run this on databases created before it was added.
+USE pintrest_db;
+
+ALTER TABLE invitations ADD INDEX idx_to_user_created (to_user_id, created_at, invitation_id);
@@ -0,0 +1,8 @@
+-- Composite index for the invitation inbox: filter by recipient and status, newest first.
+-- tablescript.sql already creates it; run this on databases created before it was added.
+-- It leads with to_user_id, so it replaces the single-column index (and backs the foreign key).
+USE pintrest_db;
+
+ALTER TABLE invitations
+    ADD INDEX idx_to_user_status_created (to_user_id, status, created_at),
+    DROP INDEX idx_to_user_id;
@@ -0,0 +1,7 @@
+-- Columns for notifications that coalesce several actors into one row.
+-- tablescript.sql already creates these; run this on databases created before they were added.
+USE pintrest_db;
+
+ALTER TABLE notifications
+    ADD COLUMN actor_count INT DEFAULT 1 AFTER entity_type,
+    ADD COLUMN recent_sender_ids VARCHAR(400) AFTER actor_count;
@@ -0,0 +1,5 @@
+-- Index for deleting notifications by the entity they point to.
+-- tablescript.sql already creates this; run this on databases created before it was added.
+USE pintrest_db;
+
+ALTER TABLE notifications ADD INDEX idx_entity_type (entity_id, type);
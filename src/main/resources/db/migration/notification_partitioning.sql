@@ -0,0 +1,23 @@
+-- Monthly partitions for notifications, so expired months are dropped whole.
+-- Optional: tablescript.sql creates the table unpartitioned. Run this, then set
+-- notification.retention.partitioned=true; the retention job adds later months and drops expired ones.
+USE pintrest_db;
+
+-- Partitioned InnoDB tables cannot have foreign keys, and every unique key must
+-- include the partition column. Rows of deleted users are left to the retention purge.
+ALTER TABLE notifications
+    DROP FOREIGN KEY notifications_ibfk_1,
+    DROP FOREIGN KEY notifications_ibfk_2;
+
+ALTER TABLE notifications
+    MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (notification_id, created_at);
+
+-- The first partition holds everything before the current month; adjust the months to the date this runs
+ALTER TABLE notifications PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p202609 VALUES LESS THAN (UNIX_TIMESTAMP('2026-10-01 00:00:00')),
+    PARTITION p202610 VALUES LESS THAN (UNIX_TIMESTAMP('2026-11-01 00:00:00')),
+    PARTITION p202611 VALUES LESS THAN (UNIX_TIMESTAMP('2026-12-01 00:00:00')),
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
@@ -0,0 +1,16 @@
+-- Per-user read watermark, and an index that answers unread counts bounded by it.
+-- tablescript.sql already creates these; run this on databases created before they were added.
+USE pintrest_db;
+
+CREATE TABLE notification_read_state (
+    user_id VARCHAR(36) PRIMARY KEY,
+    last_read_at TIMESTAMP NOT NULL,
+
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Existing is_read flags stay valid: no watermark means every row is judged by its own flag
+ALTER TABLE notifications
+    ADD INDEX idx_user_created_read (user_id, created_at DESC, is_read),
+    DROP INDEX idx_user_id_created,
+    DROP INDEX idx_user_id_read;
@@ -0,0 +1,5 @@
+-- Index used to replay pin changes on top of a search index snapshot.
+-- tablescript.sql already creates it; run this on databases created before it was added.
+USE pintrest_db;
+
+ALTER TABLE pins ADD INDEX idx_updated_at (updated_at);
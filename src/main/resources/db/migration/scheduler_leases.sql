@@ -0,0 +1,9 @@
+-- Leases that keep singleton jobs such as the campaign lifecycle on one node.
+-- tablescript.sql already creates these; run this on databases created before they were added.
+USE pintrest_db;
+
+CREATE TABLE scheduler_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    expires_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -19,7 +19,8 @@ CREATE TABLE users (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
 
     INDEX idx_username (username),
-    INDEX idx_email (email)
+    INDEX idx_email (email),
+    FULLTEXT idx_username_full_name (username, full_name)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 CREATE TABLE password_reset_tokens (
@@ -51,7 +52,9 @@ CREATE TABLE boards (
 
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
     INDEX idx_user_id (user_id),
-    INDEX idx_visibility (visibility)
+    INDEX idx_user_created (user_id, created_at),
+    INDEX idx_visibility (visibility),
+    FULLTEXT idx_name_description (name, description)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 CREATE TABLE pins (
@@ -76,6 +79,7 @@ CREATE TABLE pins (
     INDEX idx_board_id (board_id),
     INDEX idx_is_draft (is_draft),
     INDEX idx_is_sponsored (is_sponsored),
+    INDEX idx_updated_at (updated_at),
     FULLTEXT idx_title_description (title, description)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -103,8 +107,8 @@ CREATE TABLE follows (
     FOREIGN KEY (follower_id) REFERENCES users(user_id) ON DELETE CASCADE,
     FOREIGN KEY (following_id) REFERENCES users(user_id) ON DELETE CASCADE,
     UNIQUE KEY unique_follower_following (follower_id, following_id),
-    INDEX idx_follower_id (follower_id),
-    INDEX idx_following_id (following_id),
+    INDEX idx_follower_followed_at (follower_id, followed_at, follow_id),
+    INDEX idx_following_followed_at (following_id, followed_at, follow_id),
     CHECK (follower_id != following_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -122,7 +126,8 @@ CREATE TABLE invitations (
     FOREIGN KEY (board_id) REFERENCES boards(board_id) ON DELETE CASCADE,
     FOREIGN KEY (from_user_id) REFERENCES users(user_id) ON DELETE CASCADE,
     FOREIGN KEY (to_user_id) REFERENCES users(user_id) ON DELETE CASCADE,
-    INDEX idx_to_user_id (to_user_id),
+    INDEX idx_to_user_status_created (to_user_id, status, created_at),
+    INDEX idx_to_user_created (to_user_id, created_at, invitation_id),
     INDEX idx_status (status)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -148,14 +153,25 @@ CREATE TABLE notifications (
     message VARCHAR(500) NOT NULL,
     entity_id VARCHAR(36),
     entity_type VARCHAR(50),
+    actor_count INT DEFAULT 1,
+    recent_sender_ids VARCHAR(400),
     is_read BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     read_at TIMESTAMP NULL,
 
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
     FOREIGN KEY (sender_id) REFERENCES users(user_id) ON DELETE CASCADE,
-    INDEX idx_user_id_created (user_id, created_at DESC),
-    INDEX idx_user_id_read (user_id, is_read)
+    INDEX idx_user_created_read (user_id, created_at DESC, is_read),
+    INDEX idx_entity_type (entity_id, type)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+-- Large deployments can partition this table by month: db/migration/notification_partitioning.sql
+
+-- Per-user read watermark: notifications created at or before last_read_at are read
+CREATE TABLE notification_read_state (
+    user_id VARCHAR(36) PRIMARY KEY,
+    last_read_at TIMESTAMP NOT NULL,
+
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 CREATE TABLE business_profiles (
@@ -199,6 +215,45 @@ CREATE TABLE sponsored_pins (
     INDEX idx_status (status)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+CREATE TABLE campaign_stats_hourly (
+    sponsored_id VARCHAR(36) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    impressions INT NOT NULL DEFAULT 0,
+    clicks INT NOT NULL DEFAULT 0,
+    saves INT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (sponsored_id, bucket_start),
+    FOREIGN KEY (sponsored_id) REFERENCES sponsored_pins(sponsored_id) ON DELETE CASCADE,
+    INDEX idx_bucket_start (bucket_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE campaign_stats_daily (
+    sponsored_id VARCHAR(36) NOT NULL,
+    bucket_date DATE NOT NULL,
+    impressions INT NOT NULL DEFAULT 0,
+    clicks INT NOT NULL DEFAULT 0,
+    saves INT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (sponsored_id, bucket_date),
+    FOREIGN KEY (sponsored_id) REFERENCES sponsored_pins(sponsored_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE campaign_reach_daily (
+    sponsored_id VARCHAR(36) NOT NULL,
+    bucket_date DATE NOT NULL,
+    -- HyperLogLog of viewer IDs, see HyperLogLog.toBytes
+    sketch BLOB NOT NULL,
+
+    PRIMARY KEY (sponsored_id, bucket_date),
+    FOREIGN KEY (sponsored_id) REFERENCES sponsored_pins(sponsored_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE scheduler_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    expires_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 CREATE TABLE pin_likes (
     like_id VARCHAR(36) PRIMARY KEY DEFAULT (UUID()),
     pin_id VARCHAR(36) NOT NULL,
@@ -240,7 +295,8 @@ CREATE TABLE blocked_users (
     FOREIGN KEY (blocked_id) REFERENCES users(user_id) ON DELETE CASCADE,
     UNIQUE KEY unique_blocker_blocked (blocker_id, blocked_id),
     INDEX idx_blocker_id (blocker_id),
-    INDEX idx_blocked_id (blocked_id)
+    INDEX idx_blocked_id (blocked_id),
+    INDEX idx_blocked_at (blocked_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 CREATE TABLE business_showcases (
@@ -288,6 +344,16 @@ CREATE TABLE user_reports (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 
+CREATE TABLE trending_scores (
+    score_id VARCHAR(36) PRIMARY KEY DEFAULT (UUID()),
+    scope VARCHAR(120) NOT NULL,
+    pin_id VARCHAR(36) NOT NULL,
+    score DOUBLE NOT NULL,
+    snapshot_at TIMESTAMP NOT NULL,
+
+    UNIQUE KEY unique_scope_pin (scope, pin_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Trigger to update pin_count when a pin is added to a board
 DELIMITER //
 CREATE TRIGGER after_pin_insert
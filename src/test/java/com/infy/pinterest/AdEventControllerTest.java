@@ -0,0 +1,91 @@
+package com.infy.pinterest;
+
+import com.infy.pinterest.controller.AdEventController;
+import com.infy.pinterest.dto.AdEventStatsDTO;
+import com.infy.pinterest.exception.ResourceNotFoundException;
+import com.infy.pinterest.service.AdEventService;
+import com.infy.pinterest.service.AdEventService.EventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith({SpringExtension.class, MockitoExtension.class})
+@WebMvcTest(AdEventController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AdEventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AdEventService adEventService;
+
+    private static final String SPONSORED_ID = "sponsored-1";
+
+    // ==================== BEACON TESTS ====================
+
+    @Test
+    @DisplayName("POST /business/sponsored-pins/{id}/events - Accepted")
+    void testRecordEvent_Accepted() throws Exception {
+        mockMvc.perform(post("/business/sponsored-pins/{id}/events", SPONSORED_ID)
+                        .param("type", "IMPRESSION"))
+                .andExpect(status().isAccepted());
+
+        verify(adEventService, times(1)).record(SPONSORED_ID, EventType.IMPRESSION, null);
+    }
+
+    @Test
+    @DisplayName("POST /business/sponsored-pins/{id}/events - Known Viewer")
+    void testRecordEvent_PassesViewer() throws Exception {
+        mockMvc.perform(post("/business/sponsored-pins/{id}/events", SPONSORED_ID)
+                        .header("X-User-Id", "user-123")
+                        .param("type", "IMPRESSION"))
+                .andExpect(status().isAccepted());
+
+        verify(adEventService, times(1)).record(SPONSORED_ID, EventType.IMPRESSION, "user-123");
+    }
+
+    @Test
+    @DisplayName("POST /business/sponsored-pins/{id}/events - Unknown Campaign")
+    void testRecordEvent_UnknownCampaign() throws Exception {
+        doThrow(new ResourceNotFoundException("Campaign not found"))
+                .when(adEventService).record("missing", EventType.SAVE, null);
+
+        mockMvc.perform(post("/business/sponsored-pins/{id}/events", "missing")
+                        .param("type", "SAVE"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Campaign not found"));
+    }
+
+    @Test
+    @DisplayName("GET /business/sponsored-pins/{id}/click - Redirects")
+    void testClick_RedirectsToDestination() throws Exception {
+        when(adEventService.recordClick(SPONSORED_ID)).thenReturn("https://shop.example.com/fireplace");
+
+        mockMvc.perform(get("/business/sponsored-pins/{id}/click", SPONSORED_ID))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", "https://shop.example.com/fireplace"));
+    }
+
+    @Test
+    @DisplayName("GET /business/ad-events/stats - Success")
+    void testGetStats_Success() throws Exception {
+        when(adEventService.getStats()).thenReturn(new AdEventStatsDTO(3, 65536, 120L, 0L, 1L, 117L, 4L, 0L, 2L));
+
+        mockMvc.perform(get("/business/ad-events/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.accepted").value(120))
+                .andExpect(jsonPath("$.data.ringDepth").value(3));
+    }
+}
@@ -0,0 +1,314 @@
+package com.infy.pinterest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.infy.pinterest.dto.AdEventStatsDTO;
+import com.infy.pinterest.entity.Pin;
+import com.infy.pinterest.entity.SponsoredPin;
+import com.infy.pinterest.exception.ResourceNotFoundException;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.repository.SponsoredPinRepository;
+import com.infy.pinterest.service.AdEventService;
+import com.infy.pinterest.service.AdEventService.EventType;
+import com.infy.pinterest.service.CampaignReachService;
+import com.infy.pinterest.service.CampaignSpendService;
+import com.infy.pinterest.service.CampaignStatsService;
+import com.infy.pinterest.utility.AdEventRing;
+import com.infy.pinterest.utility.HyperLogLog;
+
+@ExtendWith(MockitoExtension.class)
+class AdEventServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AdEventServiceTest.class);
+
+    @Mock
+    private SponsoredPinRepository sponsoredPinRepository;
+
+    @Mock
+    private PinRepository pinRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CampaignStatsService campaignStatsService;
+
+    @Mock
+    private CampaignSpendService campaignSpendService;
+
+    @Mock
+    private CampaignReachService campaignReachService;
+
+    @InjectMocks
+    private AdEventService adEventService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        adEventService.init();
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    // ==================== AD EVENT TESTS ====================
+
+    @Test
+    void testDrainAndFlush_AddsCountsPerCampaignInOneBatch() {
+        campaign("sp-1", "https://shop.example.com/fireplace");
+        campaign("sp-2", null);
+        adEventService.record("sp-1", EventType.IMPRESSION);
+        adEventService.record("sp-1", EventType.IMPRESSION);
+        adEventService.record("sp-2", EventType.SAVE);
+        adEventService.record("sp-1", EventType.IMPRESSION);
+        adEventService.record("sp-1", EventType.CLICK);
+
+        assertEquals(5, adEventService.drainAndFlush());
+
+        List<Object[]> rows = flushedRows(1).get(0);
+        assertEquals(2, rows.size());
+        assertArrayEquals(new Object[]{3L, 1L, 0L, "sp-1"}, rows.get(0));
+        assertArrayEquals(new Object[]{0L, 0L, 1L, "sp-2"}, rows.get(1));
+        // The same rows go to the current hour's buckets
+        verify(campaignStatsService).addHourly(any(LocalDateTime.class), eq(rows));
+        AdEventStatsDTO stats = adEventService.getStats();
+        assertEquals(5L, stats.getFlushed());
+        assertEquals(0, stats.getRingDepth());
+        // Campaigns are looked up once, then served from the cache
+        verify(sponsoredPinRepository, times(1)).findById("sp-1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDrainAndFlush_HandsViewerSketchesToReach() {
+        campaign("sp-1", null);
+        for (int i = 0; i < 50; i++) {
+            adEventService.record("sp-1", EventType.IMPRESSION, "user-" + (i % 10));
+        }
+        // Clicks and anonymous impressions do not count toward reach
+        adEventService.record("sp-1", EventType.CLICK, "user-99");
+        adEventService.record("sp-1", EventType.IMPRESSION);
+
+        adEventService.drainAndFlush();
+
+        ArgumentCaptor<Map<String, HyperLogLog>> reach = ArgumentCaptor.forClass(Map.class);
+        verify(campaignReachService).add(eq(LocalDate.now()), reach.capture());
+        assertEquals(10L, reach.getValue().get("sp-1").estimate());
+        // Nothing new: nothing handed over
+        adEventService.drainAndFlush();
+        verify(campaignReachService, times(1)).add(any(), any());
+    }
+
+    @Test
+    void testRecord_UnknownCampaignRejectedAndCached() {
+        when(sponsoredPinRepository.findById("missing")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> adEventService.record("missing", EventType.IMPRESSION));
+        assertThrows(ResourceNotFoundException.class, () -> adEventService.record("missing", EventType.SAVE));
+
+        verify(sponsoredPinRepository, times(1)).findById("missing");
+        assertEquals(2L, adEventService.getStats().getRejected());
+        assertEquals(0, adEventService.drainAndFlush());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void testRecord_FullCampaignCacheDropsLeastRecentlyUsed() {
+        ReflectionTestUtils.setField(adEventService, "maxCampaigns", 2);
+        campaign("sp-1", null);
+        campaign("sp-2", null);
+        campaign("sp-3", null);
+
+        adEventService.record("sp-1", EventType.IMPRESSION);
+        adEventService.record("sp-2", EventType.IMPRESSION);
+        adEventService.record("sp-1", EventType.IMPRESSION);
+        // sp-3 is admitted and pushes out sp-2, the least recently used
+        adEventService.record("sp-3", EventType.IMPRESSION);
+        adEventService.record("sp-3", EventType.IMPRESSION);
+        adEventService.record("sp-1", EventType.IMPRESSION);
+        adEventService.record("sp-2", EventType.IMPRESSION);
+
+        verify(sponsoredPinRepository, times(1)).findById("sp-1");
+        verify(sponsoredPinRepository, times(1)).findById("sp-3");
+        verify(sponsoredPinRepository, times(2)).findById("sp-2");
+    }
+
+    @Test
+    void testDrainAndFlush_FailedFlushKeepsCounts() {
+        campaign("sp-1", null);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("lock wait timeout"))
+                .thenReturn(new int[]{1});
+        adEventService.record("sp-1", EventType.IMPRESSION);
+        adEventService.drainAndFlush();
+        adEventService.record("sp-1", EventType.IMPRESSION);
+        adEventService.drainAndFlush();
+
+        List<List<Object[]>> attempts = flushedRows(2);
+        assertArrayEquals(new Object[]{2L, 0L, 0L, "sp-1"}, attempts.get(1).get(0));
+        AdEventStatsDTO stats = adEventService.getStats();
+        assertEquals(1L, stats.getFailedFlushes());
+        assertEquals(2L, stats.getFlushed());
+    }
+
+    @Test
+    void testRecordClick_RedirectsOnlyToHttpLinks() {
+        campaign("sp-1", " https://shop.example.com/fireplace ");
+        campaign("sp-2", "javascript:alert(1)");
+
+        assertEquals("https://shop.example.com/fireplace", adEventService.recordClick("sp-1"));
+        assertThrows(ResourceNotFoundException.class, () -> adEventService.recordClick("sp-2"));
+        assertEquals(1L, adEventService.getStats().getAccepted());
+        verify(campaignSpendService, times(1)).charge("sp-1", EventType.CLICK);
+        verify(campaignSpendService, never()).charge(eq("sp-2"), any());
+    }
+
+    // ==================== RING TESTS ====================
+
+    @Test
+    void testAdEventRing_FullRingRejectsAndDrainsInOrder() {
+        AdEventRing ring = new AdEventRing(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer("key-" + i, i % 3, 100 + i));
+        }
+        assertFalse(ring.offer("key-4", 0, 0));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(4, ring.drain((key, type, viewer) -> drained.add(key + ":" + type + ":" + viewer), 10));
+        assertEquals(List.of("key-0:0:100", "key-1:1:101", "key-2:2:102", "key-3:0:103"), drained);
+        assertTrue(ring.offer("key-4", 0, 0));
+    }
+
+    @Test
+    void testAdEventRing_ConcurrentProducersLoseNothing() throws InterruptedException {
+        AdEventRing ring = new AdEventRing(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int type = p % 3;
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer("campaign", type, 0)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        long[] counts = new long[3];
+        while (done.getCount() > 0 || ring.size() > 0) {
+            ring.drain((key, type, viewer) -> counts[type]++, 256);
+        }
+        pool.shutdown();
+
+        assertEquals((long) producers * perProducer, counts[0] + counts[1] + counts[2]);
+        assertEquals(2L * perProducer, counts[0]);
+    }
+
+    /**
+     * Beacon throughput and per-call latency with 8 producer threads against
+     * the aggregator thread. Drops mean the producers outran the aggregator
+     * (likely on machines with fewer cores than producers). Run with -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkBeaconIngestion() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            campaign("sp-" + i, null);
+        }
+        int producers = 8;
+        int perProducer = 500_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        adEventService.onApplicationReady();
+        long start = System.nanoTime();
+        for (int p = 0; p < producers; p++) {
+            int offset = p;
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    adEventService.record("sp-" + ((i + offset) % 100), EventType.values()[i % 3]);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        adEventService.shutdown();
+        pool.shutdown();
+
+        AdEventStatsDTO stats = adEventService.getStats();
+        long total = (long) producers * perProducer;
+        log.info("{} beacons in {} ms: {} events/s, {} ns per record call, {} dropped",
+                total, TimeUnit.NANOSECONDS.toMillis(elapsed), Math.round(total * 1e9 / elapsed),
+                Math.round((double) elapsed * producers / total), stats.getDropped());
+        assertEquals(total, stats.getAccepted() + stats.getDropped());
+    }
+
+    // Helper methods
+
+    private void campaign(String sponsoredId, String sourceUrl) {
+        SponsoredPin sponsored = new SponsoredPin();
+        sponsored.setSponsoredId(sponsoredId);
+        sponsored.setPinId("pin-" + sponsoredId);
+        Pin pin = new Pin();
+        pin.setPinId("pin-" + sponsoredId);
+        pin.setSourceUrl(sourceUrl);
+        when(sponsoredPinRepository.findById(sponsoredId)).thenReturn(Optional.of(sponsored));
+        when(pinRepository.findById("pin-" + sponsoredId)).thenReturn(Optional.of(pin));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> flushedRows(int flushes) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(flushes)).batchUpdate(anyString(), rows.capture());
+        return rows.getAllValues();
+    }
+}
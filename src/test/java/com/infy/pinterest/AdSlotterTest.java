@@ -0,0 +1,189 @@
+package com.infy.pinterest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.infy.pinterest.entity.Board;
+import com.infy.pinterest.entity.Pin;
+import com.infy.pinterest.entity.SponsoredPin;
+import com.infy.pinterest.entity.User;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.repository.SponsoredPinRepository;
+import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.ActiveCampaignCache;
+import com.infy.pinterest.service.ActiveCampaignCache.AdCandidate;
+import com.infy.pinterest.service.AdSlotter;
+import com.infy.pinterest.service.AdSlotter.Placement;
+import com.infy.pinterest.service.CampaignSpendService;
+
+@ExtendWith(MockitoExtension.class)
+class AdSlotterTest {
+
+    @Mock
+    private SponsoredPinRepository sponsoredPinRepository;
+
+    @Mock
+    private PinRepository pinRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private CampaignSpendService campaignSpendService;
+
+    @InjectMocks
+    private ActiveCampaignCache activeCampaignCache;
+
+    private AdSlotter adSlotter;
+
+    private final LocalDate today = LocalDate.of(2026, 10, 19);
+
+    @BeforeEach
+    void setUp() {
+        // Real cache over the mocked repositories, so the slotter sees what a refresh loaded
+        adSlotter = new AdSlotter(activeCampaignCache, campaignSpendService);
+        ReflectionTestUtils.setField(adSlotter, "positions", "3, 11,19");
+        adSlotter.init();
+    }
+
+    // ==================== SLOTTING TESTS ====================
+
+    @Test
+    void testPlace_FillsSlotsFollowedByOrganicPins() {
+        load(campaign("sp-1", "pin-a", 10, 0), campaign("sp-2", "pin-b", 10, 0), campaign("sp-3", "pin-c", 10, 0));
+        headroom(1.0);
+
+        // Ten organic pins: slots 3 and 11 have organic pins after them, slot 19 does not
+        List<Placement> placements = adSlotter.place(List.of("pin-x"), 10, "user-1", 0, creator -> true);
+
+        assertEquals(2, placements.size());
+        assertEquals(2, placements.get(0).index());
+        assertEquals(10, placements.get(1).index());
+        assertNotEquals(placements.get(0).candidate().pin().getPinId(),
+                placements.get(1).candidate().pin().getPinId());
+        // Same viewer and page, same ads
+        assertEquals(placements, adSlotter.place(List.of("pin-x"), 10, "user-1", 0, creator -> true));
+    }
+
+    @Test
+    void testPlace_SkipsPinsOnPageBlockedCreatorsAndPacedOutCampaigns() {
+        load(campaign("sp-1", "pin-a", 10, 0), campaign("sp-2", "pin-b", 10, 0), campaign("sp-3", "pin-c", 10, 0),
+                campaign("sp-4", "pin-d", 10, 0));
+        when(campaignSpendService.pacingHeadroom(eq("sp-2"), any(LocalDateTime.class))).thenReturn(1.0);
+        when(campaignSpendService.pacingHeadroom(eq("sp-3"), any(LocalDateTime.class))).thenReturn(0.0);
+
+        List<Placement> placements = adSlotter.place(List.of("pin-a"), 40, "user-1", 0,
+                creator -> !creator.equals("creator-sp-4"));
+
+        assertEquals(1, placements.size());
+        assertEquals("sp-2", placements.get(0).candidate().campaign().getSponsoredId());
+    }
+
+    @Test
+    void testPlace_PrefersEngagingCampaignsByWeight() {
+        // About eighteen times the smoothed engagement rate
+        load(campaign("sp-strong", "pin-a", 200, 10_000), campaign("sp-weak", "pin-b", 10, 10_000));
+        headroom(1.0);
+
+        Map<String, Integer> firstSlot = new HashMap<>();
+        for (int viewer = 0; viewer < 2000; viewer++) {
+            Placement first = adSlotter.place(List.of(), 5, "user-" + viewer, 0, creator -> true).get(0);
+            firstSlot.merge(first.candidate().campaign().getSponsoredId(), 1, Integer::sum);
+        }
+
+        assertTrue(firstSlot.get("sp-strong") > 1600, "strong campaign won " + firstSlot);
+        assertTrue(firstSlot.getOrDefault("sp-weak", 0) > 50, "weak campaign never shown " + firstSlot);
+    }
+
+    // ==================== CACHE TESTS ====================
+
+    @Test
+    void testRefresh_KeepsRunningCampaignsWithPublicPins() {
+        SponsoredPin running = campaign("sp-1", "pin-a", 0, 0);
+        SponsoredPin future = campaign("sp-2", "pin-b", 0, 0);
+        future.setStartDate(today.plusDays(1));
+        SponsoredPin privatePin = campaign("sp-3", "pin-c", 0, 0);
+        when(sponsoredPinRepository.findByStatus(SponsoredPin.Status.ACTIVE))
+                .thenReturn(List.of(privatePin, future, running));
+        Pin hidden = pin("pin-c", "sp-3");
+        hidden.setVisibility(Pin.Visibility.PRIVATE);
+        when(pinRepository.findAllById(List.of("pin-c", "pin-a"))).thenReturn(List.of(hidden, pin("pin-a", "sp-1")));
+        User creator = new User();
+        creator.setUserId("creator-sp-1");
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(creator));
+        when(boardRepository.findAllById(anyList())).thenReturn(List.<Board>of());
+
+        activeCampaignCache.refresh(today);
+
+        List<AdCandidate> candidates = activeCampaignCache.getCandidates();
+        assertEquals(1, candidates.size());
+        assertEquals("sp-1", candidates.get(0).campaign().getSponsoredId());
+        assertEquals(creator, candidates.get(0).creator());
+        // Spend accounts are warmed by the refresh, not by feed requests
+        verify(campaignSpendService, times(1)).canServe(anyString(), any(LocalDateTime.class));
+    }
+
+    // Helper methods
+
+    private SponsoredPin campaign(String id, String pinId, int engagements, int impressions) {
+        SponsoredPin campaign = new SponsoredPin();
+        campaign.setSponsoredId(id);
+        campaign.setPinId(pinId);
+        campaign.setStatus(SponsoredPin.Status.ACTIVE);
+        campaign.setClicks(engagements);
+        campaign.setSaves(0);
+        campaign.setImpressions(impressions);
+        campaign.setStartDate(today.minusDays(1));
+        campaign.setEndDate(today.plusDays(1));
+        return campaign;
+    }
+
+    private Pin pin(String pinId, String campaignId) {
+        Pin pin = new Pin();
+        pin.setPinId(pinId);
+        pin.setUserId("creator-" + campaignId);
+        pin.setBoardId("board-" + campaignId);
+        return pin;
+    }
+
+    private void load(SponsoredPin... campaigns) {
+        List<Pin> pins = new ArrayList<>();
+        for (SponsoredPin campaign : campaigns) {
+            pins.add(pin(campaign.getPinId(), campaign.getSponsoredId()));
+        }
+        when(sponsoredPinRepository.findByStatus(SponsoredPin.Status.ACTIVE)).thenReturn(List.of(campaigns));
+        when(pinRepository.findAllById(anyList())).thenReturn(pins);
+        activeCampaignCache.refresh(today);
+    }
+
+    private void headroom(double headroom) {
+        lenient().when(campaignSpendService.pacingHeadroom(anyString(), any(LocalDateTime.class))).thenReturn(headroom);
+    }
+}
@@ -0,0 +1,239 @@
+package com.infy.pinterest;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.infy.pinterest.entity.BlockedUser;
+import com.infy.pinterest.repository.BlockedUserRepository;
+import com.infy.pinterest.service.BlockListCache;
+import com.infy.pinterest.utility.BloomFilter;
+
+@ExtendWith(MockitoExtension.class)
+class BlockListCacheTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockListCacheTest.class);
+
+    @Mock
+    private BlockedUserRepository blockedUserRepository;
+
+    @InjectMocks
+    private BlockListCache blockListCache;
+
+    // ==================== BLOCK LIST CACHE TESTS ====================
+
+    @Test
+    void testVisibleTo_UninvolvedViewerSkipsExactSet() {
+        loadBlocks(block("b1", "user-1", "user-2"));
+
+        Predicate<String> visible = blockListCache.visibleTo("user-3");
+
+        assertTrue(visible.test("user-1"));
+        assertFalse(blockListCache.isBlockedEitherWay("user-3", "user-1"));
+        verify(blockedUserRepository, never()).findBlockedIdsByBlockerId(anyString());
+        verify(blockedUserRepository, never()).existsByBlockerIdAndBlockedId(anyString(), anyString());
+    }
+
+    @Test
+    void testVisibleTo_HidesBothDirections() {
+        loadBlocks(block("b1", "user-1", "user-2"));
+        when(blockedUserRepository.findBlockedIdsByBlockerId("user-2")).thenReturn(List.of());
+        when(blockedUserRepository.findBlockerIdsByBlockedId("user-2")).thenReturn(List.of("user-1"));
+
+        Predicate<String> visible = blockListCache.visibleTo("user-2");
+
+        assertFalse(visible.test("user-1"));
+        assertTrue(visible.test("user-3"));
+        assertTrue(blockListCache.isBlockedEitherWay("user-2", "user-1"));
+        assertFalse(blockListCache.hasBlocked("user-2", "user-1"));
+    }
+
+    @Test
+    void testOnBlockAndUnblock_UpdateCachedSets() {
+        loadBlocks(block("b1", "user-1", "user-2"));
+        when(blockedUserRepository.findBlockedIdsByBlockerId("user-1")).thenReturn(List.of("user-2"));
+        when(blockedUserRepository.findBlockerIdsByBlockedId("user-1")).thenReturn(List.of());
+        assertTrue(blockListCache.hasBlocked("user-1", "user-2"));
+
+        blockListCache.onBlock("user-1", "user-new");
+        blockListCache.onUnblock("user-1", "user-2");
+
+        assertTrue(blockListCache.hasBlocked("user-1", "user-new"));
+        assertFalse(blockListCache.hasBlocked("user-1", "user-2"));
+        verify(blockedUserRepository, times(1)).findBlockedIdsByBlockerId("user-1");
+    }
+
+    @Test
+    void testCatchUp_AppliesBlocksFromOtherNodes() {
+        loadBlocks(block("b1", "user-3", "user-5"));
+        when(blockedUserRepository.findBlockedIdsByBlockerId("user-3")).thenReturn(List.of("user-5"));
+        when(blockedUserRepository.findBlockerIdsByBlockedId("user-3")).thenReturn(List.of());
+        assertTrue(blockListCache.visibleTo("user-3").test("user-4"));
+
+        // Written on another node: no onBlock here
+        when(blockedUserRepository.findBlockedSince(any(LocalDateTime.class)))
+                .thenReturn(List.of(block("b2", "user-3", "user-4")));
+        blockListCache.catchUp();
+
+        assertTrue(blockListCache.isBlockedEitherWay("user-3", "user-4"));
+        assertFalse(blockListCache.visibleTo("user-3").test("user-4"));
+        verify(blockedUserRepository, times(1)).findBlockedIdsByBlockerId("user-3");
+    }
+
+    @Test
+    void testOnBlock_RolledBackBlockIsNotApplied() {
+        loadBlocks(block("b1", "user-1", "user-2"));
+        when(blockedUserRepository.findBlockedIdsByBlockerId("user-1")).thenReturn(List.of("user-2"));
+        when(blockedUserRepository.findBlockerIdsByBlockedId("user-1")).thenReturn(List.of());
+        assertTrue(blockListCache.hasBlocked("user-1", "user-2"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            blockListCache.onBlock("user-1", "user-new");
+            blockListCache.onUnblock("user-1", "user-2");
+        } finally {
+            // Rolled back: afterCommit never runs
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(blockListCache.hasBlocked("user-1", "user-new"));
+        assertTrue(blockListCache.hasBlocked("user-1", "user-2"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            blockListCache.onBlock("user-1", "user-new");
+            assertFalse(blockListCache.hasBlocked("user-1", "user-new"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(blockListCache.hasBlocked("user-1", "user-new"));
+    }
+
+    @Test
+    void testHasBlocked_ReloadsSetAfterTtl() {
+        loadBlocks(block("b1", "user-1", "user-2"));
+        // Unblocked on another node between the two loads
+        when(blockedUserRepository.findBlockedIdsByBlockerId("user-1")).thenReturn(List.of("user-2"), List.of());
+        when(blockedUserRepository.findBlockerIdsByBlockedId("user-1")).thenReturn(List.of());
+        assertTrue(blockListCache.hasBlocked("user-1", "user-2"));
+
+        ReflectionTestUtils.setField(blockListCache, "ttlMinutes", 0L);
+
+        assertFalse(blockListCache.hasBlocked("user-1", "user-2"));
+    }
+
+    @Test
+    void testHasBlocked_FallsBackToDatabaseBeforeLoad() {
+        when(blockedUserRepository.existsByBlockerIdAndBlockedId("user-1", "user-2")).thenReturn(true);
+
+        assertFalse(blockListCache.isReady());
+        assertTrue(blockListCache.hasBlocked("user-1", "user-2"));
+    }
+
+    // ==================== BLOOM FILTER TESTS ====================
+
+    @Test
+    void testBloomFilter_NoFalseNegativesAndLowFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user-" + i));
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    /**
+     * Per-item filter cost on a 100,000-pin stream for a viewer with no
+     * blocks and for one with 1,000. Run with -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkStreamingFilter() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+        for (int i = 0; i < 1_000_000; i++) {
+            filter.add("involved-" + i);
+        }
+        String[] creators = new String[100_000];
+        for (int i = 0; i < creators.length; i++) {
+            creators[i] = "creator-" + (i % 20_000);
+        }
+
+        long start = System.nanoTime();
+        int prefiltered = 0;
+        for (int round = 0; round < 100; round++) {
+            if (!filter.mightContain("viewer-" + round)) {
+                prefiltered++;
+            }
+        }
+        long lookupNanos = (System.nanoTime() - start) / 100;
+
+        Set<String> blocked = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            blocked.add("creator-" + i * 7);
+        }
+        int kept = 0;
+        start = System.nanoTime();
+        for (int round = 0; round < 20; round++) {
+            for (String creator : creators) {
+                if (!blocked.contains(creator)) {
+                    kept++;
+                }
+            }
+        }
+        double perItem = (System.nanoTime() - start) / (20.0 * creators.length);
+
+        log.info("viewer prefilter {} ns ({}/100 skipped), exact filter {} ns/item",
+                lookupNanos, prefiltered, String.format("%.1f", perItem));
+        assertTrue(kept > 0);
+    }
+
+    // Helper methods
+
+    private void loadBlocks(BlockedUser... blocks) {
+        when(blockedUserRepository.count()).thenReturn((long) blocks.length);
+        when(blockedUserRepository.findBlocksAfter(eq(""), any(Pageable.class))).thenReturn(List.of(blocks));
+        when(blockedUserRepository.findBlocksAfter(eq(blocks[blocks.length - 1].getBlockId()), any(Pageable.class)))
+                .thenReturn(List.of());
+        blockListCache.load();
+    }
+
+    private BlockedUser block(String blockId, String blockerId, String blockedId) {
+        BlockedUser block = new BlockedUser();
+        block.setBlockId(blockId);
+        block.setBlockerId(blockerId);
+        block.setBlockedId(blockedId);
+        block.setBlockedAt(LocalDateTime.now());
+        return block;
+    }
+}
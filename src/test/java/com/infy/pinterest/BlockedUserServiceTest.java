@@ -17,7 +17,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
@@ -35,6 +34,7 @@ import com.infy.pinterest.entity.BlockedUser;
 import com.infy.pinterest.entity.User;
 import com.infy.pinterest.repository.BlockedUserRepository;
 import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.BlockListCache;
 import com.infy.pinterest.service.BlockedUserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,7 +46,6 @@ class BlockedUserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private BlockedUserService blockedUserService;
 
     private User blocker;
@@ -55,6 +54,10 @@ class BlockedUserServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Real cache before its filter loads: block checks still go to the repository
+        blockedUserService = new BlockedUserService(blockedUserRepository, userRepository,
+                new BlockListCache(blockedUserRepository));
+
         // Setup blocker user
         blocker = new User();
         blocker.setUserId("blocker-123");
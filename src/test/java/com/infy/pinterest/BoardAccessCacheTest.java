@@ -0,0 +1,148 @@
+package com.infy.pinterest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.infy.pinterest.entity.Board;
+import com.infy.pinterest.entity.BoardCollaborator;
+import com.infy.pinterest.entity.Invitation;
+import com.infy.pinterest.repository.BoardCollaboratorRepository;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.service.BoardAccessCache;
+
+@ExtendWith(MockitoExtension.class)
+class BoardAccessCacheTest {
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private BoardCollaboratorRepository collaboratorRepository;
+
+    @InjectMocks
+    private BoardAccessCache boardAccessCache;
+
+    // ==================== BOARD ACCESS CACHE TESTS ====================
+
+    @Test
+    void testCanEdit_OwnerAndEditCollaboratorsFromOneLoad() {
+        when(boardRepository.findById("board-1")).thenReturn(Optional.of(board("board-1", "owner")));
+        when(collaboratorRepository.findByBoardId("board-1")).thenReturn(List.of(
+                collaborator("board-1", "editor", Invitation.Permission.EDIT),
+                collaborator("board-1", "viewer", Invitation.Permission.VIEW)));
+
+        assertTrue(boardAccessCache.canEdit("owner", "board-1"));
+        assertTrue(boardAccessCache.canEdit("editor", "board-1"));
+        assertFalse(boardAccessCache.canEdit("viewer", "board-1"));
+        assertFalse(boardAccessCache.canEdit("stranger", "board-1"));
+        assertTrue(boardAccessCache.getBoardAccess("board-1").canView("viewer"));
+
+        verify(boardRepository, times(1)).findById("board-1");
+        verify(collaboratorRepository, times(1)).findByBoardId("board-1");
+    }
+
+    @Test
+    void testCanEdit_MissingBoard() {
+        when(boardRepository.findById("board-missing")).thenReturn(Optional.empty());
+
+        assertNull(boardAccessCache.getBoardAccess("board-missing"));
+        assertFalse(boardAccessCache.canEdit("owner", "board-missing"));
+    }
+
+    @Test
+    void testOnCollaboratorChanged_ReloadsBoardAndUser() {
+        BoardCollaborator editor = collaborator("board-1", "editor", Invitation.Permission.EDIT);
+        when(boardRepository.findById("board-1")).thenReturn(Optional.of(board("board-1", "owner")));
+        when(collaboratorRepository.findByBoardId("board-1")).thenReturn(List.of(), List.of(editor));
+        when(collaboratorRepository.findByUserId("editor")).thenReturn(List.of(), List.of(editor));
+
+        assertFalse(boardAccessCache.canEdit("editor", "board-1"));
+        assertEquals(List.of(), boardAccessCache.getCollaborativeBoardIds("editor"));
+
+        boardAccessCache.onCollaboratorChanged("board-1", "editor");
+
+        assertTrue(boardAccessCache.canEdit("editor", "board-1"));
+        assertEquals(List.of("board-1"), boardAccessCache.getCollaborativeBoardIds("editor"));
+    }
+
+    @Test
+    void testOnBoardDeleted_EvictsCollaboratorBoardLists() {
+        BoardCollaborator editor = collaborator("board-1", "editor", Invitation.Permission.EDIT);
+        when(boardRepository.findById("board-1")).thenReturn(Optional.of(board("board-1", "owner")));
+        when(collaboratorRepository.findByBoardId("board-1")).thenReturn(List.of(editor));
+        when(collaboratorRepository.findByUserId("editor")).thenReturn(List.of(editor), List.of());
+
+        assertEquals(List.of("board-1"), boardAccessCache.getCollaborativeBoardIds("editor"));
+
+        boardAccessCache.onBoardDeleted("board-1");
+
+        assertEquals(List.of(), boardAccessCache.getCollaborativeBoardIds("editor"));
+    }
+
+    @Test
+    void testGetBoardAccess_KeepsRecentlyUsedBoardsPastTheLimit() {
+        ReflectionTestUtils.setField(boardAccessCache, "maxEntries", 2);
+        for (String boardId : List.of("board-1", "board-2", "board-3")) {
+            when(boardRepository.findById(boardId)).thenReturn(Optional.of(board(boardId, "owner")));
+        }
+
+        boardAccessCache.getBoardAccess("board-1");
+        boardAccessCache.getBoardAccess("board-2");
+        boardAccessCache.getBoardAccess("board-1");
+        // New boards are still admitted; board-2 was used least recently
+        boardAccessCache.getBoardAccess("board-3");
+        boardAccessCache.getBoardAccess("board-1");
+        boardAccessCache.getBoardAccess("board-3");
+        boardAccessCache.getBoardAccess("board-2");
+
+        verify(boardRepository, times(1)).findById("board-1");
+        verify(boardRepository, times(2)).findById("board-2");
+        verify(boardRepository, times(1)).findById("board-3");
+    }
+
+    @Test
+    void testGetBoardAccess_ReloadsAfterTtl() {
+        Board board = board("board-1", "owner");
+        when(boardRepository.findById("board-1")).thenReturn(Optional.of(board));
+        BoardCollaborator editor = collaborator("board-1", "editor", Invitation.Permission.EDIT);
+        // Accepted on another node: no eviction reaches this one
+        when(collaboratorRepository.findByBoardId("board-1")).thenReturn(List.of(), List.of(editor));
+        assertFalse(boardAccessCache.canEdit("editor", "board-1"));
+
+        ReflectionTestUtils.setField(boardAccessCache, "ttlMinutes", 0L);
+
+        assertTrue(boardAccessCache.canEdit("editor", "board-1"));
+    }
+
+    // Helper methods
+
+    private Board board(String boardId, String ownerId) {
+        Board board = new Board();
+        board.setBoardId(boardId);
+        board.setUserId(ownerId);
+        board.setVisibility(Board.Visibility.PRIVATE);
+        return board;
+    }
+
+    private BoardCollaborator collaborator(String boardId, String userId, Invitation.Permission permission) {
+        BoardCollaborator collaborator = new BoardCollaborator();
+        collaborator.setBoardId(boardId);
+        collaborator.setUserId(userId);
+        collaborator.setPermission(permission);
+        return collaborator;
+    }
+}
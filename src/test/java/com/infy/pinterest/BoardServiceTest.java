@@ -47,6 +47,7 @@ import com.infy.pinterest.repository.PinLikeRepository;
 import com.infy.pinterest.repository.PinRepository;
 import com.infy.pinterest.repository.SavedPinRepository;
 import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.BoardAccessCache;
 import com.infy.pinterest.service.BoardService;
 
 @ExtendWith(MockitoExtension.class)
@@ -73,6 +74,9 @@ class BoardServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private BoardAccessCache boardAccessCache;
+
     @InjectMocks
     private BoardService boardService;
 
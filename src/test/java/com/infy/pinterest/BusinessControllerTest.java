@@ -8,6 +8,7 @@ import com.infy.pinterest.exception.BusinessProfileNotFoundException;
 import com.infy.pinterest.exception.PinNotFoundException;
 import com.infy.pinterest.exception.ResourceNotFoundException;
 import com.infy.pinterest.service.BusinessService;
+import com.infy.pinterest.service.CampaignStatsService.Granularity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -648,7 +649,7 @@ class BusinessControllerTest {
     @DisplayName("GET /business/analytics/{campaignId} - Success")
     void testGetCampaignAnalytics_Success() throws Exception {
         // Arrange
-        when(businessService.getCampaignAnalytics(SPONSORED_ID))
+        when(businessService.getCampaignAnalytics(SPONSORED_ID, null, null, Granularity.DAY))
                 .thenReturn(campaignAnalyticsDTO);
 
         // Act & Assert
@@ -661,14 +662,34 @@ class BusinessControllerTest {
                 .andExpect(jsonPath("$.data.campaignName").value("Summer Campaign"))
                 .andExpect(jsonPath("$.data.metrics.impressions").value(10000));
 
-        verify(businessService, times(1)).getCampaignAnalytics(SPONSORED_ID);
+        verify(businessService, times(1)).getCampaignAnalytics(SPONSORED_ID, null, null, Granularity.DAY);
+    }
+
+    @Test
+    @DisplayName("GET /business/analytics/{campaignId} - Success - Hourly Range")
+    void testGetCampaignAnalytics_HourlyRange() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2026, 10, 18);
+        LocalDate to = LocalDate.of(2026, 10, 19);
+        when(businessService.getCampaignAnalytics(SPONSORED_ID, from, to, Granularity.HOUR))
+                .thenReturn(campaignAnalyticsDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/business/analytics/{campaignId}", SPONSORED_ID)
+                        .param("from", "2026-10-18")
+                        .param("to", "2026-10-19")
+                        .param("granularity", "HOUR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.campaignId").value(SPONSORED_ID));
+
+        verify(businessService, times(1)).getCampaignAnalytics(SPONSORED_ID, from, to, Granularity.HOUR);
     }
 
     @Test
     @DisplayName("GET /business/analytics/{campaignId} - Failure - Campaign Not Found")
     void testGetCampaignAnalytics_NotFound() throws Exception {
         // Arrange
-        when(businessService.getCampaignAnalytics(SPONSORED_ID))
+        when(businessService.getCampaignAnalytics(SPONSORED_ID, null, null, Granularity.DAY))
                 .thenThrow(new ResourceNotFoundException("Campaign not found"));
 
         // Act & Assert
@@ -678,7 +699,7 @@ class BusinessControllerTest {
                 .andExpect(jsonPath("$.status").value("error"))
                 .andExpect(jsonPath("$.message").value("Campaign not found"));
 
-        verify(businessService, times(1)).getCampaignAnalytics(SPONSORED_ID);
+        verify(businessService, times(1)).getCampaignAnalytics(SPONSORED_ID, null, null, Granularity.DAY);
     }
 
     // ==================== EDGE CASES & INTEGRATION TESTS ====================
@@ -1502,7 +1523,7 @@ class BusinessControllerTest {
         detailedMetrics.setClickThroughRate(5.0);
         campaignAnalyticsDTO.setMetrics(detailedMetrics);
         
-        when(businessService.getCampaignAnalytics(SPONSORED_ID))
+        when(businessService.getCampaignAnalytics(SPONSORED_ID, null, null, Granularity.DAY))
                 .thenReturn(campaignAnalyticsDTO);
 
         // Act & Assert
@@ -1513,7 +1534,7 @@ class BusinessControllerTest {
                 .andExpect(jsonPath("$.data.metrics.clicks").value(2500))
                 .andExpect(jsonPath("$.data.metrics.clickThroughRate").value(5.0));
 
-        verify(businessService, times(1)).getCampaignAnalytics(SPONSORED_ID);
+        verify(businessService, times(1)).getCampaignAnalytics(SPONSORED_ID, null, null, Granularity.DAY);
     }
 
     @Test
@@ -1527,7 +1548,7 @@ class BusinessControllerTest {
         doNothing().when(businessService).addPinToShowcase(SHOWCASE_ID, PIN_ID, USER_ID, 1);
         when(businessService.createSponsoredPin(eq(BUSINESS_ID), any(SponsoredPinCreateDTO.class)))
                 .thenReturn(sponsoredPinResponseDTO);
-        when(businessService.getCampaignAnalytics(SPONSORED_ID))
+        when(businessService.getCampaignAnalytics(SPONSORED_ID, null, null, Granularity.DAY))
                 .thenReturn(campaignAnalyticsDTO);
 
         // Create Business Profile
@@ -1565,7 +1586,7 @@ class BusinessControllerTest {
         verify(businessService, times(1)).createShowcase(eq(BUSINESS_ID), any());
         verify(businessService, times(1)).addPinToShowcase(SHOWCASE_ID, PIN_ID, USER_ID, 1);
         verify(businessService, times(1)).createSponsoredPin(eq(BUSINESS_ID), any());
-        verify(businessService, times(1)).getCampaignAnalytics(SPONSORED_ID);
+        verify(businessService, times(1)).getCampaignAnalytics(SPONSORED_ID, null, null, Granularity.DAY);
     }
 
     @Test
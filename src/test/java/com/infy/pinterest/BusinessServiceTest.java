@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -17,6 +18,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -30,6 +33,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import com.infy.pinterest.dto.BoardSummaryDTO;
 import com.infy.pinterest.dto.BusinessProfileCreateDTO;
 import com.infy.pinterest.dto.BusinessProfileResponseDTO;
 import com.infy.pinterest.dto.BusinessProfileUpdateDTO;
@@ -39,10 +43,12 @@ import com.infy.pinterest.dto.BusinessShowcaseUpdateDTO;
 import com.infy.pinterest.dto.CampaignAnalyticsDTO;
 import com.infy.pinterest.dto.MetricsDTO;
 import com.infy.pinterest.dto.PaginatedResponse;
+import com.infy.pinterest.dto.PinSummaryDTO;
 import com.infy.pinterest.dto.SpendingDTO;
 import com.infy.pinterest.dto.SponsoredPinCreateDTO;
 import com.infy.pinterest.dto.SponsoredPinResponseDTO;
 import com.infy.pinterest.dto.SponsoredPinUpdateDTO;
+import com.infy.pinterest.dto.TimelineDataDTO;
 import com.infy.pinterest.entity.Board;
 import com.infy.pinterest.entity.BusinessProfile;
 import com.infy.pinterest.entity.BusinessShowcase;
@@ -62,7 +68,13 @@ import com.infy.pinterest.repository.PinRepository;
 import com.infy.pinterest.repository.ShowcasePinRepository;
 import com.infy.pinterest.repository.SponsoredPinRepository;
 import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.ActiveCampaignCache;
+import com.infy.pinterest.service.ActiveCampaignCache.AdCandidate;
+import com.infy.pinterest.service.CampaignLifecycleService;
+import com.infy.pinterest.service.CampaignReachService;
 import com.infy.pinterest.service.BusinessService;
+import com.infy.pinterest.service.CampaignStatsService;
+import com.infy.pinterest.service.CampaignStatsService.Granularity;
 
 @ExtendWith(MockitoExtension.class)
 class BusinessServiceTest {
@@ -88,6 +100,18 @@ class BusinessServiceTest {
     @Mock
     private BoardRepository boardRepository;
 
+    @Mock
+    private CampaignStatsService campaignStatsService;
+
+    @Mock
+    private ActiveCampaignCache activeCampaignCache;
+
+    @Mock
+    private CampaignLifecycleService campaignLifecycleService;
+
+    @Mock
+    private CampaignReachService campaignReachService;
+
     @InjectMocks
     private BusinessService businessService;
 
@@ -194,7 +218,7 @@ class BusinessServiceTest {
         when(userRepository.findById("user-123")).thenReturn(Optional.of(user));
         when(businessProfileRepository.save(any(BusinessProfile.class))).thenReturn(businessProfile);
         when(userRepository.save(any(User.class))).thenReturn(user);
-        when(boardRepository.findByUserId("user-123")).thenReturn(new ArrayList<>());
+        when(boardRepository.findSummariesByUserId(eq("user-123"), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
         BusinessProfileResponseDTO result = businessService.createBusinessProfile("user-123", createDTO);
@@ -253,7 +277,7 @@ class BusinessServiceTest {
         when(userRepository.findById("user-123")).thenReturn(Optional.of(user));
         when(businessProfileRepository.save(any(BusinessProfile.class))).thenReturn(businessProfile);
         when(userRepository.save(any(User.class))).thenReturn(user);
-        when(boardRepository.findByUserId("user-123")).thenReturn(new ArrayList<>());
+        when(boardRepository.findSummariesByUserId(eq("user-123"), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
         businessService.createBusinessProfile("user-123", createDTO);
@@ -269,7 +293,8 @@ class BusinessServiceTest {
     void testGetBusinessProfile_Success() {
         // Arrange
         when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
-        when(boardRepository.findByUserId("user-123")).thenReturn(Arrays.asList(board));
+        when(boardRepository.findSummariesByUserId(eq("user-123"), any(Pageable.class)))
+            .thenReturn(List.of(new BoardSummaryDTO("board-123", "Test Board")));
 
         // Act
         BusinessProfileResponseDTO result = businessService.getBusinessProfile("business-123");
@@ -305,7 +330,9 @@ class BusinessServiceTest {
         board2.setName("Second Board");
 
         when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
-        when(boardRepository.findByUserId("user-123")).thenReturn(Arrays.asList(board, board2));
+        when(boardRepository.findSummariesByUserId(eq("user-123"), any(Pageable.class))).thenReturn(Arrays.asList(
+            new BoardSummaryDTO(board.getBoardId(), board.getName()),
+            new BoardSummaryDTO(board2.getBoardId(), board2.getName())));
 
         // Act
         BusinessProfileResponseDTO result = businessService.getBusinessProfile("business-123");
@@ -314,6 +341,58 @@ class BusinessServiceTest {
         assertEquals(2, result.getBoards().size());
         assertEquals("board-123", result.getBoards().get(0).getBoardId());
         assertEquals("Test Board", result.getBoards().get(0).getBoardName());
+        assertEquals(2L, result.getTotalBoards());
+        verify(boardRepository, never()).countByUserId(anyString());
+    }
+
+    @Test
+    void testGetBusinessProfile_ListsNewestBoardsAndCountsAll() {
+        // Arrange
+        List<BoardSummaryDTO> newest = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            newest.add(new BoardSummaryDTO("board-" + i, "Board " + i));
+        }
+        when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
+        when(boardRepository.findSummariesByUserId("user-123", PageRequest.of(0, 12))).thenReturn(newest);
+        when(boardRepository.countByUserId("user-123")).thenReturn(3000L);
+
+        // Act
+        BusinessProfileResponseDTO result = businessService.getBusinessProfile("business-123");
+
+        // Assert
+        assertEquals(12, result.getBoards().size());
+        assertEquals(3000L, result.getTotalBoards());
+    }
+
+    // ==================== GET ALL BUSINESSES TESTS ====================
+
+    @Test
+    void testGetAllBusinesses_LoadsBoardsForPageInOneQuery() {
+        // Arrange
+        BusinessProfile other = new BusinessProfile();
+        other.setBusinessId("business-456");
+        other.setUserId("user-456");
+        other.setBusinessName("Other Business");
+        Page<BusinessProfile> businessPage =
+            new PageImpl<>(Arrays.asList(businessProfile, other), PageRequest.of(0, 10), 2);
+
+        when(businessProfileRepository.findAll(any(Pageable.class))).thenReturn(businessPage);
+        when(boardRepository.findTopSummariesByUserIds(List.of("user-123", "user-456"), 12))
+            .thenReturn(List.<Object[]>of(
+                new Object[]{"user-123", "board-2", "Newest", 3000L},
+                new Object[]{"user-123", "board-1", "Older", 3000L}));
+
+        // Act
+        PaginatedResponse<BusinessProfileResponseDTO> result = businessService.getAllBusinesses(0, 10);
+
+        // Assert
+        BusinessProfileResponseDTO first = result.getData().get(0);
+        assertEquals(List.of("board-2", "board-1"),
+            first.getBoards().stream().map(BoardSummaryDTO::getBoardId).toList());
+        assertEquals(3000L, first.getTotalBoards());
+        assertTrue(result.getData().get(1).getBoards().isEmpty());
+        assertEquals(0L, result.getData().get(1).getTotalBoards());
+        verify(boardRepository, never()).findSummariesByUserId(anyString(), any(Pageable.class));
     }
 
     // ==================== CREATE SHOWCASE TESTS ====================
@@ -328,7 +407,7 @@ class BusinessServiceTest {
 
         when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
         when(showcaseRepository.save(any(BusinessShowcase.class))).thenReturn(showcase);
-        when(showcasePinRepository.findByShowcaseIdOrderByDisplayOrderAsc("showcase-123"))
+        when(showcasePinRepository.findByShowcaseIdInOrderByDisplayOrderAsc(List.of("showcase-123")))
             .thenReturn(new ArrayList<>());
 
         // Act
@@ -366,7 +445,7 @@ class BusinessServiceTest {
 
         when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
         when(showcaseRepository.save(any(BusinessShowcase.class))).thenReturn(showcase);
-        when(showcasePinRepository.findByShowcaseIdOrderByDisplayOrderAsc("showcase-123"))
+        when(showcasePinRepository.findByShowcaseIdInOrderByDisplayOrderAsc(List.of("showcase-123")))
             .thenReturn(new ArrayList<>());
 
         // Act
@@ -387,8 +466,8 @@ class BusinessServiceTest {
         Page<BusinessShowcase> showcasePage = new PageImpl<>(showcases, PageRequest.of(0, 10), 1);
 
         when(showcaseRepository.findByIsActive(eq(true), any(Pageable.class))).thenReturn(showcasePage);
-        when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
-        when(showcasePinRepository.findByShowcaseIdOrderByDisplayOrderAsc("showcase-123"))
+        when(businessProfileRepository.findAllById(List.of("business-123"))).thenReturn(List.of(businessProfile));
+        when(showcasePinRepository.findByShowcaseIdInOrderByDisplayOrderAsc(List.of("showcase-123")))
             .thenReturn(new ArrayList<>());
 
         // Act
@@ -423,8 +502,8 @@ class BusinessServiceTest {
         Page<BusinessShowcase> showcasePage = new PageImpl<>(showcases, PageRequest.of(1, 5), 20);
 
         when(showcaseRepository.findByIsActive(eq(true), any(Pageable.class))).thenReturn(showcasePage);
-        when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
-        when(showcasePinRepository.findByShowcaseIdOrderByDisplayOrderAsc("showcase-123"))
+        when(businessProfileRepository.findAllById(List.of("business-123"))).thenReturn(List.of(businessProfile));
+        when(showcasePinRepository.findByShowcaseIdInOrderByDisplayOrderAsc(List.of("showcase-123")))
             .thenReturn(new ArrayList<>());
 
         // Act
@@ -436,6 +515,40 @@ class BusinessServiceTest {
         assertEquals(20L, result.getPagination().getTotalItems());
     }
 
+    @Test
+    void testGetActiveShowcases_HydratesPageWithGroupedQueries() {
+        // Arrange
+        BusinessShowcase second = new BusinessShowcase();
+        second.setShowcaseId("showcase-456");
+        second.setBusinessId("business-123");
+        second.setTitle("Second Showcase");
+        Page<BusinessShowcase> showcasePage =
+            new PageImpl<>(Arrays.asList(showcase, second), PageRequest.of(0, 10), 2);
+
+        when(showcaseRepository.findByIsActive(eq(true), any(Pageable.class))).thenReturn(showcasePage);
+        when(businessProfileRepository.findAllById(List.of("business-123"))).thenReturn(List.of(businessProfile));
+        when(showcasePinRepository.findByShowcaseIdInOrderByDisplayOrderAsc(List.of("showcase-123", "showcase-456")))
+            .thenReturn(Arrays.asList(
+                linkedPin("showcase-456", "pin-2", 0),
+                linkedPin("showcase-123", "pin-3", 0),
+                linkedPin("showcase-123", "pin-deleted", 1),
+                linkedPin("showcase-123", "pin-2", 2)));
+        when(pinRepository.findSummariesByPinIds(Set.of("pin-2", "pin-3", "pin-deleted")))
+            .thenReturn(Arrays.asList(new PinSummaryDTO("pin-2", "Two", null), new PinSummaryDTO("pin-3", "Three", null)));
+
+        // Act
+        PaginatedResponse<BusinessShowcaseResponseDTO> result = businessService.getActiveShowcases(0, 10);
+
+        // Assert
+        assertEquals(List.of("pin-3", "pin-2"),
+            result.getData().get(0).getPins().stream().map(PinSummaryDTO::getPinId).toList());
+        assertEquals(List.of("pin-2"),
+            result.getData().get(1).getPins().stream().map(PinSummaryDTO::getPinId).toList());
+        assertEquals("Test Business", result.getData().get(1).getBusinessName());
+        verify(businessProfileRepository, never()).findById(anyString());
+        verify(pinRepository, never()).findById(anyString());
+    }
+
     // ==================== CREATE SPONSORED PIN TESTS ====================
 
     @Test
@@ -526,6 +639,29 @@ class BusinessServiceTest {
         verify(sponsoredPinRepository).save(any(SponsoredPin.class));
     }
 
+    @Test
+    void testCreateSponsoredPin_FutureStartIsPendingAndTracked() {
+        // Arrange
+        SponsoredPinCreateDTO createDTO = new SponsoredPinCreateDTO();
+        createDTO.setPinId("pin-123");
+        createDTO.setCampaignName("Test Campaign");
+        createDTO.setBudget(new BigDecimal("1000.00"));
+        createDTO.setStartDate(LocalDate.now().plusDays(3));
+        createDTO.setEndDate(LocalDate.now().plusDays(30));
+
+        when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
+        when(pinRepository.findById("pin-123")).thenReturn(Optional.of(pin));
+        when(sponsoredPinRepository.save(any(SponsoredPin.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pinRepository.save(any(Pin.class))).thenReturn(pin);
+
+        // Act
+        SponsoredPinResponseDTO result = businessService.createSponsoredPin("business-123", createDTO);
+
+        // Assert
+        assertEquals("PENDING", result.getStatus());
+        verify(campaignLifecycleService).track(argThat(saved -> saved.getStatus() == Status.PENDING));
+    }
+
     // ==================== GET SPONSORED PINS TESTS ====================
 
     @Test
@@ -536,7 +672,8 @@ class BusinessServiceTest {
 
         when(sponsoredPinRepository.findByBusinessId(eq("business-123"), any(Pageable.class)))
             .thenReturn(sponsoredPage);
-        when(pinRepository.findById("pin-123")).thenReturn(Optional.of(pin));
+        when(pinRepository.findSummariesByPinIds(Set.of("pin-123")))
+            .thenReturn(List.of(new PinSummaryDTO("pin-123", "Test Pin", pin.getImageUrl())));
 
         // Act
         PaginatedResponse<SponsoredPinResponseDTO> result = businessService.getSponsoredPins("business-123", 0, 10);
@@ -570,7 +707,8 @@ class BusinessServiceTest {
 
         when(sponsoredPinRepository.findByBusinessId(eq("business-123"), any(Pageable.class)))
             .thenReturn(sponsoredPage);
-        when(pinRepository.findById("pin-123")).thenReturn(Optional.of(pin));
+        when(pinRepository.findSummariesByPinIds(Set.of("pin-123")))
+            .thenReturn(List.of(new PinSummaryDTO("pin-123", "Test Pin", pin.getImageUrl())));
 
         // Act
         PaginatedResponse<SponsoredPinResponseDTO> result = businessService.getSponsoredPins("business-123", 0, 10);
@@ -587,12 +725,8 @@ class BusinessServiceTest {
     @Test
     void testGetActiveSponsoredFeed_Success() {
         // Arrange
-        List<SponsoredPin> sponsoredPins = Arrays.asList(sponsoredPin);
-        Page<SponsoredPin> sponsoredPage = new PageImpl<>(sponsoredPins, PageRequest.of(0, 10), 1);
-
-        when(sponsoredPinRepository.findActiveSponsoredPins(any(LocalDate.class), any(Pageable.class)))
-            .thenReturn(sponsoredPage);
-        when(pinRepository.findById("pin-123")).thenReturn(Optional.of(pin));
+        when(activeCampaignCache.getCandidates())
+            .thenReturn(List.of(new AdCandidate(sponsoredPin, pin, user, null)));
 
         // Act
         PaginatedResponse<SponsoredPinResponseDTO> result = businessService.getActiveSponsoredFeed(0, 10);
@@ -601,23 +735,29 @@ class BusinessServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getData().size());
         assertEquals("ACTIVE", result.getData().get(0).getStatus());
+        assertEquals("pin-123", result.getData().get(0).getPin().getPinId());
     }
 
     @Test
-    void testGetActiveSponsoredFeed_OnlyActiveWithinDateRange() {
+    void testGetActiveSponsoredFeed_PagesFromCacheWithoutQueries() {
         // Arrange
-        List<SponsoredPin> sponsoredPins = Arrays.asList(sponsoredPin);
-        Page<SponsoredPin> sponsoredPage = new PageImpl<>(sponsoredPins, PageRequest.of(0, 10), 1);
-
-        when(sponsoredPinRepository.findActiveSponsoredPins(any(LocalDate.class), any(Pageable.class)))
-            .thenReturn(sponsoredPage);
-        when(pinRepository.findById("pin-123")).thenReturn(Optional.of(pin));
+        List<AdCandidate> active = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            active.add(new AdCandidate(sponsoredPin, pin, user, null));
+        }
+        when(activeCampaignCache.getCandidates()).thenReturn(active);
 
         // Act
-        businessService.getActiveSponsoredFeed(0, 10);
+        PaginatedResponse<SponsoredPinResponseDTO> result = businessService.getActiveSponsoredFeed(2, 10);
 
         // Assert
-        verify(sponsoredPinRepository).findActiveSponsoredPins(any(LocalDate.class), any(Pageable.class));
+        assertEquals(5, result.getData().size());
+        assertEquals(3, result.getPagination().getTotalPages());
+        assertEquals(25L, result.getPagination().getTotalItems());
+        assertFalse(result.getPagination().getHasNext());
+        assertTrue(result.getPagination().getHasPrevious());
+        verify(sponsoredPinRepository, never()).findActiveSponsoredPins(any(LocalDate.class), any(Pageable.class));
+        verify(pinRepository, never()).findById(anyString());
     }
 
     // ==================== GET CAMPAIGN ANALYTICS TESTS ====================
@@ -717,7 +857,7 @@ class BusinessServiceTest {
 
         when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
         when(businessProfileRepository.save(any(BusinessProfile.class))).thenReturn(businessProfile);
-        when(boardRepository.findByUserId("user-123")).thenReturn(new ArrayList<>());
+        when(boardRepository.findSummariesByUserId(eq("user-123"), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
         BusinessProfileResponseDTO result = businessService.updateBusinessProfile("business-123", "user-123", updateDTO);
@@ -765,7 +905,7 @@ class BusinessServiceTest {
 
         when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
         when(businessProfileRepository.save(any(BusinessProfile.class))).thenReturn(businessProfile);
-        when(boardRepository.findByUserId("user-123")).thenReturn(new ArrayList<>());
+        when(boardRepository.findSummariesByUserId(eq("user-123"), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
         businessService.updateBusinessProfile("business-123", "user-123", updateDTO);
@@ -787,7 +927,7 @@ class BusinessServiceTest {
         when(showcaseRepository.findById("showcase-123")).thenReturn(Optional.of(showcase));
         when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
         when(showcaseRepository.save(any(BusinessShowcase.class))).thenReturn(showcase);
-        when(showcasePinRepository.findByShowcaseIdOrderByDisplayOrderAsc("showcase-123"))
+        when(showcasePinRepository.findByShowcaseIdInOrderByDisplayOrderAsc(List.of("showcase-123")))
             .thenReturn(new ArrayList<>());
 
         // Act
@@ -1114,7 +1254,7 @@ class BusinessServiceTest {
         when(userRepository.findById("user-123")).thenReturn(Optional.of(user));
         when(businessProfileRepository.save(any(BusinessProfile.class))).thenReturn(businessProfile);
         when(userRepository.save(any(User.class))).thenReturn(user);
-        when(boardRepository.findByUserId("user-123")).thenReturn(new ArrayList<>());
+        when(boardRepository.findSummariesByUserId(eq("user-123"), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
         BusinessProfileResponseDTO result = businessService.createBusinessProfile("user-123", createDTO);
@@ -1141,14 +1281,52 @@ class BusinessServiceTest {
     @Test
     void testGetCampaignAnalytics_WithTimeline() {
         // Arrange
+        LocalDate today = LocalDate.now();
+        List<TimelineDataDTO> timeline = Arrays.asList(
+                new TimelineDataDTO(today.minusDays(1), null, 4500, 230, 62),
+                new TimelineDataDTO(today, null, 4000, 200, 55));
         when(sponsoredPinRepository.findById("sponsored-123")).thenReturn(Optional.of(sponsoredPin));
+        when(campaignStatsService.getTimeline("sponsored-123", today.minusDays(29), today, Granularity.DAY))
+                .thenReturn(timeline);
 
         // Act
         CampaignAnalyticsDTO result = businessService.getCampaignAnalytics("sponsored-123");
 
+        // Assert: last 30 days by day unless asked otherwise
+        assertEquals(timeline, result.getTimeline());
+    }
+
+    @Test
+    void testGetCampaignAnalytics_WithRequestedRange() {
+        // Arrange
+        LocalDate from = LocalDate.of(2026, 10, 18);
+        LocalDate to = LocalDate.of(2026, 10, 19);
+        when(sponsoredPinRepository.findById("sponsored-123")).thenReturn(Optional.of(sponsoredPin));
+
+        // Act
+        businessService.getCampaignAnalytics("sponsored-123", from, to, Granularity.HOUR);
+
         // Assert
-        assertNotNull(result.getTimeline());
-        assertEquals(3, result.getTimeline().size());
+        verify(campaignStatsService).getTimeline("sponsored-123", from, to, Granularity.HOUR);
+    }
+
+    @Test
+    void testGetCampaignAnalytics_ReachAndFrequencyOverRange() {
+        // Arrange
+        LocalDate from = LocalDate.of(2026, 10, 18);
+        LocalDate to = LocalDate.of(2026, 10, 19);
+        when(sponsoredPinRepository.findById("sponsored-123")).thenReturn(Optional.of(sponsoredPin));
+        when(campaignStatsService.getTimeline("sponsored-123", from, to, Granularity.DAY)).thenReturn(List.of(
+            new TimelineDataDTO(from, null, 600, 10, 2),
+            new TimelineDataDTO(to, null, 400, 5, 1)));
+        when(campaignReachService.getReach("sponsored-123", from, to)).thenReturn(250L);
+
+        // Act
+        CampaignAnalyticsDTO result = businessService.getCampaignAnalytics("sponsored-123", from, to, Granularity.DAY);
+
+        // Assert
+        assertEquals(250L, result.getReach());
+        assertEquals(4.0, result.getFrequency(), 0.001);
     }
 
     @Test
@@ -1164,7 +1342,7 @@ class BusinessServiceTest {
 
         when(businessProfileRepository.findById("business-123")).thenReturn(Optional.of(businessProfile));
         when(businessProfileRepository.save(any(BusinessProfile.class))).thenReturn(businessProfile);
-        when(boardRepository.findByUserId("user-123")).thenReturn(new ArrayList<>());
+        when(boardRepository.findSummariesByUserId(eq("user-123"), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
         businessService.updateBusinessProfile("business-123", "user-123", updateDTO);
@@ -1183,7 +1361,7 @@ class BusinessServiceTest {
         when(showcasePinRepository.findByShowcaseIdOrderByDisplayOrderAsc("showcase-123"))
             .thenReturn(Arrays.asList(showcasePin));
         when(pinRepository.findById("pin-123")).thenReturn(Optional.of(pin));
-        when(boardRepository.findByUserId("user-123")).thenReturn(new ArrayList<>());
+        when(boardRepository.findSummariesByUserId(eq("user-123"), any(Pageable.class))).thenReturn(new ArrayList<>());
 
         // Act
         BusinessProfileResponseDTO profileResult = businessService.getBusinessProfile("business-123");
@@ -1200,7 +1378,8 @@ class BusinessServiceTest {
 
         when(sponsoredPinRepository.findByBusinessId(eq("business-123"), any(Pageable.class)))
             .thenReturn(sponsoredPage);
-        when(pinRepository.findById("pin-123")).thenReturn(Optional.of(pin));
+        when(pinRepository.findSummariesByPinIds(Set.of("pin-123")))
+            .thenReturn(List.of(new PinSummaryDTO("pin-123", "Test Pin", pin.getImageUrl())));
 
         // Act
         PaginatedResponse<SponsoredPinResponseDTO> result = businessService.getSponsoredPins("business-123", 2, 5);
@@ -1231,4 +1410,14 @@ class BusinessServiceTest {
         // Assert
         verify(showcasePinRepository).save(any(ShowcasePin.class));
     }
+
+    // Helper methods
+
+    private ShowcasePin linkedPin(String showcaseId, String pinId, int displayOrder) {
+        ShowcasePin link = new ShowcasePin();
+        link.setShowcaseId(showcaseId);
+        link.setPinId(pinId);
+        link.setDisplayOrder(displayOrder);
+        return link;
+    }
 }
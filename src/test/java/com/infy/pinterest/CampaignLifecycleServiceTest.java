@@ -0,0 +1,168 @@
+package com.infy.pinterest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.infy.pinterest.entity.SponsoredPin;
+import com.infy.pinterest.repository.SponsoredPinRepository;
+import com.infy.pinterest.service.ActiveCampaignCache;
+import com.infy.pinterest.service.CampaignLifecycleService;
+import com.infy.pinterest.service.SchedulerLease;
+import com.infy.pinterest.utility.TimerWheel;
+
+@ExtendWith(MockitoExtension.class)
+class CampaignLifecycleServiceTest {
+
+    @Mock
+    private SponsoredPinRepository sponsoredPinRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    @Mock
+    private ActiveCampaignCache activeCampaignCache;
+
+    @InjectMocks
+    private CampaignLifecycleService lifecycleService;
+
+    private final LocalDate today = LocalDate.of(2026, 10, 19);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(schedulerLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+    }
+
+    // ==================== TIMER WHEEL TESTS ====================
+
+    @Test
+    void testTimerWheel_FiresOnlyDueEntriesAcrossTurns() {
+        TimerWheel<String> wheel = new TimerWheel<>(1000, 8, 0);
+        wheel.schedule("past", -5_000);
+        wheel.schedule("soon", 2_500);
+        // Same slot as "soon", one turn later
+        wheel.schedule("next-turn", 10_500);
+        wheel.schedule("far", 100_000);
+
+        assertEquals(List.of("past"), wheel.advance(0));
+        assertEquals(List.of(), wheel.advance(2_999));
+        assertEquals(List.of("soon"), wheel.advance(3_000));
+        // A long pause still fires everything due, once
+        assertEquals(List.of("next-turn"), wheel.advance(50_000));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("far"), wheel.advance(100_000));
+        assertEquals(0, wheel.size());
+    }
+
+    // ==================== LIFECYCLE TESTS ====================
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTick_StartsAndCompletesCampaignsAtMidnight() {
+        when(sponsoredPinRepository.findByStatusAndStartDateLessThanEqual(eq(SponsoredPin.Status.PENDING), any()))
+                .thenReturn(List.of(campaign("sp-start", SponsoredPin.Status.PENDING, today.plusDays(1), today.plusDays(9))));
+        when(sponsoredPinRepository.findByStatusNotAndEndDateLessThan(eq(SponsoredPin.Status.COMPLETED), any()))
+                .thenReturn(List.of(campaign("sp-end", SponsoredPin.Status.ACTIVE, today.minusDays(9), today)));
+        when(jdbcTemplate.batchUpdate(contains("SET status = 'ACTIVE'"), anyList())).thenReturn(new int[]{1});
+        when(jdbcTemplate.batchUpdate(contains("SET status = 'COMPLETED'"), anyList())).thenReturn(new int[]{1});
+
+        // Loaded just before midnight: nothing due yet
+        assertEquals(0, lifecycleService.tick(today.atTime(23, 58)));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        assertEquals(2, lifecycleService.tick(today.plusDays(1).atTime(0, 0, 1)));
+
+        ArgumentCaptor<List<Object[]>> starts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("SET status = 'ACTIVE'"), starts.capture());
+        assertArrayEquals(new Object[]{"sp-start", today.plusDays(1), today.plusDays(1)}, starts.getValue().get(0));
+        ArgumentCaptor<List<Object[]>> pins = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("is_sponsored = FALSE"), pins.capture());
+        assertArrayEquals(new Object[]{"sp-end"}, pins.getValue().get(0));
+        verify(activeCampaignCache).refresh(today.plusDays(1));
+        // Not fired twice
+        assertEquals(0, lifecycleService.tick(today.plusDays(1).atTime(0, 0, 2)));
+    }
+
+    @Test
+    void testTick_StaleTransitionKeepsPinSponsored() {
+        // Campaign was extended on another node after loading: the update matches no row
+        when(sponsoredPinRepository.findByStatusNotAndEndDateLessThan(eq(SponsoredPin.Status.COMPLETED), any()))
+                .thenReturn(List.of(campaign("sp-end", SponsoredPin.Status.ACTIVE, today.minusDays(9), today.minusDays(1))));
+        when(jdbcTemplate.batchUpdate(contains("SET status = 'COMPLETED'"), anyList())).thenReturn(new int[]{0});
+
+        assertEquals(0, lifecycleService.tick(today.atTime(9, 0)));
+
+        verify(jdbcTemplate, never()).batchUpdate(contains("is_sponsored"), anyList());
+        verifyNoInteractions(activeCampaignCache);
+    }
+
+    @Test
+    void testTick_OnlyLeaseHolderRuns() {
+        when(schedulerLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        assertEquals(0, lifecycleService.tick(today.atTime(9, 0)));
+
+        verifyNoInteractions(sponsoredPinRepository, jdbcTemplate);
+    }
+
+    @Test
+    void testTrack_SchedulesCampaignCreatedAfterLoad() {
+        assertEquals(0, lifecycleService.tick(today.atTime(23, 58)));
+        when(jdbcTemplate.batchUpdate(contains("SET status = 'ACTIVE'"), anyList())).thenReturn(new int[]{1});
+
+        lifecycleService.track(campaign("sp-new", SponsoredPin.Status.PENDING, today.plusDays(1), today.plusDays(5)));
+        lifecycleService.track(campaign("sp-later", SponsoredPin.Status.PENDING, today.plusDays(7), today.plusDays(9)));
+
+        assertEquals(1, lifecycleService.tick(today.plusDays(1).atTime(0, 0)));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    // Helper methods
+
+    private SponsoredPin campaign(String id, SponsoredPin.Status status, LocalDate start, LocalDate end) {
+        SponsoredPin sponsored = new SponsoredPin();
+        sponsored.setSponsoredId(id);
+        sponsored.setPinId("pin-" + id);
+        sponsored.setStatus(status);
+        sponsored.setStartDate(start);
+        sponsored.setEndDate(end);
+        return sponsored;
+    }
+}
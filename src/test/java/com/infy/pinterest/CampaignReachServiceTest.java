@@ -0,0 +1,170 @@
+package com.infy.pinterest;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.infy.pinterest.service.CampaignReachService;
+import com.infy.pinterest.utility.HyperLogLog;
+
+@ExtendWith(MockitoExtension.class)
+class CampaignReachServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CampaignReachService reachService;
+
+    private final LocalDate today = LocalDate.of(2026, 10, 19);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    // ==================== SKETCH TESTS ====================
+
+    @Test
+    void testHyperLogLog_EstimatesWithinErrorAndMergesAsUnion() {
+        HyperLogLog monday = sketch(0, 60_000);
+        HyperLogLog tuesday = sketch(40_000, 100_000);
+
+        assertWithin(60_000, monday.estimate(), 0.03);
+        assertWithin(60_000, tuesday.estimate(), 0.03);
+        // Overlapping viewers are counted once
+        monday.merge(tuesday);
+        assertWithin(100_000, monday.estimate(), 0.03);
+        assertEquals(0L, new HyperLogLog().estimate());
+        assertEquals(3L, sketch(0, 3).estimate());
+    }
+
+    @Test
+    void testHyperLogLog_SerializesToTwelveKilobytes() {
+        HyperLogLog sketch = sketch(0, 5_000);
+
+        byte[] bytes = sketch.toBytes();
+
+        assertEquals(12_289, bytes.length);
+        assertEquals(sketch.estimate(), HyperLogLog.fromBytes(bytes).estimate());
+        assertArrayEquals(bytes, HyperLogLog.fromBytes(bytes).toBytes());
+        assertTrue(HyperLogLog.fromBytes(new HyperLogLog().toBytes()).isEmpty());
+    }
+
+    // ==================== REACH TESTS ====================
+
+    @Test
+    void testGetReach_UnionsStoredDaysAndUnsavedViewers() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBytes(1)).thenReturn(sketch(0, 1_000).toBytes(), sketch(500, 1_500).toBytes());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM campaign_reach_daily"), any(RowCallbackHandler.class),
+                eq("sp-1"), eq(Date.valueOf(today.minusDays(6))), eq(Date.valueOf(today)));
+        reachService.add(today, viewers("sp-1", sketch(1_400, 2_000)));
+        // Outside the range
+        reachService.add(today.minusDays(30), viewers("sp-1", sketch(5_000, 9_000)));
+
+        assertWithin(2_000, reachService.getReach("sp-1", today.minusDays(6), today), 0.03);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_MergesIntoLockedRows() throws SQLException {
+        reachService.add(today, viewers("sp-1", sketch(0, 100)));
+        reachService.add(today, viewers("sp-1", sketch(50, 300)));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("sp-1");
+        when(rs.getBytes(2)).thenReturn(sketch(250, 400).toBytes());
+        doAnswer(invocation -> {
+            ((RowCallbackHandler) invocation.getArgument(1)).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(contains("FOR UPDATE"), any(RowCallbackHandler.class), any(Object[].class));
+
+        reachService.flush();
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT IGNORE INTO campaign_reach_daily"), anyList());
+        verify(jdbcTemplate).batchUpdate(contains("SET sketch = ?"), updates.capture());
+        Object[] row = updates.getValue().get(0);
+        assertWithin(400, HyperLogLog.fromBytes((byte[]) row[0]).estimate(), 0.03);
+        assertEquals("sp-1", row[1]);
+        // Written once
+        reachService.flush();
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testFlush_FailedWriteKeepsViewers() {
+        reachService.add(today, viewers("sp-1", sketch(0, 100)));
+        when(jdbcTemplate.batchUpdate(contains("INSERT IGNORE"), anyList()))
+                .thenThrow(new QueryTimeoutException("lock wait timeout"));
+
+        reachService.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(contains("SET sketch"), anyList());
+        assertWithin(100, reachService.getReach("sp-1", today, today), 0.03);
+    }
+
+    // Helper methods
+
+    private static HyperLogLog sketch(int fromUser, int toUser) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = fromUser; i < toUser; i++) {
+            sketch.add(HyperLogLog.hash("user-" + i));
+        }
+        return sketch;
+    }
+
+    private static Map<String, HyperLogLog> viewers(String campaignId, HyperLogLog sketch) {
+        Map<String, HyperLogLog> viewers = new HashMap<>();
+        viewers.put(campaignId, sketch);
+        return viewers;
+    }
+
+    private static void assertWithin(long expected, long actual, double relativeError) {
+        assertTrue(Math.abs(actual - expected) <= expected * relativeError,
+                "estimate " + actual + " is not within " + relativeError + " of " + expected);
+    }
+}
@@ -0,0 +1,255 @@
+package com.infy.pinterest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.infy.pinterest.entity.SponsoredPin;
+import com.infy.pinterest.repository.SponsoredPinRepository;
+import com.infy.pinterest.service.AdEventService.EventType;
+import com.infy.pinterest.service.CampaignSpendService;
+
+@ExtendWith(MockitoExtension.class)
+class CampaignSpendServiceTest {
+
+    @Mock
+    private SponsoredPinRepository sponsoredPinRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CampaignSpendService spendService;
+
+    private final LocalDate today = LocalDate.of(2026, 10, 19);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    // ==================== CHARGE TESTS ====================
+
+    @Test
+    void testCharge_ConcurrentChargesNeverPassTheBudget() throws InterruptedException {
+        // 100.00 covers exactly 400 clicks at 0.25
+        campaign("sp-1", "100.00", "0.00", today.minusDays(10), today.plusDays(10));
+        int threads = 8;
+        int attemptsPerThread = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicLong accepted = new AtomicLong();
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (spendService.charge("sp-1", i % 10 == 0 ? EventType.CLICK : EventType.IMPRESSION)) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        long spent = spendService.getSpentMicros("sp-1");
+        long budget = 100 * CampaignSpendService.MICROS_PER_UNIT;
+        assertTrue(spent <= budget, "spent " + spent + " passed the budget");
+        // Stopped only once not even an impression (0.002) fits
+        assertTrue(budget - spent < 2_000, "stopped early at " + spent);
+        assertEquals(accepted.get(), spendService.getChargedEvents());
+        assertEquals((long) threads * attemptsPerThread, accepted.get() + spendService.getUnbilledEvents());
+        assertFalse(spendService.canServe("sp-1", today.atTime(12, 0)));
+    }
+
+    @Test
+    void testCharge_PausedCampaignIsNotCharged() {
+        SponsoredPin sponsored = campaign("sp-1", "100.00", "0.00", today.minusDays(1), today.plusDays(1));
+        sponsored.setStatus(SponsoredPin.Status.PAUSED);
+
+        assertFalse(spendService.charge("sp-1", EventType.CLICK));
+        assertTrue(spendService.charge("sp-1", EventType.SAVE));
+        assertEquals(0L, spendService.getSpentMicros("sp-1"));
+    }
+
+    @Test
+    void testCharge_EndedCampaignIsReadOncePerTtl() {
+        SponsoredPin sponsored = campaign("sp-1", "100.00", "0.00", today.minusDays(5), today.minusDays(1));
+        sponsored.setStatus(SponsoredPin.Status.COMPLETED);
+
+        assertFalse(spendService.charge("sp-1", EventType.CLICK));
+        assertFalse(spendService.charge("sp-1", EventType.IMPRESSION));
+        assertFalse(spendService.canServe("sp-1", today.atTime(12, 0)));
+        verify(sponsoredPinRepository, times(1)).findById("sp-1");
+
+        ReflectionTestUtils.setField(spendService, "endedTtlMinutes", 0L);
+        assertFalse(spendService.charge("sp-1", EventType.CLICK));
+        verify(sponsoredPinRepository, times(2)).findById("sp-1");
+        assertEquals(0L, spendService.getSpentMicros("sp-1"));
+    }
+
+    // ==================== PACING TESTS ====================
+
+    @Test
+    void testCanServe_PacesSpendAcrossTheFlight() {
+        // Ten-day flight with 100.00: about 10.00 a day
+        campaign("sp-1", "100.00", "0.00", today, today.plusDays(9));
+        for (int i = 0; i < 40; i++) {
+            spendService.charge("sp-1", EventType.CLICK);
+        }
+
+        // 10.00 spent: too much seven hours in, fine just past the first day
+        assertFalse(spendService.canServe("sp-1", today.atTime(6, 0)));
+        assertTrue(spendService.canServe("sp-1", today.plusDays(1).atTime(0, 30)));
+        assertFalse(spendService.canServe("sp-1", today.minusDays(1).atTime(12, 0)));
+    }
+
+    // ==================== RECONCILE TESTS ====================
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReconcile_WritesWholeCentsAndStopsExhaustedCampaigns() {
+        campaign("sp-1", "100.00", "10.00", today.minusDays(5), today.plusDays(5));
+        campaign("sp-2", "0.50", "0.00", today.minusDays(5), today);
+        // 1.25 plus a 0.002 remainder for sp-1, the whole budget for sp-2
+        for (int i = 0; i < 5; i++) {
+            spendService.charge("sp-1", EventType.CLICK);
+        }
+        spendService.charge("sp-1", EventType.IMPRESSION);
+        spendService.charge("sp-2", EventType.CLICK);
+        spendService.charge("sp-2", EventType.CLICK);
+        SponsoredPin completed = sponsored("sp-2", "0.50", "0.50", today.minusDays(5), today);
+        completed.setStatus(SponsoredPin.Status.COMPLETED);
+        when(sponsoredPinRepository.findAllById(any())).thenReturn(List.of(
+                sponsored("sp-1", "100.00", "11.25", today.minusDays(5), today.plusDays(5)), completed));
+
+        spendService.reconcile(today);
+
+        ArgumentCaptor<List<Object[]>> spend = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("SET spent = spent + ?"), spend.capture());
+        assertArrayEquals(new Object[]{new BigDecimal("1.25"), "sp-1"}, spend.getValue().get(0));
+        assertArrayEquals(new Object[]{new BigDecimal("0.50"), "sp-2"}, spend.getValue().get(1));
+        ArgumentCaptor<List<Object[]>> status = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("SET status = ?"), status.capture());
+        // Out of budget on the last day of the flight
+        assertArrayEquals(new Object[]{"COMPLETED", "sp-2"}, status.getValue().get(0));
+        assertEquals(1, status.getValue().size());
+        // The sub-cent remainder survives the reload
+        assertEquals(11_252_000L, spendService.getSpentMicros("sp-1"));
+        // Known to have ended, so not read again
+        assertFalse(spendService.charge("sp-2", EventType.IMPRESSION));
+        verify(sponsoredPinRepository, times(1)).findById("sp-2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReconcile_DropsEndedCampaignsOnceTheirSpendIsWritten() {
+        campaign("sp-1", "100.00", "0.00", today.minusDays(5), today.plusDays(5));
+        SponsoredPin ending = campaign("sp-2", "100.00", "0.00", today.minusDays(5), today.minusDays(1));
+        ending.setStatus(SponsoredPin.Status.PAUSED);
+        campaign("sp-3", "100.00", "0.00", today.minusDays(5), today.plusDays(5));
+        spendService.charge("sp-1", EventType.CLICK);
+        spendService.canServe("sp-2", today.atTime(9, 0));
+        spendService.charge("sp-3", EventType.CLICK);
+        SponsoredPin completed = sponsored("sp-3", "100.00", "0.25", today.minusDays(5), today.plusDays(5));
+        completed.setStatus(SponsoredPin.Status.COMPLETED);
+        when(sponsoredPinRepository.findAllById(any())).thenReturn(List.of(
+                sponsored("sp-1", "100.00", "0.25", today.minusDays(5), today.plusDays(5)), ending, completed));
+
+        spendService.reconcile(today);
+
+        // sp-3's final spend was written before its account went
+        ArgumentCaptor<List<Object[]>> spend = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("SET spent = spent + ?"), spend.capture());
+        assertArrayEquals(new Object[]{new BigDecimal("0.25"), "sp-3"}, spend.getValue().get(1));
+        assertEquals(0L, spendService.getSpentMicros("sp-2"));
+        assertEquals(0L, spendService.getSpentMicros("sp-3"));
+
+        // Only the running campaign is reloaded from now on
+        spendService.reconcile(today);
+        ArgumentCaptor<Iterable<String>> reloaded = ArgumentCaptor.forClass(Iterable.class);
+        verify(sponsoredPinRepository, times(2)).findAllById(reloaded.capture());
+        assertIterableEquals(List.of("sp-1"), reloaded.getValue());
+    }
+
+    @Test
+    void testReconcile_PicksUpOtherNodesSpendAndBudgetChanges() {
+        campaign("sp-1", "10.00", "0.00", today.minusDays(5), today.plusDays(5));
+        spendService.charge("sp-1", EventType.CLICK);
+        // Another node charged 9.00 and the advertiser doubled the budget
+        when(sponsoredPinRepository.findAllById(any())).thenReturn(List.of(
+                sponsored("sp-1", "20.00", "9.25", today.minusDays(5), today.plusDays(5))));
+
+        spendService.reconcile(today);
+
+        assertEquals(9_250_000L, spendService.getSpentMicros("sp-1"));
+        verify(jdbcTemplate, times(1)).batchUpdate(contains("SET spent"), anyList());
+        assertTrue(spendService.charge("sp-1", EventType.CLICK));
+    }
+
+    // Helper methods
+
+    private SponsoredPin campaign(String id, String budget, String spent, LocalDate start, LocalDate end) {
+        SponsoredPin sponsored = sponsored(id, budget, spent, start, end);
+        when(sponsoredPinRepository.findById(id)).thenReturn(Optional.of(sponsored));
+        return sponsored;
+    }
+
+    private SponsoredPin sponsored(String id, String budget, String spent, LocalDate start, LocalDate end) {
+        SponsoredPin sponsored = new SponsoredPin();
+        sponsored.setSponsoredId(id);
+        sponsored.setBudget(new BigDecimal(budget));
+        sponsored.setSpent(new BigDecimal(spent));
+        sponsored.setStatus(SponsoredPin.Status.ACTIVE);
+        sponsored.setStartDate(start);
+        sponsored.setEndDate(end);
+        return sponsored;
+    }
+}
@@ -0,0 +1,157 @@
+package com.infy.pinterest;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.infy.pinterest.dto.TimelineDataDTO;
+import com.infy.pinterest.service.CampaignStatsService;
+import com.infy.pinterest.service.CampaignStatsService.Granularity;
+
+@ExtendWith(MockitoExtension.class)
+class CampaignStatsServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private CampaignStatsService campaignStatsService;
+
+    // ==================== HOURLY BUCKET TESTS ====================
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddHourly_UpsertsOneRowPerCampaignForTheHour() {
+        campaignStatsService.addHourly(LocalDateTime.of(2026, 10, 19, 14, 37, 12),
+                List.<Object[]>of(new Object[]{3L, 1L, 0L, "sp-1"}));
+
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("campaign_stats_hourly"), args.capture());
+        assertArrayEquals(new Object[]{"sp-1", Timestamp.valueOf("2026-10-19 14:00:00"), 3L, 1L, 0L},
+                args.getValue().get(0));
+    }
+
+    // ==================== TIMELINE TESTS ====================
+
+    @Test
+    void testGetTimeline_DailyFillsGapsWithZeroBuckets() throws SQLException {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        rows("campaign_stats_daily", row(Date.valueOf("2026-01-02"), 500, 20, 4));
+
+        List<TimelineDataDTO> timeline = campaignStatsService.getTimeline("sp-1", from, from.plusDays(2),
+                Granularity.DAY);
+
+        assertEquals(3, timeline.size());
+        assertEquals(new TimelineDataDTO(from, null, 0, 0, 0), timeline.get(0));
+        assertEquals(new TimelineDataDTO(from.plusDays(1), null, 500, 20, 4), timeline.get(1));
+        // A past range never touches the hourly table
+        verify(jdbcTemplate, never()).query(contains("campaign_stats_hourly"), any(RowCallbackHandler.class),
+                any(Object[].class));
+    }
+
+    @Test
+    void testGetTimeline_HourlyReturnsEveryHour() throws SQLException {
+        LocalDate day = LocalDate.of(2026, 10, 19);
+        rows("campaign_stats_hourly", row(Timestamp.valueOf("2026-10-19 09:00:00"), 120, 6, 1));
+
+        List<TimelineDataDTO> timeline = campaignStatsService.getTimeline("sp-1", day, day, Granularity.HOUR);
+
+        assertEquals(24, timeline.size());
+        assertEquals(new TimelineDataDTO(day, 9, 120, 6, 1), timeline.get(9));
+        assertEquals(0, timeline.get(10).getImpressions());
+    }
+
+    @Test
+    void testGetTimeline_RejectsBadRanges() {
+        LocalDate day = LocalDate.of(2026, 10, 19);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> campaignStatsService.getTimeline("sp-1", day, day.minusDays(1), Granularity.DAY));
+        assertThrows(IllegalArgumentException.class,
+                () -> campaignStatsService.getTimeline("sp-1", day.minusYears(2), day, Granularity.DAY));
+        assertThrows(IllegalArgumentException.class,
+                () -> campaignStatsService.getTimeline("sp-1", day.minusDays(30), day, Granularity.HOUR));
+    }
+
+    // ==================== ROLLUP TESTS ====================
+
+    @Test
+    void testRollup_CoversAllHourlyRowsThenOnlyFromYesterday() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 14, 1);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class)))
+                .thenReturn(Timestamp.valueOf("2026-10-10 22:00:00"));
+
+        campaignStatsService.rollup(now);
+        campaignStatsService.rollup(now.plusHours(1));
+
+        verify(jdbcTemplate).update(contains("INSERT INTO campaign_stats_daily"),
+                eq(Timestamp.valueOf("2026-10-10 00:00:00")), eq(Timestamp.valueOf("2026-10-19 14:00:00")));
+        verify(jdbcTemplate).update(contains("INSERT INTO campaign_stats_daily"),
+                eq(Timestamp.valueOf("2026-10-18 00:00:00")), eq(Timestamp.valueOf("2026-10-19 15:00:00")));
+        // Hourly rows are kept for seven days
+        ArgumentCaptor<Object> cutoff = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(2)).update(contains("DELETE FROM campaign_stats_hourly"),
+                cutoff.capture());
+        assertEquals(Timestamp.valueOf("2026-10-12 00:00:00"), cutoff.getValue());
+    }
+
+    @Test
+    void testRollup_NothingToDoWithoutHourlyRows() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class))).thenReturn(null);
+
+        campaignStatsService.rollup(LocalDateTime.of(2026, 10, 19, 14, 1));
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    // Helper methods
+
+    private Object[] row(Object bucket, int impressions, int clicks, int saves) {
+        return new Object[]{bucket, impressions, clicks, saves};
+    }
+
+    private void rows(String table, Object[]... rows) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                if (row[0] instanceof Timestamp timestamp) {
+                    when(rs.getTimestamp(1)).thenReturn(timestamp);
+                } else {
+                    when(rs.getDate(1)).thenReturn((Date) row[0]);
+                }
+                when(rs.getInt(2)).thenReturn((Integer) row[1]);
+                when(rs.getInt(3)).thenReturn((Integer) row[2]);
+                when(rs.getInt(4)).thenReturn((Integer) row[3]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains(table), any(RowCallbackHandler.class), any(Object[].class));
+    }
+}
@@ -0,0 +1,197 @@
+package com.infy.pinterest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.infy.pinterest.entity.Follow;
+import com.infy.pinterest.repository.FollowRepository;
+import com.infy.pinterest.service.FollowGraph;
+import com.infy.pinterest.utility.CompactDigraph;
+import com.infy.pinterest.utility.IntList;
+
+@ExtendWith(MockitoExtension.class)
+class FollowGraphTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowGraphTest.class);
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @InjectMocks
+    private FollowGraph followGraph;
+
+    // ==================== FOLLOW GRAPH TESTS ====================
+
+    @Test
+    void testLoad_AnswersFromMemory() {
+        loadGraph(new Follow("f1", "user-1", "user-2", null), new Follow("f2", "user-2", "user-1", null),
+                new Follow("f3", "user-3", "user-1", null));
+
+        assertTrue(followGraph.isFollowing("user-1", "user-2"));
+        assertFalse(followGraph.isFollowing("user-1", "user-3"));
+        assertFalse(followGraph.isFollowing("user-1", "user-unknown"));
+        assertEquals(List.of("user-2", "user-3"), followGraph.getFollowers("user-1"));
+        verify(followRepository, never()).existsByFollowerIdAndFollowingId(anyString(), anyString());
+    }
+
+    @Test
+    void testFollowAndUnfollow_UpdateLoadedGraph() {
+        loadGraph(new Follow("f1", "user-1", "user-2", null));
+
+        followGraph.addFollow("user-1", "user-new");
+        followGraph.removeFollow("user-1", "user-2");
+
+        assertTrue(followGraph.isFollowing("user-1", "user-new"));
+        assertFalse(followGraph.isFollowing("user-1", "user-2"));
+        assertEquals(List.of("user-new"), followGraph.getFollowing("user-1"));
+        assertEquals(List.of(), followGraph.getFollowers("user-2"));
+    }
+
+    @Test
+    void testAddFollow_AppliedOnlyAfterCommit() {
+        loadGraph(new Follow("f1", "user-1", "user-2", null));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            followGraph.addFollow("user-1", "user-3");
+            assertFalse(followGraph.isFollowing("user-1", "user-3"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(followGraph.isFollowing("user-1", "user-3"));
+
+        // A rolled-back unfollow never reaches the graph
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            followGraph.removeFollow("user-1", "user-2");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(followGraph.isFollowing("user-1", "user-2"));
+    }
+
+    @Test
+    void testScheduledReload_PicksUpChangesFromOtherNodes() {
+        loadGraph(new Follow("f1", "user-1", "user-2", null));
+
+        // Another node unfollowed user-2 and followed user-3
+        when(followRepository.findFollowsAfter(eq(""), any(Pageable.class)))
+                .thenReturn(List.of(new Follow("f2", "user-1", "user-3", null)));
+        when(followRepository.findFollowsAfter(eq("f2"), any(Pageable.class))).thenReturn(List.of());
+        followGraph.scheduledReload();
+
+        assertFalse(followGraph.isFollowing("user-1", "user-2"));
+        assertTrue(followGraph.isFollowing("user-1", "user-3"));
+    }
+
+    @Test
+    void testIsFollowing_FallsBackToDatabaseBeforeLoad() {
+        when(followRepository.existsByFollowerIdAndFollowingId("user-1", "user-2")).thenReturn(true);
+
+        assertFalse(followGraph.isReady());
+        assertTrue(followGraph.isFollowing("user-1", "user-2"));
+    }
+
+    // ==================== COMPACT DIGRAPH TESTS ====================
+
+    @Test
+    void testCompactDigraph_DeltaMergesWithBase() {
+        IntList sources = new IntList();
+        IntList targets = new IntList();
+        int[][] edges = {{0, 2}, {0, 1}, {1, 2}, {2, 0}};
+        for (int[] edge : edges) {
+            sources.add(edge[0]);
+            targets.add(edge[1]);
+        }
+        CompactDigraph graph = CompactDigraph.build(3, sources, targets);
+
+        assertTrue(graph.addEdge(3, 0));
+        assertFalse(graph.addEdge(0, 1));
+        assertTrue(graph.removeEdge(0, 2));
+        assertFalse(graph.removeEdge(1, 0));
+
+        assertArrayEquals(new int[]{1}, graph.outNeighbors(0));
+        assertArrayEquals(new int[]{2, 3}, graph.inNeighbors(0));
+        assertEquals(4L, graph.edgeCount());
+
+        CompactDigraph compacted = graph.compact(4);
+        assertEquals(0, compacted.deltaSize());
+        assertTrue(compacted.hasEdge(3, 0));
+        assertFalse(compacted.hasEdge(0, 2));
+        assertArrayEquals(new int[]{2, 3}, compacted.inNeighbors(0));
+    }
+
+    /**
+     * isFollowing latency and bytes per edge for a one-million-user,
+     * ten-million-edge graph. Run with -Dbenchmark=true (needs about 1 GB of heap).
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkEdgeLookupAndMemory() {
+        int users = 1_000_000;
+        int edges = 10_000_000;
+        Random random = new Random(11);
+        IntList sources = new IntList(edges);
+        IntList targets = new IntList(edges);
+        Set<Long> seen = new HashSet<>();
+        while (sources.size() < edges) {
+            int from = random.nextInt(users);
+            int to = random.nextInt(users);
+            if (from != to && seen.add(((long) from << 32) | to)) {
+                sources.add(from);
+                targets.add(to);
+            }
+        }
+
+        CompactDigraph graph = CompactDigraph.build(users, sources, targets);
+
+        int lookups = 10_000_000;
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            int edge = random.nextInt(edges);
+            if (graph.hasEdge(sources.get(edge), random.nextBoolean() ? targets.get(edge) : random.nextInt(users))) {
+                hits++;
+            }
+        }
+        long nanos = (System.nanoTime() - start) / lookups;
+
+        log.info("{} edges: {} bytes/edge, hasEdge {} ns",
+                graph.edgeCount(), String.format("%.1f", (double) graph.estimatedBytes() / edges), nanos);
+        assertTrue(hits >= lookups / 3);
+    }
+
+    // Helper methods
+
+    private void loadGraph(Follow... follows) {
+        when(followRepository.findFollowsAfter(eq(""), any(Pageable.class))).thenReturn(List.of(follows));
+        when(followRepository.findFollowsAfter(eq(follows[follows.length - 1].getFollowId()), any(Pageable.class)))
+                .thenReturn(List.of());
+        followGraph.load();
+    }
+}
@@ -0,0 +1,153 @@
+package com.infy.pinterest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.infy.pinterest.dto.FacetCountDTO;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.FullTextSearchEngine;
+import com.infy.pinterest.service.SearchHits;
+
+@ExtendWith(MockitoExtension.class)
+class FullTextSearchEngineTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FullTextSearchEngineTest.class);
+
+    @Mock
+    private PinRepository pinRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private FullTextSearchEngine fullTextSearchEngine;
+
+    // ==================== PIN SEARCH TESTS ====================
+
+    @Test
+    void testSearchPins_BuildsBooleanQueryAndFacets() {
+        // Arrange
+        when(pinRepository.fullTextSearchPinIds(eq("+rustic* +wedding*"), eq("Wedding"), eq("popular"),
+                any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of("pin-1", "pin-2"), PageRequest.of(0, 20), 2));
+        when(pinRepository.countFullTextMatchesByCategory("+rustic* +wedding*"))
+                .thenReturn(List.of(new Object[]{"Home", 3L}, new Object[]{"Wedding", 5L}));
+
+        // Act
+        SearchHits hits = fullTextSearchEngine.searchPins("Rustic -wedding", "Wedding", false, "Popular", 0, 20)
+                .orElseThrow();
+
+        // Assert
+        assertEquals(List.of("pin-1", "pin-2"), hits.getIds());
+        assertEquals(2L, hits.getTotalHits());
+        assertEquals(List.of(new FacetCountDTO("Wedding", 5L), new FacetCountDTO("Home", 3L)), hits.getFacets());
+    }
+
+    @Test
+    void testSearchPins_BlankQueryDoesNotHitDatabase() {
+        // Left to the keyword search fallback
+        assertTrue(fullTextSearchEngine.searchPins("  *  ", null, false, "relevance", 0, 20).isEmpty());
+        verify(pinRepository, never()).fullTextSearchPinIds(anyString(), any(), anyString(), any(Pageable.class));
+    }
+
+    // ==================== BOARD AND USER SEARCH TESTS ====================
+
+    @Test
+    void testSearchBoards_EmptyCategoryIsUnfiltered() {
+        when(boardRepository.fullTextSearchBoardIds(eq("+travel*"), eq(null), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of("board-1"), PageRequest.of(0, 20), 1));
+
+        SearchHits hits = fullTextSearchEngine.searchBoards("travel", "", 0, 20).orElseThrow();
+
+        assertEquals(List.of("board-1"), hits.getIds());
+    }
+
+    @Test
+    void testSearchUsers() {
+        when(userRepository.fullTextSearchUserIds(eq("+jane*"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of("user-1"), PageRequest.of(0, 20), 1));
+
+        SearchHits hits = fullTextSearchEngine.searchUsers("jane", 0, 20).orElseThrow();
+
+        assertEquals(List.of("user-1"), hits.getIds());
+        assertEquals(1L, hits.getTotalHits());
+    }
+
+    /**
+     * Compares the LIKE pin search with MATCH ... AGAINST on a populated
+     * database. Run with -Dbenchmark.jdbc.url=jdbc:mysql://host:3306/pintrest_db
+     * (and optionally -Dbenchmark.jdbc.user / -Dbenchmark.jdbc.password).
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.jdbc.url", matches = ".+")
+    void benchmarkFullTextAgainstLike() throws SQLException {
+        String likeSql = "SELECT pin_id FROM pins WHERE (LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) "
+                + "OR LOWER(description) LIKE LOWER(CONCAT('%', ?, '%'))) "
+                + "AND visibility = 'public' AND is_draft = false LIMIT 20";
+        String matchSql = "SELECT pin_id FROM pins WHERE visibility = 'public' AND is_draft = false "
+                + "AND MATCH(title, description) AGAINST (? IN BOOLEAN MODE) "
+                + "ORDER BY MATCH(title, description) AGAINST (? IN BOOLEAN MODE) DESC LIMIT 20";
+        List<String> terms = List.of("wedding", "recipe", "garden", "travel", "decor", "sunset");
+
+        try (Connection connection = DriverManager.getConnection(System.getProperty("benchmark.jdbc.url"),
+                System.getProperty("benchmark.jdbc.user", "root"),
+                System.getProperty("benchmark.jdbc.password", "root"))) {
+            for (String term : terms) {
+                long likeMicros = time(connection, likeSql, term, term);
+                String booleanQuery = "+" + term + "*";
+                long matchMicros = time(connection, matchSql, booleanQuery, booleanQuery);
+                log.info("{}: LIKE {} us, FULLTEXT {} us", term, likeMicros, matchMicros);
+            }
+        }
+    }
+
+    // Helper methods
+
+    private static long time(Connection connection, String sql, String first, String second) throws SQLException {
+        int runs = 20;
+        List<String> ids = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, first);
+                statement.setString(2, second);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getString(1));
+                    }
+                }
+            }
+        }
+        return (System.nanoTime() - start) / 1000 / runs;
+    }
+}
@@ -0,0 +1,160 @@
+package com.infy.pinterest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infy.pinterest.entity.Notification;
+import com.infy.pinterest.entity.Notification.NotificationType;
+import com.infy.pinterest.entity.User;
+import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.NotificationDispatcher;
+import com.infy.pinterest.service.UnreadCountCache;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UnreadCountCache unreadCountCache;
+
+    @InjectMocks
+    private NotificationDispatcher notificationDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        // Send on the calling thread so tests see events as soon as they are published
+        ReflectionTestUtils.setField(notificationDispatcher, "sender", (Executor) Runnable::run);
+    }
+
+    // ==================== PUSH TESTS ====================
+
+    @Test
+    void testPublishNotifications_PushesRowAndUnreadCountToSubscriber() {
+        RecordingEmitter stream = new RecordingEmitter();
+        notificationDispatcher.register("owner-1", null, stream);
+        when(userRepository.findAllById(List.of("alice"))).thenReturn(List.of(user("alice")));
+        when(unreadCountCache.getUnreadCount("owner-1")).thenReturn(3L);
+
+        notificationDispatcher.publishNotifications(
+                List.of(notification("owner-1", "alice"), notification("owner-2", "alice")), List.of());
+
+        assertEquals(2, stream.events.size());
+        assertTrue(stream.events.get(0).contains("event:notification"));
+        assertTrue(stream.events.get(0).contains("alice"));
+        assertTrue(stream.events.get(1).contains("event:unread-count"));
+        assertTrue(stream.events.get(1).contains("\"count\":3"));
+    }
+
+    @Test
+    void testPublishNotifications_NoSubscribersSkipsLookups() {
+        notificationDispatcher.publishNotifications(List.of(notification("owner-1", "alice")), List.of());
+
+        verify(userRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void testRegister_LastEventIdReplaysOnlyMissedEvents() {
+        RecordingEmitter first = new RecordingEmitter();
+        notificationDispatcher.register("owner-1", null, first);
+        notificationDispatcher.publishUnreadDelta("owner-1", 1);
+        notificationDispatcher.publishUnreadDelta("owner-1", 2);
+        String lastSeen = first.lastEventId();
+        notificationDispatcher.publishUnreadDelta("owner-1", 3);
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        notificationDispatcher.register("owner-1", lastSeen, resumed);
+
+        assertEquals(1, resumed.events.size());
+        assertTrue(resumed.events.get(0).contains("\"delta\":3"));
+    }
+
+    @Test
+    void testRegister_UnknownLastEventIdAsksForResync() {
+        RecordingEmitter stream = new RecordingEmitter();
+
+        notificationDispatcher.register("owner-1", "otherNode-42", stream);
+
+        assertEquals(1, stream.events.size());
+        assertTrue(stream.events.get(0).contains("event:resync"));
+    }
+
+    @Test
+    void testRegister_ClosesOldestStreamPastPerUserLimit() {
+        ReflectionTestUtils.setField(notificationDispatcher, "maxConnectionsPerUser", 2);
+        notificationDispatcher.register("owner-1", null, new RecordingEmitter());
+        notificationDispatcher.register("owner-1", null, new RecordingEmitter());
+        notificationDispatcher.register("owner-1", null, new RecordingEmitter());
+
+        assertEquals(2, notificationDispatcher.getConnectionCount());
+    }
+
+    // Helper methods
+
+    /**
+     * Emitter that records each event as its wire text instead of writing
+     * to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(part -> part.getData() instanceof String text ? text : toJson(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        String lastEventId() {
+            String last = events.get(events.size() - 1);
+            return last.substring(last.indexOf("id:") + 3, last.indexOf('\n', last.indexOf("id:")));
+        }
+
+        private static String toJson(Object data) {
+            try {
+                return new ObjectMapper().findAndRegisterModules().writeValueAsString(data);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private Notification notification(String ownerId, String senderId) {
+        Notification notification = new Notification();
+        notification.setNotificationId("notification-" + ownerId);
+        notification.setUserId(ownerId);
+        notification.setSenderId(senderId);
+        notification.setType(NotificationType.PIN_LIKED);
+        notification.setMessage("liked your pin");
+        notification.setEntityId("pin-1");
+        return notification;
+    }
+
+    private User user(String userId) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUsername(userId);
+        return user;
+    }
+}
@@ -0,0 +1,280 @@
+package com.infy.pinterest;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.infy.pinterest.dto.NotificationOutboxStatsDTO;
+import com.infy.pinterest.entity.Notification;
+import com.infy.pinterest.entity.Notification.NotificationType;
+import com.infy.pinterest.repository.NotificationRepository;
+import com.infy.pinterest.service.NotificationDispatcher;
+import com.infy.pinterest.service.NotificationOutbox;
+import com.infy.pinterest.service.NotificationOutbox.NotificationEvent;
+import com.infy.pinterest.service.UnreadCountCache;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private UnreadCountCache unreadCountCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NotificationOutbox notificationOutbox;
+
+    // Recent enough that the window sweep keeps the groups
+    private final LocalDateTime base = LocalDateTime.now().withNano(0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationOutbox, "capacity", 3);
+        notificationOutbox.init();
+    }
+
+    // ==================== NOTIFICATION OUTBOX TESTS ====================
+
+    @Test
+    void testFlush_WritesQueuedEventsInOneBatch() {
+        notificationOutbox.enqueue(event("user-1"));
+        notificationOutbox.enqueue(event("user-2"));
+        notificationOutbox.enqueue(event("user-3"));
+
+        assertEquals(3, notificationOutbox.getStats().getQueueDepth());
+        assertEquals(3, notificationOutbox.flush());
+
+        verify(notificationRepository, times(1)).saveAll(argThat((List<Notification> batch) -> batch.size() == 3));
+        NotificationOutboxStatsDTO stats = notificationOutbox.getStats();
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(3L, stats.getWritten());
+        assertEquals(1L, stats.getBatches());
+    }
+
+    @Test
+    void testEnqueue_FullQueueWritesOnCallerThread() {
+        ReflectionTestUtils.setField(notificationOutbox, "offerTimeoutMillis", 0L);
+        for (int i = 0; i < 4; i++) {
+            notificationOutbox.enqueue(event("user-" + i));
+        }
+
+        // The fourth event found no room and was written directly
+        verify(notificationRepository).saveAll(argThat((List<Notification> batch) ->
+                batch.size() == 1 && batch.get(0).getUserId().equals("user-3")));
+        NotificationOutboxStatsDTO stats = notificationOutbox.getStats();
+        assertEquals(3, stats.getQueueDepth());
+        assertEquals(1L, stats.getCallerWrites());
+    }
+
+    @Test
+    void testEnqueue_OverflowAfterCommitWritesInItsOwnTransaction() throws SQLException {
+        // A real transaction manager over stub connections: the request's, then the overflow write's
+        DataSource dataSource = mock(DataSource.class);
+        Connection requestConnection = mock(Connection.class);
+        Connection writeConnection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(requestConnection, writeConnection);
+        DataSourceTransactionManager realTransactionManager = new DataSourceTransactionManager(dataSource);
+        NotificationOutbox outbox = new NotificationOutbox(notificationRepository, notificationDispatcher,
+                unreadCountCache, realTransactionManager);
+        ReflectionTestUtils.setField(outbox, "capacity", 1);
+        ReflectionTestUtils.setField(outbox, "offerTimeoutMillis", 0L);
+        outbox.init();
+        outbox.enqueue(event("user-1"));
+        List<Connection> savedOn = new ArrayList<>();
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            savedOn.add(DataSourceUtils.getConnection(dataSource));
+            return invocation.getArgument(0);
+        });
+
+        // As NotificationService does: the request's transaction commits, then its event is handed over
+        new TransactionTemplate(realTransactionManager).executeWithoutResult(status ->
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        outbox.enqueue(event("user-2"));
+                    }
+                }));
+
+        assertEquals(List.of(writeConnection), savedOn);
+        verify(requestConnection).commit();
+        verify(writeConnection).commit();
+        verify(writeConnection, never()).rollback();
+        assertEquals(1L, outbox.getStats().getCallerWrites());
+        assertEquals(1L, outbox.getStats().getWritten());
+    }
+
+    @Test
+    void testFlush_FailedBatchRetriesEventsIndividually() {
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(notification -> notification.getUserId().equals("deleted-user"))) {
+                throw new DataIntegrityViolationException("foreign key");
+            }
+            return batch;
+        });
+        notificationOutbox.enqueue(event("user-1"));
+        notificationOutbox.enqueue(event("deleted-user"));
+        notificationOutbox.enqueue(event("user-2"));
+
+        notificationOutbox.flush();
+
+        // One failed batch, then each row on its own
+        verify(notificationRepository, times(4)).saveAll(anyList());
+        assertEquals(1L, notificationOutbox.getStats().getFailed());
+    }
+
+    @Test
+    void testFlush_PublishesAfterReleasingWriteLock() {
+        Object writeLock = ReflectionTestUtils.getField(notificationOutbox, "writeLock");
+        List<Boolean> heldWhilePublishing = new ArrayList<>();
+        doAnswer(invocation -> heldWhilePublishing.add(Thread.holdsLock(writeLock)))
+                .when(notificationDispatcher).publishNotifications(anyList(), anyList());
+        notificationOutbox.enqueue(event("user-1"));
+
+        notificationOutbox.flush();
+
+        assertEquals(List.of(false), heldWhilePublishing);
+    }
+
+    // ==================== COALESCING TESTS ====================
+
+    @Test
+    void testFlush_CoalescesSamePinIntoOneRow() {
+        notificationOutbox.enqueue(like("owner-1", "alice", "pin-1", base));
+        notificationOutbox.enqueue(like("owner-1", "bob", "pin-1", base.plusMinutes(1)));
+        notificationOutbox.enqueue(like("owner-1", "alice", "pin-1", base.plusMinutes(2)));
+
+        notificationOutbox.flush();
+
+        ArgumentCaptor<List<Notification>> rows = rowsCaptor();
+        verify(notificationRepository).saveAll(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        Notification row = rows.getValue().get(0);
+        // alice liked twice (unlike and like again) but counts once
+        assertEquals(2, row.getActorCount());
+        assertEquals("alice,bob", row.getRecentSenderIds());
+        assertEquals("alice", row.getSenderId());
+        assertEquals(base.plusMinutes(2), row.getCreatedAt());
+        assertEquals(2L, notificationOutbox.getStats().getCoalesced());
+    }
+
+    @Test
+    void testFlush_LaterBatchUpdatesExistingRow() {
+        assignIdsOnSave();
+        when(notificationRepository.updateCoalesced(anyString(), anyInt(), anyString(), anyString(), anyString(),
+                any(LocalDateTime.class))).thenReturn(1);
+        notificationOutbox.enqueue(like("owner-1", "alice", "pin-1", base));
+        notificationOutbox.flush();
+
+        notificationOutbox.enqueue(like("owner-1", "bob", "pin-1", base.plusMinutes(5)));
+        notificationOutbox.enqueue(like("owner-1", "carol", "pin-1", base.plusMinutes(6)));
+        notificationOutbox.enqueue(like("owner-1", "dave", "pin-1", base.plusMinutes(7)));
+        notificationOutbox.flush();
+
+        verify(notificationRepository, times(1)).saveAll(anyList());
+        verify(notificationRepository).updateCoalesced("notification-alice", 4, "dave,carol,bob", "dave",
+                "liked your pin", base.plusMinutes(7));
+    }
+
+    @Test
+    void testFlush_StartsNewRowAfterWindowOrDeletion() {
+        assignIdsOnSave();
+        when(notificationRepository.updateCoalesced(eq("notification-alice"), anyInt(), anyString(), anyString(),
+                anyString(), any(LocalDateTime.class))).thenReturn(0);
+        notificationOutbox.enqueue(like("owner-1", "alice", "pin-1", base));
+        notificationOutbox.enqueue(like("owner-2", "erin", "pin-2", base));
+        notificationOutbox.flush();
+
+        // owner-1 deleted the row; pin-2's window (60 minutes) has passed
+        notificationOutbox.enqueue(like("owner-1", "bob", "pin-1", base.plusMinutes(1)));
+        notificationOutbox.enqueue(like("owner-2", "frank", "pin-2", base.plusMinutes(61)));
+        notificationOutbox.flush();
+
+        ArgumentCaptor<List<Notification>> rows = rowsCaptor();
+        verify(notificationRepository, times(3)).saveAll(rows.capture());
+        Notification fresh = rows.getAllValues().get(1).get(0);
+        assertEquals("owner-2", fresh.getUserId());
+        assertEquals(1, fresh.getActorCount());
+        Notification carriedOn = rows.getAllValues().get(2).get(0);
+        assertEquals("owner-1", carriedOn.getUserId());
+        assertEquals(2, carriedOn.getActorCount());
+    }
+
+    @Test
+    void testFlush_DoesNotCoalesceOtherTypes() {
+        notificationOutbox.enqueue(NotificationEvent.of("owner-1", "alice", NotificationType.INVITATION_RECEIVED,
+                "invited you", "board-1", "INVITATION"));
+        notificationOutbox.enqueue(NotificationEvent.of("owner-1", "alice", NotificationType.INVITATION_RECEIVED,
+                "invited you", "board-1", "INVITATION"));
+
+        notificationOutbox.flush();
+
+        verify(notificationRepository).saveAll(argThat((List<Notification> batch) -> batch.size() == 2));
+        verify(notificationRepository, never()).updateCoalesced(any(), any(), any(), any(), any(), any());
+    }
+
+    // Helper methods
+
+    private NotificationEvent like(String ownerId, String senderId, String pinId, LocalDateTime at) {
+        return new NotificationEvent(ownerId, senderId, NotificationType.PIN_LIKED, "liked your pin",
+                pinId, "pin", at, System.nanoTime());
+    }
+
+    private void assignIdsOnSave() {
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> batch = invocation.getArgument(0);
+            batch.forEach(row -> row.setNotificationId("notification-" + row.getSenderId()));
+            return batch;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<List<Notification>> rowsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private NotificationEvent event(String userId) {
+        return NotificationEvent.of(userId, "sender-1", NotificationType.PIN_LIKED,
+                "sender liked your pin", "pin-1", "PIN");
+    }
+}
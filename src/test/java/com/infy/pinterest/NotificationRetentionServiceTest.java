@@ -0,0 +1,161 @@
+package com.infy.pinterest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.infy.pinterest.entity.Notification.NotificationType;
+import com.infy.pinterest.repository.NotificationRepository;
+import com.infy.pinterest.service.NotificationRetentionService;
+import com.infy.pinterest.service.SchedulerLease;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    @InjectMocks
+    private NotificationRetentionService retentionService;
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 10, 19, 4, 30);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(retentionService, "chunkSize", 2);
+        ReflectionTestUtils.setField(retentionService, "pauseMillis", 0L);
+        lenient().when(schedulerLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+    }
+
+    // ==================== PURGE TESTS ====================
+
+    @Test
+    void testPurgeExpired_DeletesEachKeyRangePerTtl() {
+        configure(365, "PIN_LIKED:90,INVITATION_DECLINED:30");
+        when(notificationRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("id-a", "id-b"));
+        when(notificationRepository.findIdsAfter("id-b", PageRequest.of(0, 2))).thenReturn(List.of("id-c"));
+        when(notificationRepository.deleteExpiredInRange(anyString(), anyString(), anyList(), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        long deleted = retentionService.purgeExpired(now);
+
+        // Three TTL groups (30, 90 and the 365-day default) over two key ranges
+        assertEquals(6L, deleted);
+        verify(notificationRepository).deleteExpiredInRange("", "id-b", List.of(NotificationType.PIN_LIKED),
+                now.minusDays(90));
+        verify(notificationRepository).deleteExpiredInRange("id-b", "id-c",
+                List.of(NotificationType.INVITATION_DECLINED), now.minusDays(30));
+        verify(notificationRepository, times(2)).findIdsAfter(anyString(), any());
+    }
+
+    @Test
+    void testPurgeExpired_KeepsTypesWithoutTtl() {
+        configure(0, "PIN_LIKED:90");
+        when(notificationRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("id-a"));
+
+        retentionService.purgeExpired(now);
+
+        verify(notificationRepository, times(1)).deleteExpiredInRange(eq(""), eq("id-a"), anyList(),
+                any(LocalDateTime.class));
+        verify(notificationRepository).deleteExpiredInRange("", "id-a", List.of(NotificationType.PIN_LIKED),
+                now.minusDays(90));
+    }
+
+    @Test
+    void testPurgeExpired_NothingExpiresWithoutTtls() {
+        configure(0, "");
+
+        assertEquals(0L, retentionService.purgeExpired(now));
+        verify(notificationRepository, never()).findIdsAfter(anyString(), any());
+    }
+
+    @Test
+    void testPurgeExpired_StopsWhenLeaseIsLost() {
+        configure(365, "");
+        when(notificationRepository.findIdsAfter("", PageRequest.of(0, 2))).thenReturn(List.of("id-a", "id-b"));
+        when(schedulerLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        retentionService.purgeExpired(now);
+
+        verify(notificationRepository, times(1)).findIdsAfter(anyString(), any());
+        verify(notificationRepository, times(1))
+                .deleteExpiredInRange(anyString(), anyString(), anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRunRetention_SkippedWithoutLease() {
+        configure(365, "");
+        when(schedulerLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        retentionService.runRetention();
+
+        verify(notificationRepository, never()).findIdsAfter(anyString(), any());
+    }
+
+    @Test
+    void testInit_RejectsMalformedTtl() {
+        ReflectionTestUtils.setField(retentionService, "ttlDays", "PIN_LIKED=90");
+
+        assertThrows(IllegalArgumentException.class, () -> retentionService.init());
+    }
+
+    // ==================== PARTITION TESTS ====================
+
+    @Test
+    void testRotatePartitions_AddsComingMonthsAndDropsExpired() {
+        configure(90, "");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "p202604", "p202605", "p202606", "p202607", "p202608", "p202609", "p202610", "pmax"));
+
+        retentionService.rotatePartitions(LocalDate.of(2026, 10, 19));
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(6)).execute(statements.capture());
+        List<String> sql = statements.getAllValues();
+        assertEquals("ALTER TABLE notifications REORGANIZE PARTITION pmax INTO (PARTITION p202611 VALUES LESS THAN "
+                + "(UNIX_TIMESTAMP('2026-12-01 00:00:00')), PARTITION pmax VALUES LESS THAN MAXVALUE)", sql.get(0));
+        assertTrue(sql.get(2).contains("PARTITION p202701 "));
+        // July still holds rows younger than 90 days
+        assertEquals(List.of("ALTER TABLE notifications DROP PARTITION p202604",
+                "ALTER TABLE notifications DROP PARTITION p202605",
+                "ALTER TABLE notifications DROP PARTITION p202606"), sql.subList(3, 6));
+    }
+
+    // Helper methods
+
+    private void configure(int defaultTtlDays, String ttlDays) {
+        ReflectionTestUtils.setField(retentionService, "defaultTtlDays", defaultTtlDays);
+        ReflectionTestUtils.setField(retentionService, "ttlDays", ttlDays);
+        retentionService.init();
+    }
+}
@@ -16,12 +16,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,15 +32,24 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.infy.pinterest.dto.NotificationResponseDTO;
 import com.infy.pinterest.dto.PaginatedResponse;
 import com.infy.pinterest.entity.Notification;
 import com.infy.pinterest.entity.Notification.NotificationType;
+import com.infy.pinterest.entity.NotificationReadState;
 import com.infy.pinterest.entity.User;
+import com.infy.pinterest.repository.NotificationReadStateRepository;
 import com.infy.pinterest.repository.NotificationRepository;
 import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.NotificationDispatcher;
+import com.infy.pinterest.service.NotificationOutbox;
 import com.infy.pinterest.service.NotificationService;
+import com.infy.pinterest.service.UnreadCountCache;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationServiceTest {
@@ -48,7 +60,17 @@ class NotificationServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private NotificationReadStateRepository readStateRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationOutbox notificationOutbox;
+
     private NotificationService notificationService;
 
     private User sender;
@@ -57,6 +79,15 @@ class NotificationServiceTest {
 
     @BeforeEach
     void setUp() {
+        // A real outbox and unread cache over the mocked repositories, so queued notifications can be
+        // flushed and verified and unread counts follow reads
+        UnreadCountCache unreadCountCache = new UnreadCountCache(notificationRepository, readStateRepository);
+        notificationOutbox = new NotificationOutbox(notificationRepository, notificationDispatcher, unreadCountCache,
+                transactionManager);
+        notificationOutbox.init();
+        notificationService = new NotificationService(notificationRepository, userRepository, notificationOutbox,
+                notificationDispatcher, unreadCountCache);
+
         // Setup sender user
         sender = new User();
         sender.setUserId("sender-123");
@@ -94,9 +125,6 @@ class NotificationServiceTest {
 
     @Test
     void testCreateNotification_Success() {
-        // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
-
         // Act
         notificationService.createNotification(
             "recipient-456", 
@@ -107,18 +135,14 @@ class NotificationServiceTest {
             "FOLLOW"
         );
 
-        // Assert
-        verify(notificationRepository).save(any(Notification.class));
+        // Assert: nothing is written until the outbox drains
+        verify(notificationRepository, never()).saveAll(anyList());
+        assertEquals(1, notificationOutbox.flush());
+        verify(notificationRepository).saveAll(anyList());
     }
 
     @Test
     void testCreateNotification_InvitationReceived() {
-        // Arrange
-        Notification inviteNotification = new Notification();
-        inviteNotification.setType(NotificationType.INVITATION_RECEIVED);
-        inviteNotification.setMessage("You have been invited to collaborate");
-        when(notificationRepository.save(any(Notification.class))).thenReturn(inviteNotification);
-
         // Act
         notificationService.createNotification(
             "user-1", 
@@ -129,15 +153,14 @@ class NotificationServiceTest {
             "INVITATION"
         );
 
-        // Assert
-        verify(notificationRepository).save(any(Notification.class));
+        // Assert: nothing is written until the outbox drains
+        verify(notificationRepository, never()).saveAll(anyList());
+        assertEquals(1, notificationOutbox.flush());
+        verify(notificationRepository).saveAll(anyList());
     }
 
     @Test
     void testCreateNotification_PinLiked() {
-        // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
-
         // Act
         notificationService.createNotification(
             "pin-owner-123", 
@@ -148,15 +171,14 @@ class NotificationServiceTest {
             "PIN"
         );
 
-        // Assert
-        verify(notificationRepository).save(any(Notification.class));
+        // Assert: nothing is written until the outbox drains
+        verify(notificationRepository, never()).saveAll(anyList());
+        assertEquals(1, notificationOutbox.flush());
+        verify(notificationRepository).saveAll(anyList());
     }
 
     @Test
     void testCreateNotification_PinSaved() {
-        // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
-
         // Act
         notificationService.createNotification(
             "pin-owner-123", 
@@ -167,15 +189,14 @@ class NotificationServiceTest {
             "PIN"
         );
 
-        // Assert
-        verify(notificationRepository).save(any(Notification.class));
+        // Assert: nothing is written until the outbox drains
+        verify(notificationRepository, never()).saveAll(anyList());
+        assertEquals(1, notificationOutbox.flush());
+        verify(notificationRepository).saveAll(anyList());
     }
 
     @Test
     void testCreateNotification_BoardShared() {
-        // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
-
         // Act
         notificationService.createNotification(
             "user-1", 
@@ -186,15 +207,14 @@ class NotificationServiceTest {
             "BOARD"
         );
 
-        // Assert
-        verify(notificationRepository).save(any(Notification.class));
+        // Assert: nothing is written until the outbox drains
+        verify(notificationRepository, never()).saveAll(anyList());
+        assertEquals(1, notificationOutbox.flush());
+        verify(notificationRepository).saveAll(anyList());
     }
 
     @Test
     void testCreateNotification_WithNullSender() {
-        // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
-
         // Act
         notificationService.createNotification(
             "recipient-456", 
@@ -205,8 +225,40 @@ class NotificationServiceTest {
             "BOARD"
         );
 
+        // Assert: nothing is written until the outbox drains
+        verify(notificationRepository, never()).saveAll(anyList());
+        assertEquals(1, notificationOutbox.flush());
+        verify(notificationRepository).saveAll(anyList());
+    }
+
+    @Test
+    void testCreateNotification_QueuedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            notificationService.createNotification("recipient-456", "sender-123", NotificationType.PIN_LIKED,
+                    "sender_user liked your pin", "pin-789", "PIN");
+
+            // Assert: a rollback would discard it
+            assertEquals(0, notificationService.getOutboxStats().getQueueDepth());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, notificationService.getOutboxStats().getQueueDepth());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSubscribe_NewStreamStartsWithUnreadCount() {
+        // Arrange
+        when(notificationDispatcher.subscribe("recipient-456", null)).thenReturn(new SseEmitter());
+        when(notificationRepository.countUnreadSince(eq("recipient-456"), any(LocalDateTime.class))).thenReturn(7L);
+
+        // Act
+        notificationService.subscribe("recipient-456", null);
+
         // Assert
-        verify(notificationRepository).save(any(Notification.class));
+        verify(notificationDispatcher).publishUnreadCount("recipient-456", 7L);
     }
 
     // ==================== GET NOTIFICATIONS TESTS ====================
@@ -232,13 +284,34 @@ class NotificationServiceTest {
         verify(notificationRepository).findByUserIdOrderByCreatedAtDesc(eq("recipient-456"), any(Pageable.class));
     }
 
+    @Test
+    void testGetNotifications_CoalescedRowListsRecentSenders() {
+        // Arrange
+        notification.setType(NotificationType.PIN_LIKED);
+        notification.setActorCount(24);
+        notification.setRecentSenderIds("sender-123,user-2,user-3");
+        Page<Notification> notificationPage = new PageImpl<>(List.of(notification), PageRequest.of(0, 10), 1);
+        when(notificationRepository.findByUserIdOrderByCreatedAtDesc(eq("recipient-456"), any(Pageable.class)))
+                .thenReturn(notificationPage);
+        when(userRepository.findById("sender-123")).thenReturn(Optional.of(sender));
+
+        // Act
+        NotificationResponseDTO result = notificationService.getNotifications("recipient-456", null, 0, 10)
+                .getData().get(0);
+
+        // Assert
+        assertEquals(24, result.getActorCount());
+        assertEquals(List.of("sender-123", "user-2", "user-3"), result.getRecentSenderIds());
+        assertEquals("sender_user", result.getSender().getUsername());
+    }
+
     @Test
     void testGetNotifications_FilterByUnread() {
         // Arrange
         List<Notification> unreadNotifications = Arrays.asList(notification);
         Page<Notification> notificationPage = new PageImpl<>(unreadNotifications, PageRequest.of(0, 10), 1);
 
-        when(notificationRepository.findByUserIdAndIsReadOrderByCreatedAtDesc(eq("recipient-456"), eq(false), any(Pageable.class)))
+        when(notificationRepository.findUnreadSince(eq("recipient-456"), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(notificationPage);
         when(userRepository.findById("sender-123")).thenReturn(Optional.of(sender));
 
@@ -249,7 +322,7 @@ class NotificationServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getData().size());
         assertFalse(result.getData().get(0).getIsRead());
-        verify(notificationRepository).findByUserIdAndIsReadOrderByCreatedAtDesc(eq("recipient-456"), eq(false), any(Pageable.class));
+        verify(notificationRepository).findUnreadSince(eq("recipient-456"), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
@@ -268,7 +341,7 @@ class NotificationServiceTest {
         List<Notification> readNotifications = Arrays.asList(readNotification);
         Page<Notification> notificationPage = new PageImpl<>(readNotifications, PageRequest.of(0, 10), 1);
 
-        when(notificationRepository.findByUserIdAndIsReadOrderByCreatedAtDesc(eq("recipient-456"), eq(true), any(Pageable.class)))
+        when(notificationRepository.findReadBy(eq("recipient-456"), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(notificationPage);
         when(userRepository.findById("sender-123")).thenReturn(Optional.of(sender));
 
@@ -420,7 +493,7 @@ class NotificationServiceTest {
     @Test
     void testGetUnreadCount_Success() {
         // Arrange
-        when(notificationRepository.countByUserIdAndIsRead("recipient-456", false))
+        when(notificationRepository.countUnreadSince(eq("recipient-456"), any(LocalDateTime.class)))
                 .thenReturn(5L);
 
         // Act
@@ -428,13 +501,13 @@ class NotificationServiceTest {
 
         // Assert
         assertEquals(5L, count);
-        verify(notificationRepository).countByUserIdAndIsRead("recipient-456", false);
+        verify(notificationRepository).countUnreadSince(eq("recipient-456"), any(LocalDateTime.class));
     }
 
     @Test
     void testGetUnreadCount_NoUnreadNotifications() {
         // Arrange
-        when(notificationRepository.countByUserIdAndIsRead("recipient-456", false))
+        when(notificationRepository.countUnreadSince(eq("recipient-456"), any(LocalDateTime.class)))
                 .thenReturn(0L);
 
         // Act
@@ -447,7 +520,7 @@ class NotificationServiceTest {
     @Test
     void testGetUnreadCount_LargeCount() {
         // Arrange
-        when(notificationRepository.countByUserIdAndIsRead("recipient-456", false))
+        when(notificationRepository.countUnreadSince(eq("recipient-456"), any(LocalDateTime.class)))
                 .thenReturn(1000L);
 
         // Act
@@ -471,6 +544,7 @@ class NotificationServiceTest {
         // Assert
         verify(notificationRepository).findById("notification-789");
         verify(notificationRepository).save(any(Notification.class));
+        verify(notificationDispatcher).publishUnreadDelta("recipient-456", -1);
     }
 
     @Test
@@ -526,41 +600,74 @@ class NotificationServiceTest {
 
     @Test
     void testMarkAllAsRead_Success() {
+        // Act
+        notificationService.markAllAsRead("recipient-456");
+
+        // Assert: one watermark row, no per-notification updates
+        verify(readStateRepository).advanceLastReadAt(eq("recipient-456"), any(LocalDateTime.class));
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationDispatcher).publishUnreadCount("recipient-456", 0L);
+    }
+
+    @Test
+    void testMarkAsRead_BehindWatermarkSkipsWrite() {
         // Arrange
-        doNothing().when(notificationRepository).markAllAsRead("recipient-456");
+        notification.setCreatedAt(LocalDateTime.now().minusDays(1));
+        when(readStateRepository.findById("recipient-456"))
+                .thenReturn(Optional.of(new NotificationReadState("recipient-456", LocalDateTime.now().minusHours(1))));
+        when(notificationRepository.findById("notification-789")).thenReturn(Optional.of(notification));
 
         // Act
-        notificationService.markAllAsRead("recipient-456");
+        notificationService.markAsRead("notification-789", "recipient-456");
 
         // Assert
-        verify(notificationRepository).markAllAsRead("recipient-456");
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationDispatcher, never()).publishUnreadDelta(anyString(), anyInt());
     }
 
     @Test
-    void testMarkAllAsRead_NoUnreadNotifications() {
+    void testGetNotifications_RowsBehindWatermarkAreRead() {
         // Arrange
-        doNothing().when(notificationRepository).markAllAsRead("user-with-no-unread");
+        Notification older = new Notification();
+        older.setNotificationId("notification-old");
+        older.setUserId("recipient-456");
+        older.setType(NotificationType.PIN_SAVED);
+        older.setMessage("Someone saved your pin");
+        older.setIsRead(false);
+        older.setCreatedAt(LocalDateTime.now().minusDays(1));
+        when(readStateRepository.findById("recipient-456"))
+                .thenReturn(Optional.of(new NotificationReadState("recipient-456", LocalDateTime.now().minusHours(1))));
+        when(notificationRepository.findByUserIdOrderByCreatedAtDesc(eq("recipient-456"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(notification, older), PageRequest.of(0, 10), 2));
+        when(userRepository.findById("sender-123")).thenReturn(Optional.of(sender));
 
+        // Act
+        List<NotificationResponseDTO> result = notificationService.getNotifications("recipient-456", null, 0, 10)
+                .getData();
+
+        // Assert
+        assertFalse(result.get(0).getIsRead());
+        assertTrue(result.get(1).getIsRead());
+    }
+
+    @Test
+    void testMarkAllAsRead_NoUnreadNotifications() {
         // Act
         notificationService.markAllAsRead("user-with-no-unread");
 
         // Assert
-        verify(notificationRepository).markAllAsRead("user-with-no-unread");
+        verify(readStateRepository).advanceLastReadAt(eq("user-with-no-unread"), any(LocalDateTime.class));
     }
 
     @Test
     void testMarkAllAsRead_MultipleUsers() {
-        // Arrange
-        doNothing().when(notificationRepository).markAllAsRead("user-1");
-        doNothing().when(notificationRepository).markAllAsRead("user-2");
-
         // Act
         notificationService.markAllAsRead("user-1");
         notificationService.markAllAsRead("user-2");
 
         // Assert
-        verify(notificationRepository).markAllAsRead("user-1");
-        verify(notificationRepository).markAllAsRead("user-2");
+        verify(readStateRepository).advanceLastReadAt(eq("user-1"), any(LocalDateTime.class));
+        verify(readStateRepository).advanceLastReadAt(eq("user-2"), any(LocalDateTime.class));
     }
 
     // ==================== DELETE NOTIFICATION TESTS ====================
@@ -676,7 +783,6 @@ class NotificationServiceTest {
     void testCreateNotification_AllNotificationTypes() {
         // Arrange
         NotificationType[] allTypes = NotificationType.values();
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
 
         // Act & Assert
         for (NotificationType type : allTypes) {
@@ -690,8 +796,9 @@ class NotificationServiceTest {
             );
         }
 
-        // Verify save was called for each type
-        verify(notificationRepository, org.mockito.Mockito.times(allTypes.length)).save(any(Notification.class));
+        // Verify one notification was written for each type
+        assertEquals(allTypes.length, notificationOutbox.flush());
+        verify(notificationRepository).saveAll(argThat((List<Notification> batch) -> batch.size() == allTypes.length));
     }
 
     @Test
@@ -861,18 +968,18 @@ class NotificationServiceTest {
     @Test
     void testMarkAllAsRead_ThenGetUnreadCount() {
         // Arrange
-        doNothing().when(notificationRepository).markAllAsRead("recipient-456");
-        when(notificationRepository.countByUserIdAndIsRead("recipient-456", false))
-                .thenReturn(5L, 0L);
+        when(notificationRepository.countUnreadSince(eq("recipient-456"), any(LocalDateTime.class)))
+                .thenReturn(5L);
 
         // Act
         Long beforeCount = notificationService.getUnreadCount("recipient-456");
         notificationService.markAllAsRead("recipient-456");
         Long afterCount = notificationService.getUnreadCount("recipient-456");
 
-        // Assert
+        // Assert: the new watermark resets the cached count without counting again
         assertEquals(5L, beforeCount);
         assertEquals(0L, afterCount);
+        verify(notificationRepository, times(1)).countUnreadSince(eq("recipient-456"), any(LocalDateTime.class));
     }
 
     @Test
@@ -916,15 +1023,17 @@ class NotificationServiceTest {
     @Test
     void testCreateNotification_VerifyAllFieldsSet() {
         // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
-            Notification saved = invocation.getArgument(0);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> batch = invocation.getArgument(0);
+            Notification saved = batch.get(0);
             assertEquals("recipient-456", saved.getUserId());
             assertEquals("sender-123", saved.getSenderId());
             assertEquals(NotificationType.BOARD_SHARED, saved.getType());
             assertEquals("Board shared message", saved.getMessage());
             assertEquals("board-999", saved.getEntityId());
             assertEquals("BOARD", saved.getEntityType());
-            return saved;
+            assertNotNull(saved.getCreatedAt());
+            return batch;
         });
 
         // Act
@@ -936,8 +1045,9 @@ class NotificationServiceTest {
             "board-999",
             "BOARD"
         );
+        notificationOutbox.flush();
 
         // Assert
-        verify(notificationRepository).save(any(Notification.class));
+        verify(notificationRepository).saveAll(anyList());
     }
 }
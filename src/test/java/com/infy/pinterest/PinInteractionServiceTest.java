@@ -48,7 +48,10 @@ import com.infy.pinterest.repository.PinLikeRepository;
 import com.infy.pinterest.repository.PinRepository;
 import com.infy.pinterest.repository.SavedPinRepository;
 import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.PinSearchIndex;
+import com.infy.pinterest.service.TrendingService;
 import com.infy.pinterest.service.NotificationService;
+import com.infy.pinterest.service.BoardAccessCache;
 import com.infy.pinterest.service.PinInteractionService;
 
 @ExtendWith(MockitoExtension.class)
@@ -75,6 +78,15 @@ class PinInteractionServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private PinSearchIndex pinSearchIndex;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private BoardAccessCache boardAccessCache;
+
     @InjectMocks
     private PinInteractionService pinInteractionService;
 
@@ -0,0 +1,414 @@
+package com.infy.pinterest;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.infy.pinterest.dto.FacetCountDTO;
+import com.infy.pinterest.entity.Pin;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.service.PinSearchIndex;
+import com.infy.pinterest.service.SearchHits;
+import com.infy.pinterest.utility.LevenshteinAutomaton;
+import com.infy.pinterest.utility.TrigramIndex;
+
+@ExtendWith(MockitoExtension.class)
+class PinSearchIndexTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PinSearchIndexTest.class);
+
+    @Mock
+    private PinRepository pinRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    private PinSearchIndex pinSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(pinRepository.findPublicPinsAfter(anyString(), any(Pageable.class))).thenReturn(List.of());
+        pinSearchIndex = new PinSearchIndex(pinRepository, boardRepository);
+        pinSearchIndex.rebuild();
+
+        pinSearchIndex.indexPin(createPin("pin-1", "Wedding Decor Ideas", 10, 1), "Wedding");
+        pinSearchIndex.indexPin(createPin("pin-2", "Rustic wedding table", 50, 2), "Wedding");
+        pinSearchIndex.indexPin(createPin("pin-3", "Garden decor", 5, 3), "Home");
+    }
+
+    // ==================== LOOKUP TESTS ====================
+
+    @Test
+    void testSearch_ExactRequiresAllTokens() {
+        SearchHits hits = pinSearchIndex.search("wedding decor", null, false, "relevance", 0, 20).orElseThrow();
+
+        assertEquals(1L, hits.getTotalHits());
+        assertEquals(List.of("pin-1"), hits.getIds());
+    }
+
+    @Test
+    void testSearch_FuzzyToleratesTypos() {
+        assertEquals(0L, pinSearchIndex.search("weding decr", null, false, "relevance", 0, 20)
+                .orElseThrow().getTotalHits());
+
+        SearchHits hits = pinSearchIndex.search("weding decr", null, true, "relevance", 0, 20).orElseThrow();
+
+        assertEquals(List.of("pin-1"), hits.getIds());
+    }
+
+    @Test
+    void testSearch_FuzzyRanksCloserMatchesFirst() {
+        pinSearchIndex.indexPin(createPin("pin-4", "Wedding cake", 0, 0), "Wedding");
+        pinSearchIndex.indexPin(createPin("pin-5", "Weddings abroad", 0, 10), "Wedding");
+
+        SearchHits hits = pinSearchIndex.search("wedding", null, true, "relevance", 0, 20).orElseThrow();
+
+        assertEquals(4L, hits.getTotalHits());
+        assertEquals("pin-5", hits.getIds().get(3));
+    }
+
+    @Test
+    void testSearch_CategoryAndPopularSort() {
+        SearchHits hits = pinSearchIndex.search("wedding", "Wedding", false, "popular", 0, 20).orElseThrow();
+
+        assertEquals(List.of("pin-2", "pin-1"), hits.getIds());
+    }
+
+    @Test
+    void testSearch_Pagination() {
+        SearchHits hits = pinSearchIndex.search("wedding", null, false, "recent", 1, 1).orElseThrow();
+
+        assertEquals(2L, hits.getTotalHits());
+        assertEquals(List.of("pin-2"), hits.getIds());
+    }
+
+    @Test
+    void testSearch_PrefixMatchesRankBelowExact() {
+        pinSearchIndex.indexPin(createPin("pin-4", "Weddings abroad", 0, 0), "Travel");
+
+        SearchHits hits = pinSearchIndex.search("wedd", null, false, "relevance", 0, 20).orElseThrow();
+        assertEquals(3L, hits.getTotalHits());
+
+        hits = pinSearchIndex.search("wedding", null, false, "relevance", 0, 20).orElseThrow();
+        assertEquals("pin-4", hits.getIds().get(2));
+    }
+
+    // ==================== FACET TESTS ====================
+
+    @Test
+    void testSearch_FacetsCountAllCategories() {
+        SearchHits hits = pinSearchIndex.search("decor", null, false, "relevance", 0, 20).orElseThrow();
+
+        assertEquals(List.of(new FacetCountDTO("Home", 1L), new FacetCountDTO("Wedding", 1L)), hits.getFacets());
+    }
+
+    @Test
+    void testSearch_FacetsIgnoreCategoryFilter() {
+        pinSearchIndex.indexPin(createPin("pin-4", "Wedding venue", 0, 0), "Travel");
+
+        SearchHits hits = pinSearchIndex.search("wedding", "Travel", false, "relevance", 0, 20).orElseThrow();
+
+        assertEquals(List.of("pin-4"), hits.getIds());
+        assertEquals(List.of(new FacetCountDTO("Wedding", 2L), new FacetCountDTO("Travel", 1L)), hits.getFacets());
+    }
+
+    @Test
+    void testSearch_UnknownCategoryStillReturnsFacets() {
+        SearchHits hits = pinSearchIndex.search("wedding", "Cars", false, "relevance", 0, 20).orElseThrow();
+
+        assertEquals(0L, hits.getTotalHits());
+        assertEquals(List.of(new FacetCountDTO("Wedding", 2L)), hits.getFacets());
+    }
+
+    // ==================== MAINTENANCE TESTS ====================
+
+    @Test
+    void testIndexPin_PrivateOrDraftIsRemoved() {
+        Pin pin = createPin("pin-1", "Wedding Decor Ideas", 10, 1);
+        pin.setVisibility(Pin.Visibility.PRIVATE);
+        pinSearchIndex.indexPin(pin, "Wedding");
+
+        SearchHits hits = pinSearchIndex.search("decor", null, false, "relevance", 0, 20).orElseThrow();
+
+        assertEquals(List.of("pin-3"), hits.getIds());
+    }
+
+    @Test
+    void testRemovePin() {
+        pinSearchIndex.removePin("pin-3");
+
+        assertEquals(0L, pinSearchIndex.search("garden", null, false, "relevance", 0, 20)
+                .orElseThrow().getTotalHits());
+    }
+
+    @Test
+    void testChanges_AppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pinSearchIndex.removePin("pin-3");
+            pinSearchIndex.indexPin(createPin("pin-4", "Garden bench", 0, 0), "Home");
+
+            // Nothing visible before the commit
+            assertEquals(List.of("pin-3"), pinSearchIndex.search("garden", null, false, "relevance", 0, 20)
+                    .orElseThrow().getIds());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(List.of("pin-4"), pinSearchIndex.search("garden", null, false, "relevance", 0, 20)
+                    .orElseThrow().getIds());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testChanges_DroppedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pinSearchIndex.removePin("pin-3");
+            pinSearchIndex.indexPin(createPin("pin-4", "Garden bench", 0, 0), "Home");
+        } finally {
+            // Rolled back: afterCommit never runs
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of("pin-3"), pinSearchIndex.search("garden", null, false, "relevance", 0, 20)
+                .orElseThrow().getIds());
+    }
+
+    @Test
+    void testScheduledReplay_AppliesChangesFromOtherNodes() {
+        when(pinRepository.findPinsUpdatedSince(any(LocalDateTime.class), anyString(), any(Pageable.class)))
+                .thenReturn(List.of(createPin("pin-4", "Garden bench", 0, 0)), List.of());
+
+        pinSearchIndex.scheduledReplay();
+
+        assertEquals(2L, pinSearchIndex.search("garden", null, false, "relevance", 0, 20)
+                .orElseThrow().getTotalHits());
+    }
+
+    @Test
+    void testSweepDeletedPins_DropsPinsMissingFromTable() {
+        when(pinRepository.findExistingPinIds(anyCollection())).thenReturn(List.of("pin-1", "pin-2"));
+
+        assertEquals(1, pinSearchIndex.sweepDeletedPins());
+
+        SearchHits hits = pinSearchIndex.search("decor", null, false, "relevance", 0, 20).orElseThrow();
+        assertEquals(List.of("pin-1"), hits.getIds());
+        assertEquals(1L, hits.getTotalHits());
+        assertEquals(List.of(new FacetCountDTO("Wedding", 1L)), hits.getFacets());
+    }
+
+    @Test
+    void testSearch_ShortTokensOnlyReturnsEmpty() {
+        assertTrue(pinSearchIndex.search("a b", null, false, "relevance", 0, 20).isEmpty());
+    }
+
+    @Test
+    void testSearch_NotReadyReturnsEmpty() {
+        PinSearchIndex cold = new PinSearchIndex(pinRepository, boardRepository);
+
+        assertFalse(cold.isReady());
+        assertTrue(cold.search("wedding", null, true, "relevance", 0, 20).isEmpty());
+    }
+
+    // ==================== SNAPSHOT TESTS ====================
+
+    @Test
+    void testWriteSnapshot_SearchesServedFromSegment(@TempDir Path dir) {
+        ReflectionTestUtils.setField(pinSearchIndex, "snapshotDir", dir.toString());
+        pinSearchIndex.removePin("pin-3");
+
+        pinSearchIndex.writeSnapshot();
+
+        SearchHits hits = pinSearchIndex.search("wedding", null, false, "popular", 0, 20).orElseThrow();
+        assertEquals(List.of("pin-2", "pin-1"), hits.getIds());
+        assertEquals(List.of(new FacetCountDTO("Wedding", 2L)), hits.getFacets());
+        assertEquals(0L, pinSearchIndex.search("garden", null, false, "relevance", 0, 20)
+                .orElseThrow().getTotalHits());
+        assertEquals("Wedding", pinSearchIndex.categoryOf("pin-1"));
+    }
+
+    @Test
+    void testWriteSnapshot_ChangesAfterSnapshotApplyOnTop(@TempDir Path dir) {
+        ReflectionTestUtils.setField(pinSearchIndex, "snapshotDir", dir.toString());
+        pinSearchIndex.writeSnapshot();
+
+        pinSearchIndex.updateCounters("pin-1", 100, 0);
+        pinSearchIndex.indexPin(createPin("pin-4", "Wedding dress", 0, 0), "Fashion");
+        pinSearchIndex.removePin("pin-2");
+
+        SearchHits hits = pinSearchIndex.search("wedding", null, false, "popular", 0, 20).orElseThrow();
+        assertEquals(List.of("pin-1", "pin-4"), hits.getIds());
+        assertEquals(List.of(new FacetCountDTO("Fashion", 1L), new FacetCountDTO("Wedding", 1L)), hits.getFacets());
+    }
+
+    @Test
+    void testLoad_OpensSnapshotAndReplaysUpdates(@TempDir Path dir) {
+        ReflectionTestUtils.setField(pinSearchIndex, "snapshotDir", dir.toString());
+        pinSearchIndex.writeSnapshot();
+
+        Pin retitled = createPin("pin-3", "Garden party", 5, 3);
+        when(pinRepository.findPinsUpdatedSince(any(LocalDateTime.class), anyString(), any(Pageable.class)))
+                .thenReturn(List.of(retitled), List.of());
+        PinSearchIndex restarted = new PinSearchIndex(pinRepository, boardRepository);
+        ReflectionTestUtils.setField(restarted, "snapshotDir", dir.toString());
+
+        restarted.load();
+
+        assertTrue(restarted.isReady());
+        assertEquals(List.of("pin-1"), restarted.search("decor", null, false, "relevance", 0, 20)
+                .orElseThrow().getIds());
+        assertEquals(List.of("pin-3"), restarted.search("party", null, false, "relevance", 0, 20)
+                .orElseThrow().getIds());
+        assertEquals(List.of("pin-2"), restarted.search("rustc", null, true, "relevance", 0, 20)
+                .orElseThrow().getIds());
+    }
+
+    // ==================== AUTOMATON TESTS ====================
+
+    @Test
+    void testLevenshteinAutomaton_BoundedDistance() {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("wedding", 1);
+
+        assertEquals(0, automaton.distance("wedding"));
+        assertEquals(1, automaton.distance("weding"));
+        assertEquals(1, automaton.distance("bedding"));
+        assertEquals(-1, automaton.distance("welting"));
+    }
+
+    /**
+     * Fuzzy lookup over a one-million-term dictionary.
+     * Run with -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkFuzzyLookupMillionTerms() {
+        Random random = new Random(42);
+        TrigramIndex index = new TrigramIndex();
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            char[] chars = new char[5 + random.nextInt(8)];
+            for (int c = 0; c < chars.length; c++) {
+                chars[c] = (char) ('a' + random.nextInt(26));
+            }
+            String term = new String(chars);
+            terms.add(term);
+            index.add(i, term);
+        }
+
+        int queries = 1000;
+        long matches = 0;
+        long start = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            char[] query = terms.get(random.nextInt(terms.size())).toCharArray();
+            query[random.nextInt(query.length)] = 'z';
+            String term = new String(query);
+            matches += index.fuzzyMatches(term, LevenshteinAutomaton.defaultMaxEdits(term.length())).size();
+        }
+        long micros = (System.nanoTime() - start) / 1000 / queries;
+
+        log.info("fuzzy lookup over {} terms: {} us/query, {} matches", index.termCount(), micros, matches);
+        assertTrue(matches >= queries);
+    }
+
+    /**
+     * Startup cost of a full rebuild against opening a snapshot of the same
+     * 200,000 pins. Run with -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkSnapshotLoadAgainstRebuild(@TempDir Path dir) {
+        int pins = 200_000;
+        Random random = new Random(7);
+        String[] words = new String[20_000];
+        for (int i = 0; i < words.length; i++) {
+            char[] chars = new char[4 + random.nextInt(6)];
+            for (int c = 0; c < chars.length; c++) {
+                chars[c] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(chars);
+        }
+        List<Pin> corpus = new ArrayList<>(pins);
+        for (int i = 0; i < pins; i++) {
+            String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                    + " " + words[random.nextInt(words.length)];
+            corpus.add(createPin(String.format("pin-%07d", i), title, random.nextInt(100), random.nextInt(10_000)));
+        }
+        when(pinRepository.findPublicPinsAfter(anyString(), any(Pageable.class))).thenAnswer(invocation -> {
+            String after = invocation.getArgument(0);
+            int size = invocation.getArgument(1, Pageable.class).getPageSize();
+            int from = after.isEmpty() ? 0 : Integer.parseInt(after.substring(4)) + 1;
+            return corpus.subList(Math.min(from, pins), Math.min(from + size, pins));
+        });
+        when(pinRepository.findPinsUpdatedSince(any(LocalDateTime.class), anyString(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        PinSearchIndex rebuilt = new PinSearchIndex(pinRepository, boardRepository);
+        ReflectionTestUtils.setField(rebuilt, "snapshotDir", dir.toString());
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        rebuilt.rebuild();
+        long rebuildMillis = (System.nanoTime() - start) / 1_000_000;
+        long rebuildHeap = usedHeap() - heapBefore;
+        rebuilt.writeSnapshot();
+        rebuilt = null;
+
+        heapBefore = usedHeap();
+        PinSearchIndex loaded = new PinSearchIndex(pinRepository, boardRepository);
+        ReflectionTestUtils.setField(loaded, "snapshotDir", dir.toString());
+        start = System.nanoTime();
+        loaded.load();
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+        long loadHeap = usedHeap() - heapBefore;
+
+        log.info("{} pins: rebuild {} ms / {} MB heap, snapshot load {} ms / {} MB heap",
+                pins, rebuildMillis, rebuildHeap >> 20, loadMillis, loadHeap >> 20);
+        assertTrue(loaded.search(words[0], null, false, "relevance", 0, 20).orElseThrow().getTotalHits() > 0);
+    }
+
+    // Helper methods
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private Pin createPin(String pinId, String title, int saves, int minutesAgo) {
+        Pin pin = new Pin();
+        pin.setPinId(pinId);
+        pin.setUserId("user-123");
+        pin.setBoardId("board-123");
+        pin.setTitle(title);
+        pin.setVisibility(Pin.Visibility.PUBLIC);
+        pin.setIsDraft(false);
+        pin.setSaveCount(saves);
+        pin.setLikeCount(0);
+        pin.setCreatedAt(LocalDateTime.now().minusMinutes(minutesAgo));
+        return pin;
+    }
+}
@@ -0,0 +1,242 @@
+package com.infy.pinterest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.infy.pinterest.dto.UserRecommendationDTO;
+import com.infy.pinterest.entity.Board;
+import com.infy.pinterest.entity.BoardCollaborator;
+import com.infy.pinterest.entity.User;
+import com.infy.pinterest.repository.BoardCollaboratorRepository;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.BlockListCache;
+import com.infy.pinterest.service.FollowGraph;
+import com.infy.pinterest.service.RecommendationService;
+import com.infy.pinterest.utility.CompactDigraph;
+import com.infy.pinterest.utility.IntList;
+import com.infy.pinterest.utility.TwoHopCounter;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationServiceTest.class);
+
+    @Mock
+    private FollowGraph followGraph;
+
+    @Mock
+    private BoardCollaboratorRepository collaboratorRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private BlockListCache blockListCache;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private RecommendationService recommendationService;
+
+    @BeforeEach
+    void setUp() {
+        recommendationService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recommendationService.shutdown();
+    }
+
+    // ==================== RECOMMENDATION TESTS ====================
+
+    @Test
+    void testGetRecommendations_RanksAndExcludesFollowedAndBlocked() {
+        when(followGraph.secondDegreeCounts(eq("me"), anyInt(), any(ForkJoinPool.class)))
+                .thenReturn(Map.of("user-a", 2, "user-b", 4, "user-blocked", 9, "user-followed", 5));
+        when(followGraph.followedBy(eq("me"), anyCollection())).thenReturn(Set.of("user-followed"));
+        when(blockListCache.visibleTo("me")).thenReturn(userId -> !userId.equals("user-blocked"));
+        when(collaboratorRepository.findByUserId("me")).thenReturn(List.of(collaborator("board-1", "me")));
+        when(boardRepository.findByUserId("me")).thenReturn(List.of());
+        when(collaboratorRepository.findByBoardIdIn(Set.of("board-1")))
+                .thenReturn(List.of(collaborator("board-1", "me"), collaborator("board-1", "user-a")));
+        when(boardRepository.findAllById(Set.of("board-1"))).thenReturn(List.of(board("board-1", "user-c")));
+        when(userRepository.findAllById(List.of("user-a", "user-b", "user-c")))
+                .thenReturn(List.of(user("user-a"), user("user-b"), user("user-c")));
+
+        List<UserRecommendationDTO> result = recommendationService.getRecommendations("me", 20);
+
+        // user-a: 2 mutual + 1 shared board (5.0), user-b: 4 mutual, user-c: board owner (3.0)
+        assertEquals(List.of("user-a", "user-b", "user-c"),
+                result.stream().map(UserRecommendationDTO::getUserId).toList());
+        assertEquals(2, result.get(0).getMutualFollows());
+        assertEquals(1, result.get(0).getSharedBoards());
+        assertEquals(5.0, result.get(0).getScore());
+    }
+
+    @Test
+    void testGetRecommendations_ServesFromCacheAndDropsNewFollows() {
+        when(followGraph.secondDegreeCounts(eq("me"), anyInt(), any(ForkJoinPool.class))).thenReturn(Map.of("user-a", 1, "user-b", 3));
+        when(followGraph.followedBy(eq("me"), anyCollection()))
+                .thenReturn(Set.of(), Set.of(), Set.of("user-b"));
+        when(blockListCache.visibleTo("me")).thenReturn(userId -> true);
+        when(collaboratorRepository.findByUserId("me")).thenReturn(List.of());
+        when(boardRepository.findByUserId("me")).thenReturn(List.of());
+        when(userRepository.findAllById(List.of("user-b", "user-a")))
+                .thenReturn(List.of(user("user-a"), user("user-b")));
+
+        List<UserRecommendationDTO> first = recommendationService.getRecommendations("me", 20);
+        List<UserRecommendationDTO> second = recommendationService.getRecommendations("me", 20);
+
+        assertEquals(2, first.size());
+        assertEquals(List.of("user-a"), second.stream().map(UserRecommendationDTO::getUserId).toList());
+        verify(followGraph, times(1)).secondDegreeCounts(eq("me"), anyInt(), any(ForkJoinPool.class));
+    }
+
+    @Test
+    void testPrecompute_RefreshesUsersWhoRequested() {
+        when(followGraph.secondDegreeCounts(eq("me"), anyInt(), any(ForkJoinPool.class))).thenReturn(Map.of());
+        when(collaboratorRepository.findByUserId("me")).thenReturn(List.of());
+        when(boardRepository.findByUserId("me")).thenReturn(List.of());
+        when(blockListCache.visibleTo("me")).thenReturn(userId -> true);
+        when(userRepository.findAllById(List.of())).thenReturn(List.of());
+
+        assertTrue(recommendationService.getRecommendations("me", 20).isEmpty());
+        recommendationService.precomputeForActiveUsers();
+
+        verify(followGraph, times(2)).secondDegreeCounts(eq("me"), anyInt(), any(ForkJoinPool.class));
+    }
+
+    @Test
+    void testPrecompute_KeepsOnlyMostRecentlyRequestingUsers() {
+        ReflectionTestUtils.setField(recommendationService, "activeMaxUsers", 1);
+        for (String userId : List.of("me", "you")) {
+            when(followGraph.secondDegreeCounts(eq(userId), anyInt(), any(ForkJoinPool.class))).thenReturn(Map.of());
+            when(collaboratorRepository.findByUserId(userId)).thenReturn(List.of());
+            when(boardRepository.findByUserId(userId)).thenReturn(List.of());
+            when(blockListCache.visibleTo(userId)).thenReturn(candidate -> true);
+        }
+        when(userRepository.findAllById(List.of())).thenReturn(List.of());
+
+        recommendationService.getRecommendations("me", 20);
+        recommendationService.getRecommendations("you", 20);
+        recommendationService.precomputeForActiveUsers();
+
+        verify(followGraph, times(1)).secondDegreeCounts(eq("me"), anyInt(), any(ForkJoinPool.class));
+        verify(followGraph, times(2)).secondDegreeCounts(eq("you"), anyInt(), any(ForkJoinPool.class));
+    }
+
+    // ==================== TWO HOP COUNTER TESTS ====================
+
+    @Test
+    void testTwoHopCounter_CountsPathsAndSkipsDirectNeighbours() {
+        // 0 -> 1, 2; 1 -> 2, 3, 4; 2 -> 3, 0
+        CompactDigraph graph = graph(5, new int[][]{{0, 1}, {0, 2}, {1, 2}, {1, 3}, {1, 4}, {2, 3}, {2, 0}});
+
+        Map<Integer, Integer> counts = TwoHopCounter.count(graph, 0, 10, ForkJoinPool.commonPool());
+
+        assertEquals(Map.of(3, 2, 4, 1), counts);
+        assertFalse(counts.containsKey(2));
+    }
+
+    /**
+     * Cold two-hop latency on a one-million-user, ten-million-edge graph
+     * with a fan-out cap of 200. Run with -Dbenchmark=true (needs about 1 GB of heap).
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkColdTwoHopTraversal() {
+        int users = 1_000_000;
+        int edges = 10_000_000;
+        Random random = new Random(17);
+        IntList sources = new IntList(edges);
+        IntList targets = new IntList(edges);
+        Set<Long> seen = new HashSet<>();
+        while (sources.size() < edges) {
+            int from = random.nextInt(users);
+            int to = random.nextInt(users);
+            if (from != to && seen.add(((long) from << 32) | to)) {
+                sources.add(from);
+                targets.add(to);
+            }
+        }
+        CompactDigraph graph = CompactDigraph.build(users, sources, targets);
+
+        int queries = 2000;
+        long[] nanos = new long[queries];
+        long candidates = 0;
+        for (int i = 0; i < queries; i++) {
+            long start = System.nanoTime();
+            candidates += TwoHopCounter.count(graph, random.nextInt(users), 200, ForkJoinPool.commonPool()).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        log.info("two-hop p50 {} ms, p99 {} ms, {} candidates/query", String.format("%.2f", nanos[queries / 2] / 1e6),
+                String.format("%.2f", nanos[queries * 99 / 100] / 1e6), candidates / queries);
+        assertTrue(nanos[queries * 99 / 100] < 200_000_000L);
+    }
+
+    // Helper methods
+
+    private CompactDigraph graph(int nodes, int[][] edges) {
+        IntList sources = new IntList();
+        IntList targets = new IntList();
+        for (int[] edge : edges) {
+            sources.add(edge[0]);
+            targets.add(edge[1]);
+        }
+        return CompactDigraph.build(nodes, sources, targets);
+    }
+
+    private BoardCollaborator collaborator(String boardId, String userId) {
+        BoardCollaborator collaborator = new BoardCollaborator();
+        collaborator.setBoardId(boardId);
+        collaborator.setUserId(userId);
+        return collaborator;
+    }
+
+    private Board board(String boardId, String ownerId) {
+        Board board = new Board();
+        board.setBoardId(boardId);
+        board.setUserId(ownerId);
+        board.setIsCollaborative(true);
+        return board;
+    }
+
+    private User user(String userId) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUsername(userId);
+        return user;
+    }
+}
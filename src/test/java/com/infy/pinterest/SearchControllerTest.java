@@ -773,7 +773,7 @@ class SearchControllerTest {
     @DisplayName("GET /search/popular - Success")
     void testGetPopularPins_Success() throws Exception {
         // Arrange
-        when(searchService.getPopularPins(0, 20))
+        when(searchService.getPopularPins(null, null, 0, 20))
                 .thenReturn(paginatedPinResponse);
 
         // Act & Assert
@@ -787,7 +787,22 @@ class SearchControllerTest {
                 .andExpect(jsonPath("$.data.data[0].saves").value(50))
                 .andExpect(jsonPath("$.data.data[0].likes").value(100));
 
-        verify(searchService, times(1)).getPopularPins(0, 20);
+        verify(searchService, times(1)).getPopularPins(null, null, 0, 20);
+    }
+
+    @Test
+    @DisplayName("GET /search/popular - Passes Viewer For Block Filtering")
+    void testGetPopularPins_PassesViewer() throws Exception {
+        // Arrange
+        when(searchService.getPopularPins("viewer-1", null, 0, 20))
+                .thenReturn(paginatedPinResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/search/popular")
+                        .header("X-User-Id", "viewer-1"))
+                .andExpect(status().isOk());
+
+        verify(searchService, times(1)).getPopularPins("viewer-1", null, 0, 20);
     }
 
     @Test
@@ -800,7 +815,7 @@ class SearchControllerTest {
                 customPagination
         );
 
-        when(searchService.getPopularPins(1, 20))
+        when(searchService.getPopularPins(null, null, 1, 20))
                 .thenReturn(customResponse);
 
         // Act & Assert
@@ -812,7 +827,7 @@ class SearchControllerTest {
                 .andExpect(jsonPath("$.data.pagination.currentPage").value(1))
                 .andExpect(jsonPath("$.data.pagination.totalPages").value(3));
 
-        verify(searchService, times(1)).getPopularPins(1, 20);
+        verify(searchService, times(1)).getPopularPins(null, null, 1, 20);
     }
 
     @Test
@@ -834,7 +849,7 @@ class SearchControllerTest {
                 new PaginationDTO(0, 1, 2L, 20, false, false)
         );
 
-        when(searchService.getPopularPins(0, 20))
+        when(searchService.getPopularPins(null, null, 0, 20))
                 .thenReturn(multipleResponse);
 
         // Act & Assert
@@ -845,7 +860,7 @@ class SearchControllerTest {
                 .andExpect(jsonPath("$.data.data[0].saves").value(500))
                 .andExpect(jsonPath("$.data.data[1].saves").value(400));
 
-        verify(searchService, times(1)).getPopularPins(0, 20);
+        verify(searchService, times(1)).getPopularPins(null, null, 0, 20);
     }
 
     @Test
@@ -857,7 +872,7 @@ class SearchControllerTest {
                 new PaginationDTO(0, 0, 0L, 20, false, false)
         );
 
-        when(searchService.getPopularPins(0, 20))
+        when(searchService.getPopularPins(null, null, 0, 20))
                 .thenReturn(emptyResponse);
 
         // Act & Assert
@@ -866,14 +881,14 @@ class SearchControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.data", hasSize(0)));
 
-        verify(searchService, times(1)).getPopularPins(0, 20);
+        verify(searchService, times(1)).getPopularPins(null, null, 0, 20);
     }
 
     @Test
     @DisplayName("GET /search/popular - Success - Default Pagination")
     void testGetPopularPins_Success_DefaultPagination() throws Exception {
         // Arrange
-        when(searchService.getPopularPins(0, 20))
+        when(searchService.getPopularPins(null, null, 0, 20))
                 .thenReturn(paginatedPinResponse);
 
         // Act & Assert
@@ -883,7 +898,7 @@ class SearchControllerTest {
                 .andExpect(jsonPath("$.data.pagination.currentPage").value(0))
                 .andExpect(jsonPath("$.data.pagination.pageSize").value(20));
 
-        verify(searchService, times(1)).getPopularPins(0, 20);
+        verify(searchService, times(1)).getPopularPins(null, null, 0, 20);
     }
 
     // ==================== INTEGRATION & EDGE CASE TESTS ====================
@@ -1049,9 +1064,9 @@ class SearchControllerTest {
     @DisplayName("Popular Pins with Different Page Sizes")
     void testPopularPins_DifferentPageSizes() throws Exception {
         // Arrange
-        when(searchService.getPopularPins(0, 10))
+        when(searchService.getPopularPins(null, null, 0, 10))
                 .thenReturn(paginatedPinResponse);
-        when(searchService.getPopularPins(0, 50))
+        when(searchService.getPopularPins(null, null, 0, 50))
                 .thenReturn(paginatedPinResponse);
 
         // Page size 10
@@ -1064,8 +1079,8 @@ class SearchControllerTest {
                         .param("size", "50"))
                 .andExpect(status().isOk());
 
-        verify(searchService, times(1)).getPopularPins(0, 10);
-        verify(searchService, times(1)).getPopularPins(0, 50);
+        verify(searchService, times(1)).getPopularPins(null, null, 0, 10);
+        verify(searchService, times(1)).getPopularPins(null, null, 0, 50);
     }
 
     @Test
@@ -30,6 +30,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import com.infy.pinterest.dto.BoardSearchResultDTO;
+import com.infy.pinterest.dto.FacetCountDTO;
 import com.infy.pinterest.dto.PaginatedResponse;
 import com.infy.pinterest.dto.PinSearchResultDTO;
 import com.infy.pinterest.dto.SearchRequestDTO;
@@ -39,8 +40,13 @@ import com.infy.pinterest.entity.Board;
 import com.infy.pinterest.entity.Pin;
 import com.infy.pinterest.entity.User;
 import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.FollowRepository;
 import com.infy.pinterest.repository.PinRepository;
 import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.TrendingService;
+import com.infy.pinterest.service.SearchEngine;
+import com.infy.pinterest.service.SearchHits;
+import com.infy.pinterest.service.BlockListCache;
 import com.infy.pinterest.service.SearchService;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,9 +61,21 @@ class SearchServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private FollowRepository followRepository;
+
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private SearchEngine searchEngine;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private BlockListCache blockListCache;
+
     @InjectMocks
     private SearchService searchService;
 
@@ -317,7 +335,7 @@ class SearchServiceTest {
         Page<Board> boardPage = new PageImpl<>(boards, PageRequest.of(0, 20), 1);
 
         when(boardRepository.searchBoards(anyString(), any(Pageable.class))).thenReturn(boardPage);
-        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(userRepository.findAllById(List.of("user-123"))).thenReturn(List.of(testUser));
         when(boardRepository.findBoardNameSuggestions(anyString(), any(Pageable.class)))
                 .thenReturn(Arrays.asList("Nature Photography", "Nature Art"));
 
@@ -350,7 +368,7 @@ class SearchServiceTest {
 
         when(boardRepository.searchBoardsByCategory(anyString(), anyString(), any(Pageable.class)))
                 .thenReturn(boardPage);
-        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(userRepository.findAllById(List.of("user-123"))).thenReturn(List.of(testUser));
         when(boardRepository.findBoardNameSuggestions(anyString(), any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
 
@@ -390,7 +408,7 @@ class SearchServiceTest {
         Page<Board> boardPage = new PageImpl<>(boards, PageRequest.of(0, 20), 1);
 
         when(boardRepository.searchBoards(anyString(), any(Pageable.class))).thenReturn(boardPage);
-        when(userRepository.findById("user-123")).thenReturn(Optional.empty());
+        when(userRepository.findAllById(List.of("user-123"))).thenReturn(List.of());
         when(boardRepository.findBoardNameSuggestions(anyString(), any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
 
@@ -403,6 +421,27 @@ class SearchServiceTest {
         assertNull(result.getResults().get(0).getCreatedBy());
     }
 
+    @Test
+    void testSearchBoards_FromSearchEngine() {
+        // Arrange
+        when(searchEngine.searchBoards("nature", null, 0, 20))
+                .thenReturn(Optional.of(new SearchHits(List.of("board-123", "board-gone"), 2)));
+        when(boardRepository.findAllById(List.of("board-123", "board-gone"))).thenReturn(List.of(testBoard));
+        when(userRepository.findAllById(List.of("user-123"))).thenReturn(List.of(testUser));
+        when(boardRepository.findBoardNameSuggestions(anyString(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+        searchRequest.setQuery("nature");
+
+        // Act
+        SearchResultDTO<BoardSearchResultDTO> result = searchService.searchBoards(searchRequest);
+
+        // Assert
+        assertEquals(1, result.getResults().size());
+        assertEquals("board-123", result.getResults().get(0).getBoardId());
+        assertEquals(2L, result.getTotalResults());
+        verify(boardRepository, never()).searchBoards(anyString(), any(Pageable.class));
+    }
+
     // ==================== USER SEARCH TESTS ====================
 
     @Test
@@ -415,7 +454,7 @@ class SearchServiceTest {
         when(userRepository.searchUsers(anyString(), any(Pageable.class))).thenReturn(userPage);
         when(userRepository.findUsernameSuggestions(anyString(), any(Pageable.class)))
                 .thenReturn(Arrays.asList("testuser", "testuser2"));
-        when(pinRepository.countByUserId("user-123")).thenReturn(15L);
+        when(pinRepository.countByUserIds(List.of("user-123"))).thenReturn(countRows("user-123", 15L));
 
         // Act
         SearchResultDTO<UserSearchResultDTO> result = searchService.searchUsers(searchRequest);
@@ -434,7 +473,29 @@ class SearchServiceTest {
         assertEquals(15, userResult.getPinCount());
 
         verify(userRepository).searchUsers(eq("test"), any(Pageable.class));
-        verify(pinRepository).countByUserId("user-123");
+        verify(pinRepository, never()).countByUserId(anyString());
+    }
+
+    @Test
+    void testSearchUsers_DropsUsersBlockedEitherWay() {
+        // Arrange
+        searchRequest.setQuery("test");
+        searchRequest.setViewerId("viewer-1");
+        User blocked = new User();
+        blocked.setUserId("user-blocked");
+        blocked.setUsername("testblocked");
+        Page<User> userPage = new PageImpl<>(Arrays.asList(testUser, blocked), PageRequest.of(0, 20), 2);
+
+        when(userRepository.searchUsers(anyString(), any(Pageable.class))).thenReturn(userPage);
+        when(blockListCache.visibleTo("viewer-1")).thenReturn(userId -> !userId.equals("user-blocked"));
+
+        // Act
+        SearchResultDTO<UserSearchResultDTO> result = searchService.searchUsers(searchRequest);
+
+        // Assert
+        assertEquals(1, result.getResults().size());
+        assertEquals("user-123", result.getResults().get(0).getUserId());
+        verify(pinRepository).countByUserIds(List.of("user-123"));
     }
 
     @Test
@@ -466,7 +527,7 @@ class SearchServiceTest {
         when(userRepository.searchUsers(anyString(), any(Pageable.class))).thenReturn(userPage);
         when(userRepository.findUsernameSuggestions(anyString(), any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
-        when(pinRepository.countByUserId("user-123")).thenReturn(150L);
+        when(pinRepository.countByUserIds(List.of("user-123"))).thenReturn(countRows("user-123", 150L));
 
         // Act
         SearchResultDTO<UserSearchResultDTO> result = searchService.searchUsers(searchRequest);
@@ -476,6 +537,56 @@ class SearchServiceTest {
         assertEquals(150, userResult.getPinCount());
     }
 
+    @Test
+    void testSearchUsers_CountsComeFromGroupedQueries() {
+        // Arrange
+        User user2 = new User();
+        user2.setUserId("user-456");
+        user2.setUsername("testuser2");
+        searchRequest.setQuery("test");
+        Page<User> userPage = new PageImpl<>(Arrays.asList(testUser, user2), PageRequest.of(0, 20), 2);
+
+        when(userRepository.searchUsers(anyString(), any(Pageable.class))).thenReturn(userPage);
+        when(userRepository.findUsernameSuggestions(anyString(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+        when(pinRepository.countByUserIds(List.of("user-123", "user-456"))).thenReturn(countRows("user-456", 3L));
+        when(followRepository.countFollowersByUserIds(List.of("user-123", "user-456")))
+                .thenReturn(countRows("user-123", 42L));
+        when(followRepository.countFollowingByUserIds(List.of("user-123", "user-456")))
+                .thenReturn(countRows("user-123", 7L));
+
+        // Act
+        List<UserSearchResultDTO> results = searchService.searchUsers(searchRequest).getResults();
+
+        // Assert
+        assertEquals(42, results.get(0).getFollowers());
+        assertEquals(7, results.get(0).getFollowing());
+        assertEquals(0, results.get(0).getPinCount());
+        assertEquals(0, results.get(1).getFollowers());
+        assertEquals(3, results.get(1).getPinCount());
+        verify(pinRepository, never()).countByUserId(anyString());
+    }
+
+    @Test
+    void testSearchBoards_FollowersAreOwnerFollowers() {
+        // Arrange
+        searchRequest.setQuery("nature");
+        Page<Board> boardPage = new PageImpl<>(Arrays.asList(testBoard), PageRequest.of(0, 20), 1);
+
+        when(boardRepository.searchBoards(anyString(), any(Pageable.class))).thenReturn(boardPage);
+        when(userRepository.findAllById(List.of("user-123"))).thenReturn(List.of(testUser));
+        when(followRepository.countFollowersByUserIds(List.of("user-123"))).thenReturn(countRows("user-123", 12L));
+        when(boardRepository.findBoardNameSuggestions(anyString(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        // Act
+        BoardSearchResultDTO result = searchService.searchBoards(searchRequest).getResults().get(0);
+
+        // Assert
+        assertEquals(12, result.getFollowers());
+        verify(userRepository, never()).findById(anyString());
+    }
+
     // ==================== SUGGESTION TESTS ====================
 
     @Test
@@ -702,6 +813,156 @@ class SearchServiceTest {
         assertTrue(result.getPagination().getHasPrevious());
     }
 
+    // ==================== FUZZY SEARCH TESTS ====================
+
+    @Test
+    void testSearchPins_FuzzyUsesIndex() {
+        // Arrange
+        searchRequest.setQuery("sunst");
+        searchRequest.setFuzzy(true);
+        when(searchEngine.searchPins("sunst", null, true, "relevance", 0, 20))
+                .thenReturn(Optional.of(new SearchHits(List.of("pin-123"), 1)));
+        when(pinRepository.findAllById(List.of("pin-123"))).thenReturn(List.of(testPin));
+        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(pinRepository.findTitleSuggestions(anyString(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        // Act
+        SearchResultDTO<PinSearchResultDTO> result = searchService.searchPins(searchRequest);
+
+        // Assert
+        assertEquals(1, result.getResults().size());
+        assertEquals("pin-123", result.getResults().get(0).getPinId());
+        assertEquals(1L, result.getTotalResults());
+        assertEquals(1, result.getPagination().getTotalPages());
+        verify(pinRepository, never()).searchPins(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void testSearchPins_IndexReturnsFacets() {
+        // Arrange
+        List<FacetCountDTO> facets = List.of(new FacetCountDTO("Photography", 3L), new FacetCountDTO("Travel", 1L));
+        when(searchEngine.searchPins("sunset", null, false, "relevance", 0, 20))
+                .thenReturn(Optional.of(new SearchHits(List.of("pin-123"), 4, facets)));
+        when(pinRepository.findAllById(List.of("pin-123"))).thenReturn(List.of(testPin));
+        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(pinRepository.findTitleSuggestions(anyString(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        // Act
+        SearchResultDTO<PinSearchResultDTO> result = searchService.searchPins(searchRequest);
+
+        // Assert
+        assertEquals(facets, result.getFacets());
+        assertEquals(4L, result.getTotalResults());
+        verify(pinRepository, never()).searchPins(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void testSearchPins_FuzzyDropsStaleIndexHits() {
+        // Arrange
+        searchRequest.setFuzzy(true);
+        when(searchEngine.searchPins("sunset", null, true, "relevance", 0, 20))
+                .thenReturn(Optional.of(new SearchHits(List.of("pin-gone", "pin-123"), 2)));
+        when(pinRepository.findAllById(List.of("pin-gone", "pin-123"))).thenReturn(List.of(testPin));
+        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(pinRepository.findTitleSuggestions(anyString(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        // Act
+        SearchResultDTO<PinSearchResultDTO> result = searchService.searchPins(searchRequest);
+
+        // Assert
+        assertEquals(1, result.getResults().size());
+        verify(searchEngine).evictPin("pin-gone");
+    }
+
+    @Test
+    void testSearchPins_FuzzyFallsBackWhenIndexNotReady() {
+        // Arrange
+        searchRequest.setFuzzy(true);
+        Page<Pin> pinPage = new PageImpl<>(List.of(testPin), PageRequest.of(0, 20), 1);
+        when(searchEngine.searchPins(anyString(), any(), eq(true), anyString(), eq(0), eq(20)))
+                .thenReturn(Optional.empty());
+        when(pinRepository.searchPins(anyString(), any(Pageable.class))).thenReturn(pinPage);
+        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(pinRepository.findTitleSuggestions(anyString(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        // Act
+        SearchResultDTO<PinSearchResultDTO> result = searchService.searchPins(searchRequest);
+
+        // Assert
+        assertEquals(1, result.getResults().size());
+        verify(pinRepository).searchPins(eq("sunset"), any(Pageable.class));
+    }
+
+    @Test
+    void testGetPopularPins_FromTrendingLeaderboard() {
+        // Arrange
+        Pin stalePin = new Pin();
+        stalePin.setPinId("pin-private");
+        stalePin.setVisibility(Pin.Visibility.PRIVATE);
+        when(trendingService.getTrendingPins(null, 0, 20))
+                .thenReturn(Optional.of(new SearchHits(List.of("pin-private", "pin-123"), 2)));
+        when(pinRepository.findAllById(List.of("pin-private", "pin-123")))
+                .thenReturn(List.of(testPin, stalePin));
+        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+
+        // Act
+        PaginatedResponse<PinSearchResultDTO> result = searchService.getPopularPins(0, 20);
+
+        // Assert
+        assertEquals(1, result.getData().size());
+        assertEquals("pin-123", result.getData().get(0).getPinId());
+        assertEquals(2L, result.getPagination().getTotalItems());
+        verify(trendingService).removePin("pin-private");
+        verify(pinRepository, never()).findPopularPins(any(Pageable.class));
+    }
+
+    @Test
+    void testGetPopularPins_TrendingDropsBlockedCreators() {
+        // Arrange
+        Pin blockedPin = new Pin();
+        blockedPin.setPinId("pin-blocked");
+        blockedPin.setUserId("user-blocked");
+        blockedPin.setVisibility(Pin.Visibility.PUBLIC);
+        when(trendingService.getTrendingPins(null, 0, 20))
+                .thenReturn(Optional.of(new SearchHits(List.of("pin-blocked", "pin-123"), 2)));
+        when(pinRepository.findAllById(List.of("pin-blocked", "pin-123")))
+                .thenReturn(List.of(testPin, blockedPin));
+        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(blockListCache.visibleTo("viewer-1")).thenReturn(userId -> !userId.equals("user-blocked"));
+
+        // Act
+        PaginatedResponse<PinSearchResultDTO> result = searchService.getPopularPins("viewer-1", null, 0, 20);
+
+        // Assert
+        assertEquals(1, result.getData().size());
+        assertEquals("pin-123", result.getData().get(0).getPinId());
+        verify(trendingService, never()).removePin(anyString());
+    }
+
+    @Test
+    void testGetPopularPins_FallbackDropsBlockedCreators() {
+        // Arrange
+        Pin blockedPin = new Pin();
+        blockedPin.setPinId("pin-blocked");
+        blockedPin.setUserId("user-blocked");
+        Page<Pin> pinPage = new PageImpl<>(Arrays.asList(blockedPin, testPin), PageRequest.of(0, 20), 2);
+        when(trendingService.getTrendingPins(null, 0, 20)).thenReturn(Optional.empty());
+        when(pinRepository.findPopularPins(any(Pageable.class))).thenReturn(pinPage);
+        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(blockListCache.visibleTo("viewer-1")).thenReturn(userId -> !userId.equals("user-blocked"));
+
+        // Act
+        PaginatedResponse<PinSearchResultDTO> result = searchService.getPopularPins("viewer-1", null, 0, 20);
+
+        // Assert
+        assertEquals(1, result.getData().size());
+        assertEquals("pin-123", result.getData().get(0).getPinId());
+    }
+
     // ==================== RELEVANCE SCORE TESTS ====================
 
     @Test
@@ -819,7 +1080,7 @@ class SearchServiceTest {
         Page<Board> boardPage = new PageImpl<>(boards, PageRequest.of(0, 20), 1);
 
         when(boardRepository.searchBoards(anyString(), any(Pageable.class))).thenReturn(boardPage);
-        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(userRepository.findAllById(List.of("user-123"))).thenReturn(List.of(testUser));
         when(boardRepository.findBoardNameSuggestions(anyString(), any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
 
@@ -841,7 +1102,7 @@ class SearchServiceTest {
         when(userRepository.searchUsers(anyString(), any(Pageable.class))).thenReturn(userPage);
         when(userRepository.findUsernameSuggestions(anyString(), any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
-        when(pinRepository.countByUserId("user-123")).thenReturn(10L);
+        when(pinRepository.countByUserIds(List.of("user-123"))).thenReturn(countRows("user-123", 10L));
 
         // Act
         SearchResultDTO<UserSearchResultDTO> result = searchService.searchUsers(searchRequest);
@@ -918,7 +1179,7 @@ class SearchServiceTest {
         Page<Board> boardPage = new PageImpl<>(boards, PageRequest.of(0, 20), 1);
 
         when(boardRepository.searchBoards(anyString(), any(Pageable.class))).thenReturn(boardPage);
-        when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
+        when(userRepository.findAllById(List.of("user-123"))).thenReturn(List.of(testUser));
         when(boardRepository.findBoardNameSuggestions(anyString(), any(Pageable.class)))
                 .thenReturn(new ArrayList<>());
 
@@ -929,4 +1190,10 @@ class SearchServiceTest {
         verify(boardRepository).searchBoards(eq("nature"), any(Pageable.class));
         verify(boardRepository, never()).searchBoardsByCategory(anyString(), anyString(), any(Pageable.class));
     }
+
+    private static List<Object[]> countRows(String id, long count) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{id, count});
+        return rows;
+    }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.infy.pinterest.controller.SocialController;
 import com.infy.pinterest.dto.*;
 import com.infy.pinterest.exception.*;
+import com.infy.pinterest.service.RecommendationService;
 import com.infy.pinterest.service.SocialService;
 import com.infy.pinterest.utility.GlobalExceptionHandler;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,6 +40,9 @@ class SocialControllerTest {
     @Mock
     private SocialService socialService;
 
+    @Mock
+    private RecommendationService recommendationService;
+
     @InjectMocks
     private SocialController socialController;
 
@@ -5,10 +5,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +32,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import com.infy.pinterest.dto.CursorPaginatedResponse;
 import com.infy.pinterest.dto.FollowStatsDTO;
 import com.infy.pinterest.dto.FollowerResponseDTO;
 import com.infy.pinterest.dto.FollowingResponseDTO;
@@ -59,8 +62,12 @@ import com.infy.pinterest.repository.FollowRepository;
 import com.infy.pinterest.repository.InvitationRepository;
 import com.infy.pinterest.repository.UserReportRepository;
 import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.BlockListCache;
+import com.infy.pinterest.service.BoardAccessCache;
+import com.infy.pinterest.service.FollowGraph;
 import com.infy.pinterest.service.NotificationService;
 import com.infy.pinterest.service.SocialService;
+import com.infy.pinterest.utility.KeysetCursor;
 
 @ExtendWith(MockitoExtension.class)
 class SocialServiceTest {
@@ -89,6 +96,15 @@ class SocialServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private FollowGraph followGraph;
+
+    @Mock
+    private BlockListCache blockListCache;
+
+    @Mock
+    private BoardAccessCache boardAccessCache;
+
     @InjectMocks
     private SocialService socialService;
 
@@ -290,8 +306,8 @@ class SocialServiceTest {
         Page<Follow> followPage = new PageImpl<>(follows, PageRequest.of(0, 10), 1);
 
         when(followRepository.findByFollowingId(eq("user-002"), any(Pageable.class))).thenReturn(followPage);
-        when(userRepository.findById("user-001")).thenReturn(Optional.of(user1));
-        when(followRepository.existsByFollowerIdAndFollowingId("current-user", "user-001")).thenReturn(true);
+        when(userRepository.findAllById(List.of("user-001"))).thenReturn(List.of(user1));
+        when(followGraph.followedBy("current-user", Set.of("user-001"))).thenReturn(Set.of("user-001"));
 
         // Act
         PaginatedResponse<FollowerResponseDTO> result = socialService.getFollowers("user-002", "current-user", 0, 10);
@@ -325,7 +341,7 @@ class SocialServiceTest {
         Page<Follow> followPage = new PageImpl<>(follows, PageRequest.of(0, 10), 1);
 
         when(followRepository.findByFollowingId(eq("user-002"), any(Pageable.class))).thenReturn(followPage);
-        when(userRepository.findById("user-001")).thenReturn(Optional.empty());
+        when(userRepository.findAllById(List.of("user-001"))).thenReturn(List.of());
 
         // Act
         PaginatedResponse<FollowerResponseDTO> result = socialService.getFollowers("user-002", "current-user", 0, 10);
@@ -342,8 +358,8 @@ class SocialServiceTest {
         Page<Follow> followPage = new PageImpl<>(follows, PageRequest.of(1, 5), 20);
 
         when(followRepository.findByFollowingId(eq("user-002"), any(Pageable.class))).thenReturn(followPage);
-        when(userRepository.findById("user-001")).thenReturn(Optional.of(user1));
-        when(followRepository.existsByFollowerIdAndFollowingId("current-user", "user-001")).thenReturn(false);
+        when(userRepository.findAllById(List.of("user-001"))).thenReturn(List.of(user1));
+        when(followGraph.followedBy("current-user", Set.of("user-001"))).thenReturn(Set.of());
 
         // Act
         PaginatedResponse<FollowerResponseDTO> result = socialService.getFollowers("user-002", "current-user", 1, 5);
@@ -361,8 +377,8 @@ class SocialServiceTest {
         Page<Follow> followPage = new PageImpl<>(follows, PageRequest.of(0, 10), 1);
 
         when(followRepository.findByFollowingId(eq("user-002"), any(Pageable.class))).thenReturn(followPage);
-        when(userRepository.findById("user-001")).thenReturn(Optional.of(user1));
-        when(followRepository.existsByFollowerIdAndFollowingId("current-user", "user-001")).thenReturn(false);
+        when(userRepository.findAllById(List.of("user-001"))).thenReturn(List.of(user1));
+        when(followGraph.followedBy("current-user", Set.of("user-001"))).thenReturn(Set.of());
 
         // Act
         PaginatedResponse<FollowerResponseDTO> result = socialService.getFollowers("user-002", "current-user", 0, 10);
@@ -371,6 +387,62 @@ class SocialServiceTest {
         assertFalse(result.getData().get(0).getIsFollowing());
     }
 
+    @Test
+    void testGetFollowersByCursor_FetchesOneExtraRowForNextCursor() {
+        // Arrange
+        LocalDateTime followedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        Follow newer = new Follow("follow-b", "user-001", "user-002", followedAt);
+        Follow older = new Follow("follow-a", "user-003", "user-002", followedAt);
+        User user3 = new User();
+        user3.setUserId("user-003");
+        user3.setUsername("user3");
+        when(followRepository.findByFollowingIdOrderByFollowedAtDescFollowIdDesc(eq("user-002"), any(Pageable.class)))
+                .thenReturn(List.of(newer, older));
+        when(userRepository.findAllById(List.of("user-001"))).thenReturn(List.of(user1));
+        when(followGraph.followedBy("current-user", Set.of("user-001"))).thenReturn(Set.of("user-001"));
+
+        // Act
+        CursorPaginatedResponse<FollowerResponseDTO> first =
+                socialService.getFollowersByCursor("user-002", "current-user", null, 1);
+
+        // Assert
+        assertEquals(1, first.getData().size());
+        assertTrue(first.getData().get(0).getIsFollowing());
+        assertTrue(first.getHasNext());
+        assertEquals(new KeysetCursor(followedAt, "follow-b"), KeysetCursor.decode(first.getNextCursor()));
+
+        // Act: the cursor seeks past the last row instead of using an offset
+        when(followRepository.findFollowersBefore(eq("user-002"), eq(followedAt), eq("follow-b"), any(Pageable.class)))
+                .thenReturn(List.of(older));
+        when(userRepository.findAllById(List.of("user-003"))).thenReturn(List.of(user3));
+        CursorPaginatedResponse<FollowerResponseDTO> second =
+                socialService.getFollowersByCursor("user-002", "current-user", first.getNextCursor(), 1);
+
+        // Assert
+        assertEquals("user-003", second.getData().get(0).getUserId());
+        assertFalse(second.getHasNext());
+        assertNull(second.getNextCursor());
+        verify(userRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testGetFollowingByCursor_ClampsPageSize() {
+        when(followRepository.findByFollowerIdOrderByFollowedAtDescFollowIdDesc(eq("user-001"), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        CursorPaginatedResponse<FollowingResponseDTO> response =
+                socialService.getFollowingByCursor("user-001", "current-user", null, 0);
+
+        verify(followRepository).findByFollowerIdOrderByFollowedAtDescFollowIdDesc("user-001", PageRequest.of(0, 2));
+        assertEquals(1, response.getPageSize());
+    }
+
+    @Test
+    void testGetFollowersByCursor_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> socialService.getFollowersByCursor("user-002", "current-user", "not-a-cursor", 10));
+    }
+
     // ==================== GET FOLLOWING TESTS ====================
 
     @Test
@@ -380,8 +452,8 @@ class SocialServiceTest {
         Page<Follow> followPage = new PageImpl<>(follows, PageRequest.of(0, 10), 1);
 
         when(followRepository.findByFollowerId(eq("user-001"), any(Pageable.class))).thenReturn(followPage);
-        when(userRepository.findById("user-002")).thenReturn(Optional.of(user2));
-        when(followRepository.existsByFollowerIdAndFollowingId("user-002", "current-user")).thenReturn(true);
+        when(userRepository.findAllById(List.of("user-002"))).thenReturn(List.of(user2));
+        when(followGraph.followersAmong("current-user", Set.of("user-002"))).thenReturn(Set.of("user-002"));
 
         // Act
         PaginatedResponse<FollowingResponseDTO> result = socialService.getFollowing("user-001", "current-user", 0, 10);
@@ -415,7 +487,7 @@ class SocialServiceTest {
         Page<Follow> followPage = new PageImpl<>(follows, PageRequest.of(0, 10), 1);
 
         when(followRepository.findByFollowerId(eq("user-001"), any(Pageable.class))).thenReturn(followPage);
-        when(userRepository.findById("user-002")).thenReturn(Optional.empty());
+        when(userRepository.findAllById(List.of("user-002"))).thenReturn(List.of());
 
         // Act
         PaginatedResponse<FollowingResponseDTO> result = socialService.getFollowing("user-001", "current-user", 0, 10);
@@ -432,8 +504,8 @@ class SocialServiceTest {
         Page<Follow> followPage = new PageImpl<>(follows, PageRequest.of(2, 5), 30);
 
         when(followRepository.findByFollowerId(eq("user-001"), any(Pageable.class))).thenReturn(followPage);
-        when(userRepository.findById("user-002")).thenReturn(Optional.of(user2));
-        when(followRepository.existsByFollowerIdAndFollowingId("user-002", "current-user")).thenReturn(false);
+        when(userRepository.findAllById(List.of("user-002"))).thenReturn(List.of(user2));
+        when(followGraph.followersAmong("current-user", Set.of("user-002"))).thenReturn(Set.of());
 
         // Act
         PaginatedResponse<FollowingResponseDTO> result = socialService.getFollowing("user-001", "current-user", 2, 5);
@@ -451,8 +523,8 @@ class SocialServiceTest {
         Page<Follow> followPage = new PageImpl<>(follows, PageRequest.of(0, 10), 1);
 
         when(followRepository.findByFollowerId(eq("user-001"), any(Pageable.class))).thenReturn(followPage);
-        when(userRepository.findById("user-002")).thenReturn(Optional.of(user2));
-        when(followRepository.existsByFollowerIdAndFollowingId("user-002", "current-user")).thenReturn(false);
+        when(userRepository.findAllById(List.of("user-002"))).thenReturn(List.of(user2));
+        when(followGraph.followersAmong("current-user", Set.of("user-002"))).thenReturn(Set.of());
 
         // Act
         PaginatedResponse<FollowingResponseDTO> result = socialService.getFollowing("user-001", "current-user", 0, 10);
@@ -668,8 +740,8 @@ class SocialServiceTest {
         Page<Invitation> invitationPage = new PageImpl<>(invitations, PageRequest.of(0, 10), 1);
 
         when(invitationRepository.findByToUserId(eq("user-002"), any(Pageable.class))).thenReturn(invitationPage);
-        when(userRepository.findById("user-001")).thenReturn(Optional.of(user1));
-        when(boardRepository.findById("board-001")).thenReturn(Optional.of(board));
+        when(userRepository.findAllById(List.of("user-001", "user-002"))).thenReturn(List.of(user1, user2));
+        when(boardRepository.findAllById(List.of("board-001"))).thenReturn(List.of(board));
 
         // Act
         PaginatedResponse<InvitationResponseDTO> result = socialService.getInvitations("user-002", null, 0, 10);
@@ -688,8 +760,8 @@ class SocialServiceTest {
 
         when(invitationRepository.findByToUserIdAndStatus(eq("user-002"), eq(Invitation.Status.PENDING), any(Pageable.class)))
             .thenReturn(invitationPage);
-        when(userRepository.findById("user-001")).thenReturn(Optional.of(user1));
-        when(boardRepository.findById("board-001")).thenReturn(Optional.of(board));
+        when(userRepository.findAllById(List.of("user-001", "user-002"))).thenReturn(List.of(user1, user2));
+        when(boardRepository.findAllById(List.of("board-001"))).thenReturn(List.of(board));
 
         // Act
         PaginatedResponse<InvitationResponseDTO> result = socialService.getInvitations("user-002", "PENDING", 0, 10);
@@ -721,8 +793,8 @@ class SocialServiceTest {
         Page<Invitation> invitationPage = new PageImpl<>(invitations, PageRequest.of(1, 5), 15);
 
         when(invitationRepository.findByToUserId(eq("user-002"), any(Pageable.class))).thenReturn(invitationPage);
-        when(userRepository.findById("user-001")).thenReturn(Optional.of(user1));
-        when(boardRepository.findById("board-001")).thenReturn(Optional.of(board));
+        when(userRepository.findAllById(List.of("user-001", "user-002"))).thenReturn(List.of(user1, user2));
+        when(boardRepository.findAllById(List.of("board-001"))).thenReturn(List.of(board));
 
         // Act
         PaginatedResponse<InvitationResponseDTO> result = socialService.getInvitations("user-002", null, 1, 5);
@@ -732,6 +804,75 @@ class SocialServiceTest {
         assertEquals(3, result.getPagination().getTotalPages());
     }
 
+    @Test
+    void testGetInvitations_HydratesPageWithTwoBulkLookups() {
+        // Arrange: two invitations from the same sender on the same board
+        Invitation second = new Invitation("invitation-002", "board-001", "user-001", "user-002", null,
+                Invitation.Permission.VIEW, Invitation.Status.PENDING, LocalDateTime.now(), null);
+        Page<Invitation> invitationPage = new PageImpl<>(List.of(invitation, second), PageRequest.of(0, 10), 2);
+
+        when(invitationRepository.findByToUserId(eq("user-002"), any(Pageable.class))).thenReturn(invitationPage);
+        when(userRepository.findAllById(List.of("user-001", "user-002"))).thenReturn(List.of(user1, user2));
+        when(boardRepository.findAllById(List.of("board-001"))).thenReturn(List.of(board));
+
+        // Act
+        PaginatedResponse<InvitationResponseDTO> result = socialService.getInvitations("user-002", null, 0, 10);
+
+        // Assert
+        assertEquals(2, result.getData().size());
+        assertEquals("user-001", result.getData().get(1).getFrom().getUserId());
+        assertEquals("user-002", result.getData().get(1).getTo().getUserId());
+        assertEquals("Test Board", result.getData().get(1).getBoard().getBoardName());
+        verify(userRepository, never()).findById(anyString());
+        verify(boardRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testGetInvitationsByCursor_SeeksPastLastRow() {
+        // Arrange
+        LocalDateTime createdAt = invitation.getCreatedAt();
+        Invitation older = new Invitation("invitation-000", "board-001", "user-001", "user-002", null,
+                Invitation.Permission.EDIT, Invitation.Status.PENDING, createdAt.minusHours(1), null);
+        when(invitationRepository.findByToUserIdAndStatusOrderByCreatedAtDescInvitationIdDesc(
+                eq("user-002"), eq(Invitation.Status.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(invitation, older));
+        when(userRepository.findAllById(List.of("user-001", "user-002"))).thenReturn(List.of(user1, user2));
+        when(boardRepository.findAllById(List.of("board-001"))).thenReturn(List.of(board));
+
+        // Act
+        CursorPaginatedResponse<InvitationResponseDTO> first =
+                socialService.getInvitationsByCursor("user-002", "pending", null, 1);
+
+        // Assert
+        assertEquals(List.of("invitation-001"),
+                first.getData().stream().map(InvitationResponseDTO::getInvitationId).toList());
+        assertEquals(new KeysetCursor(createdAt, "invitation-001"), KeysetCursor.decode(first.getNextCursor()));
+
+        // Act
+        when(invitationRepository.findReceivedWithStatusBefore(eq("user-002"), eq(Invitation.Status.PENDING),
+                eq(createdAt), eq("invitation-001"), any(Pageable.class))).thenReturn(List.of(older));
+        CursorPaginatedResponse<InvitationResponseDTO> second =
+                socialService.getInvitationsByCursor("user-002", "pending", first.getNextCursor(), 1);
+
+        // Assert
+        assertEquals("invitation-000", second.getData().get(0).getInvitationId());
+        assertFalse(second.getHasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testGetInvitationsByCursor_ClampsPageSize() {
+        when(invitationRepository.findByToUserIdOrderByCreatedAtDescInvitationIdDesc(eq("user-002"),
+                any(Pageable.class))).thenReturn(List.of());
+
+        CursorPaginatedResponse<InvitationResponseDTO> response =
+                socialService.getInvitationsByCursor("user-002", null, null, 1_000_000);
+
+        verify(invitationRepository).findByToUserIdOrderByCreatedAtDescInvitationIdDesc("user-002",
+                PageRequest.of(0, 101));
+        assertEquals(100, response.getPageSize());
+    }
+
     // ==================== RESPOND TO INVITATION TESTS ====================
 
     @Test
@@ -1143,7 +1284,7 @@ class SocialServiceTest {
     @Test
     void testIsFollowing_True() {
         // Arrange
-        when(followRepository.existsByFollowerIdAndFollowingId("user-001", "user-002")).thenReturn(true);
+        when(followGraph.isFollowing("user-001", "user-002")).thenReturn(true);
 
         // Act
         Boolean result = socialService.isFollowing("user-001", "user-002");
@@ -1155,7 +1296,7 @@ class SocialServiceTest {
     @Test
     void testIsFollowing_False() {
         // Arrange
-        when(followRepository.existsByFollowerIdAndFollowingId("user-001", "user-002")).thenReturn(false);
+        when(followGraph.isFollowing("user-001", "user-002")).thenReturn(false);
 
         // Act
         Boolean result = socialService.isFollowing("user-001", "user-002");
@@ -1169,7 +1310,7 @@ class SocialServiceTest {
     @Test
     void testIsBlocked_True() {
         // Arrange
-        when(blockedUserRepository.existsByBlockerIdAndBlockedId("user-001", "user-002")).thenReturn(true);
+        when(blockListCache.hasBlocked("user-001", "user-002")).thenReturn(true);
 
         // Act
         Boolean result = socialService.isBlocked("user-001", "user-002");
@@ -1181,7 +1322,7 @@ class SocialServiceTest {
     @Test
     void testIsBlocked_False() {
         // Arrange
-        when(blockedUserRepository.existsByBlockerIdAndBlockedId("user-001", "user-002")).thenReturn(false);
+        when(blockListCache.hasBlocked("user-001", "user-002")).thenReturn(false);
 
         // Act
         Boolean result = socialService.isBlocked("user-001", "user-002");
@@ -1287,9 +1428,7 @@ class SocialServiceTest {
         Page<Follow> followPage = new PageImpl<>(follows, PageRequest.of(0, 10), 2);
 
         when(followRepository.findByFollowingId(eq("user-002"), any(Pageable.class))).thenReturn(followPage);
-        when(userRepository.findById("user-001")).thenReturn(Optional.of(user1));
-        when(userRepository.findById("user-003")).thenReturn(Optional.of(user3));
-        when(followRepository.existsByFollowerIdAndFollowingId(anyString(), anyString())).thenReturn(false);
+        when(userRepository.findAllById(List.of("user-001", "user-003"))).thenReturn(List.of(user1, user3));
 
         // Act
         PaginatedResponse<FollowerResponseDTO> result = socialService.getFollowers("user-002", "current-user", 0, 10);
@@ -1297,6 +1436,8 @@ class SocialServiceTest {
         // Assert
         assertEquals(2, result.getData().size());
         assertEquals(2L, result.getPagination().getTotalItems());
+        verify(followGraph).followedBy(eq("current-user"), any());
+        verify(followGraph, never()).isFollowing(anyString(), anyString());
     }
 
     @Test
@@ -0,0 +1,239 @@
+package com.infy.pinterest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.infy.pinterest.entity.Pin;
+import com.infy.pinterest.entity.TrendingScore;
+import com.infy.pinterest.repository.BoardRepository;
+import com.infy.pinterest.repository.PinRepository;
+import com.infy.pinterest.repository.TrendingScoreRepository;
+import com.infy.pinterest.service.SearchHits;
+import com.infy.pinterest.service.TrendingService;
+import com.infy.pinterest.utility.DecayedTopN;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+    @Mock
+    private PinRepository pinRepository;
+
+    @Mock
+    private BoardRepository boardRepository;
+
+    @Mock
+    private TrendingScoreRepository trendingScoreRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TrendingService trendingService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        trendingService.init();
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    // ==================== LEADERBOARD TESTS ====================
+
+    @Test
+    void testGetTrendingPins_RanksByWeightedEvents() {
+        startWithSnapshot();
+
+        trendingService.recordLike(createPin("pin-1"), "Travel");
+        trendingService.recordSave(createPin("pin-2"), "Travel");
+        trendingService.recordLike(createPin("pin-3"), "Travel");
+        trendingService.recordLike(createPin("pin-3"), "Travel");
+        trendingService.recordLike(createPin("pin-3"), "Travel");
+
+        SearchHits hits = trendingService.getTrendingPins(null, 0, 2).orElseThrow();
+        assertEquals(3L, hits.getTotalHits());
+        assertEquals(List.of("pin-3", "pin-2"), hits.getIds());
+
+        SearchHits category = trendingService.getTrendingPins("Travel", 1, 2).orElseThrow();
+        assertEquals(List.of("pin-1"), category.getIds());
+    }
+
+    @Test
+    void testRecordUnlike_RemovesPinWhenScoreReachesZero() {
+        startWithSnapshot();
+        Pin pin = createPin("pin-1");
+
+        trendingService.recordLike(pin, null);
+        trendingService.recordSave(createPin("pin-2"), null);
+        trendingService.recordUnlike(pin, null);
+
+        assertEquals(List.of("pin-2"), trendingService.getTrendingPins(null, 0, 10).orElseThrow().getIds());
+    }
+
+    @Test
+    void testRecordLike_IgnoresPrivatePins() {
+        startWithSnapshot();
+        Pin pin = createPin("pin-1");
+        pin.setVisibility(Pin.Visibility.PRIVATE);
+
+        trendingService.recordLike(pin, null);
+
+        assertTrue(trendingService.getTrendingPins(null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void testRecordLike_AppliedOnlyAfterCommit() {
+        startWithSnapshot();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            trendingService.recordLike(createPin("pin-1"), null);
+            assertTrue(trendingService.getTrendingPins(null, 0, 10).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of("pin-1"), trendingService.getTrendingPins(null, 0, 10).orElseThrow().getIds());
+    }
+
+    @Test
+    void testGetTrendingPins_EmptyBeforeReady() {
+        trendingService.recordLike(createPin("pin-1"), null);
+
+        assertTrue(trendingService.getTrendingPins(null, 0, 10).isEmpty());
+    }
+
+    // ==================== SNAPSHOT TESTS ====================
+
+    @Test
+    void testOnApplicationReady_RestoresDecayedSnapshot() {
+        LocalDateTime dayAgo = LocalDateTime.now(ZoneOffset.UTC).minusHours(24);
+        when(trendingScoreRepository.findAll()).thenReturn(List.of(
+                new TrendingScore("s1", "global", "pin-old", 3.0, dayAgo),
+                new TrendingScore("s2", "global", "pin-new", 2.0, LocalDateTime.now(ZoneOffset.UTC))));
+
+        trendingService.onApplicationReady();
+
+        // One half-life later the older score has dropped below the newer one
+        assertEquals(List.of("pin-new", "pin-old"),
+                trendingService.getTrendingPins(null, 0, 10).orElseThrow().getIds());
+        verify(pinRepository, never()).findPopularPins(any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSnapshot_WritesOnlyChangedRows() {
+        when(trendingScoreRepository.findAll()).thenReturn(List.of(
+                new TrendingScore("s1", "global", "pin-kept", 5.0, LocalDateTime.now(ZoneOffset.UTC)),
+                new TrendingScore("s2", "global", "pin-gone", 1.0, LocalDateTime.now(ZoneOffset.UTC))));
+        trendingService.onApplicationReady();
+        trendingService.removePin("pin-gone");
+        trendingService.recordLike(createPin("pin-1"), null);
+
+        trendingService.snapshot();
+
+        ArgumentCaptor<List<Object[]>> deletes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("DELETE FROM trending_scores"), deletes.capture());
+        assertEquals(1, deletes.getValue().size());
+        assertArrayEquals(new Object[]{"global", "pin-gone"}, deletes.getValue().get(0));
+        // pin-kept had no events, so its stored row still decays to the right score
+        ArgumentCaptor<List<Object[]>> upserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO trending_scores"), upserts.capture());
+        assertEquals(1, upserts.getValue().size());
+        assertEquals("pin-1", upserts.getValue().get(0)[2]);
+
+        // Nothing changed since, so the next snapshot writes nothing
+        trendingService.snapshot();
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    // ==================== DECAYED TOP-N TESTS ====================
+
+    @Test
+    void testDecayedTopN_OlderEventsDecay() {
+        DecayedTopN topN = new DecayedTopN(10, 3600, 0);
+
+        topN.add("old", 4.0, 0);
+        topN.add("new", 1.5, 3 * 3600);
+
+        List<DecayedTopN.Scored> top = topN.top(0, 10, 3 * 3600);
+        assertEquals("new", top.get(0).key());
+        assertEquals(0.5, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void testDecayedTopN_EvictsLowestWhenFull() {
+        DecayedTopN topN = new DecayedTopN(2, 3600, 0);
+
+        topN.add("a", 5.0, 0);
+        topN.add("b", 1.0, 0);
+        topN.add("c", 1.0, 0);
+
+        List<DecayedTopN.Scored> top = topN.top(0, 10, 0);
+        assertEquals(2, top.size());
+        assertEquals("a", top.get(0).key());
+        assertEquals("c", top.get(1).key());
+        assertEquals(2.0, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void testDecayedTopN_RescalesLandmark() {
+        DecayedTopN topN = new DecayedTopN(10, 60, 0);
+
+        topN.add("a", 1.0, 0);
+        topN.add("b", 1.0, 365L * 24 * 3600);
+
+        List<DecayedTopN.Scored> top = topN.top(0, 10, 365L * 24 * 3600);
+        assertEquals("b", top.get(0).key());
+        assertEquals(1.0, top.get(0).score(), 1e-9);
+    }
+
+    // Helper methods
+
+    private void startWithSnapshot() {
+        when(trendingScoreRepository.findAll()).thenReturn(List.of(
+                new TrendingScore("s0", "global", "pin-seed", 1e-6, LocalDateTime.now(ZoneOffset.UTC))));
+        trendingService.onApplicationReady();
+        trendingService.removePin("pin-seed");
+    }
+
+    private Pin createPin(String pinId) {
+        Pin pin = new Pin();
+        pin.setPinId(pinId);
+        pin.setBoardId("board-123");
+        pin.setVisibility(Pin.Visibility.PUBLIC);
+        pin.setIsDraft(false);
+        return pin;
+    }
+}
@@ -0,0 +1,247 @@
+package com.infy.pinterest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.infy.pinterest.entity.Notification;
+import com.infy.pinterest.entity.Notification.NotificationType;
+import com.infy.pinterest.entity.NotificationReadState;
+import com.infy.pinterest.repository.NotificationReadStateRepository;
+import com.infy.pinterest.repository.NotificationRepository;
+import com.infy.pinterest.service.UnreadCountCache;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCountCacheTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadCountCacheTest.class);
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationReadStateRepository readStateRepository;
+
+    @InjectMocks
+    private UnreadCountCache unreadCountCache;
+
+    private final LocalDateTime watermark = LocalDateTime.now().withNano(0).minusHours(1);
+
+    // ==================== UNREAD COUNT CACHE TESTS ====================
+
+    @Test
+    void testGetUnreadCount_CountsOnceThenFollowsWrites() {
+        when(readStateRepository.findById("owner-1"))
+                .thenReturn(Optional.of(new NotificationReadState("owner-1", watermark)));
+        when(notificationRepository.countUnreadSince("owner-1", watermark)).thenReturn(4L);
+
+        assertEquals(4L, unreadCountCache.getUnreadCount("owner-1"));
+        // A row stamped before the watermark (queued before mark-all-read) is already read
+        unreadCountCache.onWritten(List.of(row("owner-1", watermark.plusMinutes(5)),
+                row("owner-1", watermark.minusMinutes(5))), List.of());
+        unreadCountCache.onUnreadRemoved("owner-1");
+        unreadCountCache.onUnreadRemoved("owner-1");
+
+        assertEquals(3L, unreadCountCache.getUnreadCount("owner-1"));
+        verify(notificationRepository, times(1)).countUnreadSince("owner-1", watermark);
+    }
+
+    @Test
+    void testOnWritten_ResurfacedRowRecounts() {
+        when(readStateRepository.findById("owner-1")).thenReturn(Optional.empty());
+        when(notificationRepository.countUnreadSince("owner-1", UnreadCountCache.NEVER_READ)).thenReturn(2L, 3L);
+
+        assertEquals(2L, unreadCountCache.getUnreadCount("owner-1"));
+        unreadCountCache.onWritten(List.of(), List.of(row("owner-1", LocalDateTime.now())));
+
+        assertEquals(3L, unreadCountCache.getUnreadCount("owner-1"));
+    }
+
+    @Test
+    void testGetUnreadCount_FullCacheDropsLeastRecentlyUsed() {
+        ReflectionTestUtils.setField(unreadCountCache, "maxEntries", 2);
+        when(readStateRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(notificationRepository.countUnreadSince(anyString(), any(LocalDateTime.class))).thenReturn(1L);
+
+        unreadCountCache.getUnreadCount("owner-1");
+        unreadCountCache.getUnreadCount("owner-2");
+        unreadCountCache.getUnreadCount("owner-1");
+        // owner-3 is admitted and pushes out owner-2, the least recently used
+        unreadCountCache.getUnreadCount("owner-3");
+        unreadCountCache.getUnreadCount("owner-3");
+        unreadCountCache.getUnreadCount("owner-1");
+        unreadCountCache.getUnreadCount("owner-2");
+
+        verify(notificationRepository, times(1)).countUnreadSince("owner-1", UnreadCountCache.NEVER_READ);
+        verify(notificationRepository, times(1)).countUnreadSince("owner-3", UnreadCountCache.NEVER_READ);
+        verify(notificationRepository, times(2)).countUnreadSince("owner-2", UnreadCountCache.NEVER_READ);
+    }
+
+    @Test
+    void testGetUnreadCount_RecountsAfterTtl() {
+        ReflectionTestUtils.setField(unreadCountCache, "ttlMinutes", 0L);
+        when(readStateRepository.findById("owner-1")).thenReturn(Optional.empty());
+        when(notificationRepository.countUnreadSince("owner-1", UnreadCountCache.NEVER_READ)).thenReturn(2L, 5L);
+
+        assertEquals(2L, unreadCountCache.getUnreadCount("owner-1"));
+        assertEquals(5L, unreadCountCache.getUnreadCount("owner-1"));
+    }
+
+    @Test
+    void testOnAllRead_ResetsCountAndMovesWatermark() {
+        when(readStateRepository.findById("owner-1"))
+                .thenReturn(Optional.of(new NotificationReadState("owner-1", watermark)));
+        when(notificationRepository.countUnreadSince("owner-1", watermark)).thenReturn(1_000_000L);
+        assertEquals(1_000_000L, unreadCountCache.getUnreadCount("owner-1"));
+
+        LocalDateTime readAt = watermark.plusMinutes(30);
+        unreadCountCache.markAllRead("owner-1", readAt);
+        unreadCountCache.onAllRead("owner-1", readAt);
+
+        verify(readStateRepository).advanceLastReadAt("owner-1", readAt);
+        assertEquals(0L, unreadCountCache.getUnreadCount("owner-1"));
+        assertEquals(readAt, unreadCountCache.getWatermark("owner-1"));
+        assertFalse(UnreadCountCache.isUnread(row("owner-1", readAt.minusSeconds(1)), readAt));
+        assertTrue(UnreadCountCache.isUnread(row("owner-1", readAt.plusSeconds(1)), readAt));
+    }
+
+    /**
+     * Badge count and mark-all-read on a 1,000,000-row inbox with 1,000 rows
+     * newer than the watermark: the old full-inbox COUNT and UPDATE against
+     * the watermark-bounded count and the single-row upsert. Needs a MySQL
+     * database with the schema from tablescript.sql; run with
+     * -Dbenchmark=true -Dbenchmark.jdbc-url=jdbc:mysql://.../pintrest_db?rewriteBatchedStatements=true
+     * (plus -Dbenchmark.jdbc-user and -Dbenchmark.jdbc-password).
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @EnabledIfSystemProperty(named = "benchmark.jdbc-url", matches = ".+")
+    void benchmarkMillionRowInbox() throws SQLException {
+        int rows = 1_000_000;
+        int unreadSinceWatermark = 1_000;
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Timestamp benchWatermark = Timestamp.valueOf(now.minusSeconds(unreadSinceWatermark));
+
+        try (Connection connection = DriverManager.getConnection(System.getProperty("benchmark.jdbc-url"),
+                System.getProperty("benchmark.jdbc-user", "root"), System.getProperty("benchmark.jdbc-password", ""))) {
+            try (Statement statement = connection.createStatement()) {
+                // LIKE copies columns and indexes but not foreign keys
+                statement.execute("DROP TABLE IF EXISTS bench_notifications");
+                statement.execute("CREATE TABLE bench_notifications LIKE notifications");
+                statement.execute("DROP TABLE IF EXISTS bench_read_state");
+                statement.execute("CREATE TABLE bench_read_state LIKE notification_read_state");
+            }
+            try {
+                connection.setAutoCommit(false);
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO bench_notifications (notification_id, user_id, sender_id, type, message, "
+                                + "is_read, created_at) VALUES (?, 'bench-user', 'bench-sender', 'PIN_LIKED', "
+                                + "'liked your pin', FALSE, ?)")) {
+                    for (int i = 0; i < rows; i++) {
+                        insert.setString(1, "bench-" + i);
+                        insert.setTimestamp(2, Timestamp.valueOf(now.minusSeconds(i)));
+                        insert.addBatch();
+                        if (i % 10_000 == 9_999) {
+                            insert.executeBatch();
+                            connection.commit();
+                        }
+                    }
+                }
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE TABLE bench_notifications");
+                }
+
+                long start = System.nanoTime();
+                long fullCount = count(connection, "SELECT COUNT(*) FROM bench_notifications "
+                        + "WHERE user_id = 'bench-user' AND is_read = FALSE", null);
+                long fullCountMicros = (System.nanoTime() - start) / 1_000;
+
+                start = System.nanoTime();
+                long boundedCount = count(connection, "SELECT COUNT(*) FROM bench_notifications "
+                        + "WHERE user_id = 'bench-user' AND created_at > ? AND is_read = FALSE", benchWatermark);
+                long boundedCountMicros = (System.nanoTime() - start) / 1_000;
+
+                start = System.nanoTime();
+                try (PreparedStatement upsert = connection.prepareStatement(
+                        "INSERT INTO bench_read_state (user_id, last_read_at) VALUES ('bench-user', ?) "
+                                + "ON DUPLICATE KEY UPDATE last_read_at = GREATEST(last_read_at, VALUES(last_read_at))")) {
+                    upsert.setTimestamp(1, Timestamp.valueOf(now));
+                    upsert.executeUpdate();
+                }
+                long watermarkMicros = (System.nanoTime() - start) / 1_000;
+
+                start = System.nanoTime();
+                int updated;
+                try (Statement statement = connection.createStatement()) {
+                    updated = statement.executeUpdate("UPDATE bench_notifications SET is_read = TRUE, "
+                            + "read_at = CURRENT_TIMESTAMP WHERE user_id = 'bench-user' AND is_read = FALSE");
+                }
+                long bulkUpdateMicros = (System.nanoTime() - start) / 1_000;
+
+                log.info("badge count: full {} us ({} rows), watermark-bounded {} us ({} rows)",
+                        fullCountMicros, fullCount, boundedCountMicros, boundedCount);
+                log.info("mark all read: bulk update {} us ({} rows), watermark upsert {} us",
+                        bulkUpdateMicros, updated, watermarkMicros);
+                assertEquals(rows, fullCount);
+                assertEquals(unreadSinceWatermark, boundedCount);
+            } finally {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS bench_notifications");
+                    statement.execute("DROP TABLE IF EXISTS bench_read_state");
+                }
+            }
+        }
+    }
+
+    // Helper methods
+
+    private long count(Connection connection, String sql, Timestamp watermark) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            if (watermark != null) {
+                query.setTimestamp(1, watermark);
+            }
+            try (ResultSet result = query.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+
+    private Notification row(String userId, LocalDateTime createdAt) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setSenderId("sender-1");
+        notification.setType(NotificationType.PIN_LIKED);
+        notification.setMessage("liked your pin");
+        notification.setIsRead(false);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+}
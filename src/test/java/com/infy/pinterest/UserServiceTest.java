@@ -54,6 +54,7 @@ import com.infy.pinterest.repository.BoardRepository;
 import com.infy.pinterest.repository.FollowRepository;
 import com.infy.pinterest.repository.PinRepository;
 import com.infy.pinterest.repository.UserRepository;
+import com.infy.pinterest.service.FollowGraph;
 import com.infy.pinterest.service.UserService;
 import com.infy.pinterest.utility.FileUploadService;
 import com.infy.pinterest.utility.JwtUtil;
@@ -79,6 +80,9 @@ class UserServiceTest {
     @Mock
     private FileUploadService fileUploadService;
 
+    @Mock
+    private FollowGraph followGraph;
+
     @Mock
     private JwtUtil jwtUtil;
 
@@ -344,7 +348,7 @@ class UserServiceTest {
         // Assert
         assertNotNull(result);
         verify(userRepository).findById("user-123");
-        verify(followRepository, never()).existsByFollowerIdAndFollowingId(anyString(), anyString());
+        verify(followGraph, never()).isFollowing(anyString(), anyString());
     }
 
     @Test
@@ -357,8 +361,8 @@ class UserServiceTest {
         when(followRepository.countByFollowingId("user-123")).thenReturn(100L);
         when(followRepository.countByFollowerId("user-123")).thenReturn(50L);
         when(pinRepository.findByUserId("user-123")).thenReturn(new ArrayList<>());
-        when(followRepository.existsByFollowerIdAndFollowingId("viewer-456", "user-123")).thenReturn(true);
-        when(followRepository.existsByFollowerIdAndFollowingId("user-123", "viewer-456")).thenReturn(false);
+        when(followGraph.isFollowing("viewer-456", "user-123")).thenReturn(true);
+        when(followGraph.isFollowing("user-123", "viewer-456")).thenReturn(false);
         when(blockedUserRepository.existsByBlockerIdAndBlockedId("viewer-456", "user-123")).thenReturn(false);
 
         // Act
@@ -366,8 +370,8 @@ class UserServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(followRepository).existsByFollowerIdAndFollowingId("viewer-456", "user-123");
-        verify(followRepository).existsByFollowerIdAndFollowingId("user-123", "viewer-456");
+        verify(followGraph).isFollowing("viewer-456", "user-123");
+        verify(followGraph).isFollowing("user-123", "viewer-456");
         verify(blockedUserRepository).existsByBlockerIdAndBlockedId("viewer-456", "user-123");
     }
 
@@ -398,7 +402,7 @@ class UserServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(followRepository, never()).existsByFollowerIdAndFollowingId(anyString(), anyString());
+        verify(followGraph, never()).isFollowing(anyString(), anyString());
     }
 
     // ==================== GET PROFILE STATS TESTS ====================
@@ -903,8 +907,8 @@ class UserServiceTest {
         when(followRepository.countByFollowingId("user-123")).thenReturn(100L);
         when(followRepository.countByFollowerId("user-123")).thenReturn(50L);
         when(pinRepository.findByUserId("user-123")).thenReturn(new ArrayList<>());
-        when(followRepository.existsByFollowerIdAndFollowingId("viewer-456", "user-123")).thenReturn(false);
-        when(followRepository.existsByFollowerIdAndFollowingId("user-123", "viewer-456")).thenReturn(false);
+        when(followGraph.isFollowing("viewer-456", "user-123")).thenReturn(false);
+        when(followGraph.isFollowing("user-123", "viewer-456")).thenReturn(false);
         when(blockedUserRepository.existsByBlockerIdAndBlockedId("viewer-456", "user-123")).thenReturn(true);
 
         // Act